@@ -24,11 +24,13 @@ import java.util.Iterator;
 import java.util.Map;
 import java.util.concurrent.Callable;
 import java.util.function.Consumer;
+import java.util.function.Supplier;
 
 import javax.ws.rs.ForbiddenException;
 import javax.ws.rs.NotFoundException;
 import javax.ws.rs.NotSupportedException;
 import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.StreamingOutput;
 
 import org.apache.tinkerpop.gremlin.structure.util.CloseableIterator;
 import org.slf4j.Logger;
@@ -124,6 +126,34 @@ public class API {
         });
     }
 
+    /**
+     * The output is written after the resource method returned, so close
+     * the opened transaction of graph after writing instead of returning
+     */
+    public static StreamingOutput stream(HugeGraph g,
+                                         Supplier<StreamingOutput> supplier) {
+        StreamingOutput output;
+        try {
+            output = supplier.get();
+        } catch (Throwable e) {
+            closeTx(g);
+            throw e;
+        }
+        return out -> {
+            try {
+                output.write(out);
+            } finally {
+                closeTx(g);
+            }
+        };
+    }
+
+    private static void closeTx(HugeGraph g) {
+        if (g.tx().isOpen()) {
+            g.tx().close();
+        }
+    }
+
     public static Object[] properties(Map<String, Object> properties) {
         Object[] list = new Object[properties.size() * 2];
         int i = 0;
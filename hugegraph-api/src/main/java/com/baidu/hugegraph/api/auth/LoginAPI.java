@@ -0,0 +1,71 @@
+/*
+ * Copyright 2017 HugeGraph Authors
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with this
+ * work for additional information regarding copyright ownership. The ASF
+ * licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.baidu.hugegraph.api.auth;
+
+import javax.annotation.security.RolesAllowed;
+import javax.inject.Singleton;
+import javax.ws.rs.ForbiddenException;
+import javax.ws.rs.POST;
+import javax.ws.rs.Path;
+import javax.ws.rs.PathParam;
+import javax.ws.rs.Produces;
+import javax.ws.rs.core.Context;
+import javax.ws.rs.core.SecurityContext;
+
+import org.slf4j.Logger;
+
+import com.baidu.hugegraph.api.API;
+import com.baidu.hugegraph.core.GraphManager;
+import com.baidu.hugegraph.server.RestServer;
+import com.baidu.hugegraph.util.Log;
+import com.codahale.metrics.annotation.Timed;
+import com.google.common.collect.ImmutableMap;
+
+/**
+ * Login with the HTTP Basic credentials and return a signed token, which can
+ * be passed by `Authorization: Bearer <token>` in the subsequent requests to
+ * avoid verifying the password for each request.
+ * NOTE: a token can't be used to login again, otherwise a leaked token could
+ * be renewed forever without the password
+ */
+@Path("graphs/{graph}/auth/login")
+@Singleton
+public class LoginAPI extends API {
+
+    private static final Logger LOG = Log.logger(RestServer.class);
+
+    @POST
+    @Timed
+    @Produces(APPLICATION_JSON_WITH_CHARSET)
+    @RolesAllowed({"admin", "$dynamic"})
+    public Object login(@Context GraphManager manager,
+                        @PathParam("graph") String graph,
+                        @Context SecurityContext sc) {
+        if (!SecurityContext.BASIC_AUTH.equals(sc.getAuthenticationScheme())) {
+            throw new ForbiddenException(
+                      "Login requires the HTTP Basic credentials");
+        }
+        String username = sc.getUserPrincipal().getName();
+        LOG.debug("Graph [{}] user login: {}", graph, username);
+
+        String token = manager.createToken(username);
+        return ImmutableMap.of("token", token);
+    }
+}
@@ -60,6 +60,11 @@ public class AuthenticationFilter implements ContainerRequestFilter {
 
     private static final Logger LOG = Log.logger(RestServer.class);
 
+    public static final String BEARER_AUTH = "Bearer";
+
+    private static final String BASIC_AUTH_PREFIX = "Basic ";
+    private static final String BEARER_TOKEN_PREFIX = BEARER_AUTH + " ";
+
     @Context
     private javax.inject.Provider<GraphManager> managerProvider;
 
@@ -69,7 +74,13 @@ public class AuthenticationFilter implements ContainerRequestFilter {
     @Override
     public void filter(ContainerRequestContext context) throws IOException {
         User user = this.authenticate(context);
-        Authorizer authorizer = new Authorizer(user, context.getUriInfo());
+        String auth = context.getHeaderString(HttpHeaders.AUTHORIZATION);
+        String scheme = SecurityContext.BASIC_AUTH;
+        if (auth != null && auth.startsWith(BEARER_TOKEN_PREFIX)) {
+            scheme = BEARER_AUTH;
+        }
+        Authorizer authorizer = new Authorizer(user, context.getUriInfo(),
+                                               scheme);
         context.setSecurityContext(authorizer);
     }
 
@@ -98,12 +109,24 @@ public class AuthenticationFilter implements ContainerRequestFilter {
                       "Authentication credentials are required",
                       "Missing authentication credentials");
         }
-        if (!auth.startsWith("Basic ")) {
+        if (auth.startsWith(BEARER_TOKEN_PREFIX)) {
+            String token = auth.substring(BEARER_TOKEN_PREFIX.length());
+            try {
+                return manager.authenticate(ImmutableMap.of(
+                               HugeAuthenticator.KEY_TOKEN, token,
+                               HugeAuthenticator.KEY_ADDRESS, peer,
+                               HugeAuthenticator.KEY_PATH, path));
+            } catch (AuthenticationException e) {
+                throw new NotAuthorizedException("Authentication failed",
+                                                 e.getMessage());
+            }
+        }
+        if (!auth.startsWith(BASIC_AUTH_PREFIX)) {
             throw new BadRequestException(
-                      "Only HTTP Basic authentication is supported");
+                      "Only HTTP Basic or Bearer authentication is supported");
         }
 
-        auth = auth.substring("Basic ".length());
+        auth = auth.substring(BASIC_AUTH_PREFIX.length());
         auth = new String(DatatypeConverter.parseBase64Binary(auth),
                           Charsets.ASCII_CHARSET);
         String[] values = auth.split(":");
@@ -135,13 +158,21 @@ public class AuthenticationFilter implements ContainerRequestFilter {
         private final UriInfo uri;
         private final User user;
         private final Principal principal;
+        private final String scheme;
 
         public Authorizer(final User user, final UriInfo uri) {
+            this(user, uri, SecurityContext.BASIC_AUTH);
+        }
+
+        public Authorizer(final User user, final UriInfo uri,
+                          final String scheme) {
             E.checkNotNull(user, "user");
             E.checkNotNull(uri, "uri");
+            E.checkNotNull(scheme, "scheme");
             this.uri = uri;
             this.user = user;
             this.principal = new UserPrincipal();
+            this.scheme = scheme;
         }
 
         public String username() {
@@ -182,7 +213,7 @@ public class AuthenticationFilter implements ContainerRequestFilter {
 
         @Override
         public String getAuthenticationScheme() {
-            return SecurityContext.BASIC_AUTH;
+            return this.scheme;
         }
 
         private boolean matchPermission(String required) {
@@ -19,8 +19,17 @@
 
 package com.baidu.hugegraph.api.graph;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
+import java.util.Queue;
 import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 
 import org.apache.tinkerpop.gremlin.structure.Element;
@@ -29,6 +38,7 @@ import org.slf4j.Logger;
 import com.baidu.hugegraph.HugeException;
 import com.baidu.hugegraph.HugeGraph;
 import com.baidu.hugegraph.api.API;
+import com.baidu.hugegraph.auth.HugeGraphAuthProxy.ContextCallable;
 import com.baidu.hugegraph.config.HugeConfig;
 import com.baidu.hugegraph.config.ServerOptions;
 import com.baidu.hugegraph.define.Checkable;
@@ -41,6 +51,7 @@ import com.baidu.hugegraph.util.Log;
 import com.codahale.metrics.Meter;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.fasterxml.jackson.annotation.JsonProperty;
+import com.google.common.collect.MapMaker;
 
 public class BatchAPI extends API {
 
@@ -48,6 +59,9 @@ public class BatchAPI extends API {
 
     // NOTE: VertexAPI and EdgeAPI should share a counter
     private static final AtomicInteger batchWriteThreads = new AtomicInteger(0);
+    // The write slots of each server config, which may be reloaded
+    private static final ConcurrentMap<HugeConfig, Semaphore> writeSlots =
+                         new MapMaker().weakKeys().makeMap();
 
     static {
         MetricsUtil.registerGauge(RestServer.class, "batch-write-threads",
@@ -63,20 +77,59 @@ public class BatchAPI extends API {
 
     public <R> R commit(HugeConfig config, HugeGraph g, int size,
                         Callable<R> callable) {
-        int maxWriteThreads = config.get(ServerOptions.MAX_WRITE_THREADS);
-        int writingThreads = batchWriteThreads.incrementAndGet();
-        if (writingThreads > maxWriteThreads) {
-            batchWriteThreads.decrementAndGet();
+        return this.commit(config, g, size, false, callable);
+    }
+
+    /**
+     * Commit the batch, it may be coalesced with other concurrent batches
+     * into one commit if groupable, so the callable must be able to be
+     * called again (like creating elements), rather than depending on the
+     * state changed by itself (like updating elements with strategies)
+     */
+    public <R> R commit(HugeConfig config, HugeGraph g, int size,
+                        boolean groupable, Callable<R> callable) {
+        Semaphore slots = writeSlots(config);
+        long timeout = config.get(ServerOptions.WRITE_WAIT_TIMEOUT);
+        if (!acquire(slots, timeout)) {
             throw new HugeException("The rest server is too busy to write");
         }
 
-        LOG.debug("The batch writing threads is {}", batchWriteThreads);
+        int writingThreads = batchWriteThreads.incrementAndGet();
+        LOG.debug("The batch writing threads is {}", writingThreads);
         try {
-            R result = commit(g, callable);
+            R result;
+            int groupSize = config.get(ServerOptions.GROUP_COMMIT_SIZE);
+            if (groupable && groupSize > 0) {
+                // Only coalesce with the batches of the same kind of API
+                GroupCommitter committer = GroupCommitter.of(config, g,
+                                                             this.getClass());
+                result = committer.commit(g, size, callable);
+            } else {
+                result = commit(g, callable);
+            }
             this.batchMeter.mark(size);
             return result;
         } finally {
             batchWriteThreads.decrementAndGet();
+            slots.release();
+        }
+    }
+
+    private static Semaphore writeSlots(HugeConfig config) {
+        return writeSlots.computeIfAbsent(config, conf -> {
+            int maxWriteThreads = conf.get(ServerOptions.MAX_WRITE_THREADS);
+            return new Semaphore(maxWriteThreads);
+        });
+    }
+
+    private static boolean acquire(Semaphore semaphore, long timeout) {
+        if (timeout <= 0L) {
+            return semaphore.tryAcquire();
+        }
+        try {
+            return semaphore.tryAcquire(timeout, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            throw new HugeException("Interrupted while waiting to write", e);
         }
     }
 
@@ -166,4 +219,185 @@ public class BatchAPI extends API {
             }
         }
     }
+
+    /**
+     * Coalesce the concurrent batches of a graph into one transaction to
+     * reduce the number of backend commits: each batch is put into a queue,
+     * and the threads which get a committing permit take turns to drain a
+     * group of batches from the queue and commit them together, the other
+     * threads wait until their batches are committed.
+     *
+     * The batches of a group are executed in the same transaction, so only
+     * the batches of the same kind are coalesced, and an edge batch never
+     * reads the uncommitted vertices of the other requests.
+     *
+     * NOTE: if a group fails to commit, it's rolled back and each batch of
+     * it is committed alone, so the batches must be able to execute again.
+     */
+    private static final class GroupCommitter {
+
+        // The committers of each server config, keyed by graph and kind
+        private static final ConcurrentMap<HugeConfig,
+                                           Map<String, GroupCommitter>>
+                             committers = new MapMaker().weakKeys()
+                                                        .makeMap();
+
+        private final int groupSize;
+        private final Semaphore permits;
+        private final Queue<Batch<?>> queue;
+
+        public GroupCommitter(int groupSize, int threads) {
+            this.groupSize = groupSize;
+            this.permits = new Semaphore(threads);
+            this.queue = new ConcurrentLinkedQueue<>();
+        }
+
+        public static GroupCommitter of(HugeConfig config, HugeGraph g,
+                                        Class<?> kind) {
+            Map<String, GroupCommitter> graphCommitters;
+            graphCommitters = committers.computeIfAbsent(config, conf -> {
+                return new ConcurrentHashMap<>();
+            });
+            String key = g.name() + "/" + kind.getName();
+            return graphCommitters.computeIfAbsent(key, k -> {
+                int size = config.get(ServerOptions.GROUP_COMMIT_SIZE);
+                int threads = config.get(ServerOptions.GROUP_COMMIT_THREADS);
+                return new GroupCommitter(size, threads);
+            });
+        }
+
+        public <R> R commit(HugeGraph g, int size, Callable<R> callable) {
+            Batch<R> batch = new Batch<>(size, callable);
+            this.queue.offer(batch);
+
+            try {
+                this.permits.acquire();
+            } catch (InterruptedException e) {
+                if (this.queue.remove(batch)) {
+                    throw new HugeException("Interrupted while waiting to " +
+                                            "commit", e);
+                }
+                // The batch has been drained by other threads
+                return batch.get();
+            }
+            try {
+                while (!batch.drained()) {
+                    this.commitGroup(g);
+                }
+            } finally {
+                this.permits.release();
+            }
+            return batch.get();
+        }
+
+        private void commitGroup(HugeGraph g) {
+            List<Batch<?>> group = new ArrayList<>();
+            int size = 0;
+            for (Batch<?> batch = this.queue.peek(); batch != null;
+                 batch = this.queue.peek()) {
+                if (!group.isEmpty() && size + batch.size > this.groupSize) {
+                    break;
+                }
+                batch = this.queue.poll();
+                if (batch == null) {
+                    break;
+                }
+                batch.drain();
+                group.add(batch);
+                size += batch.size;
+            }
+            if (group.isEmpty()) {
+                return;
+            }
+
+            if (group.size() == 1) {
+                group.get(0).commit(g);
+                return;
+            }
+            try {
+                API.commit(g, () -> {
+                    for (Batch<?> batch : group) {
+                        batch.call();
+                    }
+                    return null;
+                });
+            } catch (Throwable e) {
+                LOG.debug("Failed to commit {} batches together, " +
+                          "commit them one by one", group.size(), e);
+                for (Batch<?> batch : group) {
+                    batch.reset();
+                    batch.commit(g);
+                }
+                return;
+            }
+            for (Batch<?> batch : group) {
+                batch.done();
+            }
+        }
+    }
+
+    private static final class Batch<R> {
+
+        private final int size;
+        private final Callable<R> callable;
+        private final CountDownLatch committed;
+        private volatile boolean drained;
+        private volatile R result;
+        private volatile Throwable error;
+
+        public Batch(int size, Callable<R> callable) {
+            this.size = size;
+            // Execute the batch in the context of request thread
+            this.callable = new ContextCallable<>(callable);
+            this.committed = new CountDownLatch(1);
+            this.drained = false;
+            this.result = null;
+            this.error = null;
+        }
+
+        public boolean drained() {
+            return this.drained;
+        }
+
+        public void drain() {
+            this.drained = true;
+        }
+
+        public void call() throws Exception {
+            this.result = this.callable.call();
+        }
+
+        public void reset() {
+            this.result = null;
+        }
+
+        public void commit(HugeGraph g) {
+            try {
+                this.result = API.commit(g, this.callable);
+            } catch (Throwable e) {
+                this.error = e;
+            }
+            this.done();
+        }
+
+        public void done() {
+            this.committed.countDown();
+        }
+
+        public R get() {
+            try {
+                this.committed.await();
+            } catch (InterruptedException e) {
+                throw new HugeException("Interrupted while committing", e);
+            }
+            if (this.error instanceof RuntimeException) {
+                throw (RuntimeException) this.error;
+            } else if (this.error instanceof Error) {
+                throw (Error) this.error;
+            } else if (this.error != null) {
+                throw new HugeException("Failed to commit", this.error);
+            }
+            return this.result;
+        }
+    }
 }
@@ -39,6 +39,7 @@ import javax.ws.rs.PathParam;
 import javax.ws.rs.Produces;
 import javax.ws.rs.QueryParam;
 import javax.ws.rs.core.Context;
+import javax.ws.rs.core.StreamingOutput;
 
 import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversal;
 import org.apache.tinkerpop.gremlin.structure.Direction;
@@ -139,7 +140,7 @@ public class EdgeAPI extends BatchAPI {
         TriFunction<HugeGraph, Object, String, Vertex> getVertex =
                     checkVertex ? EdgeAPI::getVertex : EdgeAPI::newVertex;
 
-        return this.commit(config, g, jsonEdges.size(), () -> {
+        return this.commit(config, g, jsonEdges.size(), true, () -> {
             List<String> ids = new ArrayList<>(jsonEdges.size());
             for (JsonEdge jsonEdge : jsonEdges) {
                 /*
@@ -263,17 +264,19 @@ public class EdgeAPI extends BatchAPI {
     @Compress
     @Produces(APPLICATION_JSON_WITH_CHARSET)
     @RolesAllowed({"admin", "$owner=$graph $action=edge_read"})
-    public String list(@Context GraphManager manager,
-                       @PathParam("graph") String graph,
-                       @QueryParam("vertex_id") String vertexId,
-                       @QueryParam("direction") String direction,
-                       @QueryParam("label") String label,
-                       @QueryParam("properties") String properties,
-                       @QueryParam("keep_start_p")
-                       @DefaultValue("false") boolean keepStartP,
-                       @QueryParam("offset") @DefaultValue("0") long offset,
-                       @QueryParam("page") String page,
-                       @QueryParam("limit") @DefaultValue("100") long limit) {
+    public StreamingOutput list(@Context GraphManager manager,
+                                @PathParam("graph") String graph,
+                                @QueryParam("vertex_id") String vertexId,
+                                @QueryParam("direction") String direction,
+                                @QueryParam("label") String label,
+                                @QueryParam("properties") String properties,
+                                @QueryParam("keep_start_p")
+                                @DefaultValue("false") boolean keepStartP,
+                                @QueryParam("offset")
+                                @DefaultValue("0") long offset,
+                                @QueryParam("page") String page,
+                                @QueryParam("limit")
+                                @DefaultValue("100") long limit) {
         LOG.debug("Graph [{}] query edges by vertex: {}, direction: {}, " +
                   "label: {}, properties: {}, offset: {}, page: {}, limit: {}",
                   vertexId, direction, label, properties, offset, page, limit);
@@ -325,13 +328,10 @@ public class EdgeAPI extends BatchAPI {
                                  .limit(limit);
         }
 
-        try {
-            return manager.serializer(g).writeEdges(traversal, page != null);
-        } finally {
-            if (g.tx().isOpen()) {
-                g.tx().close();
-            }
-        }
+        GraphTraversal<?, Edge> edges = traversal;
+        return stream(g, () -> {
+            return manager.serializer(g).streamEdges(edges, page != null);
+        });
     }
 
     @GET
@@ -0,0 +1,144 @@
+/*
+ * Copyright 2017 HugeGraph Authors
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with this
+ * work for additional information regarding copyright ownership. The ASF
+ * licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.baidu.hugegraph.api.graph;
+
+import java.util.List;
+import java.util.Map;
+
+import javax.annotation.security.RolesAllowed;
+import javax.inject.Singleton;
+import javax.ws.rs.GET;
+import javax.ws.rs.PUT;
+import javax.ws.rs.Path;
+import javax.ws.rs.PathParam;
+import javax.ws.rs.Produces;
+import javax.ws.rs.core.Context;
+
+import org.slf4j.Logger;
+
+import com.baidu.hugegraph.HugeGraph;
+import com.baidu.hugegraph.api.API;
+import com.baidu.hugegraph.api.filter.StatusFilter.Status;
+import com.baidu.hugegraph.backend.id.Id;
+import com.baidu.hugegraph.core.GraphManager;
+import com.baidu.hugegraph.schema.SchemaLabel;
+import com.baidu.hugegraph.util.InsertionOrderUtil;
+import com.baidu.hugegraph.util.Log;
+import com.codahale.metrics.annotation.Timed;
+import com.google.common.collect.ImmutableMap;
+
+@Path("graphs/{graph}/statistics")
+@Singleton
+public class StatisticsAPI extends API {
+
+    private static final Logger LOG = Log.logger(StatisticsAPI.class);
+
+    @GET
+    @Timed
+    @Produces(APPLICATION_JSON_WITH_CHARSET)
+    @RolesAllowed({"admin", "$owner=$graph $action=aggr_read"})
+    public Map<String, Object> list(@Context GraphManager manager,
+                                    @PathParam("graph") String graph) {
+        LOG.debug("Graph [{}] get label statistics", graph);
+
+        HugeGraph g = graph(manager, graph);
+        return ImmutableMap.of(
+               "vertices", counts(g, g.schema().getVertexLabels()),
+               "edges", counts(g, g.schema().getEdgeLabels()));
+    }
+
+    @GET
+    @Timed
+    @Path("vertexlabels/{name}")
+    @Produces(APPLICATION_JSON_WITH_CHARSET)
+    @RolesAllowed({"admin", "$owner=$graph $action=vertex_aggr_read"})
+    public Map<String, Object> vertexLabel(@Context GraphManager manager,
+                                           @PathParam("graph") String graph,
+                                           @PathParam("name") String name) {
+        LOG.debug("Graph [{}] get statistics of vertex label: {}",
+                  graph, name);
+
+        HugeGraph g = graph(manager, graph);
+        SchemaLabel label = g.schema().getVertexLabel(name);
+        return ImmutableMap.of("name", name, "count", g.labelCount(label));
+    }
+
+    @GET
+    @Timed
+    @Path("edgelabels/{name}")
+    @Produces(APPLICATION_JSON_WITH_CHARSET)
+    @RolesAllowed({"admin", "$owner=$graph $action=edge_aggr_read"})
+    public Map<String, Object> edgeLabel(@Context GraphManager manager,
+                                         @PathParam("graph") String graph,
+                                         @PathParam("name") String name) {
+        LOG.debug("Graph [{}] get statistics of edge label: {}",
+                  graph, name);
+
+        HugeGraph g = graph(manager, graph);
+        SchemaLabel label = g.schema().getEdgeLabel(name);
+        return ImmutableMap.of("name", name, "count", g.labelCount(label));
+    }
+
+    @PUT
+    @Timed
+    @Path("vertexlabels/{name}")
+    @Status(Status.ACCEPTED)
+    @Produces(APPLICATION_JSON_WITH_CHARSET)
+    @RolesAllowed({"admin", "$owner=$graph $action=vertex_aggr_write"})
+    public Map<String, Id> recountVertexLabel(
+                               @Context GraphManager manager,
+                               @PathParam("graph") String graph,
+                               @PathParam("name") String name) {
+        LOG.debug("Graph [{}] recount vertex label: {}", graph, name);
+
+        HugeGraph g = graph(manager, graph);
+        SchemaLabel label = g.schema().getVertexLabel(name);
+        return ImmutableMap.of("task_id", g.recountLabel(label));
+    }
+
+    @PUT
+    @Timed
+    @Path("edgelabels/{name}")
+    @Status(Status.ACCEPTED)
+    @Produces(APPLICATION_JSON_WITH_CHARSET)
+    @RolesAllowed({"admin", "$owner=$graph $action=edge_aggr_write"})
+    public Map<String, Id> recountEdgeLabel(
+                               @Context GraphManager manager,
+                               @PathParam("graph") String graph,
+                               @PathParam("name") String name) {
+        LOG.debug("Graph [{}] recount edge label: {}", graph, name);
+
+        HugeGraph g = graph(manager, graph);
+        SchemaLabel label = g.schema().getEdgeLabel(name);
+        return ImmutableMap.of("task_id", g.recountLabel(label));
+    }
+
+    private static Map<String, Long> counts(
+                                     HugeGraph g,
+                                     List<? extends SchemaLabel> labels) {
+        Map<String, Long> counts = InsertionOrderUtil.newMap();
+        for (SchemaLabel label : labels) {
+            if (!label.hidden()) {
+                counts.put(label.name(), g.labelCount(label));
+            }
+        }
+        return counts;
+    }
+}
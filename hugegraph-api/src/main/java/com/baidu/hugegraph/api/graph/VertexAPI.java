@@ -39,6 +39,7 @@ import javax.ws.rs.PathParam;
 import javax.ws.rs.Produces;
 import javax.ws.rs.QueryParam;
 import javax.ws.rs.core.Context;
+import javax.ws.rs.core.StreamingOutput;
 
 import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversal;
 import org.apache.tinkerpop.gremlin.structure.T;
@@ -114,7 +115,7 @@ public class VertexAPI extends BatchAPI {
 
         HugeGraph g = graph(manager, graph);
 
-        return this.commit(config, g, jsonVertices.size(), () -> {
+        return this.commit(config, g, jsonVertices.size(), true, () -> {
             List<String> ids = new ArrayList<>(jsonVertices.size());
             for (JsonVertex vertex : jsonVertices) {
                 ids.add(g.addVertex(vertex.properties()).id().toString());
@@ -222,15 +223,17 @@ public class VertexAPI extends BatchAPI {
     @Compress
     @Produces(APPLICATION_JSON_WITH_CHARSET)
     @RolesAllowed({"admin", "$owner=$graph $action=vertex_read"})
-    public String list(@Context GraphManager manager,
-                       @PathParam("graph") String graph,
-                       @QueryParam("label") String label,
-                       @QueryParam("properties") String properties,
-                       @QueryParam("keep_start_p")
-                       @DefaultValue("false") boolean keepStartP,
-                       @QueryParam("offset") @DefaultValue("0") long offset,
-                       @QueryParam("page") String page,
-                       @QueryParam("limit") @DefaultValue("100") long limit) {
+    public StreamingOutput list(@Context GraphManager manager,
+                                @PathParam("graph") String graph,
+                                @QueryParam("label") String label,
+                                @QueryParam("properties") String properties,
+                                @QueryParam("keep_start_p")
+                                @DefaultValue("false") boolean keepStartP,
+                                @QueryParam("offset")
+                                @DefaultValue("0") long offset,
+                                @QueryParam("page") String page,
+                                @QueryParam("limit")
+                                @DefaultValue("100") long limit) {
         LOG.debug("Graph [{}] query vertices by label: {}, properties: {}, " +
                   "offset: {}, page: {}, limit: {}",
                   graph, label, properties, offset, page, limit);
@@ -269,14 +272,11 @@ public class VertexAPI extends BatchAPI {
                                  .limit(limit);
         }
 
-        try {
-            return manager.serializer(g).writeVertices(traversal,
-                                                       page != null);
-        } finally {
-            if (g.tx().isOpen()) {
-                g.tx().close();
-            }
-        }
+        GraphTraversal<Vertex, Vertex> vertices = traversal;
+        return stream(g, () -> {
+            return manager.serializer(g).streamVertices(vertices,
+                                                        page != null);
+        });
     }
 
     @GET
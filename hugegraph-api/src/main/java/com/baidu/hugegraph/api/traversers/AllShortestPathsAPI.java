@@ -21,6 +21,7 @@ package com.baidu.hugegraph.api.traversers;
 
 import static com.baidu.hugegraph.traversal.algorithm.HugeTraverser.DEFAULT_CAPACITY;
 import static com.baidu.hugegraph.traversal.algorithm.HugeTraverser.DEFAULT_DEGREE;
+import static com.baidu.hugegraph.traversal.algorithm.HugeTraverser.DEFAULT_PARALLELISM;
 
 import javax.inject.Singleton;
 import javax.ws.rs.DefaultValue;
@@ -67,12 +68,15 @@ public class AllShortestPathsAPI extends API {
                       @QueryParam("skip_degree")
                       @DefaultValue("0") long skipDegree,
                       @QueryParam("capacity")
-                      @DefaultValue(DEFAULT_CAPACITY) long capacity) {
+                      @DefaultValue(DEFAULT_CAPACITY) long capacity,
+                      @QueryParam("parallelism")
+                      @DefaultValue(DEFAULT_PARALLELISM) int parallelism) {
         LOG.debug("Graph [{}] get shortest path from '{}', to '{}' with " +
                   "direction {}, edge label {}, max depth '{}', " +
-                  "max degree '{}', skipped degree '{}' and capacity '{}'",
-                  graph, source, target, direction, edgeLabel, depth,
-                  degree, skipDegree, capacity);
+                  "max degree '{}', skipped degree '{}', capacity '{}' " +
+                  "and parallelism '{}'", graph, source, target, direction,
+                  edgeLabel, depth, degree, skipDegree, capacity,
+                  parallelism);
 
         Id sourceId = VertexAPI.checkAndParseVertexId(source);
         Id targetId = VertexAPI.checkAndParseVertexId(target);
@@ -81,6 +85,7 @@ public class AllShortestPathsAPI extends API {
         HugeGraph g = graph(manager, graph);
 
         ShortestPathTraverser traverser = new ShortestPathTraverser(g);
+        traverser.parallelism(parallelism);
         HugeTraverser.PathSet paths = traverser.allShortestPaths(
                                       sourceId, targetId, dir, edgeLabel, depth,
                                       degree, skipDegree, capacity);
@@ -80,6 +80,7 @@ public class CountAPI extends API {
         HugeGraph g = graph(manager, graph);
         List<CountTraverser.Step> steps = step(g, request);
         CountTraverser traverser = new CountTraverser(g);
+        traverser.parallelism(request.parallelism);
         long count = traverser.count(sourceId, steps, request.containsTraversed,
                                      request.dedupSize);
 
@@ -106,13 +107,16 @@ public class CountAPI extends API {
         public boolean containsTraversed = false;
         @JsonProperty("dedup_size")
         public long dedupSize = 1000000L;
+        @JsonProperty("parallelism")
+        public int parallelism = Integer.valueOf(DEFAULT_PARALLELISM);
 
         @Override
         public String toString() {
             return String.format("CountRequest{source=%s,steps=%s," +
-                                 "contains_traversed=%s,dedupSize=%s}",
-                                 this.source, this.steps,
-                                 this.containsTraversed, this.dedupSize);
+                                 "contains_traversed=%s,dedupSize=%s," +
+                                 "parallelism=%s}", this.source, this.steps,
+                                 this.containsTraversed, this.dedupSize,
+                                 this.parallelism);
         }
     }
 
@@ -19,17 +19,26 @@
 
 package com.baidu.hugegraph.api.traversers;
 
+import static com.baidu.hugegraph.traversal.algorithm.HugeTraverser.DEFAULT_CAPACITY;
 import static com.baidu.hugegraph.traversal.algorithm.HugeTraverser.DEFAULT_DEGREE;
+import static com.baidu.hugegraph.traversal.algorithm.HugeTraverser.DEFAULT_PARALLELISM;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
 
 import javax.inject.Singleton;
+import javax.ws.rs.Consumes;
 import javax.ws.rs.DefaultValue;
 import javax.ws.rs.GET;
+import javax.ws.rs.POST;
 import javax.ws.rs.Path;
 import javax.ws.rs.PathParam;
 import javax.ws.rs.Produces;
 import javax.ws.rs.QueryParam;
 import javax.ws.rs.core.Context;
 
+import org.apache.commons.lang3.tuple.Pair;
 import org.slf4j.Logger;
 
 import com.baidu.hugegraph.HugeGraph;
@@ -41,9 +50,11 @@ import com.baidu.hugegraph.core.GraphManager;
 import com.baidu.hugegraph.server.RestServer;
 import com.baidu.hugegraph.traversal.algorithm.HugeTraverser;
 import com.baidu.hugegraph.type.define.Directions;
+import com.baidu.hugegraph.util.E;
 import com.baidu.hugegraph.util.JsonUtil;
 import com.baidu.hugegraph.util.Log;
 import com.codahale.metrics.annotation.Timed;
+import com.fasterxml.jackson.annotation.JsonProperty;
 import com.google.common.collect.ImmutableMap;
 
 @Path("graphs/{graph}/traversers/jaccardsimilarity")
@@ -78,4 +89,72 @@ public class JaccardSimilarityAPI extends API {
         return JsonUtil.toJson(ImmutableMap.of("jaccard_similarity",
                                                similarity));
     }
+
+    @POST
+    @Timed
+    @Consumes(APPLICATION_JSON)
+    @Produces(APPLICATION_JSON_WITH_CHARSET)
+    public String post(@Context GraphManager manager,
+                       @PathParam("graph") String graph,
+                       JaccardSimilarityRequest request) {
+        E.checkArgumentNotNull(request, "The jaccard similarity request " +
+                               "body can't be null");
+        if (request.direction == null) {
+            request.direction = Directions.BOTH;
+        }
+
+        LOG.debug("Graph [{}] get jaccard similarity of vertex pairs '{}' " +
+                  "with direction {}, edge label {}, max degree '{}', " +
+                  "capacity '{}' and parallelism '{}'", graph, request.pairs,
+                  request.direction, request.label, request.degree,
+                  request.capacity, request.parallelism);
+
+        List<Pair<Id, Id>> pairs = SameNeighborsAPI.parsePairs(request.pairs);
+
+        HugeGraph g = graph(manager, graph);
+        HugeTraverser traverser = new HugeTraverser(g);
+        traverser.parallelism(request.parallelism);
+        List<Double> results = traverser.jaccardSimilarity(pairs,
+                                                           request.direction,
+                                                           request.label,
+                                                           request.degree,
+                                                           request.capacity);
+
+        List<Map<String, Object>> similarities = new ArrayList<>(
+                                                 pairs.size());
+        for (int i = 0; i < pairs.size(); i++) {
+            Pair<Id, Id> pair = pairs.get(i);
+            similarities.add(ImmutableMap.of("vertex", pair.getLeft(),
+                                             "other", pair.getRight(),
+                                             "jaccard_similarity",
+                                             results.get(i)));
+        }
+        return manager.serializer(g).writeList("jaccard_similarities",
+                                               similarities);
+    }
+
+    private static class JaccardSimilarityRequest {
+
+        @JsonProperty("pairs")
+        public List<List<Object>> pairs;
+        @JsonProperty("label")
+        public String label;
+        @JsonProperty("direction")
+        public Directions direction;
+        @JsonProperty("max_degree")
+        public long degree = Long.valueOf(DEFAULT_DEGREE);
+        @JsonProperty("capacity")
+        public long capacity = Long.valueOf(DEFAULT_CAPACITY);
+        @JsonProperty("parallelism")
+        public int parallelism = Integer.valueOf(DEFAULT_PARALLELISM);
+
+        @Override
+        public String toString() {
+            return String.format("JaccardSimilarityRequest{pairs=%s," +
+                                 "label=%s,direction=%s,degree=%s," +
+                                 "capacity=%s,parallelism=%s}", this.pairs,
+                                 this.label, this.direction, this.degree,
+                                 this.capacity, this.parallelism);
+        }
+    }
 }
@@ -22,17 +22,25 @@ package com.baidu.hugegraph.api.traversers;
 import static com.baidu.hugegraph.traversal.algorithm.HugeTraverser.DEFAULT_CAPACITY;
 import static com.baidu.hugegraph.traversal.algorithm.HugeTraverser.DEFAULT_DEGREE;
 import static com.baidu.hugegraph.traversal.algorithm.HugeTraverser.DEFAULT_ELEMENTS_LIMIT;
+import static com.baidu.hugegraph.traversal.algorithm.HugeTraverser.DEFAULT_PARALLELISM;
 
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 import javax.inject.Singleton;
+import javax.ws.rs.Consumes;
 import javax.ws.rs.DefaultValue;
 import javax.ws.rs.GET;
+import javax.ws.rs.POST;
 import javax.ws.rs.Path;
 import javax.ws.rs.PathParam;
 import javax.ws.rs.Produces;
 import javax.ws.rs.QueryParam;
 import javax.ws.rs.core.Context;
+import javax.ws.rs.core.StreamingOutput;
 
 import org.slf4j.Logger;
 
@@ -45,8 +53,11 @@ import com.baidu.hugegraph.core.GraphManager;
 import com.baidu.hugegraph.server.RestServer;
 import com.baidu.hugegraph.traversal.algorithm.HugeTraverser;
 import com.baidu.hugegraph.type.define.Directions;
+import com.baidu.hugegraph.util.E;
 import com.baidu.hugegraph.util.Log;
 import com.codahale.metrics.annotation.Timed;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.google.common.collect.ImmutableMap;
 
 @Path("graphs/{graph}/traversers/kout")
 @Singleton
@@ -57,25 +68,30 @@ public class KoutAPI extends API {
     @GET
     @Timed
     @Produces(APPLICATION_JSON_WITH_CHARSET)
-    public String get(@Context GraphManager manager,
-                      @PathParam("graph") String graph,
-                      @QueryParam("source") String source,
-                      @QueryParam("direction") String direction,
-                      @QueryParam("label") String edgeLabel,
-                      @QueryParam("max_depth") int depth,
-                      @QueryParam("nearest")
-                      @DefaultValue("true")  boolean nearest,
-                      @QueryParam("max_degree")
-                      @DefaultValue(DEFAULT_DEGREE) long degree,
-                      @QueryParam("capacity")
-                      @DefaultValue(DEFAULT_CAPACITY) long capacity,
-                      @QueryParam("limit")
-                      @DefaultValue(DEFAULT_ELEMENTS_LIMIT) long limit) {
+    public StreamingOutput get(@Context GraphManager manager,
+                               @PathParam("graph") String graph,
+                               @QueryParam("source") String source,
+                               @QueryParam("direction") String direction,
+                               @QueryParam("label") String edgeLabel,
+                               @QueryParam("max_depth") int depth,
+                               @QueryParam("nearest")
+                               @DefaultValue("true")  boolean nearest,
+                               @QueryParam("max_degree")
+                               @DefaultValue(DEFAULT_DEGREE) long degree,
+                               @QueryParam("capacity")
+                               @DefaultValue(DEFAULT_CAPACITY) long capacity,
+                               @QueryParam("limit")
+                               @DefaultValue(DEFAULT_ELEMENTS_LIMIT) long limit,
+                               @QueryParam("page") String page,
+                               @QueryParam("parallelism")
+                               @DefaultValue(DEFAULT_PARALLELISM)
+                               int parallelism) {
         LOG.debug("Graph [{}] get k-out from '{}' with " +
                   "direction '{}', edge label '{}', max depth '{}', nearest " +
-                  "'{}', max degree '{}', capacity '{}' and limit '{}'",
-                  graph, source, direction, edgeLabel, depth, nearest,
-                  degree, capacity, limit);
+                  "'{}', max degree '{}', capacity '{}', limit '{}', " +
+                  "page '{}' and parallelism '{}'", graph, source, direction,
+                  edgeLabel, depth, nearest, degree, capacity, limit, page,
+                  parallelism);
 
         Id sourceId = VertexAPI.checkAndParseVertexId(source);
         Directions dir = Directions.convert(EdgeAPI.parseDirection(direction));
@@ -83,8 +99,87 @@ public class KoutAPI extends API {
         HugeGraph g = graph(manager, graph);
 
         HugeTraverser traverser = new HugeTraverser(g);
-        Set<Id> ids = traverser.kout(sourceId, dir, edgeLabel, depth,
-                                     nearest, degree, capacity, limit);
-        return manager.serializer(g).writeList("vertices", ids);
+        traverser.parallelism(parallelism);
+        Iterator<Id> ids = traverser.kout(sourceId, dir, edgeLabel, depth,
+                                          nearest, degree, capacity, limit,
+                                          page);
+        return manager.serializer(g).streamList("vertices", ids,
+                                                page != null);
+    }
+
+    @POST
+    @Timed
+    @Consumes(APPLICATION_JSON)
+    @Produces(APPLICATION_JSON_WITH_CHARSET)
+    public String post(@Context GraphManager manager,
+                       @PathParam("graph") String graph,
+                       KoutRequest request) {
+        E.checkArgumentNotNull(request, "The k-out request body can't be null");
+        E.checkArgumentNotNull(request.sources,
+                               "The sources of k-out request can't be null");
+        if (request.direction == null) {
+            request.direction = Directions.BOTH;
+        }
+
+        LOG.debug("Graph [{}] get k-out from sources '{}' with " +
+                  "direction '{}', edge label '{}', max depth '{}', nearest " +
+                  "'{}', max degree '{}', capacity '{}', limit '{}' and " +
+                  "parallelism '{}'", graph, request.sources,
+                  request.direction, request.label, request.depth,
+                  request.nearest, request.degree, request.capacity,
+                  request.limit, request.parallelism);
+
+        HugeGraph g = graph(manager, graph);
+        Set<Id> sources = request.sources.sourcesIds(g);
+
+        HugeTraverser traverser = new HugeTraverser(g);
+        traverser.parallelism(request.parallelism);
+        Map<Id, Set<Id>> results = traverser.kout(sources, request.direction,
+                                                  request.label,
+                                                  request.depth,
+                                                  request.nearest,
+                                                  request.degree,
+                                                  request.capacity,
+                                                  request.limit);
+
+        List<Map<String, Object>> kouts = new ArrayList<>(results.size());
+        for (Map.Entry<Id, Set<Id>> e : results.entrySet()) {
+            kouts.add(ImmutableMap.of("source", e.getKey(),
+                                      "vertices", e.getValue()));
+        }
+        return manager.serializer(g).writeList("kouts", kouts);
+    }
+
+    private static class KoutRequest {
+
+        @JsonProperty("sources")
+        public SourceVertices sources;
+        @JsonProperty("label")
+        public String label;
+        @JsonProperty("direction")
+        public Directions direction;
+        @JsonProperty("max_depth")
+        public int depth;
+        @JsonProperty("nearest")
+        public boolean nearest = true;
+        @JsonProperty("max_degree")
+        public long degree = Long.valueOf(DEFAULT_DEGREE);
+        @JsonProperty("capacity")
+        public long capacity = Long.valueOf(DEFAULT_CAPACITY);
+        @JsonProperty("limit")
+        public long limit = Long.valueOf(DEFAULT_ELEMENTS_LIMIT);
+        @JsonProperty("parallelism")
+        public int parallelism = Integer.valueOf(DEFAULT_PARALLELISM);
+
+        @Override
+        public String toString() {
+            return String.format("KoutRequest{sources=%s,label=%s," +
+                                 "direction=%s,depth=%s,nearest=%s," +
+                                 "degree=%s,capacity=%s,limit=%s," +
+                                 "parallelism=%s}", this.sources,
+                                 this.label, this.direction, this.depth,
+                                 this.nearest, this.degree, this.capacity,
+                                 this.limit, this.parallelism);
+        }
     }
 }
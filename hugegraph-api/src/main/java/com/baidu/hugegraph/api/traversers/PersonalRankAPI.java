@@ -19,9 +19,13 @@
 
 package com.baidu.hugegraph.api.traversers;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 import javax.inject.Singleton;
+import javax.ws.rs.Consumes;
 import javax.ws.rs.POST;
 import javax.ws.rs.Path;
 import javax.ws.rs.PathParam;
@@ -42,6 +46,7 @@ import com.baidu.hugegraph.util.E;
 import com.baidu.hugegraph.util.Log;
 import com.codahale.metrics.annotation.Timed;
 import com.fasterxml.jackson.annotation.JsonProperty;
+import com.google.common.collect.ImmutableMap;
 
 import static com.baidu.hugegraph.traversal.algorithm.HugeTraverser.DEFAULT_DEGREE;
 import static com.baidu.hugegraph.traversal.algorithm.HugeTraverser.DEFAULT_LIMIT;
@@ -63,22 +68,7 @@ public class PersonalRankAPI extends API {
         E.checkArgumentNotNull(request, "The rank request body can't be null");
         E.checkArgument(request.source != null,
                         "The source vertex id of rank request can't be null");
-        E.checkArgument(request.label != null,
-                        "The edge label of rank request can't be null");
-        E.checkArgument(request.alpha > 0 && request.alpha <= 1.0,
-                        "The alpha of rank request must be in range (0, 1], " +
-                        "but got '%s'", request.alpha);
-        E.checkArgument(request.degree > 0 || request.degree == NO_LIMIT,
-                        "The degree of rank request must be > 0, but got: %s",
-                        request.degree);
-        E.checkArgument(request.limit > 0 || request.limit == NO_LIMIT,
-                        "The limit of rank request must be > 0, but got: %s",
-                        request.limit);
-        E.checkArgument(request.maxDepth > 0 &&
-                        request.maxDepth <= Long.valueOf(DEFAULT_MAX_DEPTH),
-                        "The max depth of rank request must be " +
-                        "in range (0, %s], but got '%s'",
-                        DEFAULT_MAX_DEPTH, request.maxDepth);
+        checkRequest(request);
 
         LOG.debug("Graph [{}] get personal rank from '{}' with " +
                   "edge label '{}', alpha '{}', degree '{}', " +
@@ -98,25 +88,83 @@ public class PersonalRankAPI extends API {
         return manager.serializer(g).writeMap(ranks);
     }
 
+    @POST
+    @Timed
+    @Path("batch")
+    @Consumes(APPLICATION_JSON)
+    @Produces(APPLICATION_JSON_WITH_CHARSET)
+    public String personalRanks(@Context GraphManager manager,
+                                @PathParam("graph") String graph,
+                                BatchRankRequest request) {
+        E.checkArgumentNotNull(request, "The rank request body can't be null");
+        E.checkArgument(request.sources != null,
+                        "The source vertices of rank request can't be null");
+        checkRequest(request);
+
+        LOG.debug("Graph [{}] get personal rank from sources '{}' with " +
+                  "edge label '{}', alpha '{}', degree '{}', " +
+                  "max depth '{}' and sorted '{}'",
+                  graph, request.sources, request.label, request.alpha,
+                  request.degree, request.maxDepth, request.sorted);
+
+        HugeGraph g = graph(manager, graph);
+        Set<Id> sources = request.sources.sourcesIds(g);
+
+        PersonalRankTraverser traverser;
+        traverser = new PersonalRankTraverser(g, request.alpha, request.degree,
+                                              request.maxDepth);
+        Map<Id, Map<Id, Double>> results = traverser.personalRank(
+                                           sources, request.label,
+                                           request.withLabel);
+
+        List<Map<String, Object>> ranks = new ArrayList<>(results.size());
+        for (Map.Entry<Id, Map<Id, Double>> e : results.entrySet()) {
+            Map<Id, Double> topN = HugeTraverser.topN(e.getValue(),
+                                                      request.sorted,
+                                                      request.limit);
+            ranks.add(ImmutableMap.of("source", e.getKey(), "ranks", topN));
+        }
+        return manager.serializer(g).writeList("personal_ranks", ranks);
+    }
+
+    private static void checkRequest(RankRequest request) {
+        E.checkArgument(request.label != null,
+                        "The edge label of rank request can't be null");
+        E.checkArgument(request.alpha > 0 && request.alpha <= 1.0,
+                        "The alpha of rank request must be in range (0, 1], " +
+                        "but got '%s'", request.alpha);
+        E.checkArgument(request.degree > 0 || request.degree == NO_LIMIT,
+                        "The degree of rank request must be > 0, but got: %s",
+                        request.degree);
+        E.checkArgument(request.limit > 0 || request.limit == NO_LIMIT,
+                        "The limit of rank request must be > 0, but got: %s",
+                        request.limit);
+        E.checkArgument(request.maxDepth > 0 &&
+                        request.maxDepth <= Long.valueOf(DEFAULT_MAX_DEPTH),
+                        "The max depth of rank request must be " +
+                        "in range (0, %s], but got '%s'",
+                        DEFAULT_MAX_DEPTH, request.maxDepth);
+    }
+
     private static class RankRequest {
 
         @JsonProperty("source")
-        private String source;
+        protected String source;
         @JsonProperty("label")
-        private String label;
+        protected String label;
         @JsonProperty("alpha")
-        private double alpha;
+        protected double alpha;
         @JsonProperty("degree")
-        private long degree = Long.valueOf(DEFAULT_DEGREE);
+        protected long degree = Long.valueOf(DEFAULT_DEGREE);
         @JsonProperty("limit")
-        private long limit = Long.valueOf(DEFAULT_LIMIT);
+        protected long limit = Long.valueOf(DEFAULT_LIMIT);
         @JsonProperty("max_depth")
-        private int maxDepth;
+        protected int maxDepth;
         @JsonProperty("with_label")
-        private PersonalRankTraverser.WithLabel withLabel =
+        protected PersonalRankTraverser.WithLabel withLabel =
                 PersonalRankTraverser.WithLabel.BOTH_LABEL;
         @JsonProperty("sorted")
-        private boolean sorted = true;
+        protected boolean sorted = true;
 
         @Override
         public String toString() {
@@ -128,4 +176,20 @@ public class PersonalRankAPI extends API {
                                  this.withLabel, this.sorted);
         }
     }
+
+    private static class BatchRankRequest extends RankRequest {
+
+        @JsonProperty("sources")
+        private SourceVertices sources;
+
+        @Override
+        public String toString() {
+            return String.format("BatchRankRequest{sources=%s,label=%s," +
+                                 "alpha=%s,degree=%s,limit=%s,maxDepth=%s," +
+                                 "withLabel=%s,sorted=%s}",
+                                 this.sources, this.label, this.alpha,
+                                 this.degree, this.limit, this.maxDepth,
+                                 this.withLabel, this.sorted);
+        }
+    }
 }
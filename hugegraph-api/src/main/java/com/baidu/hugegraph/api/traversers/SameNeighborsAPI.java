@@ -19,20 +19,28 @@
 
 package com.baidu.hugegraph.api.traversers;
 
+import static com.baidu.hugegraph.traversal.algorithm.HugeTraverser.DEFAULT_CAPACITY;
 import static com.baidu.hugegraph.traversal.algorithm.HugeTraverser.DEFAULT_DEGREE;
+import static com.baidu.hugegraph.traversal.algorithm.HugeTraverser.DEFAULT_PARALLELISM;
 import static com.baidu.hugegraph.traversal.algorithm.HugeTraverser.DEFAULT_PATHS_LIMIT;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 import javax.inject.Singleton;
+import javax.ws.rs.Consumes;
 import javax.ws.rs.DefaultValue;
 import javax.ws.rs.GET;
+import javax.ws.rs.POST;
 import javax.ws.rs.Path;
 import javax.ws.rs.PathParam;
 import javax.ws.rs.Produces;
 import javax.ws.rs.QueryParam;
 import javax.ws.rs.core.Context;
 
+import org.apache.commons.lang3.tuple.Pair;
 import org.slf4j.Logger;
 
 import com.baidu.hugegraph.HugeGraph;
@@ -42,10 +50,14 @@ import com.baidu.hugegraph.api.graph.VertexAPI;
 import com.baidu.hugegraph.backend.id.Id;
 import com.baidu.hugegraph.core.GraphManager;
 import com.baidu.hugegraph.server.RestServer;
+import com.baidu.hugegraph.structure.HugeVertex;
 import com.baidu.hugegraph.traversal.algorithm.HugeTraverser;
 import com.baidu.hugegraph.type.define.Directions;
+import com.baidu.hugegraph.util.E;
 import com.baidu.hugegraph.util.Log;
 import com.codahale.metrics.annotation.Timed;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.google.common.collect.ImmutableMap;
 
 @Path("graphs/{graph}/traversers/sameneighbors")
 @Singleton
@@ -80,4 +92,93 @@ public class SameNeighborsAPI extends API {
                                                     edgeLabel, degree, limit);
         return manager.serializer(g).writeList("same_neighbors", neighbors);
     }
+
+    @POST
+    @Timed
+    @Consumes(APPLICATION_JSON)
+    @Produces(APPLICATION_JSON_WITH_CHARSET)
+    public String post(@Context GraphManager manager,
+                       @PathParam("graph") String graph,
+                       SameNeighborsRequest request) {
+        E.checkArgumentNotNull(request, "The same neighbors request body " +
+                               "can't be null");
+        if (request.direction == null) {
+            request.direction = Directions.BOTH;
+        }
+
+        LOG.debug("Graph [{}] get same neighbors of vertex pairs '{}' with " +
+                  "direction {}, edge label {}, max degree '{}', " +
+                  "capacity '{}', limit '{}' and parallelism '{}'",
+                  graph, request.pairs, request.direction, request.label,
+                  request.degree, request.capacity, request.limit,
+                  request.parallelism);
+
+        List<Pair<Id, Id>> pairs = parsePairs(request.pairs);
+
+        HugeGraph g = graph(manager, graph);
+        HugeTraverser traverser = new HugeTraverser(g);
+        traverser.parallelism(request.parallelism);
+        List<Set<Id>> results = traverser.sameNeighbors(pairs,
+                                                        request.direction,
+                                                        request.label,
+                                                        request.degree,
+                                                        request.capacity,
+                                                        request.limit);
+
+        List<Map<String, Object>> sameNeighbors = new ArrayList<>(
+                                                  pairs.size());
+        for (int i = 0; i < pairs.size(); i++) {
+            Pair<Id, Id> pair = pairs.get(i);
+            sameNeighbors.add(ImmutableMap.of("vertex", pair.getLeft(),
+                                              "other", pair.getRight(),
+                                              "same_neighbors",
+                                              results.get(i)));
+        }
+        return manager.serializer(g).writeList("same_neighbors",
+                                               sameNeighbors);
+    }
+
+    protected static List<Pair<Id, Id>> parsePairs(List<List<Object>> pairs) {
+        E.checkArgument(pairs != null && !pairs.isEmpty(),
+                        "The vertex pairs can't be empty");
+        List<Pair<Id, Id>> results = new ArrayList<>(pairs.size());
+        for (List<Object> pair : pairs) {
+            E.checkArgument(pair != null && pair.size() == 2,
+                            "The vertex pair must contain 2 vertex ids, " +
+                            "but got '%s'", pair);
+            E.checkArgument(pair.get(0) != null && pair.get(1) != null,
+                            "The vertex id of pair can't be null, " +
+                            "but got '%s'", pair);
+            results.add(Pair.of(HugeVertex.getIdValue(pair.get(0)),
+                                HugeVertex.getIdValue(pair.get(1))));
+        }
+        return results;
+    }
+
+    private static class SameNeighborsRequest {
+
+        @JsonProperty("pairs")
+        public List<List<Object>> pairs;
+        @JsonProperty("label")
+        public String label;
+        @JsonProperty("direction")
+        public Directions direction;
+        @JsonProperty("max_degree")
+        public long degree = Long.valueOf(DEFAULT_DEGREE);
+        @JsonProperty("capacity")
+        public long capacity = Long.valueOf(DEFAULT_CAPACITY);
+        @JsonProperty("limit")
+        public long limit = Long.valueOf(DEFAULT_PATHS_LIMIT);
+        @JsonProperty("parallelism")
+        public int parallelism = Integer.valueOf(DEFAULT_PARALLELISM);
+
+        @Override
+        public String toString() {
+            return String.format("SameNeighborsRequest{pairs=%s,label=%s," +
+                                 "direction=%s,degree=%s,capacity=%s," +
+                                 "limit=%s,parallelism=%s}", this.pairs,
+                                 this.label, this.direction, this.degree,
+                                 this.capacity, this.limit, this.parallelism);
+        }
+    }
 }
@@ -21,12 +21,14 @@ package com.baidu.hugegraph.api.traversers;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
 import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.apache.tinkerpop.gremlin.structure.util.CloseableIterator;
 
 import com.baidu.hugegraph.HugeGraph;
 import com.baidu.hugegraph.backend.id.Id;
@@ -88,6 +90,31 @@ public class SourceVertices {
         return iterator;
     }
 
+    /**
+     * Get the ids of source vertices, the vertices are not queried if the
+     * ids are provided
+     * @param g the graph
+     * @return the ids of source vertices
+     */
+    public Set<Id> sourcesIds(HugeGraph g) {
+        Set<Id> sourceIds = new HashSet<>();
+        if (this.ids != null && !this.ids.isEmpty()) {
+            for (Object id : this.ids) {
+                sourceIds.add(HugeVertex.getIdValue(id));
+            }
+            return sourceIds;
+        }
+        Iterator<Vertex> iterator = this.sourcesVertices(g);
+        try {
+            while (iterator.hasNext()) {
+                sourceIds.add((Id) iterator.next().id());
+            }
+        } finally {
+            CloseableIterator.closeIterator(iterator);
+        }
+        return sourceIds;
+    }
+
     @Override
     public String toString() {
         return String.format("SourceVertex{ids=%s,label=%s,properties=%s}",
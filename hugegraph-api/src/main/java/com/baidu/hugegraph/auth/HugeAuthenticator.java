@@ -38,6 +38,7 @@ import com.baidu.hugegraph.auth.SchemaDefine.UserElement;
 import com.baidu.hugegraph.config.HugeConfig;
 import com.baidu.hugegraph.config.OptionSpace;
 import com.baidu.hugegraph.config.ServerOptions;
+import com.baidu.hugegraph.exception.NotSupportException;
 import com.baidu.hugegraph.util.E;
 import com.baidu.hugegraph.util.JsonUtil;
 
@@ -47,6 +48,7 @@ public interface HugeAuthenticator extends Authenticator {
                                CredentialGraphTokens.PROPERTY_USERNAME;
     public static final String KEY_PASSWORD =
                                CredentialGraphTokens.PROPERTY_PASSWORD;
+    public static final String KEY_TOKEN = "token";
     public static final String KEY_ROLE = "role";
     public static final String KEY_ADDRESS = "address";
     public static final String KEY_PATH = "path";
@@ -68,6 +70,15 @@ public interface HugeAuthenticator extends Authenticator {
     public RolePermission authenticate(String username, String password);
     public UserManager userManager();
 
+    public default String createToken(String username) {
+        throw new NotSupportException("token login");
+    }
+
+    public default User validateToken(String token)
+                                      throws AuthenticationException {
+        throw new AuthenticationException("Unsupported token authentication");
+    }
+
     @Override
     public default void setup(final Map<String, Object> config) {
         E.checkState(config != null,
@@ -86,17 +97,23 @@ public interface HugeAuthenticator extends Authenticator {
 
         User user = User.ANONYMOUS;
         if (this.requireAuthentication()) {
-            String username = credentials.get(KEY_USERNAME);
-            String password = credentials.get(KEY_PASSWORD);
-
-            // Currently we just use config tokens to authenticate
-            RolePermission role = this.authenticate(username, password);
-            if (!verifyRole(role)) {
-                // Throw if not certified
-                String message = "Incorrect username or password";
-                throw new AuthenticationException(message);
+            String token = credentials.get(KEY_TOKEN);
+            if (token != null) {
+                // The token has been signed after verifying the password
+                user = this.validateToken(token);
+            } else {
+                String username = credentials.get(KEY_USERNAME);
+                String password = credentials.get(KEY_PASSWORD);
+
+                // Currently we just use config tokens to authenticate
+                RolePermission role = this.authenticate(username, password);
+                if (!verifyRole(role)) {
+                    // Throw if not certified
+                    String message = "Incorrect username or password";
+                    throw new AuthenticationException(message);
+                }
+                user = new User(username, role);
             }
-            user = new User(username, role);
             user.client(credentials.get(KEY_ADDRESS));
         }
 
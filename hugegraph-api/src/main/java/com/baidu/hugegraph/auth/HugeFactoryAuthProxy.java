@@ -25,8 +25,10 @@ import java.lang.reflect.Modifier;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.ThreadFactory;
 
 import org.apache.commons.configuration.Configuration;
+import org.apache.tinkerpop.gremlin.server.util.ThreadFactoryUtil;
 import org.apache.tinkerpop.gremlin.structure.Graph;
 
 import com.baidu.hugegraph.HugeException;
@@ -52,6 +54,7 @@ import com.baidu.hugegraph.task.StandardTaskScheduler;
 import com.baidu.hugegraph.task.TaskCallable;
 import com.baidu.hugegraph.task.TaskCallable.SysTaskCallable;
 import com.baidu.hugegraph.task.TaskManager;
+import com.baidu.hugegraph.traversal.algorithm.HugeTraverser;
 import com.baidu.hugegraph.traversal.optimize.HugeCountStepStrategy;
 import com.baidu.hugegraph.traversal.optimize.HugeGraphStepStrategy;
 import com.baidu.hugegraph.traversal.optimize.HugeVertexStepStrategy;
@@ -71,6 +74,7 @@ public final class HugeFactoryAuthProxy {
     static {
         HugeGraphAuthProxy.setContext(HugeGraphAuthProxy.Context.admin());
         HugeFactoryAuthProxy.registerPrivateActions();
+        HugeFactoryAuthProxy.initTraverserExecutor();
     }
 
     public static Graph open(Configuration config) {
@@ -81,6 +85,15 @@ public final class HugeFactoryAuthProxy {
         return new HugeGraphAuthProxy(HugeFactory.open(config));
     }
 
+    private static void initTraverserExecutor() {
+        // Pass the user context of request thread to OLTP worker threads
+        int size = HugeTraverser.MAX_PARALLELISM;
+        ThreadFactory factory = ThreadFactoryUtil.create(
+                                HugeTraverser.OLTP_WORKER);
+        HugeTraverser.executor(new HugeGraphAuthProxy.ContextThreadPoolExecutor(
+                               size, size, factory));
+    }
+
     private static void registerPrivateActions() {
         // Thread
         Reflection.registerFieldsToFilter(java.lang.Thread.class, "name", "priority", "threadQ", "eetop", "single_step", "daemon", "stillborn", "target", "group", "contextClassLoader", "inheritedAccessControlContext", "threadInitNumber", "threadLocals", "inheritableThreadLocals", "stackSize", "nativeParkEventPointer", "tid", "threadSeqNumber", "threadStatus", "parkBlocker", "blocker", "blockerLock", "EMPTY_STACK_TRACE", "SUBCLASS_IMPLEMENTATION_PERMISSION", "uncaughtExceptionHandler", "defaultUncaughtExceptionHandler", "threadLocalRandomSeed", "threadLocalRandomProbe", "threadLocalRandomSecondarySeed");
@@ -94,7 +107,7 @@ public final class HugeFactoryAuthProxy {
         Reflection.registerMethodsToFilter(com.baidu.hugegraph.auth.StandardAuthenticator.class, "graph", "initAdminUser", "inputPassword");
         Reflection.registerFieldsToFilter(com.baidu.hugegraph.auth.ConfigAuthenticator.class, "tokens");
         Reflection.registerFieldsToFilter(com.baidu.hugegraph.auth.HugeFactoryAuthProxy.class, "PROTECT_METHODS");
-        Reflection.registerMethodsToFilter(com.baidu.hugegraph.auth.HugeFactoryAuthProxy.class, "c", "registerPrivateActions", "registerPrivateActions", "genRegisterPrivateActions", "registerClass");
+        Reflection.registerMethodsToFilter(com.baidu.hugegraph.auth.HugeFactoryAuthProxy.class, "c", "initTraverserExecutor", "registerPrivateActions", "registerPrivateActions", "genRegisterPrivateActions", "registerClass");
         Reflection.registerFieldsToFilter(com.baidu.hugegraph.auth.HugeAuthenticator.User.class, "role", "client");
         Reflection.registerFieldsToFilter(org.apache.tinkerpop.gremlin.server.auth.AuthenticatedUser.class, "name");
         Reflection.registerFieldsToFilter(com.baidu.hugegraph.auth.HugeGraphAuthProxy.class, "LOG", "hugegraph", "taskScheduler", "userManager", "contexts", "$assertionsDisabled");
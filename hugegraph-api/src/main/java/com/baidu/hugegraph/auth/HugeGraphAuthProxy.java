@@ -26,6 +26,7 @@ import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.Callable;
 import java.util.concurrent.Future;
 import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.ThreadFactory;
@@ -58,6 +59,7 @@ import com.baidu.hugegraph.HugeGraph;
 import com.baidu.hugegraph.auth.HugeAuthenticator.RolePerm;
 import com.baidu.hugegraph.auth.HugeAuthenticator.User;
 import com.baidu.hugegraph.auth.SchemaDefine.UserElement;
+import com.baidu.hugegraph.backend.cache.DegreeCache;
 import com.baidu.hugegraph.backend.id.Id;
 import com.baidu.hugegraph.backend.query.Query;
 import com.baidu.hugegraph.backend.store.BackendFeatures;
@@ -433,6 +435,18 @@ public final class HugeGraphAuthProxy implements HugeGraph {
         return this.hugegraph.checkAdjacentVertexExist();
     }
 
+    @Override
+    public int adjacentBatchSize() {
+        verifyStatusPermission();
+        return this.hugegraph.adjacentBatchSize();
+    }
+
+    @Override
+    public DegreeCache degreeCache() {
+        verifyStatusPermission();
+        return this.hugegraph.degreeCache();
+    }
+
     @Override
     public Iterator<Edge> edges(Query query) {
         return verifyElemPermission(HugePermission.READ,
@@ -465,6 +479,18 @@ public final class HugeGraphAuthProxy implements HugeGraph {
 
     }
 
+    @Override
+    public long labelCount(SchemaLabel label) {
+        this.verifyPermission(HugePermission.READ, aggrResourceType(label));
+        return this.hugegraph.labelCount(label);
+    }
+
+    @Override
+    public Id recountLabel(SchemaLabel label) {
+        this.verifyPermission(HugePermission.WRITE, aggrResourceType(label));
+        return this.hugegraph.recountLabel(label);
+    }
+
     @Override
     public Transaction tx() {
         /*
@@ -628,6 +654,15 @@ public final class HugeGraphAuthProxy implements HugeGraph {
         verifyPermission(HugePermission.READ, ResourceType.STATUS);
     }
 
+    private static ResourceType aggrResourceType(SchemaLabel label) {
+        if (label.type() == HugeType.VERTEX_LABEL) {
+            return ResourceType.VERTEX_AGGR;
+        } else {
+            assert label.type() == HugeType.EDGE_LABEL;
+            return ResourceType.EDGE_AGGR;
+        }
+    }
+
     private void verifyPermission(HugePermission actionPerm,
                                   ResourceType resType) {
         /*
@@ -1043,7 +1078,7 @@ public final class HugeGraphAuthProxy implements HugeGraph {
         public HugeUser findUser(String name) {
             HugeUser user = this.userManager.findUser(name);
             String username = currentUsername();
-            if (!user.name().equals(username)) {
+            if (user != null && !user.name().equals(username)) {
                 verifyUserPermission(HugePermission.READ, user);
             }
             return user;
@@ -1479,6 +1514,32 @@ public final class HugeGraphAuthProxy implements HugeGraph {
         }
     }
 
+    /**
+     * Call in the context of the thread which created it, and restore the
+     * context of the calling thread after calling
+     */
+    public static class ContextCallable<V> implements Callable<V> {
+
+        private final Callable<V> callable;
+        private final Context context;
+
+        public ContextCallable(Callable<V> callable) {
+            E.checkNotNull(callable, "callable");
+            this.context = getContext();
+            this.callable = callable;
+        }
+
+        @Override
+        public V call() throws Exception {
+            Context old = setContext(this.context);
+            try {
+                return this.callable.call();
+            } finally {
+                setContext(old);
+            }
+        }
+    }
+
     public static class ContextThreadPoolExecutor extends ThreadPoolExecutor {
 
         public ContextThreadPoolExecutor(int corePoolSize, int maxPoolSize,
@@ -24,9 +24,11 @@ import java.net.InetAddress;
 import java.util.Scanner;
 
 import org.apache.commons.lang.NotImplementedException;
+import org.apache.tinkerpop.gremlin.server.auth.AuthenticationException;
 import org.apache.tinkerpop.gremlin.structure.util.GraphFactory;
 
 import com.baidu.hugegraph.HugeGraph;
+import com.baidu.hugegraph.auth.HugeGraphAuthProxy.Context;
 import com.baidu.hugegraph.config.HugeConfig;
 import com.baidu.hugegraph.config.ServerOptions;
 import com.baidu.hugegraph.util.E;
@@ -35,6 +37,7 @@ import com.baidu.hugegraph.util.StringEncoding;
 public class StandardAuthenticator implements HugeAuthenticator {
 
     private HugeGraph graph = null;
+    private TokenGenerator tokenGenerator = null;
 
     private HugeGraph graph() {
         E.checkState(this.graph != null, "Must setup Authenticator first");
@@ -76,6 +79,12 @@ public class StandardAuthenticator implements HugeAuthenticator {
         E.checkArgument(graphPath != null,
                         "Invalid graph name '%s'", graphName);
         this.graph = (HugeGraph) GraphFactory.open(graphPath);
+
+        String secret = config.get(ServerOptions.AUTH_TOKEN_SECRET);
+        if (!secret.isEmpty()) {
+            long expire = config.get(ServerOptions.AUTH_TOKEN_EXPIRE) * 1000L;
+            this.tokenGenerator = new TokenGenerator(secret, expire);
+        }
     }
 
     /**
@@ -101,6 +110,49 @@ public class StandardAuthenticator implements HugeAuthenticator {
         return role;
     }
 
+    @Override
+    public String createToken(String username) {
+        E.checkState(this.tokenGenerator != null,
+                     "Token login is disabled, please set '%s' to enable it",
+                     ServerOptions.AUTH_TOKEN_SECRET.name());
+        // Can't verify permission of the user before login
+        Context context = HugeGraphAuthProxy.setContext(Context.admin());
+        try {
+            HugeUser user = this.userManager().findUser(username);
+            E.checkArgument(user != null, "Not exists user '%s'", username);
+            return this.tokenGenerator.create(username, user.password());
+        } finally {
+            HugeGraphAuthProxy.setContext(context);
+        }
+    }
+
+    @Override
+    public User validateToken(String token) throws AuthenticationException {
+        if (this.tokenGenerator == null) {
+            throw new AuthenticationException("Token login is disabled");
+        }
+        String username = TokenGenerator.username(token);
+        // Can't verify permission of the user before login
+        Context context = HugeGraphAuthProxy.setContext(Context.admin());
+        try {
+            HugeUser user = this.userManager().findUser(username);
+            if (user == null) {
+                throw new AuthenticationException("Invalid token");
+            }
+            this.tokenGenerator.verify(token, user.password());
+
+            RolePermission role;
+            if (username.equals(USER_ADMIN)) {
+                role = ROLE_ADMIN;
+            } else {
+                role = this.userManager().rolePermission(user);
+            }
+            return new User(username, role);
+        } finally {
+            HugeGraphAuthProxy.setContext(context);
+        }
+    }
+
     @Override
     public UserManager userManager() {
         return this.graph().userManager();
@@ -0,0 +1,116 @@
+/*
+ * Copyright 2017 HugeGraph Authors
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with this
+ * work for additional information regarding copyright ownership. The ASF
+ * licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.baidu.hugegraph.auth;
+
+import java.security.MessageDigest;
+import java.util.Base64;
+
+import org.apache.tinkerpop.gremlin.server.auth.AuthenticationException;
+
+import com.baidu.hugegraph.util.E;
+import com.baidu.hugegraph.util.StringEncoding;
+import com.google.common.base.Charsets;
+import com.google.common.hash.HashFunction;
+import com.google.common.hash.Hashing;
+
+/**
+ * Generate and verify the login tokens with format like:
+ * `base64(username).expire_time.base64(signature)`, the signature is the
+ * HMAC-SHA256 of `base64(username).expire_time` salted by the stored
+ * password of the user, so all tokens of a user are invalid after the
+ * password is changed
+ */
+public class TokenGenerator {
+
+    private static final String DELIMITER = ".";
+    private static final String DELIMITER_REGEX = "\\.";
+
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder()
+                                                        .withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    private final HashFunction hmac;
+    private final long expire;
+
+    public TokenGenerator(String secret, long expire) {
+        E.checkArgument(secret != null && !secret.isEmpty(),
+                        "The token secret can't be empty");
+        E.checkArgument(expire > 0L,
+                        "The token expire time must be > 0, but got %s",
+                        expire);
+        this.hmac = Hashing.hmacSha256(StringEncoding.encode(secret));
+        this.expire = expire;
+    }
+
+    public String create(String username, String salt) {
+        long expireTime = System.currentTimeMillis() + this.expire;
+        String name = ENCODER.encodeToString(StringEncoding.encode(username));
+        String payload = name + DELIMITER + expireTime;
+        return payload + DELIMITER + this.sign(payload, salt);
+    }
+
+    public void verify(String token, String salt)
+                       throws AuthenticationException {
+        String[] parts = split(token);
+        String payload = parts[0] + DELIMITER + parts[1];
+        byte[] expected = StringEncoding.encode(this.sign(payload, salt));
+        byte[] actual = StringEncoding.encode(parts[2]);
+        if (!MessageDigest.isEqual(expected, actual)) {
+            throw new AuthenticationException("Invalid token");
+        }
+
+        long expireTime;
+        try {
+            expireTime = Long.parseLong(parts[1]);
+        } catch (NumberFormatException e) {
+            throw new AuthenticationException("Invalid token");
+        }
+        if (expireTime < System.currentTimeMillis()) {
+            throw new AuthenticationException("The token has expired");
+        }
+    }
+
+    public static String username(String token)
+                                  throws AuthenticationException {
+        String[] parts = split(token);
+        try {
+            return StringEncoding.decode(DECODER.decode(parts[0]));
+        } catch (IllegalArgumentException e) {
+            throw new AuthenticationException("Invalid token");
+        }
+    }
+
+    private String sign(String payload, String salt) {
+        byte[] signature = this.hmac.newHasher()
+                                    .putString(payload, Charsets.UTF_8)
+                                    .putString(salt, Charsets.UTF_8)
+                                    .hash().asBytes();
+        return ENCODER.encodeToString(signature);
+    }
+
+    private static String[] split(String token)
+                                  throws AuthenticationException {
+        String[] parts = token.split(DELIMITER_REGEX);
+        if (parts.length != 3) {
+            throw new AuthenticationException("Invalid token");
+        }
+        return parts;
+    }
+}
@@ -177,6 +177,37 @@ public class ServerOptions extends OptionHolder {
                     nonNegativeInt(),
                     0);
 
+    public static final ConfigOption<Integer> WRITE_WAIT_TIMEOUT =
+            new ConfigOption<>(
+                    "batch.write_wait_timeout",
+                    "The timeout in milliseconds of waiting for a batch " +
+                    "writing thread when all of them are busy, " +
+                    "if the value is 0, the request is rejected at once.",
+                    nonNegativeInt(),
+                    0
+            );
+
+    public static final ConfigOption<Integer> GROUP_COMMIT_SIZE =
+            new ConfigOption<>(
+                    "batch.group_commit_size",
+                    "The maximum number of elements of the batches " +
+                    "coalesced into one commit, the concurrent batch " +
+                    "creating requests of a graph are committed in groups " +
+                    "if the value is greater than 0.",
+                    rangeInt(0, 10000),
+                    0
+            );
+
+    public static final ConfigOption<Integer> GROUP_COMMIT_THREADS =
+            new ConfigOption<>(
+                    "batch.group_commit_threads",
+                    "The maximum threads of a graph to commit the coalesced " +
+                    "batches concurrently, only take effect if the " +
+                    "batch.group_commit_size is greater than 0.",
+                    positiveInt(),
+                    2
+            );
+
     public static final ConfigOption<Boolean> ALLOW_TRACE =
             new ConfigOption<>(
                     "exception.allow_trace",
@@ -204,6 +235,25 @@ public class ServerOptions extends OptionHolder {
                     "hugegraph"
             );
 
+    public static final ConfigOption<String> AUTH_TOKEN_SECRET =
+            new ConfigOption<>(
+                    "auth.token_secret",
+                    "The secret key to sign the login tokens, token login " +
+                    "is disabled if it's empty, " +
+                    "only for com.baidu.hugegraph.auth.StandardAuthenticator.",
+                    null,
+                    ""
+            );
+
+    public static final ConfigOption<Integer> AUTH_TOKEN_EXPIRE =
+            new ConfigOption<>(
+                    "auth.token_expire",
+                    "The expire time in seconds of the login tokens, " +
+                    "only for com.baidu.hugegraph.auth.StandardAuthenticator.",
+                    positiveInt(),
+                    (60 * 60 * 24)
+            );
+
     public static final ConfigOption<String> ADMIN_TOKEN =
             new ConfigOption<>(
                     "auth.admin_token",
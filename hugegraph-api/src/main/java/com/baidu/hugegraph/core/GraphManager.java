@@ -146,6 +146,10 @@ public final class GraphManager {
         return this.authenticator().authenticate(credentials);
     }
 
+    public String createToken(String username) {
+        return this.authenticator().createToken(username);
+    }
+
     public UserManager userManager() {
         return this.authenticator().userManager();
     }
@@ -20,16 +20,21 @@
 package com.baidu.hugegraph.serializer;
 
 import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 
+import javax.ws.rs.core.StreamingOutput;
+
 import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversal;
 import org.apache.tinkerpop.gremlin.structure.Edge;
 import org.apache.tinkerpop.gremlin.structure.Vertex;
 import org.apache.tinkerpop.gremlin.structure.util.CloseableIterator;
+import org.apache.tinkerpop.shaded.jackson.core.JsonGenerator;
 
 import com.baidu.hugegraph.HugeException;
 import com.baidu.hugegraph.api.API;
@@ -71,37 +76,79 @@ public class JsonSerializer implements Serializer {
     @Override
     public String writeList(String label, Collection<?> list) {
         try (ByteArrayOutputStream out = new ByteArrayOutputStream(LBUF_SIZE)) {
-            out.write(String.format("{\"%s\": ", label).getBytes(API.CHARSET));
-            out.write(JsonUtil.toJson(list).getBytes(API.CHARSET));
-            out.write("}".getBytes(API.CHARSET));
+            this.writeList(label, list, out);
             return out.toString(API.CHARSET);
+        } catch (HugeException e) {
+            throw e;
         } catch (Exception e) {
             throw new HugeException("Failed to serialize %s", e, label);
         }
     }
 
+    @Override
+    public StreamingOutput streamList(String label, Collection<?> list) {
+        return out -> {
+            this.writeList(label, list, out);
+        };
+    }
+
+    @Override
+    public StreamingOutput streamList(String label, Iterator<?> iter,
+                                      boolean paging) {
+        return this.streamIterator(label, iter, paging);
+    }
+
+    private void writeList(String label, Collection<?> list,
+                           OutputStream out) throws IOException {
+        try (JsonGenerator generator = JsonUtil.newGenerator(out)) {
+            generator.writeStartObject();
+            generator.writeObjectField(label, list);
+            generator.writeEndObject();
+        }
+    }
+
     private String writeIterator(String label, Iterator<?> iter,
                                  boolean paging) {
         // Early throw if needed
         iter.hasNext();
 
-        // Serialize Iterator
         try (ByteArrayOutputStream out = new ByteArrayOutputStream(LBUF_SIZE)) {
-            out.write("{".getBytes(API.CHARSET));
+            this.writeIterator(label, iter, paging, out);
+            return out.toString(API.CHARSET);
+        } catch (HugeException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new HugeException("Failed to serialize %s", e, label);
+        }
+    }
+
+    private StreamingOutput streamIterator(String label, Iterator<?> iter,
+                                           boolean paging) {
+        // Early throw if needed, the response has not been committed yet
+        try {
+            iter.hasNext();
+        } catch (Throwable e) {
+            closeIterator(label, iter);
+            throw e;
+        }
 
-            out.write(String.format("\"%s\":[", label).getBytes(API.CHARSET));
+        // Write elements one by one to the response stream
+        return out -> {
+            this.writeIterator(label, iter, paging, out);
+        };
+    }
+
+    private void writeIterator(String label, Iterator<?> iter,
+                               boolean paging, OutputStream out) {
+        try (JsonGenerator generator = JsonUtil.newGenerator(out)) {
+            generator.writeStartObject();
 
             // Write data
-            boolean first = true;
+            generator.writeArrayFieldStart(label);
             while (iter.hasNext()) {
-                if (!first) {
-                    out.write(",".getBytes(API.CHARSET));
-                } else {
-                    first = false;
-                }
-                out.write(JsonUtil.toJson(iter.next()).getBytes(API.CHARSET));
+                generator.writeObject(iter.next());
             }
-            out.write("]".getBytes(API.CHARSET));
+            generator.writeEndArray();
 
             // Write page
             if (paging) {
@@ -114,26 +161,24 @@ public class JsonSerializer implements Serializer {
                     throw new HugeException("Invalid paging iterator: %s",
                                             iter.getClass());
                 }
-                if (page != null) {
-                    page = String.format(",\"page\": \"%s\"", page);
-                } else {
-                    page = ",\"page\": null";
-                }
-                out.write(page.getBytes(API.CHARSET));
+                generator.writeStringField("page", page);
             }
 
-            out.write("}".getBytes(API.CHARSET));
-            return out.toString(API.CHARSET);
+            generator.writeEndObject();
         } catch (HugeException e) {
             throw e;
         } catch (Exception e) {
             throw new HugeException("Failed to serialize %s", e, label);
         } finally {
-            try {
-                CloseableIterator.closeIterator(iter);
-            } catch (Exception e) {
-                throw new HugeException("Failed to close for %s", e, label);
-            }
+            closeIterator(label, iter);
+        }
+    }
+
+    private static void closeIterator(String label, Iterator<?> iter) {
+        try {
+            CloseableIterator.closeIterator(iter);
+        } catch (Exception e) {
+            throw new HugeException("Failed to close for %s", e, label);
         }
     }
 
@@ -197,6 +242,12 @@ public class JsonSerializer implements Serializer {
         return this.writeIterator("vertices", vertices, paging);
     }
 
+    @Override
+    public StreamingOutput streamVertices(Iterator<Vertex> vertices,
+                                          boolean paging) {
+        return this.streamIterator("vertices", vertices, paging);
+    }
+
     @Override
     public String writeEdge(Edge edge) {
         return JsonUtil.toJson(edge);
@@ -207,6 +258,11 @@ public class JsonSerializer implements Serializer {
         return this.writeIterator("edges", edges, paging);
     }
 
+    @Override
+    public StreamingOutput streamEdges(Iterator<Edge> edges, boolean paging) {
+        return this.streamIterator("edges", edges, paging);
+    }
+
     @Override
     public String writeUserElement(UserElement elem) {
         return this.writeMap(elem.asMap());
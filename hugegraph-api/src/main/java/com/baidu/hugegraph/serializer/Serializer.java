@@ -24,6 +24,8 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 
+import javax.ws.rs.core.StreamingOutput;
+
 import org.apache.tinkerpop.gremlin.structure.Edge;
 import org.apache.tinkerpop.gremlin.structure.Vertex;
 
@@ -44,6 +46,11 @@ public interface Serializer {
 
     public String writeList(String label, Collection<?> list);
 
+    public StreamingOutput streamList(String label, Collection<?> list);
+
+    public StreamingOutput streamList(String label, Iterator<?> iter,
+                                      boolean paging);
+
     public String writePropertyKey(PropertyKey propertyKey);
 
     public String writePropertyKeys(List<PropertyKey> propertyKeys);
@@ -66,10 +73,15 @@ public interface Serializer {
 
     public String writeVertices(Iterator<Vertex> vertices, boolean paging);
 
+    public StreamingOutput streamVertices(Iterator<Vertex> vertices,
+                                          boolean paging);
+
     public String writeEdge(Edge e);
 
     public String writeEdges(Iterator<Edge> edges, boolean paging);
 
+    public StreamingOutput streamEdges(Iterator<Edge> edges, boolean paging);
+
     public String writeUserElement(UserElement elem);
 
     public <V extends UserElement> String writeUserElements(String label,
@@ -105,10 +105,16 @@ public final class ApiVersion {
      * [0.54] Issue-295: Support ttl for vertex and edge
      * [0.55] Issue-994: Support results count for kneighbor/kout/rings
      * [0.56] Issue-800: Show schema status in schema API
+     * [0.57] Support parallelism for kout/kneighbor/shortest path/count API
+     * [0.58] Support token login API with the HTTP Basic credentials
+     * [0.59] Support paging for kout/kneighbor and capacity for kneighbor API
+     * [0.60] Support batch API of multiple sources for kout/kneighbor/
+     *        sameneighbors/jaccardsimilarity/personalrank
+     * [0.61] Add statistics API to get and recount vertex/edge label counts
      */
 
     // The second parameter of Version.of() is for IDE running without JAR
-    public static final Version VERSION = Version.of(ApiVersion.class, "0.56");
+    public static final Version VERSION = Version.of(ApiVersion.class, "0.61");
 
     public static final void check() {
         // Check version of hugegraph-core. Firstly do check from version 0.3
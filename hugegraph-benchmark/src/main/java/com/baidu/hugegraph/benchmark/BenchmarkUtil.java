@@ -0,0 +1,133 @@
+/*
+ * Copyright 2017 HugeGraph Authors
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with this
+ * work for additional information regarding copyright ownership. The ASF
+ * licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.baidu.hugegraph.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.apache.commons.configuration.PropertiesConfiguration;
+import org.apache.tinkerpop.gremlin.structure.T;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+
+import com.baidu.hugegraph.HugeException;
+import com.baidu.hugegraph.HugeFactory;
+import com.baidu.hugegraph.HugeGraph;
+import com.baidu.hugegraph.config.CoreOptions;
+import com.baidu.hugegraph.schema.SchemaManager;
+
+public final class BenchmarkUtil {
+
+    // Use a fixed seed to generate the same data for each run
+    public static final long SEED = 20200101L;
+
+    public static final String PERSON = "person";
+    public static final String KNOWS = "knows";
+
+    private static final int COMMIT_BATCH = 500;
+
+    public static HugeGraph openGraph(String name) {
+        PropertiesConfiguration conf = new PropertiesConfiguration();
+        conf.setProperty(CoreOptions.BACKEND.name(), "memory");
+        conf.setProperty(CoreOptions.SERIALIZER.name(), "text");
+        conf.setProperty(CoreOptions.STORE.name(), name);
+
+        HugeGraph graph = HugeFactory.open(conf);
+        graph.clearBackend();
+        graph.initBackend();
+        return graph;
+    }
+
+    public static void closeGraph(HugeGraph graph) {
+        try {
+            graph.close();
+        } catch (Exception e) {
+            throw new HugeException("Failed to close graph '%s'",
+                                    e, graph.name());
+        }
+    }
+
+    public static void initSchema(HugeGraph graph) {
+        SchemaManager schema = graph.schema();
+
+        schema.propertyKey("name").asText().ifNotExist().create();
+        schema.propertyKey("age").asInt().ifNotExist().create();
+        schema.propertyKey("city").asText().ifNotExist().create();
+        schema.propertyKey("weight").asDouble().ifNotExist().create();
+
+        schema.vertexLabel(PERSON)
+              .useCustomizeNumberId()
+              .properties("name", "age", "city")
+              .nullableKeys("name", "age", "city")
+              .ifNotExist()
+              .create();
+
+        schema.edgeLabel(KNOWS)
+              .sourceLabel(PERSON)
+              .targetLabel(PERSON)
+              .properties("weight")
+              .nullableKeys("weight")
+              .ifNotExist()
+              .create();
+    }
+
+    public static Vertex addPerson(HugeGraph graph, long id) {
+        return graph.addVertex(T.label, PERSON, T.id, id,
+                               "name", "person-" + id,
+                               "age", (int) (id % 100),
+                               "city", "city-" + (id % 20));
+    }
+
+    /**
+     * Generate a graph whose degree follows power-law distribution by
+     * preferential attachment (Barabasi-Albert model): each new vertex
+     * links to `edgesPerVertex` existing vertices chosen with probability
+     * proportional to their degree. The vertex with id 0 is the biggest hub
+     */
+    public static void generatePowerLawGraph(HugeGraph graph, int vertices,
+                                             int edgesPerVertex) {
+        Random random = new Random(SEED);
+        // Each vertex appears once per degree in the endpoints
+        List<Vertex> endpoints = new ArrayList<>(2 * vertices *
+                                                 edgesPerVertex);
+        int uncommitted = 0;
+        for (long i = 0; i < vertices; i++) {
+            Vertex vertex = addPerson(graph, i);
+            uncommitted++;
+            if (i == 0L) {
+                endpoints.add(vertex);
+                continue;
+            }
+            for (int j = 0; j < edgesPerVertex; j++) {
+                int index = random.nextInt(endpoints.size());
+                Vertex target = endpoints.get(index);
+                vertex.addEdge(KNOWS, target, "weight", random.nextDouble());
+                endpoints.add(vertex);
+                endpoints.add(target);
+                uncommitted++;
+            }
+            if (uncommitted >= COMMIT_BATCH) {
+                graph.tx().commit();
+                uncommitted = 0;
+            }
+        }
+        graph.tx().commit();
+    }
+}
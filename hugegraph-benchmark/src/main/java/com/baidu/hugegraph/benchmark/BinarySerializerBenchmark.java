@@ -0,0 +1,124 @@
+/*
+ * Copyright 2017 HugeGraph Authors
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with this
+ * work for additional information regarding copyright ownership. The ASF
+ * licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.baidu.hugegraph.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.baidu.hugegraph.HugeGraph;
+import com.baidu.hugegraph.backend.serializer.BinarySerializer;
+import com.baidu.hugegraph.backend.store.BackendEntry;
+import com.baidu.hugegraph.structure.HugeEdge;
+import com.baidu.hugegraph.structure.HugeVertex;
+
+/**
+ * Serialize and deserialize a vertex and all its edges by BinarySerializer,
+ * reading the merged edges entry is the same path as querying adjacent
+ * edges of a vertex from the backend
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BinarySerializerBenchmark {
+
+    @Param({"10", "100", "1000"})
+    private int edges;
+
+    private HugeGraph graph;
+    private BinarySerializer serializer;
+
+    private HugeVertex vertex;
+    private List<HugeEdge> vertexEdges;
+    private BackendEntry vertexEntry;
+    private BackendEntry edgesEntry;
+
+    @Setup
+    public void setup() {
+        this.graph = BenchmarkUtil.openGraph("serializer_benchmark");
+        BenchmarkUtil.initSchema(this.graph);
+        this.serializer = new BinarySerializer();
+
+        Vertex source = BenchmarkUtil.addPerson(this.graph, 0L);
+        this.vertexEdges = new ArrayList<>(this.edges);
+        for (long i = 1; i <= this.edges; i++) {
+            Vertex target = BenchmarkUtil.addPerson(this.graph, i);
+            this.vertexEdges.add((HugeEdge) source.addEdge(
+                                 BenchmarkUtil.KNOWS, target,
+                                 "weight", 1.0D / i));
+        }
+        this.graph.tx().commit();
+        this.vertex = (HugeVertex) source;
+
+        this.vertexEntry = this.serializer.writeVertex(this.vertex);
+        this.edgesEntry = this.writeEdges();
+    }
+
+    @TearDown
+    public void teardown() {
+        BenchmarkUtil.closeGraph(this.graph);
+    }
+
+    @Benchmark
+    public BackendEntry writeVertex() {
+        return this.serializer.writeVertex(this.vertex);
+    }
+
+    @Benchmark
+    public HugeVertex readVertex() {
+        return this.serializer.readVertex(this.graph, this.vertexEntry);
+    }
+
+    @Benchmark
+    public BackendEntry writeEdges() {
+        BackendEntry entry = null;
+        for (HugeEdge edge : this.vertexEdges) {
+            BackendEntry edgeEntry = this.serializer.writeEdge(edge);
+            if (entry == null) {
+                entry = edgeEntry;
+            } else {
+                entry.merge(edgeEntry);
+            }
+        }
+        return entry;
+    }
+
+    @Benchmark
+    public HugeVertex readEdges() {
+        return this.serializer.readVertex(this.graph, this.edgesEntry);
+    }
+}
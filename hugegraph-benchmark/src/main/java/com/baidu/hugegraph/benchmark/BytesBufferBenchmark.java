@@ -0,0 +1,162 @@
+/*
+ * Copyright 2017 HugeGraph Authors
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with this
+ * work for additional information regarding copyright ownership. The ASF
+ * licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.baidu.hugegraph.benchmark;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.baidu.hugegraph.backend.id.Id;
+import com.baidu.hugegraph.backend.id.IdGenerator;
+import com.baidu.hugegraph.backend.serializer.BytesBuffer;
+import com.baidu.hugegraph.type.define.DataType;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BytesBufferBenchmark {
+
+    private static final int SIZE = 1000;
+
+    private int[] ints;
+    private long[] longs;
+    private Id[] ids;
+    private String[] texts;
+
+    private byte[] intsBytes;
+    private byte[] longsBytes;
+    private byte[] idsBytes;
+    private byte[] textsBytes;
+
+    @Setup
+    public void setup() {
+        Random random = new Random(BenchmarkUtil.SEED);
+        this.ints = new int[SIZE];
+        this.longs = new long[SIZE];
+        this.ids = new Id[SIZE];
+        this.texts = new String[SIZE];
+        for (int i = 0; i < SIZE; i++) {
+            // Mix small and big numbers to cover all lengths of varint
+            int bits = random.nextInt(31);
+            this.ints[i] = random.nextInt(1 << bits | 1);
+            this.longs[i] = random.nextLong() >>> random.nextInt(64);
+            if (i % 2 == 0) {
+                this.ids[i] = IdGenerator.of((long) this.ints[i]);
+            } else {
+                this.ids[i] = IdGenerator.of("1:person-" + this.ints[i]);
+            }
+            this.texts[i] = "text-" + this.longs[i];
+        }
+
+        this.intsBytes = this.writeVInt().bytes();
+        this.longsBytes = this.writeVLong().bytes();
+        this.idsBytes = this.writeId().bytes();
+        this.textsBytes = this.writeTextProperty().bytes();
+    }
+
+    @Benchmark
+    public BytesBuffer writeVInt() {
+        BytesBuffer buffer = BytesBuffer.allocate(5 * SIZE);
+        for (int value : this.ints) {
+            buffer.writeVInt(value);
+        }
+        return buffer;
+    }
+
+    @Benchmark
+    public long readVInt() {
+        BytesBuffer buffer = BytesBuffer.wrap(this.intsBytes);
+        long sum = 0L;
+        for (int i = 0; i < SIZE; i++) {
+            sum += buffer.readVInt();
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public BytesBuffer writeVLong() {
+        BytesBuffer buffer = BytesBuffer.allocate(10 * SIZE);
+        for (long value : this.longs) {
+            buffer.writeVLong(value);
+        }
+        return buffer;
+    }
+
+    @Benchmark
+    public long readVLong() {
+        BytesBuffer buffer = BytesBuffer.wrap(this.longsBytes);
+        long sum = 0L;
+        for (int i = 0; i < SIZE; i++) {
+            sum += buffer.readVLong();
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public BytesBuffer writeId() {
+        BytesBuffer buffer = BytesBuffer.allocate(16 * SIZE);
+        for (Id id : this.ids) {
+            buffer.writeId(id);
+        }
+        return buffer;
+    }
+
+    @Benchmark
+    public int readId() {
+        BytesBuffer buffer = BytesBuffer.wrap(this.idsBytes);
+        int hash = 0;
+        for (int i = 0; i < SIZE; i++) {
+            hash += buffer.readId().hashCode();
+        }
+        return hash;
+    }
+
+    @Benchmark
+    public BytesBuffer writeTextProperty() {
+        BytesBuffer buffer = BytesBuffer.allocate(32 * SIZE);
+        for (String text : this.texts) {
+            buffer.writeProperty(DataType.TEXT, text);
+        }
+        return buffer;
+    }
+
+    @Benchmark
+    public int readTextProperty() {
+        BytesBuffer buffer = BytesBuffer.wrap(this.textsBytes);
+        int length = 0;
+        for (int i = 0; i < SIZE; i++) {
+            length += ((String) buffer.readProperty(DataType.TEXT)).length();
+        }
+        return length;
+    }
+}
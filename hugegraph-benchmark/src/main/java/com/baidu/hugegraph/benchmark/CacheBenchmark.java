@@ -0,0 +1,157 @@
+/*
+ * Copyright 2017 HugeGraph Authors
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with this
+ * work for additional information regarding copyright ownership. The ASF
+ * licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.baidu.hugegraph.benchmark;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.baidu.hugegraph.backend.cache.AbstractCache;
+import com.baidu.hugegraph.backend.cache.Cache;
+import com.baidu.hugegraph.backend.cache.LevelCache;
+import com.baidu.hugegraph.backend.cache.OffheapCache;
+import com.baidu.hugegraph.backend.cache.RamCache;
+import com.baidu.hugegraph.backend.cache.ShardedCache;
+import com.baidu.hugegraph.backend.id.Id;
+import com.baidu.hugegraph.backend.id.IdGenerator;
+import com.baidu.hugegraph.exception.NotSupportException;
+
+/**
+ * Get or put the cache by multi-threads, the accessed keys are skewed and
+ * more than the capacity of cache, so both hits and evictions happen
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(8)
+@Fork(1)
+public class CacheBenchmark {
+
+    private static final int CAPACITY = 100000;
+    private static final int KEYS = 4 * CAPACITY;
+    private static final int ACCESSES = 1 << 20;
+    private static final long ENTRY_SIZE = 64L;
+
+    @Param({"ram", "offheap", "level", "sharded"})
+    private String type;
+
+    private Cache<Id, Object> cache;
+    private Id[] keys;
+    private int[] accesses;
+
+    @Setup
+    public void setup() {
+        this.cache = newCache(this.type);
+
+        this.keys = new Id[KEYS];
+        for (int i = 0; i < KEYS; i++) {
+            this.keys[i] = IdGenerator.of("vertex-" + i);
+        }
+
+        // Skewed accesses: the smaller keys are accessed more frequently
+        Random random = new Random(BenchmarkUtil.SEED);
+        this.accesses = new int[ACCESSES];
+        for (int i = 0; i < ACCESSES; i++) {
+            double skew = Math.pow(random.nextDouble(), 3.0D);
+            this.accesses[i] = (int) (skew * KEYS);
+        }
+
+        for (int i = 0; i < CAPACITY; i++) {
+            this.cache.update(this.keys[i], "value-" + i);
+        }
+    }
+
+    @TearDown
+    public void teardown() {
+        this.cache.clear();
+    }
+
+    @State(Scope.Thread)
+    public static class Cursor {
+
+        private int next;
+
+        @Setup
+        public void setup() {
+            this.next = new Random().nextInt(ACCESSES);
+        }
+
+        public int next(int[] accesses) {
+            this.next = (this.next + 1) & (ACCESSES - 1);
+            return accesses[this.next];
+        }
+    }
+
+    @Benchmark
+    public Object getOrPut(Cursor cursor) {
+        int index = cursor.next(this.accesses);
+        Id key = this.keys[index];
+        Object value = this.cache.get(key);
+        if (value == null) {
+            value = "value-" + index;
+            this.cache.update(key, value);
+        }
+        return value;
+    }
+
+    @Benchmark
+    public Object get(Cursor cursor) {
+        return this.cache.get(this.keys[cursor.next(this.accesses)]);
+    }
+
+    @Benchmark
+    public boolean put(Cursor cursor) {
+        int index = cursor.next(this.accesses);
+        return this.cache.update(this.keys[index], "value-" + index);
+    }
+
+    private static Cache<Id, Object> newCache(String type) {
+        switch (type) {
+            case "ram":
+                return new RamCache(CAPACITY);
+            case "offheap":
+                return new OffheapCache(null, CAPACITY, ENTRY_SIZE);
+            case "level":
+                AbstractCache<Id, Object> l1 = new ShardedCache(CAPACITY / 10);
+                AbstractCache<Id, Object> l2 = new OffheapCache(null, CAPACITY,
+                                                                ENTRY_SIZE);
+                return new LevelCache(l1, l2);
+            case "sharded":
+                return new ShardedCache(CAPACITY);
+            default:
+                throw new NotSupportException("cache type '%s'", type);
+        }
+    }
+}
@@ -0,0 +1,82 @@
+/*
+ * Copyright 2017 HugeGraph Authors
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with this
+ * work for additional information regarding copyright ownership. The ASF
+ * licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.baidu.hugegraph.benchmark;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.baidu.hugegraph.backend.id.IdGenerator;
+import com.baidu.hugegraph.backend.query.Condition;
+import com.baidu.hugegraph.backend.query.ConditionQuery;
+import com.baidu.hugegraph.backend.query.ConditionQueryFlatten;
+import com.baidu.hugegraph.type.HugeType;
+
+/**
+ * Flatten a query like `(a1 or a2 or a3) and (b1 or b2 or b3) and ...`,
+ * which is expanded to BRANCHES ^ groups queries
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ConditionQueryFlattenBenchmark {
+
+    private static final int BRANCHES = 3;
+
+    @Param({"2", "4", "6"})
+    private int groups;
+
+    private ConditionQuery query;
+
+    @Setup
+    public void setup() {
+        Condition condition = null;
+        for (int i = 0; i < this.groups; i++) {
+            Condition group = null;
+            for (int j = 0; j < BRANCHES; j++) {
+                Condition branch = Condition.eq(IdGenerator.of("k" + i),
+                                                "v" + j);
+                group = group == null ? branch : group.or(branch);
+            }
+            condition = condition == null ? group : condition.and(group);
+        }
+        this.query = new ConditionQuery(HugeType.VERTEX);
+        this.query.query(condition);
+    }
+
+    @Benchmark
+    public List<ConditionQuery> flatten() {
+        return ConditionQueryFlatten.flatten(this.query);
+    }
+}
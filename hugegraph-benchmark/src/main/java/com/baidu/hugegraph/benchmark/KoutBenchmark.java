@@ -0,0 +1,93 @@
+/*
+ * Copyright 2017 HugeGraph Authors
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with this
+ * work for additional information regarding copyright ownership. The ASF
+ * licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.baidu.hugegraph.benchmark;
+
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.baidu.hugegraph.HugeGraph;
+import com.baidu.hugegraph.backend.id.Id;
+import com.baidu.hugegraph.backend.id.IdGenerator;
+import com.baidu.hugegraph.traversal.algorithm.HugeTraverser;
+import com.baidu.hugegraph.type.define.Directions;
+
+/**
+ * K-out traversal from the biggest hub of a power-law graph stored in the
+ * memory backend, the cost is dominated by adjacent edges querying
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class KoutBenchmark {
+
+    private static final int VERTICES = 20000;
+    private static final int EDGES_PER_VERTEX = 5;
+
+    private static final long DEGREE = Long.parseLong(
+                                       HugeTraverser.DEFAULT_DEGREE);
+    private static final long CAPACITY = Long.parseLong(
+                                         HugeTraverser.DEFAULT_CAPACITY);
+    private static final long LIMIT = Long.parseLong(
+                                      HugeTraverser.DEFAULT_ELEMENTS_LIMIT);
+
+    @Param({"2", "3"})
+    private int depth;
+
+    private HugeGraph graph;
+    private Id source;
+
+    @Setup
+    public void setup() {
+        this.graph = BenchmarkUtil.openGraph("kout_benchmark");
+        BenchmarkUtil.initSchema(this.graph);
+        BenchmarkUtil.generatePowerLawGraph(this.graph, VERTICES,
+                                            EDGES_PER_VERTEX);
+        this.source = IdGenerator.of(0L);
+    }
+
+    @TearDown
+    public void teardown() {
+        BenchmarkUtil.closeGraph(this.graph);
+    }
+
+    @Benchmark
+    public Set<Id> kout() {
+        HugeTraverser traverser = new HugeTraverser(this.graph);
+        return traverser.kout(this.source, Directions.BOTH,
+                              BenchmarkUtil.KNOWS, this.depth, true,
+                              DEGREE, CAPACITY, LIMIT);
+    }
+}
@@ -80,6 +80,12 @@ public class CassandraFeatures implements BackendFeatures {
         return false;
     }
 
+    @Override
+    public boolean supportsQueryByMultiOwners() {
+        // Query edges of multi owner vertices by IN on the partition key
+        return true;
+    }
+
     @Override
     public boolean supportsDeleteEdgeByLabel() {
         return true;
@@ -132,4 +132,37 @@ public class CassandraOptions extends OptionHolder {
                     positiveInt(),
                     12 * 60 * 60
             );
+
+    public static final ConfigOption<String> COMMIT_STRATEGY =
+            new ConfigOption<>(
+                    "cassandra.commit_strategy",
+                    "The strategy to commit the statements of a transaction, " +
+                    "'logged' means commit by one logged batch which is " +
+                    "atomic, 'partitioned' means group statements by " +
+                    "partition key into unlogged batches which are sent " +
+                    "to the replicas concurrently, it's much faster but " +
+                    "a failed commit may be applied partially.",
+                    allowValues("logged", "partitioned"),
+                    "logged"
+            );
+
+    public static final ConfigOption<Integer> BATCH_SIZE =
+            new ConfigOption<>(
+                    "cassandra.batch_size",
+                    "The max number of statements of an unlogged batch, " +
+                    "larger partitions will be split into several batches, " +
+                    "only used when commit_strategy is 'partitioned'.",
+                    rangeInt(1, 65535),
+                    100
+            );
+
+    public static final ConfigOption<Integer> BATCH_CONCURRENCY =
+            new ConfigOption<>(
+                    "cassandra.batch_concurrency",
+                    "The max number of in-flight batch requests of a " +
+                    "session, only used when commit_strategy is " +
+                    "'partitioned'.",
+                    rangeInt(1, 65535),
+                    128
+            );
 }
@@ -19,9 +19,13 @@
 
 package com.baidu.hugegraph.backend.store.cassandra;
 
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
 
 import com.baidu.hugegraph.backend.BackendException;
 import com.baidu.hugegraph.backend.store.BackendSession.AbstractBackendSession;
@@ -31,13 +35,19 @@ import com.baidu.hugegraph.util.E;
 import com.datastax.driver.core.BatchStatement;
 import com.datastax.driver.core.Cluster;
 import com.datastax.driver.core.Cluster.Builder;
+import com.datastax.driver.core.CodecRegistry;
+import com.datastax.driver.core.DataType;
 import com.datastax.driver.core.Metadata;
 import com.datastax.driver.core.ProtocolOptions.Compression;
+import com.datastax.driver.core.ProtocolVersion;
 import com.datastax.driver.core.ResultSet;
 import com.datastax.driver.core.ResultSetFuture;
 import com.datastax.driver.core.SocketOptions;
 import com.datastax.driver.core.Statement;
+import com.datastax.driver.core.exceptions.CodecNotFoundException;
+import com.datastax.driver.core.exceptions.DriverException;
 import com.datastax.driver.core.exceptions.InvalidQueryException;
+import com.google.common.util.concurrent.MoreExecutors;
 
 public class CassandraSessionPool extends BackendSessionPool {
 
@@ -130,6 +140,41 @@ public class CassandraSessionPool extends BackendSessionPool {
         return !this.cluster.isClosed();
     }
 
+    private static List<Statement> batches(Collection<Statement> statements,
+                                           ProtocolVersion version,
+                                           CodecRegistry codecs,
+                                           int batchSize) {
+        // Group statements by routing key, keep the order of statements
+        Map<Object, List<Statement>> partitions = new LinkedHashMap<>();
+        for (Statement statement : statements) {
+            Object key = statement.getRoutingKey(version, codecs);
+            if (key == null) {
+                // Can't group the statement with unknown partition
+                key = statement;
+            }
+            partitions.computeIfAbsent(key, k -> new ArrayList<>())
+                      .add(statement);
+        }
+
+        // Split each partition into batches limited by batch size
+        List<Statement> batches = new ArrayList<>();
+        for (List<Statement> partition : partitions.values()) {
+            int size = partition.size();
+            for (int i = 0; i < size; i += batchSize) {
+                int end = Math.min(i + batchSize, size);
+                if (end - i == 1) {
+                    batches.add(partition.get(i));
+                    continue;
+                }
+                BatchStatement unlogged = new BatchStatement(
+                                          BatchStatement.Type.UNLOGGED);
+                unlogged.addAll(partition.subList(i, end));
+                batches.add(unlogged);
+            }
+        }
+        return batches;
+    }
+
     /**
      * The Session class is a wrapper of driver Session
      * Expect every thread hold a its own session(wrapper)
@@ -139,9 +184,20 @@ public class CassandraSessionPool extends BackendSessionPool {
         private com.datastax.driver.core.Session session;
         private BatchStatement batch;
 
+        private final boolean partitioned;
+        private final int batchSize;
+        private final int batchConcurrency;
+
         public Session() {
             this.session = null;
             this.batch = new BatchStatement(); // LOGGED
+
+            HugeConfig conf = CassandraSessionPool.this.config();
+            String strategy = conf.get(CassandraOptions.COMMIT_STRATEGY);
+            this.partitioned = strategy.equals("partitioned");
+            this.batchSize = conf.get(CassandraOptions.BATCH_SIZE);
+            this.batchConcurrency = conf.get(
+                                    CassandraOptions.BATCH_CONCURRENCY);
         }
 
         public BatchStatement add(Statement statement) {
@@ -155,34 +211,72 @@ public class CassandraSessionPool extends BackendSessionPool {
 
         @Override
         public ResultSet commit() {
+            if (this.partitioned) {
+                this.commitAsync();
+                return null;
+            }
             ResultSet rs = this.session.execute(this.batch);
             // Clear batch if execute() successfully (retained if failed)
             this.batch.clear();
             return rs;
         }
 
+        /**
+         * Commit the statements by unlogged batches, each batch only contains
+         * the statements of one partition and is limited by batch size, and
+         * the batches are executed concurrently with a limited in-flight
+         * requests. NOTE: the driver generates monotonic client timestamps,
+         * so the statements of a partition are applied in order even if they
+         * are split into several batches.
+         */
         public void commitAsync() {
-            Collection<Statement> statements = this.batch.getStatements();
+            List<Statement> batches = batches(this.batch.getStatements(),
+                                              this.protocolVersion(),
+                                              this.codecRegistry(),
+                                              this.batchSize);
+            this.executeAsync(batches);
 
-            int count = 0;
-            int processors = Math.min(statements.size(), 1023);
-            List<ResultSetFuture> results = new ArrayList<>(processors + 1);
-            for (Statement s : statements) {
-                ResultSetFuture future = this.session.executeAsync(s);
-                results.add(future);
+            // Clear batch if execute() successfully (retained if failed)
+            this.batch.clear();
+        }
 
-                if (++count > processors) {
-                    results.forEach(ResultSetFuture::getUninterruptibly);
-                    results.clear();
-                    count = 0;
+        private void executeAsync(List<Statement> batches) {
+            Semaphore permits = new Semaphore(this.batchConcurrency);
+            List<ResultSetFuture> results = new ArrayList<>(batches.size());
+            for (Statement statement : batches) {
+                permits.acquireUninterruptibly();
+                ResultSetFuture future;
+                try {
+                    future = this.session.executeAsync(statement);
+                } catch (RuntimeException e) {
+                    permits.release();
+                    this.waitFor(results);
+                    throw e;
                 }
+                future.addListener(permits::release,
+                                   MoreExecutors.directExecutor());
+                results.add(future);
             }
+            this.waitFor(results);
+        }
+
+        private void waitFor(List<ResultSetFuture> results) {
+            // Wait for all the requests even if some of them failed
+            DriverException failure = null;
             for (ResultSetFuture future : results) {
-                future.getUninterruptibly();
+                try {
+                    future.getUninterruptibly();
+                } catch (DriverException e) {
+                    if (failure == null) {
+                        failure = e;
+                    } else {
+                        failure.addSuppressed(e);
+                    }
+                }
+            }
+            if (failure != null) {
+                throw failure;
             }
-
-            // Clear batch if execute() successfully (retained if failed)
-            this.batch.clear();
         }
 
         public ResultSet query(Statement statement) {
@@ -259,6 +353,35 @@ public class CassandraSessionPool extends BackendSessionPool {
             return CassandraSessionPool.this.cluster.getMetadata();
         }
 
+        public ByteBuffer serialize(DataType type, Object value) {
+            if (value == null) {
+                return null;
+            }
+            if (value instanceof Number) {
+                // Number columns may be stored as another number type
+                if (type.equals(DataType.cint())) {
+                    value = ((Number) value).intValue();
+                } else if (type.equals(DataType.bigint())) {
+                    value = ((Number) value).longValue();
+                }
+            }
+            try {
+                return this.codecRegistry().codecFor(type, value)
+                           .serialize(value, this.protocolVersion());
+            } catch (CodecNotFoundException e) {
+                return null;
+            }
+        }
+
+        private ProtocolVersion protocolVersion() {
+            return cluster().getConfiguration().getProtocolOptions()
+                            .getProtocolVersion();
+        }
+
+        private CodecRegistry codecRegistry() {
+            return cluster().getConfiguration().getCodecRegistry();
+        }
+
         public int aggregateTimeout() {
             HugeConfig conf = CassandraSessionPool.this.config();
             return conf.get(CassandraOptions.AGGR_TIMEOUT);
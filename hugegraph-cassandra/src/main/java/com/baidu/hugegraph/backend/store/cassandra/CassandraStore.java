@@ -596,6 +596,20 @@ public abstract class CassandraStore
             return this.counters.getCounter(session, type);
         }
 
+        @Override
+        public void increaseCounter(HugeType type, Id id, long increment) {
+            this.checkOpened();
+            CassandraSessionPool.Session session = super.sessions.session();
+            this.counters.increaseCounter(session, type, id, increment);
+        }
+
+        @Override
+        public long getCounter(HugeType type, Id id) {
+            this.checkOpened();
+            CassandraSessionPool.Session session = super.sessions.session();
+            return this.counters.getCounter(session, type, id);
+        }
+
         @Override
         public boolean isSchemaStore() {
             return true;
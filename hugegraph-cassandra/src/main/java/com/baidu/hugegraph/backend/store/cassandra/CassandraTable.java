@@ -19,6 +19,7 @@
 
 package com.baidu.hugegraph.backend.store.cassandra;
 
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashSet;
@@ -52,13 +53,17 @@ import com.baidu.hugegraph.util.CopyUtil;
 import com.baidu.hugegraph.util.E;
 import com.baidu.hugegraph.util.Log;
 import com.datastax.driver.core.ColumnDefinitions.Definition;
+import com.datastax.driver.core.ColumnMetadata;
 import com.datastax.driver.core.DataType;
+import com.datastax.driver.core.KeyspaceMetadata;
 import com.datastax.driver.core.PagingState;
 import com.datastax.driver.core.ResultSet;
 import com.datastax.driver.core.Row;
 import com.datastax.driver.core.Statement;
+import com.datastax.driver.core.TableMetadata;
 import com.datastax.driver.core.exceptions.DriverException;
 import com.datastax.driver.core.exceptions.PagingStateException;
+import com.datastax.driver.core.querybuilder.BuiltStatement;
 import com.datastax.driver.core.querybuilder.Clause;
 import com.datastax.driver.core.querybuilder.Clauses;
 import com.datastax.driver.core.querybuilder.Delete;
@@ -80,8 +85,12 @@ public abstract class CassandraTable
     private static final Logger LOG = Log.logger(CassandraStore.class);
     private static final int MAX_ELEMENTS_IN_CLAUSE = 65535;
 
+    // The partition key columns, resolved lazily from the cluster metadata
+    private volatile List<ColumnMetadata> partitionKeys;
+
     public CassandraTable(String table) {
         super(table);
+        this.partitionKeys = null;
     }
 
     @Override
@@ -441,7 +450,7 @@ public abstract class CassandraTable
     @Override
     public void insert(CassandraSessionPool.Session session,
                        CassandraBackendEntry.Row entry) {
-        session.add(this.buildInsert(entry));
+        session.add(this.routing(session, this.buildInsert(entry), entry));
     }
 
     /**
@@ -450,7 +459,7 @@ public abstract class CassandraTable
     @Override
     public void append(CassandraSessionPool.Session session,
                        CassandraBackendEntry.Row entry) {
-        session.add(this.buildAppend(entry));
+        session.add(this.routing(session, this.buildAppend(entry), entry));
     }
 
     /**
@@ -459,7 +468,7 @@ public abstract class CassandraTable
     @Override
     public void eliminate(CassandraSessionPool.Session session,
                           CassandraBackendEntry.Row entry) {
-        session.add(this.buildEliminate(entry));
+        session.add(this.routing(session, this.buildEliminate(entry), entry));
     }
 
     /**
@@ -468,7 +477,51 @@ public abstract class CassandraTable
     @Override
     public void delete(CassandraSessionPool.Session session,
                        CassandraBackendEntry.Row entry) {
-        session.add(this.buildDelete(entry));
+        session.add(this.routing(session, this.buildDelete(entry), entry));
+    }
+
+    /**
+     * Set the partition key of a row as the routing key of the statement,
+     * so the statement can be sent to the replicas directly and grouped
+     * with other statements of the same partition when committing
+     */
+    protected final <T extends BuiltStatement> T routing(
+                                 CassandraSessionPool.Session session,
+                                 T statement,
+                                 CassandraBackendEntry.Row entry) {
+        List<ColumnMetadata> partitionKeys = this.partitionKeys(session);
+        if (partitionKeys == null) {
+            return statement;
+        }
+
+        ByteBuffer[] components = new ByteBuffer[partitionKeys.size()];
+        for (int i = 0; i < components.length; i++) {
+            ColumnMetadata column = partitionKeys.get(i);
+            Object value = entry.column(parseKey(column.getName()));
+            ByteBuffer component = session.serialize(column.getType(), value);
+            if (component == null) {
+                // Unknown partition, let driver choose the coordinator
+                return statement;
+            }
+            components[i] = component;
+        }
+        statement.setRoutingKey(components);
+        return statement;
+    }
+
+    private List<ColumnMetadata> partitionKeys(
+                                 CassandraSessionPool.Session session) {
+        if (this.partitionKeys == null) {
+            KeyspaceMetadata keyspace = session.metadata()
+                                               .getKeyspace(session.keyspace());
+            TableMetadata table = keyspace == null ? null :
+                                  keyspace.getTable(this.table());
+            if (table == null) {
+                return null;
+            }
+            this.partitionKeys = table.getPartitionKey();
+        }
+        return this.partitionKeys;
     }
 
     protected Insert buildInsert(CassandraBackendEntry.Row entry) {
@@ -95,7 +95,27 @@ public class CassandraTables {
 
         public long getCounter(CassandraSessionPool.Session session,
                                HugeType type) {
-            Clause where = formatEQ(HugeKeys.SCHEMA_TYPE, type.name());
+            return this.getCounter(session, type.name());
+        }
+
+        public void increaseCounter(CassandraSessionPool.Session session,
+                                    HugeType type, long increment) {
+            this.increaseCounter(session, type.name(), increment);
+        }
+
+        public long getCounter(CassandraSessionPool.Session session,
+                               HugeType type, Id id) {
+            return this.getCounter(session, key(type, id));
+        }
+
+        public void increaseCounter(CassandraSessionPool.Session session,
+                                    HugeType type, Id id, long increment) {
+            this.increaseCounter(session, key(type, id), increment);
+        }
+
+        private long getCounter(CassandraSessionPool.Session session,
+                                String key) {
+            Clause where = formatEQ(HugeKeys.SCHEMA_TYPE, key);
             Select select = QueryBuilder.select(formatKey(HugeKeys.ID))
                                         .from(TABLE);
             select.where(where);
@@ -107,13 +127,18 @@ public class CassandraTables {
             }
         }
 
-        public void increaseCounter(CassandraSessionPool.Session session,
-                                    HugeType type, long increment) {
+        private void increaseCounter(CassandraSessionPool.Session session,
+                                     String key, long increment) {
             Update update = QueryBuilder.update(TABLE);
             update.with(QueryBuilder.incr(formatKey(HugeKeys.ID), increment));
-            update.where(formatEQ(HugeKeys.SCHEMA_TYPE, type.name()));
+            update.where(formatEQ(HugeKeys.SCHEMA_TYPE, key));
             session.execute(update);
         }
+
+        private static String key(HugeType type, Id id) {
+            // The type name never contains '-', so never conflict with it
+            return type.name() + "-" + id.asString();
+        }
     }
 
     public static class VertexLabel extends CassandraTable {
@@ -274,14 +299,14 @@ public class CassandraTables {
         public void insert(CassandraSessionPool.Session session,
                            CassandraBackendEntry.Row entry) {
             Insert insert = this.buildInsert(entry);
-            session.add(setTtl(insert, entry));
+            session.add(setTtl(this.routing(session, insert, entry), entry));
         }
 
         @Override
         public void append(CassandraSessionPool.Session session,
                            CassandraBackendEntry.Row entry) {
             Update append = this.buildAppend(entry);
-            session.add(setTtl(append, entry));
+            session.add(setTtl(this.routing(session, append, entry), entry));
         }
     }
 
@@ -341,14 +366,14 @@ public class CassandraTables {
         public void insert(CassandraSessionPool.Session session,
                            CassandraBackendEntry.Row entry) {
             Insert insert = this.buildInsert(entry);
-            session.add(setTtl(insert, entry));
+            session.add(setTtl(this.routing(session, insert, entry), entry));
         }
 
         @Override
         public void append(CassandraSessionPool.Session session,
                            CassandraBackendEntry.Row entry) {
             Update update = this.buildAppend(entry);
-            session.add(setTtl(update, entry));
+            session.add(setTtl(this.routing(session, update, entry), entry));
         }
 
         @Override
@@ -626,7 +651,7 @@ public class CassandraTables {
                            CassandraBackendEntry.Row entry) {
             assert entry.columns().size() == 3 || entry.columns().size() == 4;
             Insert insert = this.buildInsert(entry);
-            session.add(setTtl(insert, entry));
+            session.add(setTtl(this.routing(session, insert, entry), entry));
         }
 
         @Override
@@ -742,7 +767,7 @@ public class CassandraTables {
                            CassandraBackendEntry.Row entry) {
             assert entry.columns().size() == 3 || entry.columns().size() == 4;
             Insert insert = this.buildInsert(entry);
-            session.add(setTtl(insert, entry));
+            session.add(setTtl(this.routing(session, insert, entry), entry));
         }
 
         @Override
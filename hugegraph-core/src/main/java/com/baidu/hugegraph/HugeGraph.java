@@ -32,6 +32,7 @@ import org.apache.tinkerpop.gremlin.structure.Vertex;
 import org.apache.tinkerpop.gremlin.structure.VertexProperty;
 
 import com.baidu.hugegraph.auth.UserManager;
+import com.baidu.hugegraph.backend.cache.DegreeCache;
 import com.baidu.hugegraph.backend.id.Id;
 import com.baidu.hugegraph.backend.query.Query;
 import com.baidu.hugegraph.backend.store.BackendFeatures;
@@ -110,12 +111,16 @@ public interface HugeGraph extends Graph {
     public Iterator<Vertex> vertices(Query query);
     public Iterator<Vertex> adjacentVertex(Object id);
     public boolean checkAdjacentVertexExist();
+    public int adjacentBatchSize();
+    public DegreeCache degreeCache();
 
     public Iterator<Edge> edges(Query query);
     public Iterator<Vertex> adjacentVertices(Iterator<Edge> edges) ;
     public Iterator<Edge> adjacentEdges(Id vertexId);
 
     public Number queryNumber(Query query);
+    public long labelCount(SchemaLabel label);
+    public Id recountLabel(SchemaLabel label);
 
     public String name();
     public String backend();
@@ -20,6 +20,7 @@
 package com.baidu.hugegraph;
 
 import com.baidu.hugegraph.analyzer.Analyzer;
+import com.baidu.hugegraph.backend.cache.InvalidationBus;
 import com.baidu.hugegraph.backend.serializer.AbstractSerializer;
 import com.baidu.hugegraph.backend.store.BackendStore;
 import com.baidu.hugegraph.backend.tx.GraphTransaction;
@@ -57,6 +58,7 @@ public interface HugeGraphParams {
     public HugeConfig configuration();
 
     public ServerInfoManager serverManager();
+    public InvalidationBus invalidationBus();
 
     public AbstractSerializer serializer();
     public Analyzer analyzer();
@@ -42,12 +42,16 @@ import com.baidu.hugegraph.analyzer.AnalyzerFactory;
 import com.baidu.hugegraph.auth.StandardUserManager;
 import com.baidu.hugegraph.auth.UserManager;
 import com.baidu.hugegraph.backend.BackendException;
+import com.baidu.hugegraph.backend.cache.BackendInvalidationBus;
 import com.baidu.hugegraph.backend.cache.CachedGraphTransaction;
 import com.baidu.hugegraph.backend.cache.CachedSchemaTransaction;
+import com.baidu.hugegraph.backend.cache.DegreeCache;
+import com.baidu.hugegraph.backend.cache.InvalidationBus;
 import com.baidu.hugegraph.backend.id.Id;
 import com.baidu.hugegraph.backend.id.SnowflakeIdGenerator;
 import com.baidu.hugegraph.backend.query.Query;
 import com.baidu.hugegraph.backend.serializer.AbstractSerializer;
+import com.baidu.hugegraph.backend.serializer.BinarySerializer;
 import com.baidu.hugegraph.backend.serializer.SerializerFactory;
 import com.baidu.hugegraph.backend.store.BackendFeatures;
 import com.baidu.hugegraph.backend.store.BackendProviderFactory;
@@ -59,6 +63,7 @@ import com.baidu.hugegraph.backend.tx.SchemaTransaction;
 import com.baidu.hugegraph.config.CoreOptions;
 import com.baidu.hugegraph.config.HugeConfig;
 import com.baidu.hugegraph.event.EventHub;
+import com.baidu.hugegraph.exception.NotSupportException;
 import com.baidu.hugegraph.io.HugeGraphIoRegistry;
 import com.baidu.hugegraph.schema.EdgeLabel;
 import com.baidu.hugegraph.schema.IndexLabel;
@@ -118,6 +123,7 @@ public class StandardHugeGraph implements HugeGraph {
     private final RateLimiter rateLimiter;
     private final TaskManager taskManager;
     private final UserManager userManager;
+    private final InvalidationBus invalidationBus;
 
     private final HugeFeatures features;
 
@@ -160,6 +166,7 @@ public class StandardHugeGraph implements HugeGraph {
 
         this.taskManager.addScheduler(this.params);
         this.userManager = new StandardUserManager(this.params);
+        this.invalidationBus = this.openInvalidationBus();
         this.variables = null;
     }
 
@@ -306,6 +313,18 @@ public class StandardHugeGraph implements HugeGraph {
         }
     }
 
+    private InvalidationBus openInvalidationBus() {
+        String type = this.configuration.get(CoreOptions.CACHE_SYNC_BUS);
+        switch (type) {
+            case "none":
+                return InvalidationBus.NONE;
+            case "backend":
+                return new BackendInvalidationBus(this.params);
+            default:
+                throw new NotSupportException("cache sync bus '%s'", type);
+        }
+    }
+
     private void checkGraphNotClosed() {
         E.checkState(!this.closed, "Graph '%s' has been closed", this);
     }
@@ -368,6 +387,11 @@ public class StandardHugeGraph implements HugeGraph {
         if (serializer == null) {
             throw new HugeException("Can't load serializer with name " + name);
         }
+        if (serializer instanceof BinarySerializer) {
+            boolean lazy = this.configuration.get(
+                           CoreOptions.QUERY_LAZY_DECODE_PROPERTIES);
+            ((BinarySerializer) serializer).lazyProperties(lazy);
+        }
         return serializer;
     }
 
@@ -466,6 +490,16 @@ public class StandardHugeGraph implements HugeGraph {
         return this.graphTransaction().checkAdjacentVertexExist();
     }
 
+    @Override
+    public int adjacentBatchSize() {
+        return this.graphTransaction().adjacentBatchSize();
+    }
+
+    @Override
+    public DegreeCache degreeCache() {
+        return this.graphTransaction().degreeCache();
+    }
+
     @Override
     public Iterator<Edge> edges(Object... objects) {
         if (objects.length == 0) {
@@ -494,6 +528,16 @@ public class StandardHugeGraph implements HugeGraph {
         return this.graphTransaction().queryNumber(query);
     }
 
+    @Override
+    public long labelCount(SchemaLabel label) {
+        return this.graphTransaction().labelCount(label);
+    }
+
+    @Override
+    public Id recountLabel(SchemaLabel label) {
+        return this.graphTransaction().recountLabel(label);
+    }
+
     @Override
     public void addPropertyKey(PropertyKey pkey) {
         assert this.name.equals(pkey.graph().name());
@@ -682,6 +726,7 @@ public class StandardHugeGraph implements HugeGraph {
 
         LOG.info("Close graph {}", this);
         this.userManager.close();
+        this.invalidationBus.close();
         this.taskManager.closeScheduler(this.params);
         try {
             this.closeTx();
@@ -877,6 +922,11 @@ public class StandardHugeGraph implements HugeGraph {
             return StandardHugeGraph.this.serverInfoManager();
         }
 
+        @Override
+        public InvalidationBus invalidationBus() {
+            return StandardHugeGraph.this.invalidationBus;
+        }
+
         @Override
         public AbstractSerializer serializer() {
             return StandardHugeGraph.this.serializer();
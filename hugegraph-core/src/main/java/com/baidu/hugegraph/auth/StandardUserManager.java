@@ -19,7 +19,6 @@
 
 package com.baidu.hugegraph.auth;
 
-import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Set;
@@ -31,20 +30,22 @@ import com.baidu.hugegraph.backend.cache.Cache;
 import com.baidu.hugegraph.backend.cache.CacheManager;
 import com.baidu.hugegraph.backend.id.Id;
 import com.baidu.hugegraph.backend.id.IdGenerator;
+import com.baidu.hugegraph.config.CoreOptions;
 import com.baidu.hugegraph.event.EventListener;
 import com.baidu.hugegraph.type.define.Directions;
 import com.baidu.hugegraph.util.E;
 import com.baidu.hugegraph.util.Events;
 import com.baidu.hugegraph.util.StringEncoding;
+import com.google.common.base.Charsets;
 import com.google.common.collect.ImmutableSet;
+import com.google.common.hash.Hashing;
 
 public class StandardUserManager implements UserManager {
 
-    private static final long CACHE_EXPIRE = Duration.ofDays(1L).toMillis();
-
     private final HugeGraphParams graph;
     private final EventListener eventListener;
     private final Cache<Id, HugeUser> usersCache;
+    private final Cache<Id, String> pwdCache;
 
     private final EntityManager<HugeUser> users;
     private final EntityManager<HugeGroup> groups;
@@ -59,6 +60,7 @@ public class StandardUserManager implements UserManager {
         this.graph = graph;
         this.eventListener = this.listenChanges();
         this.usersCache = this.cache("users");
+        this.pwdCache = this.cache("users_pwd");
 
         this.users = new EntityManager<>(this.graph, HugeUser.P.USER,
                                          HugeUser::fromVertex);
@@ -73,10 +75,12 @@ public class StandardUserManager implements UserManager {
                                                 HugeAccess::fromEdge);
     }
 
-    private Cache<Id, HugeUser> cache(String prefix) {
+    private <V> Cache<Id, V> cache(String prefix) {
         String name = prefix + "-" + this.graph.name();
-        Cache<Id, HugeUser> cache = CacheManager.instance().cache(name);
-        cache.expire(CACHE_EXPIRE);
+        Cache<Id, V> cache = CacheManager.instance().cache(name);
+        long expire = this.graph.configuration()
+                                .get(CoreOptions.AUTH_CACHE_EXPIRE);
+        cache.expire(expire * 1000L);
         return cache;
     }
 
@@ -120,6 +124,7 @@ public class StandardUserManager implements UserManager {
 
     private void invalidCache() {
         this.usersCache.clear();
+        this.pwdCache.clear();
     }
 
     @Override
@@ -341,13 +346,34 @@ public class StandardUserManager implements UserManager {
         E.checkArgumentNotNull(name, "User name can't be null");
         E.checkArgumentNotNull(password, "User password can't be null");
         HugeUser user = this.findUser(name);
-        if (user != null &&
-            StringEncoding.checkPassword(password, user.password())) {
+        if (user == null) {
+            return null;
+        }
+
+        /*
+         * Checking password by BCrypt is expensive, so remember the digest
+         * of verified password, and the digest is salted by the stored
+         * password, which means it can't match if the password is changed
+         */
+        Id key = IdGenerator.of(name);
+        String digest = digestPassword(password, user.password());
+        if (digest.equals(this.pwdCache.get(key))) {
+            return user;
+        }
+        if (StringEncoding.checkPassword(password, user.password())) {
+            this.pwdCache.update(key, digest);
             return user;
         }
         return null;
     }
 
+    private static String digestPassword(String password, String salt) {
+        return Hashing.sha256().newHasher()
+                      .putString(salt, Charsets.UTF_8)
+                      .putString(password, Charsets.UTF_8)
+                      .hash().toString();
+    }
+
     @Override
     public RolePermission rolePermission(UserElement element) {
         if (element instanceof HugeUser) {
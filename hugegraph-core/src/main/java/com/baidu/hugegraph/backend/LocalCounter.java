@@ -30,9 +30,11 @@ import com.baidu.hugegraph.type.HugeType;
 public class LocalCounter {
 
     private final Map<HugeType, AtomicLong> counters;
+    private final Map<HugeType, Map<Id, AtomicLong>> elementCounters;
 
     public LocalCounter() {
         this.counters = new ConcurrentHashMap<>();
+        this.elementCounters = new ConcurrentHashMap<>();
     }
 
     public synchronized Id nextId(HugeType type) {
@@ -73,7 +75,24 @@ public class LocalCounter {
         this.counters.put(type, value);
     }
 
+    public long getCounter(HugeType type, Id id) {
+        Map<Id, AtomicLong> counters = this.elementCounters.get(type);
+        if (counters == null) {
+            return 0L;
+        }
+        AtomicLong counter = counters.get(id);
+        return counter == null ? 0L : counter.longValue();
+    }
+
+    public void increaseCounter(HugeType type, Id id, long increment) {
+        Map<Id, AtomicLong> counters = this.elementCounters.computeIfAbsent(
+                                       type, t -> new ConcurrentHashMap<>());
+        counters.computeIfAbsent(id, i -> new AtomicLong(0L))
+                .addAndGet(increment);
+    }
+
     public void reset() {
         this.counters.clear();
+        this.elementCounters.clear();
     }
 }
@@ -0,0 +1,454 @@
+/*
+ * Copyright 2017 HugeGraph Authors
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with this
+ * work for additional information regarding copyright ownership. The ASF
+ * licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.baidu.hugegraph.backend.cache;
+
+import static com.baidu.hugegraph.backend.query.Query.NO_LIMIT;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.tinkerpop.gremlin.structure.Graph.Hidden;
+import org.apache.tinkerpop.gremlin.structure.T;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.apache.tinkerpop.gremlin.structure.VertexProperty;
+import org.slf4j.Logger;
+
+import com.baidu.hugegraph.HugeException;
+import com.baidu.hugegraph.HugeGraph;
+import com.baidu.hugegraph.HugeGraphParams;
+import com.baidu.hugegraph.backend.id.Id;
+import com.baidu.hugegraph.backend.id.IdGenerator;
+import com.baidu.hugegraph.backend.id.IdUtil;
+import com.baidu.hugegraph.backend.query.Condition;
+import com.baidu.hugegraph.backend.query.ConditionQuery;
+import com.baidu.hugegraph.backend.tx.GraphTransaction;
+import com.baidu.hugegraph.config.CoreOptions;
+import com.baidu.hugegraph.config.HugeConfig;
+import com.baidu.hugegraph.event.EventHub;
+import com.baidu.hugegraph.schema.IndexLabel;
+import com.baidu.hugegraph.schema.PropertyKey;
+import com.baidu.hugegraph.schema.SchemaManager;
+import com.baidu.hugegraph.schema.VertexLabel;
+import com.baidu.hugegraph.structure.HugeVertex;
+import com.baidu.hugegraph.type.HugeType;
+import com.baidu.hugegraph.type.define.Cardinality;
+import com.baidu.hugegraph.type.define.DataType;
+import com.baidu.hugegraph.type.define.HugeKeys;
+import com.baidu.hugegraph.util.DateUtil;
+import com.baidu.hugegraph.util.E;
+import com.baidu.hugegraph.util.Events;
+import com.baidu.hugegraph.util.ExecutorUtil;
+import com.baidu.hugegraph.util.InsertionOrderUtil;
+import com.baidu.hugegraph.util.Log;
+
+/**
+ * The invalidation bus based on backend store, which saves the published
+ * invalidations as vertices of the hidden label '~cache_event' in system
+ * store, and polls the ones published by the other servers periodically,
+ * so it works without any extra service.
+ * The invalidations published are coalesced in memory, and saved in batch
+ * at most once every 'cache.sync_interval' by the worker thread, there is
+ * at most one event per action of each hub in a batch.
+ * NOTE: the events are polled with an overlapped time window to tolerate
+ * the delay of saving and a small clock skew between servers, the events
+ * polled repeatedly are skipped by their ids.
+ */
+public class BackendInvalidationBus implements InvalidationBus {
+
+    private static final Logger LOG = Log.logger(BackendInvalidationBus.class);
+
+    public static final String CACHE_SYNC_WORKER = "cache-sync-worker-%d";
+
+    // Publish "clear" instead if there are too many ids pending of a hub
+    private static final int MAX_IDS_PER_BATCH = 1000;
+    private static final int OVERLAP_TIMES = 3;
+    private static final long DELETE_BATCH = 500L;
+    private static final Id[] NO_IDS = new Id[0];
+
+    private final HugeGraphParams graph;
+    private final String server;
+    private final AtomicLong sequence;
+    private final long interval;
+    private final long expire;
+    private final ScheduledExecutorService executor;
+
+    // Map hub => the invalidations pending to be saved
+    private final Map<String, Invalidations> pending;
+    private final AtomicBoolean closed;
+
+    // Map the events published or applied recently => their time
+    private final Map<Id, Long> recentEvents;
+    private long lastPolled;
+
+    public BackendInvalidationBus(HugeGraphParams graph) {
+        E.checkNotNull(graph, "graph");
+        HugeConfig conf = graph.configuration();
+
+        this.graph = graph;
+        this.server = UUID.randomUUID().toString();
+        this.sequence = new AtomicLong(0L);
+        this.interval = conf.get(CoreOptions.CACHE_SYNC_INTERVAL);
+        // Convert the unit from seconds to milliseconds
+        this.expire = conf.get(CoreOptions.CACHE_SYNC_EXPIRE) * 1000L;
+        this.pending = new HashMap<>();
+        this.closed = new AtomicBoolean(false);
+        this.recentEvents = new ConcurrentHashMap<>();
+        this.lastPolled = DateUtil.now().getTime();
+
+        this.executor = ExecutorUtil.newScheduledThreadPool(
+                        1, CACHE_SYNC_WORKER);
+        this.executor.scheduleWithFixedDelay(this::sync, this.interval,
+                                             this.interval,
+                                             TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void publish(String hub, String action, Id... ids) {
+        /*
+         * NOTE: never submit to the executor here, it's called in the
+         * finally block of committing, and the executor may be shutdown
+         * by closing concurrently, the caches are eventually coherent
+         */
+        if (this.closed.get()) {
+            return;
+        }
+        synchronized (this.pending) {
+            this.pending.computeIfAbsent(hub, k -> new Invalidations())
+                        .add(action, ids);
+        }
+    }
+
+    @Override
+    public void close() {
+        if (!this.closed.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            // Save the pending ones and close the txs opened by the worker
+            this.executor.submit(() -> {
+                try {
+                    this.flush();
+                } finally {
+                    this.graph.closeTx();
+                }
+            }).get();
+        } catch (Exception e) {
+            throw new HugeException("Exception when closing cache sync tx",
+                                    e);
+        } finally {
+            this.executor.shutdown();
+        }
+    }
+
+    protected void sync() {
+        this.flush();
+        this.poll();
+    }
+
+    protected void flush() {
+        Map<String, Invalidations> invalidations;
+        synchronized (this.pending) {
+            if (this.pending.isEmpty()) {
+                return;
+            }
+            invalidations = new HashMap<>(this.pending);
+            this.pending.clear();
+        }
+
+        for (Map.Entry<String, Invalidations> e : invalidations.entrySet()) {
+            String hub = e.getKey();
+            Invalidations invalidation = e.getValue();
+            try {
+                if (invalidation.clear) {
+                    this.save(hub, ACTION_CLEAR, NO_IDS);
+                    continue;
+                }
+                if (!invalidation.invalid.isEmpty()) {
+                    this.save(hub, ACTION_INVALID,
+                              invalidation.invalid.toArray(NO_IDS));
+                }
+                if (!invalidation.invalidEdges.isEmpty()) {
+                    this.save(hub, ACTION_INVALID_EDGES,
+                              invalidation.invalidEdges.toArray(NO_IDS));
+                }
+            } catch (Throwable ex) {
+                LOG.warn("Failed to publish cache events of {} of graph " +
+                         "'{}', will publish 'clear' instead",
+                         hub, this.graph.name(), ex);
+                // The peers can't miss the invalidations which are lost
+                synchronized (this.pending) {
+                    this.pending.computeIfAbsent(hub,
+                                                 k -> new Invalidations())
+                                .add(ACTION_CLEAR, NO_IDS);
+                }
+            }
+        }
+    }
+
+    protected void save(String hub, String action, Id[] ids) {
+        if (!this.initSchemaIfNeeded()) {
+            // The peers will initialize their caches from the backend
+            return;
+        }
+
+        Id id = IdGenerator.of(this.server + "-" +
+                               this.sequence.incrementAndGet());
+        Date time = DateUtil.now();
+
+        List<Object> keyValues = new ArrayList<>(14);
+        keyValues.add(T.label);
+        keyValues.add(P.EVENT);
+        keyValues.add(T.id);
+        keyValues.add(id);
+        keyValues.add(P.SERVER);
+        keyValues.add(this.server);
+        keyValues.add(P.TIME);
+        keyValues.add(time);
+        keyValues.add(P.HUB);
+        keyValues.add(hub);
+        keyValues.add(P.ACTION);
+        keyValues.add(action);
+        if (ids.length > 0) {
+            List<String> values = new ArrayList<>(ids.length);
+            for (Id value : ids) {
+                values.add(IdUtil.writeStoredString(value));
+            }
+            keyValues.add(P.IDS);
+            keyValues.add(values);
+        }
+
+        GraphTransaction tx = this.graph.systemTransaction();
+        // NOTE: it is auto-commit in system transaction
+        tx.addVertex(tx.constructVertex(false, keyValues.toArray()));
+        this.recentEvents.put(id, time.getTime());
+    }
+
+    protected synchronized void poll() {
+        try {
+            if (!this.initSchemaIfNeeded()) {
+                return;
+            }
+
+            long now = DateUtil.now().getTime();
+            long since = this.lastPolled - OVERLAP_TIMES * this.interval;
+            Iterator<Vertex> vertices = this.queryEvents(Condition::gte,
+                                                         since, NO_LIMIT);
+            while (vertices.hasNext()) {
+                HugeVertex vertex = (HugeVertex) vertices.next();
+                Date time = vertex.value(P.TIME);
+                if (this.recentEvents.putIfAbsent(vertex.id(),
+                                                  time.getTime()) != null) {
+                    continue;
+                }
+                String server = vertex.value(P.SERVER);
+                if (!this.server.equals(server)) {
+                    this.apply(vertex);
+                }
+            }
+            this.lastPolled = now;
+
+            // Forget the events which will never be polled again
+            long forgotten = now - OVERLAP_TIMES * this.interval;
+            this.recentEvents.values().removeIf(time -> time < forgotten);
+
+            this.deleteExpiredEvents(now - this.expire);
+        } catch (Throwable e) {
+            LOG.warn("Failed to poll cache events of graph '{}'",
+                     this.graph.name(), e);
+        }
+    }
+
+    private void apply(HugeVertex vertex) {
+        String hub = vertex.value(P.HUB);
+        String action = vertex.value(P.ACTION);
+        List<Id> ids = new ArrayList<>();
+        VertexProperty<Collection<String>> values = vertex.property(P.IDS);
+        if (values.isPresent()) {
+            for (String value : values.value()) {
+                ids.add(IdUtil.readStoredString(value));
+            }
+        }
+        LOG.debug("Graph {} apply cache event '{}' of {} with ids {}",
+                  this.graph.name(), action, hub, ids);
+
+        EventHub eventHub = SCHEMA.equals(hub) ?
+                            this.graph.schemaEventHub() :
+                            this.graph.graphEventHub();
+        switch (action) {
+            case ACTION_INVALID:
+                for (Id id : ids) {
+                    eventHub.notify(Events.CACHE, action, id);
+                }
+                break;
+            case ACTION_INVALID_EDGES:
+                eventHub.notify(Events.CACHE, action,
+                                ids.toArray(new Id[0]));
+                break;
+            case ACTION_CLEAR:
+                eventHub.notify(Events.CACHE, action, null);
+                break;
+            default:
+                LOG.warn("Unknown cache event '{}' of graph '{}'",
+                         action, this.graph.name());
+                break;
+        }
+    }
+
+    private void deleteExpiredEvents(long before) {
+        Iterator<Vertex> vertices = this.queryEvents(Condition::lt, before,
+                                                     DELETE_BATCH);
+        GraphTransaction tx = this.graph.systemTransaction();
+        while (vertices.hasNext()) {
+            // The events may be deleted by other servers at the same time
+            tx.removeVertex((HugeVertex) vertices.next());
+        }
+    }
+
+    private Iterator<Vertex> queryEvents(TimeCondition condition, long time,
+                                         long limit) {
+        HugeGraph graph = this.graph.graph();
+        ConditionQuery query = new ConditionQuery(HugeType.VERTEX);
+        query.eq(HugeKeys.LABEL, graph.vertexLabel(P.EVENT).id());
+        PropertyKey pk = graph.propertyKey(P.TIME);
+        query.query(condition.of(pk.id(), new Date(time)));
+        query.showHidden(true);
+        if (limit != NO_LIMIT) {
+            query.limit(limit);
+        }
+        return this.graph.systemTransaction().queryVertices(query);
+    }
+
+    private boolean initSchemaIfNeeded() {
+        if (this.existVertexLabel(P.EVENT)) {
+            return true;
+        }
+        if (!this.graph.graph().backendStoreInitialized()) {
+            return false;
+        }
+
+        String[] properties = {
+            this.createPropertyKey(P.SERVER, DataType.TEXT,
+                                   Cardinality.SINGLE),
+            this.createPropertyKey(P.TIME, DataType.DATE,
+                                   Cardinality.SINGLE),
+            this.createPropertyKey(P.HUB, DataType.TEXT,
+                                   Cardinality.SINGLE),
+            this.createPropertyKey(P.ACTION, DataType.TEXT,
+                                   Cardinality.SINGLE),
+            this.createPropertyKey(P.IDS, DataType.TEXT,
+                                   Cardinality.LIST)
+        };
+
+        // Create vertex label '~cache_event'
+        SchemaManager schema = this.graph.graph().schema();
+        VertexLabel label = schema.vertexLabel(P.EVENT)
+                                  .properties(properties)
+                                  .useCustomizeStringId()
+                                  .nullableKeys(P.IDS)
+                                  .enableLabelIndex(true)
+                                  .build();
+        this.graph.schemaTransaction().addVertexLabel(label);
+
+        // Create range index of the event time for polling
+        String name = Hidden.hide("cache_event-index-by-time");
+        IndexLabel indexLabel = schema.indexLabel(name).range()
+                                      .on(HugeType.VERTEX_LABEL, P.EVENT)
+                                      .by(P.TIME)
+                                      .build();
+        this.graph.schemaTransaction().addIndexLabel(label, indexLabel);
+        return true;
+    }
+
+    private boolean existVertexLabel(String label) {
+        return this.graph.schemaTransaction().getVertexLabel(label) != null;
+    }
+
+    private String createPropertyKey(String name, DataType dataType,
+                                     Cardinality cardinality) {
+        SchemaManager schema = this.graph.graph().schema();
+        PropertyKey propertyKey = schema.propertyKey(name)
+                                        .dataType(dataType)
+                                        .cardinality(cardinality)
+                                        .build();
+        this.graph.schemaTransaction().addPropertyKey(propertyKey);
+        return name;
+    }
+
+    private static final class Invalidations {
+
+        private boolean clear = false;
+        private final Set<Id> invalid = InsertionOrderUtil.newSet();
+        private final Set<Id> invalidEdges = InsertionOrderUtil.newSet();
+
+        public void add(String action, Id[] ids) {
+            if (this.clear) {
+                // All the ids are superseded by "clear"
+                return;
+            }
+            int size = this.invalid.size() + this.invalidEdges.size();
+            if (size + ids.length > MAX_IDS_PER_BATCH) {
+                action = ACTION_CLEAR;
+            }
+            switch (action) {
+                case ACTION_INVALID:
+                    Collections.addAll(this.invalid, ids);
+                    break;
+                case ACTION_INVALID_EDGES:
+                    Collections.addAll(this.invalidEdges, ids);
+                    break;
+                default:
+                    // Clear for "clear" and the unknown actions
+                    this.clear = true;
+                    this.invalid.clear();
+                    this.invalidEdges.clear();
+                    break;
+            }
+        }
+    }
+
+    private interface TimeCondition {
+
+        public Condition of(Id key, Object value);
+    }
+
+    public static final class P {
+
+        public static final String EVENT = Hidden.hide("cache_event");
+
+        public static final String SERVER = "~cache_event_server";
+        public static final String TIME = "~cache_event_time";
+        public static final String HUB = "~cache_event_hub";
+        public static final String ACTION = "~cache_event_action";
+        public static final String IDS = "~cache_event_ids";
+    }
+}
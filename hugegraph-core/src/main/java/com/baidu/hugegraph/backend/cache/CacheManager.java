@@ -112,6 +112,17 @@ public class CacheManager {
         return cache;
     }
 
+    public <V> Cache<Id, V> shardedCache(String name, long capacity) {
+        if (!this.caches.containsKey(name)) {
+            this.caches.putIfAbsent(name, new ShardedCache(capacity));
+        }
+        @SuppressWarnings("unchecked")
+        Cache<Id, V> cache = (Cache<Id, V>) this.caches.get(name);
+        E.checkArgument(cache instanceof ShardedCache,
+                        "Invalid cache implement: %s", cache.getClass());
+        return cache;
+    }
+
     public <V> Cache<Id, V> offheapCache(HugeGraph graph, String name,
                                          long capacity, long avgElemSize) {
         if (!this.caches.containsKey(name)) {
@@ -129,7 +140,8 @@ public class CacheManager {
                                        long capacity1, long capacity2,
                                        long avgElemSize) {
         if (!this.caches.containsKey(name)) {
-            RamCache cache1 = new RamCache(capacity1);
+            // Keep the frequently accessed items of level-2 on heap
+            ShardedCache cache1 = new ShardedCache(capacity1);
             OffheapCache cache2 = new OffheapCache(graph, capacity2,
                                                    avgElemSize);
             this.caches.putIfAbsent(name, new LevelCache(cache1, cache2));
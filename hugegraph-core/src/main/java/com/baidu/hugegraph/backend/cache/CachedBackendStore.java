@@ -127,6 +127,11 @@ public class CachedBackendStore implements BackendStore {
         return this.store.nextId(type);
     }
 
+    @Override
+    public void setCounterLowest(HugeType type, long lowest) {
+        this.store.setCounterLowest(type, lowest);
+    }
+
     @Override
     public void increaseCounter(HugeType type, long increment) {
         this.store.increaseCounter(type, increment);
@@ -137,6 +142,16 @@ public class CachedBackendStore implements BackendStore {
         return this.store.getCounter(type);
     }
 
+    @Override
+    public void increaseCounter(HugeType type, Id id, long increment) {
+        this.store.increaseCounter(type, id, increment);
+    }
+
+    @Override
+    public long getCounter(HugeType type, Id id) {
+        return this.store.getCounter(type, id);
+    }
+
     @Override
     public boolean isSchemaStore() {
         return this.store.isSchemaStore();
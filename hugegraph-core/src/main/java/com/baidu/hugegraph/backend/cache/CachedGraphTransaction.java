@@ -28,6 +28,7 @@ import java.util.Set;
 
 import com.baidu.hugegraph.HugeGraphParams;
 import com.baidu.hugegraph.backend.cache.CachedBackendStore.QueryId;
+import com.baidu.hugegraph.backend.id.EdgeId;
 import com.baidu.hugegraph.backend.id.Id;
 import com.baidu.hugegraph.backend.query.IdQuery;
 import com.baidu.hugegraph.backend.query.Query;
@@ -46,6 +47,7 @@ import com.baidu.hugegraph.schema.IndexLabel;
 import com.baidu.hugegraph.structure.HugeEdge;
 import com.baidu.hugegraph.structure.HugeVertex;
 import com.baidu.hugegraph.type.HugeType;
+import com.baidu.hugegraph.util.E;
 import com.baidu.hugegraph.util.Events;
 import com.google.common.collect.ImmutableSet;
 
@@ -59,6 +61,7 @@ public final class CachedGraphTransaction extends GraphTransaction {
 
     private final Cache<Id, Object> verticesCache;
     private final Cache<Id, Object> edgesCache;
+    private final EdgeCacheIndex edgesCacheIndex;
 
     private EventListener storeEventListener;
     private EventListener cacheEventListener;
@@ -79,6 +82,7 @@ public final class CachedGraphTransaction extends GraphTransaction {
         expire = conf.get(CoreOptions.EDGE_CACHE_EXPIRE);
         this.edgesCache = this.cache("edge", type, capacity,
                                      AVG_EDGE_ENTRY_SIZE, expire);
+        this.edgesCacheIndex = EdgeCacheIndex.of(this.edgesCache);
 
         this.listenChanges();
     }
@@ -100,6 +104,9 @@ public final class CachedGraphTransaction extends GraphTransaction {
             case "l1":
                 cache = CacheManager.instance().cache(name, capacity);
                 break;
+            case "sharded":
+                cache = CacheManager.instance().shardedCache(name, capacity);
+                break;
             case "l2":
                 long heapCapacity = (long) (DEFAULT_LEVEL_RATIO * capacity);
                 cache = CacheManager.instance().levelCache(super.graph(),
@@ -124,7 +131,8 @@ public final class CachedGraphTransaction extends GraphTransaction {
                 LOG.debug("Graph {} clear graph cache on event '{}'",
                           this.graph(), event.name());
                 this.verticesCache.clear();
-                this.edgesCache.clear();
+                this.clearEdgesCache();
+                this.degreeCache().clear();
                 return true;
             }
             return false;
@@ -135,21 +143,36 @@ public final class CachedGraphTransaction extends GraphTransaction {
         this.cacheEventListener = event -> {
             LOG.debug("Graph {} received graph cache event: {}",
                       this.graph(), event);
-            event.checkArgs(String.class, Id.class);
             Object[] args = event.args();
+            E.checkArgument(args.length > 0 && args[0] instanceof String,
+                            "Expect event action argument");
             if ("invalid".equals(args[0])) {
+                event.checkArgs(String.class, Id.class);
                 Id id = (Id) args[1];
-                if (this.verticesCache.get(id) != null) {
+                // NOTE: don't get the value, which may be deserialized
+                if (this.verticesCache.containsKey(id)) {
                     // Invalidate vertex cache
                     this.verticesCache.invalidate(id);
-                } else if (this.edgesCache.get(id) != null) {
+                } else if (this.edgesCache.containsKey(id)) {
                     // Invalidate edge cache
                     this.edgesCache.invalidate(id);
                 }
                 return true;
+            } else if ("invalid_edges".equals(args[0])) {
+                event.checkArgs(String.class, Id[].class);
+                Id[] edgeIds = (Id[]) args[1];
+                this.invalidateEdgesCache(edgeIds);
+                // The degrees are changed by the edges of other servers
+                for (Id id : edgeIds) {
+                    EdgeId edgeId = (EdgeId) id;
+                    this.degreeCache().invalidate(edgeId.ownerVertexId());
+                    this.degreeCache().invalidate(edgeId.otherVertexId());
+                }
+                return true;
             } else if ("clear".equals(args[0])) {
                 this.verticesCache.clear();
-                this.edgesCache.clear();
+                this.clearEdgesCache();
+                this.degreeCache().clear();
                 return true;
             }
             return false;
@@ -259,9 +282,9 @@ public final class CachedGraphTransaction extends GraphTransaction {
         }
 
         if (edges.size() == 0) {
-            this.edgesCache.update(cacheKey, Collections.emptyList());
+            this.updateEdgesCache(cacheKey, query, Collections.emptyList());
         } else if (edges.size() <= MAX_CACHE_EDGES_PER_QUERY) {
-            this.edgesCache.update(cacheKey, edges);
+            this.updateEdgesCache(cacheKey, query, edges);
         }
 
         return new ExtendableIterator<>(edges.iterator(), rs);
@@ -272,7 +295,7 @@ public final class CachedGraphTransaction extends GraphTransaction {
         // Collect changes before commit
         Collection<HugeVertex> changes = this.verticesInTxUpdated();
         Collection<HugeVertex> deletions = this.verticesInTxRemoved();
-        int edgesInTxSize = this.edgesInTxSize();
+        Collection<HugeEdge> edges = this.edgesInTx();
 
         try {
             super.commitMutation2Backend(mutations);
@@ -291,10 +314,31 @@ public final class CachedGraphTransaction extends GraphTransaction {
                 this.verticesCache.invalidate(vertex.id());
             }
 
-            // Update edge cache if any edges change
-            if (edgesInTxSize > 0) {
-                // TODO: Use a more precise strategy to update the edge cache
-                this.edgesCache.clear();
+            InvalidationBus bus = this.params().invalidationBus();
+            // Sync the changed vertices with the caches of other servers
+            if (!changes.isEmpty() || !deletions.isEmpty()) {
+                Id[] vertexIds = new Id[changes.size() + deletions.size()];
+                int i = 0;
+                for (HugeVertex vertex : changes) {
+                    vertexIds[i++] = vertex.id();
+                }
+                for (HugeVertex vertex : deletions) {
+                    vertexIds[i++] = vertex.id();
+                }
+                bus.publish(InvalidationBus.GRAPH,
+                            InvalidationBus.ACTION_INVALID, vertexIds);
+            }
+
+            // Update edge cache of the vertices whose edges change
+            if (!edges.isEmpty()) {
+                Id[] edgeIds = new Id[edges.size()];
+                int i = 0;
+                for (HugeEdge edge : edges) {
+                    edgeIds[i++] = edge.id();
+                }
+                this.invalidateEdgesCache(edgeIds);
+                bus.publish(InvalidationBus.GRAPH,
+                            InvalidationBus.ACTION_INVALID_EDGES, edgeIds);
             }
         }
     }
@@ -307,8 +351,39 @@ public final class CachedGraphTransaction extends GraphTransaction {
             // Update edge cache if needed (any edge-index is deleted)
             if (indexLabel.baseType() == HugeType.EDGE_LABEL) {
                 // TODO: Use a more precise strategy to update the edge cache
-                this.edgesCache.clear();
+                this.clearEdgesCache();
+                this.params().invalidationBus()
+                             .publish(InvalidationBus.GRAPH,
+                                      InvalidationBus.ACTION_CLEAR);
             }
         }
     }
+
+    private void updateEdgesCache(Id cacheKey, Query query, Object edges) {
+        EdgeCacheIndex index = this.edgesCacheIndex;
+        if (!index.record(cacheKey, query)) {
+            // The index is full, remove the queries evicted from the cache
+            if (!index.prune(this.edgesCache::containsKey) ||
+                !index.record(cacheKey, query)) {
+                // Don't cache the query which can't be invalidated by index
+                return;
+            }
+        }
+        this.edgesCache.update(cacheKey, edges);
+    }
+
+    private void invalidateEdgesCache(Id[] edgeIds) {
+        List<Id> affected = new ArrayList<>();
+        for (Id id : edgeIds) {
+            this.edgesCacheIndex.invalidate((EdgeId) id, affected);
+        }
+        for (Id queryId : affected) {
+            this.edgesCache.invalidate(queryId);
+        }
+    }
+
+    private void clearEdgesCache() {
+        this.edgesCache.clear();
+        this.edgesCacheIndex.clear();
+    }
 }
@@ -121,6 +121,8 @@ public final class CachedSchemaTransaction extends SchemaTransaction {
                                                  schema.name());
                     this.nameCache.invalidate(prefixedName);
                 }
+                // The schema may be added by other servers
+                this.cachedTypes().clear();
                 return true;
             } else if ("clear".equals(args[0])) {
                 this.clearCache();
@@ -178,6 +180,10 @@ public final class CachedSchemaTransaction extends SchemaTransaction {
 
         Id prefixedName = generateId(schema.type(), schema.name());
         this.nameCache.update(prefixedName, schema);
+
+        this.params().invalidationBus().publish(InvalidationBus.SCHEMA,
+                                                InvalidationBus.ACTION_INVALID,
+                                                prefixedId);
     }
 
     @Override
@@ -234,6 +240,10 @@ public final class CachedSchemaTransaction extends SchemaTransaction {
             Id prefixedName = generateId(schema.type(), schema.name());
             this.nameCache.invalidate(prefixedName);
         }
+
+        this.params().invalidationBus().publish(InvalidationBus.SCHEMA,
+                                                InvalidationBus.ACTION_INVALID,
+                                                prefixedId);
     }
 
     @Override
@@ -0,0 +1,224 @@
+/*
+ * Copyright 2017 HugeGraph Authors
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with this
+ * work for additional information regarding copyright ownership. The ASF
+ * licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.baidu.hugegraph.backend.cache;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import com.baidu.hugegraph.backend.id.EdgeId;
+import com.baidu.hugegraph.backend.id.Id;
+import com.baidu.hugegraph.schema.SchemaElement;
+import com.baidu.hugegraph.structure.HugeEdge;
+import com.baidu.hugegraph.type.define.Directions;
+
+/**
+ * The approximate degree of vertices by direction and edge label, which is
+ * recorded when traversing adjacent edges and kept updated when edges are
+ * added or removed, so super nodes can be found without querying edges.
+ * NOTE: the degree recorded from a traversal stopped early is just a lower
+ * bound, and the changes committed by other processes are not reflected,
+ * the cache entries are expired to correct them.
+ */
+public final class DegreeCache {
+
+    public static final long UNKNOWN = -1L;
+
+    private static final String PREFIX = "degree-";
+    private static final Id ALL_LABELS = SchemaElement.NONE_ID;
+
+    private final Cache<Id, Object> cache;
+
+    private DegreeCache(Cache<Id, Object> cache) {
+        this.cache = cache;
+    }
+
+    public static DegreeCache open(String graph, long capacity,
+                                   long expire) {
+        Cache<Id, Object> cache = CacheManager.instance().cache(PREFIX + graph,
+                                                                capacity);
+        // Convert the unit from seconds to milliseconds
+        cache.expire(expire * 1000L);
+        return new DegreeCache(cache);
+    }
+
+    public boolean enabled() {
+        return this.cache.capacity() > 0L;
+    }
+
+    /**
+     * Get the exact degree of a vertex
+     * @param vertex the vertex id
+     * @param dir the direction of edges
+     * @param label the edge label id, null means all edge labels
+     * @return the degree, or UNKNOWN if it's not recorded or not exact
+     */
+    public long degree(Id vertex, Directions dir, Id label) {
+        Degree degree = this.get(vertex, dir, label);
+        if (degree == null || !degree.exact) {
+            return UNKNOWN;
+        }
+        return degree.count;
+    }
+
+    /**
+     * Get the recorded degree of a vertex, which may be just a lower bound
+     * @param vertex the vertex id
+     * @param dir the direction of edges
+     * @param label the edge label id, null means all edge labels
+     * @return the degree, or UNKNOWN if it's not recorded
+     */
+    public long estimate(Id vertex, Directions dir, Id label) {
+        Degree degree = this.get(vertex, dir, label);
+        return degree == null ? UNKNOWN : degree.count;
+    }
+
+    /**
+     * Check whether a vertex has at least the specified degree
+     * @param vertex the vertex id
+     * @param dir the direction of edges
+     * @param label the edge label id, null means all edge labels
+     * @param degree the degree expected at least
+     * @return true or false if it's known, otherwise null
+     */
+    public Boolean atLeast(Id vertex, Directions dir, Id label, long degree) {
+        Degree recorded = this.get(vertex, dir, label);
+        if (recorded == null) {
+            return null;
+        }
+        if (recorded.count >= degree) {
+            return true;
+        }
+        // The lower bound less than expected is meaningless
+        return recorded.exact ? false : null;
+    }
+
+    /**
+     * Record the degree observed by traversing adjacent edges
+     * @param vertex the vertex id
+     * @param dir the direction of edges
+     * @param label the edge label id, null means all edge labels
+     * @param degree the number of edges traversed
+     * @param exact false if the traversal stopped before all edges visited
+     */
+    public void record(Id vertex, Directions dir, Id label,
+                       long degree, boolean exact) {
+        if (!this.enabled()) {
+            return;
+        }
+        Degrees degrees = (Degrees) this.cache.getOrFetch(vertex, id -> {
+            return new Degrees();
+        });
+        degrees.of(dir).put(labelOrAll(label), new Degree(degree, exact));
+    }
+
+    public void increase(HugeEdge edge, long delta) {
+        EdgeId id = edge.id();
+        Id label = id.edgeLabelId();
+        this.increase(id.ownerVertexId(), id.direction(), label, delta);
+        this.increase(id.otherVertexId(), id.direction().opposite(),
+                      label, delta);
+    }
+
+    public void invalidate(Id vertex) {
+        this.cache.invalidate(vertex);
+    }
+
+    public void clear() {
+        this.cache.clear();
+    }
+
+    private void increase(Id vertex, Directions dir, Id label, long delta) {
+        Object value = this.cache.get(vertex);
+        if (value == null) {
+            // Keep the degree unknown
+            return;
+        }
+        Degrees degrees = (Degrees) value;
+        for (Directions d : new Directions[]{dir, Directions.BOTH}) {
+            ConcurrentMap<Id, Degree> labels = degrees.of(d);
+            labels.computeIfPresent(label, (k, v) -> v.increase(delta));
+            labels.computeIfPresent(ALL_LABELS, (k, v) -> v.increase(delta));
+        }
+    }
+
+    private Degree get(Id vertex, Directions dir, Id label) {
+        Object value = this.cache.get(vertex);
+        if (value == null) {
+            return null;
+        }
+        Degrees degrees = (Degrees) value;
+        label = labelOrAll(label);
+        Degree degree = degrees.of(dir).get(label);
+        if (degree != null || dir != Directions.BOTH) {
+            return degree;
+        }
+        // Sum the degrees of out and in edges
+        Degree out = degrees.of(Directions.OUT).get(label);
+        Degree in = degrees.of(Directions.IN).get(label);
+        if (out == null || in == null) {
+            return null;
+        }
+        return new Degree(out.count + in.count, out.exact && in.exact);
+    }
+
+    private static Id labelOrAll(Id label) {
+        return label == null ? ALL_LABELS : label;
+    }
+
+    private static class Degrees {
+
+        private final ConcurrentMap<Id, Degree> both;
+        private final ConcurrentMap<Id, Degree> out;
+        private final ConcurrentMap<Id, Degree> in;
+
+        public Degrees() {
+            this.both = new ConcurrentHashMap<>();
+            this.out = new ConcurrentHashMap<>();
+            this.in = new ConcurrentHashMap<>();
+        }
+
+        public ConcurrentMap<Id, Degree> of(Directions dir) {
+            switch (dir) {
+                case OUT:
+                    return this.out;
+                case IN:
+                    return this.in;
+                default:
+                    assert dir == Directions.BOTH;
+                    return this.both;
+            }
+        }
+    }
+
+    private static class Degree {
+
+        private final long count;
+        private final boolean exact;
+
+        public Degree(long count, boolean exact) {
+            this.count = count;
+            this.exact = exact;
+        }
+
+        public Degree increase(long delta) {
+            return new Degree(Math.max(this.count + delta, 0L), this.exact);
+        }
+    }
+}
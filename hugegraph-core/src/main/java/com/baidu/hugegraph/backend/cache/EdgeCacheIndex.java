@@ -0,0 +1,270 @@
+/*
+ * Copyright 2017 HugeGraph Authors
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with this
+ * work for additional information regarding copyright ownership. The ASF
+ * licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.baidu.hugegraph.backend.cache;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+
+import com.baidu.hugegraph.backend.id.EdgeId;
+import com.baidu.hugegraph.backend.id.Id;
+import com.baidu.hugegraph.backend.query.Condition;
+import com.baidu.hugegraph.backend.query.ConditionQuery;
+import com.baidu.hugegraph.backend.query.Query;
+import com.baidu.hugegraph.schema.SchemaElement;
+import com.baidu.hugegraph.type.define.HugeKeys;
+import com.google.common.collect.MapMaker;
+
+/**
+ * The secondary index of the edge cache, which maps an owner vertex to the
+ * cached queries of its edges, with the edge label of each query, so the
+ * cached queries affected by changed edges can be found and invalidated
+ * instead of clearing the whole edge cache.
+ * The queries not bound to owner vertices (like querying edges by label or
+ * properties) are affected by any changed edge with the same label.
+ * NOTE: the index is shared by all the transactions of a graph, and it may
+ * contain the queries evicted or expired from the edge cache, which are
+ * removed once invalidated, or pruned when the index is full.
+ */
+public final class EdgeCacheIndex {
+
+    private static final Id ANY_LABEL = SchemaElement.NONE_ID;
+
+    // An edge query by ids is indexed under both vertices of each edge
+    private static final long ENTRIES_PER_QUERY = 2L;
+
+    // Map edge cache => index, which is released with the edge cache
+    private static final ConcurrentMap<Cache<Id, Object>, EdgeCacheIndex>
+            INDEXES = new MapMaker().weakKeys().makeMap();
+
+    // Map owner vertex id => {query id => edge label id}
+    private final ConcurrentMap<Id, Map<Id, Id>> owners;
+    // Map query id => edge label id, for queries without owner vertex
+    private final Map<Id, Id> unbound;
+    private final AtomicLong size;
+    private final long capacity;
+    // The number of records tried since the last pruning
+    private final AtomicLong tried;
+
+    private EdgeCacheIndex(long capacity) {
+        this.owners = new ConcurrentHashMap<>();
+        this.unbound = new ConcurrentHashMap<>();
+        this.size = new AtomicLong(0L);
+        this.capacity = capacity;
+        this.tried = new AtomicLong(0L);
+    }
+
+    /**
+     * Get the index of the edge cache, the capacity of index follows the
+     * capacity of the edge cache
+     * @param cache the edge cache
+     * @return the index shared by all the users of the edge cache
+     */
+    public static EdgeCacheIndex of(Cache<Id, Object> cache) {
+        return INDEXES.computeIfAbsent(cache, k -> {
+            return new EdgeCacheIndex(ENTRIES_PER_QUERY * k.capacity());
+        });
+    }
+
+    /**
+     * Record the cached query of edges
+     * @param queryId the key of the query in edge cache
+     * @param query the query of edges
+     * @return false if the index is full, then the query can't be cached
+     *         until the index is pruned
+     */
+    public boolean record(Id queryId, Query query) {
+        this.tried.incrementAndGet();
+        if (this.size.get() >= this.capacity) {
+            return false;
+        }
+
+        Id label = ANY_LABEL;
+        List<Id> vertices = null;
+        if (query instanceof ConditionQuery) {
+            ConditionQuery cq = (ConditionQuery) query;
+            // Query edges of one owner or of multi owners
+            vertices = values(cq, HugeKeys.OWNER_VERTEX);
+            Id labelId = singleValue(cq, HugeKeys.LABEL);
+            if (labelId != null) {
+                label = labelId;
+            }
+        }
+        if (vertices == null && !query.ids().isEmpty()) {
+            // Query edges by ids, the edges belong to both vertices
+            vertices = new ArrayList<>(2 * query.ids().size());
+            for (Id id : query.ids()) {
+                if (!(id instanceof EdgeId)) {
+                    vertices = null;
+                    break;
+                }
+                EdgeId edgeId = (EdgeId) id;
+                vertices.add(edgeId.ownerVertexId());
+                vertices.add(edgeId.otherVertexId());
+            }
+        }
+
+        if (vertices == null) {
+            if (this.unbound.put(queryId, label) == null) {
+                this.size.incrementAndGet();
+            }
+            return true;
+        }
+        for (Id vertex : vertices) {
+            Id queryLabel = label;
+            // Update in compute() to avoid racing with removing empty map
+            this.owners.compute(vertex, (k, queries) -> {
+                if (queries == null) {
+                    queries = new ConcurrentHashMap<>();
+                }
+                if (queries.put(queryId, queryLabel) == null) {
+                    this.size.incrementAndGet();
+                }
+                return queries;
+            });
+        }
+        return true;
+    }
+
+    /**
+     * Remove and collect the cached queries affected by the changed edge
+     * @param edgeId the id of changed edge
+     * @param affected the collection to put the affected query ids into
+     */
+    public void invalidate(EdgeId edgeId, List<Id> affected) {
+        Id label = edgeId.edgeLabelId();
+        Predicate<Map.Entry<Id, Id>> matched = e -> {
+            Id queryLabel = e.getValue();
+            if (queryLabel.equals(ANY_LABEL) || queryLabel.equals(label)) {
+                affected.add(e.getKey());
+                return true;
+            }
+            return false;
+        };
+        this.remove(edgeId.ownerVertexId(), matched);
+        this.remove(edgeId.otherVertexId(), matched);
+        this.remove(this.unbound, matched);
+    }
+
+    /**
+     * Remove the queries which are not in the edge cache any more (evicted
+     * or expired), it's done at most once every half capacity of records
+     * tried, so the cost of pruning is amortized by the records
+     * @param cached the checker whether a query is in the edge cache
+     * @return false if the pruning is skipped
+     */
+    public synchronized boolean prune(Predicate<Id> cached) {
+        if (this.tried.get() < this.capacity / 2L) {
+            return false;
+        }
+        this.tried.set(0L);
+
+        Predicate<Map.Entry<Id, Id>> stale = e -> !cached.test(e.getKey());
+        for (Id vertex : this.owners.keySet()) {
+            this.remove(vertex, stale);
+        }
+        this.remove(this.unbound, stale);
+        return true;
+    }
+
+    public long size() {
+        return this.size.get();
+    }
+
+    public void clear() {
+        this.owners.clear();
+        this.unbound.clear();
+        this.size.set(0L);
+    }
+
+    private void remove(Id vertex, Predicate<Map.Entry<Id, Id>> matched) {
+        // Remove the map of the vertex if it becomes empty
+        this.owners.computeIfPresent(vertex, (k, queries) -> {
+            this.remove(queries, matched);
+            return queries.isEmpty() ? null : queries;
+        });
+    }
+
+    private void remove(Map<Id, Id> queries,
+                        Predicate<Map.Entry<Id, Id>> matched) {
+        Iterator<Map.Entry<Id, Id>> iter = queries.entrySet().iterator();
+        while (iter.hasNext()) {
+            if (matched.test(iter.next())) {
+                iter.remove();
+                this.size.decrementAndGet();
+            }
+        }
+    }
+
+    private static List<Id> values(ConditionQuery query, HugeKeys key) {
+        Id value = singleValue(query, key);
+        if (value != null) {
+            List<Id> values = new ArrayList<>(1);
+            values.add(value);
+            return values;
+        }
+        List<Id> values = null;
+        for (Condition c : query.conditions()) {
+            if (!c.isRelation()) {
+                continue;
+            }
+            Condition.Relation r = (Condition.Relation) c;
+            if (!r.key().equals(key)) {
+                continue;
+            }
+            if (r.relation() != Condition.RelationType.IN || values != null) {
+                return null;
+            }
+            values = new ArrayList<>();
+            for (Object v : (List<?>) r.value()) {
+                if (!(v instanceof Id)) {
+                    return null;
+                }
+                values.add((Id) v);
+            }
+        }
+        return values;
+    }
+
+    private static Id singleValue(ConditionQuery query, HugeKeys key) {
+        Id value = null;
+        for (Condition c : query.conditions()) {
+            if (!c.isRelation()) {
+                // The results are subset of the top level conditions
+                continue;
+            }
+            Condition.Relation r = (Condition.Relation) c;
+            if (!r.key().equals(key)) {
+                continue;
+            }
+            if (r.relation() != Condition.RelationType.EQ ||
+                !(r.value() instanceof Id) || value != null) {
+                return null;
+            }
+            value = (Id) r.value();
+        }
+        return value;
+    }
+}
@@ -0,0 +1,61 @@
+/*
+ * Copyright 2017 HugeGraph Authors
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with this
+ * work for additional information regarding copyright ownership. The ASF
+ * licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.baidu.hugegraph.backend.cache;
+
+import com.baidu.hugegraph.backend.id.Id;
+
+/**
+ * The bus to sync cache invalidations with the other servers which share
+ * the same backend store. The invalidations published after commit are
+ * applied on the other servers by notifying the cache event of their event
+ * hubs, just like the invalidations made by themselves.
+ */
+public interface InvalidationBus {
+
+    public static final String GRAPH = "graph";
+    public static final String SCHEMA = "schema";
+
+    public static final String ACTION_INVALID = "invalid";
+    public static final String ACTION_INVALID_EDGES = "invalid_edges";
+    public static final String ACTION_CLEAR = "clear";
+
+    public static final InvalidationBus NONE = new InvalidationBus() {
+
+        @Override
+        public void publish(String hub, String action, Id... ids) {
+            // pass
+        }
+
+        @Override
+        public void close() {
+            // pass
+        }
+    };
+
+    /**
+     * Publish a batch of invalidations to the other servers
+     * @param hub the event hub to notify, GRAPH or SCHEMA
+     * @param action the action of cache event, like "invalid" or "clear"
+     * @param ids the ids of invalid cache items, empty for "clear"
+     */
+    public void publish(String hub, String action, Id... ids);
+
+    public void close();
+}
@@ -20,9 +20,11 @@
 package com.baidu.hugegraph.backend.cache;
 
 import java.util.Iterator;
+import java.util.concurrent.locks.Lock;
 import java.util.function.Consumer;
 
 import com.baidu.hugegraph.backend.id.Id;
+import com.baidu.hugegraph.concurrent.KeyLock;
 import com.baidu.hugegraph.iterator.ExtendableIterator;
 import com.baidu.hugegraph.util.E;
 
@@ -30,6 +32,10 @@ public final class LevelCache extends AbstractCache<Id, Object> {
 
     // For multi-layer caches
     private final AbstractCache<Id, Object> caches[];
+    // Serialize the promotion with the writers of the same key
+    private final KeyLock keyLock;
+    // Odd while clearing, used to detect the promotion during clearing
+    private volatile long clearStamp;
 
     @SuppressWarnings("unchecked")
     public LevelCache(AbstractCache<Id, Object> lavel1,
@@ -37,6 +43,8 @@ public final class LevelCache extends AbstractCache<Id, Object> {
         super(lavel2.capacity());
         super.expire(lavel2.expire());
         this.caches = new AbstractCache[]{lavel1, lavel2};
+        this.keyLock = new KeyLock();
+        this.clearStamp = 0L;
     }
 
     @Override
@@ -50,9 +58,14 @@ public final class LevelCache extends AbstractCache<Id, Object> {
     }
 
     @Override
-    public void clear() {
-        for (AbstractCache<Id, Object> cache : this.caches) {
-            cache.clear();
+    public synchronized void clear() {
+        this.clearStamp++;
+        try {
+            for (AbstractCache<Id, Object> cache : this.caches) {
+                cache.clear();
+            }
+        } finally {
+            this.clearStamp++;
         }
     }
 
@@ -76,29 +89,85 @@ public final class LevelCache extends AbstractCache<Id, Object> {
 
     @Override
     protected Object access(Id id) {
-        for (AbstractCache<Id, Object> cache : this.caches) {
-            // Priority access to the previous level
-            Object value = cache.access(id);
-            if (value != null) {
-                return value;
+        // Priority access to the first level without lock
+        Object value = this.caches[0].access(id);
+        if (value != null) {
+            return value;
+        }
+
+        /*
+         * Hold the key lock from the hit in a lower level to the promotion,
+         * or a writer may replace the value between them and the promotion
+         * would overwrite the new value in the previous levels with the
+         * stale one. NOTE: can't compare the value instance in the lower
+         * level after the hit, the off-heap cache returns a new instance
+         * on each access.
+         */
+        final Lock lock = this.keyLock.lock(id);
+        try {
+            long stamp = this.clearStamp;
+            for (int i = 1; i < this.caches.length; i++) {
+                value = this.caches[i].access(id);
+                if (value != null) {
+                    /*
+                     * Promote the value hit in a lower level to the previous
+                     * levels, to avoid deserializing it again on the next
+                     * hit, the level-1 cache decides whether to keep it
+                     */
+                    this.promote(id, value, i, stamp);
+                    return value;
+                }
+            }
+            return null;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void promote(Id id, Object value, int level, long stamp) {
+        if ((stamp & 1L) != 0L) {
+            // Being cleared
+            return;
+        }
+        AbstractCache<Id, Object> lower = this.caches[level];
+        for (int j = 0; j < level; j++) {
+            // Don't promote the value invalidated by others after the hit
+            if (!lower.containsKey(id)) {
+                return;
+            }
+            AbstractCache<Id, Object> cache = this.caches[j];
+            cache.update(id, value);
+            // The invalidation may remove the previous level before us
+            if (!lower.containsKey(id) || this.clearStamp != stamp) {
+                cache.invalidate(id);
+                return;
             }
         }
-        return null;
     }
 
     @Override
     protected boolean write(Id id, Object value) {
         boolean success = false;
-        for (AbstractCache<Id, Object> cache : this.caches) {
-            success |= cache.write(id, value);
+        final Lock lock = this.keyLock.lock(id);
+        try {
+            for (AbstractCache<Id, Object> cache : this.caches) {
+                success |= cache.write(id, value);
+            }
+        } finally {
+            lock.unlock();
         }
         return success;
     }
 
     @Override
     protected void remove(Id id) {
-        for (AbstractCache<Id, Object> cache : this.caches) {
-            cache.remove(id);
+        final Lock lock = this.keyLock.lock(id);
+        try {
+            for (AbstractCache<Id, Object> cache : this.caches) {
+                cache.remove(id);
+            }
+        } finally {
+            lock.unlock();
         }
     }
 
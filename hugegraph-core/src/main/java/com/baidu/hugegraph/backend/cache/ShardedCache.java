@@ -0,0 +1,518 @@
+/*
+ * Copyright 2017 HugeGraph Authors
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with this
+ * work for additional information regarding copyright ownership. The ASF
+ * licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.baidu.hugegraph.backend.cache;
+
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+import com.baidu.hugegraph.backend.id.Id;
+import com.baidu.hugegraph.perf.PerfUtil.Watched;
+import com.baidu.hugegraph.util.E;
+
+/**
+ * A heap cache split into segments by the hash of key, the capacity is
+ * split evenly into the segments, and the eviction of each segment is
+ * W-TinyLFU like: new items are put into a small LRU window, and the items
+ * evicted from the window are admitted into the main LRU space only if
+ * they are accessed more frequently than the victim of main space.
+ *
+ * Reading never takes a lock, the accesses are recorded into a lossy
+ * ring buffer of the segment, which is drained by the thread that fills
+ * up the buffer (if the segment lock is free) or by the next writer.
+ */
+public class ShardedCache extends AbstractCache<Id, Object> {
+
+    private static final int MAX_SEGMENTS = 64;
+    private static final int MIN_SEGMENT_CAPACITY = 128;
+    private static final double WINDOW_RATIO = 0.01D;
+    // Select segment by the high bits of hash, the low bits are for sketch
+    private static final int SEGMENT_SHIFT = 26;
+
+    private final ConcurrentMap<Id, SegmentNode> map;
+    private final Segment[] segments;
+    private final int segmentMask;
+
+    public ShardedCache() {
+        this(DEFAULT_SIZE);
+    }
+
+    public ShardedCache(long capacity) {
+        super(capacity);
+
+        if (capacity < 0L) {
+            capacity = 0L;
+        }
+        long initialCapacity = capacity >= MB ? capacity >> 10 : 256;
+        if (initialCapacity > MAX_INIT_CAP) {
+            initialCapacity = MAX_INIT_CAP;
+        }
+        this.map = new ConcurrentHashMap<>((int) initialCapacity);
+
+        int size = 1;
+        while (size < MAX_SEGMENTS &&
+               size * 2L * MIN_SEGMENT_CAPACITY <= capacity) {
+            size <<= 1;
+        }
+        this.segments = new Segment[size];
+        for (int i = 0; i < size; i++) {
+            // Spread the remainder of capacity to the first segments
+            long segmentCapacity = capacity / size +
+                                   (i < capacity % size ? 1L : 0L);
+            this.segments[i] = new Segment(segmentCapacity);
+        }
+        this.segmentMask = size - 1;
+    }
+
+    @Override
+    @Watched(prefix = "shardedcache")
+    protected final Object access(Id id) {
+        assert id != null;
+        SegmentNode node = this.map.get(id);
+        if (node == null) {
+            return null;
+        }
+        this.segment(id).recordRead(node);
+        assert id.equals(node.key());
+        return node.value();
+    }
+
+    @Override
+    @Watched(prefix = "shardedcache")
+    protected final boolean write(Id id, Object value) {
+        assert id != null;
+        assert this.capacity() > 0L;
+        Segment segment = this.segment(id);
+        segment.lock.lock();
+        try {
+            return segment.write(id, value);
+        } finally {
+            segment.lock.unlock();
+        }
+    }
+
+    @Override
+    @Watched(prefix = "shardedcache")
+    protected final void remove(Id id) {
+        if (id == null) {
+            return;
+        }
+        Segment segment = this.segment(id);
+        segment.lock.lock();
+        try {
+            SegmentNode node = this.map.remove(id);
+            if (node != null) {
+                segment.unlink(node);
+            }
+        } finally {
+            segment.lock.unlock();
+        }
+    }
+
+    @Override
+    protected Iterator<CacheNode<Id, Object>> nodes() {
+        Iterator<SegmentNode> iter = this.map.values().iterator();
+        @SuppressWarnings({ "unchecked", "rawtypes" })
+        Iterator<CacheNode<Id, Object>> iterSuper = (Iterator) iter;
+        return iterSuper;
+    }
+
+    @Override
+    public boolean containsKey(Id id) {
+        return this.map.containsKey(id);
+    }
+
+    @Watched(prefix = "shardedcache")
+    @Override
+    public void traverse(Consumer<Object> consumer) {
+        E.checkNotNull(consumer, "consumer");
+        this.map.values().forEach(node -> consumer.accept(node.value()));
+    }
+
+    @Watched(prefix = "shardedcache")
+    @Override
+    public void clear() {
+        if (this.capacity() <= 0 || this.map.isEmpty()) {
+            return;
+        }
+        for (Segment segment : this.segments) {
+            segment.lock.lock();
+            try {
+                segment.clear();
+            } finally {
+                segment.lock.unlock();
+            }
+        }
+    }
+
+    @Override
+    public long size() {
+        return this.map.size();
+    }
+
+    @Override
+    public String toString() {
+        return this.map.toString();
+    }
+
+    private Segment segment(Id id) {
+        return this.segments[(hash(id) >>> SEGMENT_SHIFT) & this.segmentMask];
+    }
+
+    private static int hash(Object key) {
+        // Murmur3 32-bit finalizer to spread the bits of hashCode
+        int h = key.hashCode();
+        h ^= h >>> 16;
+        h *= 0x85ebca6b;
+        h ^= h >>> 13;
+        h *= 0xc2b2ae35;
+        h ^= h >>> 16;
+        return h;
+    }
+
+    private final class Segment {
+
+        private static final int READ_BUFFER_SIZE = 64;
+        private static final int READ_BUFFER_MASK = READ_BUFFER_SIZE - 1;
+
+        private final ReentrantLock lock;
+
+        private final long capacity;
+        private final long windowCapacity;
+        private final NodeList window;
+        private final NodeList main;
+        private final FrequencySketch sketch;
+
+        private final AtomicReferenceArray<SegmentNode> readBuffer;
+        private final AtomicInteger reads;
+
+        public Segment(long capacity) {
+            this.lock = new ReentrantLock();
+            this.capacity = capacity;
+            this.windowCapacity = Math.max(1L, (long) (capacity *
+                                                       WINDOW_RATIO));
+            this.window = new NodeList();
+            this.main = new NodeList();
+            this.sketch = new FrequencySketch(capacity);
+            this.readBuffer = new AtomicReferenceArray<>(READ_BUFFER_SIZE);
+            this.reads = new AtomicInteger(0);
+        }
+
+        public void recordRead(SegmentNode node) {
+            int index = this.reads.getAndIncrement() & READ_BUFFER_MASK;
+            this.readBuffer.lazySet(index, node);
+            // Try to drain the buffer when it's full, never wait the lock
+            if (index == READ_BUFFER_MASK && this.lock.tryLock()) {
+                try {
+                    this.drainReads();
+                } finally {
+                    this.lock.unlock();
+                }
+            }
+        }
+
+        public boolean write(Id id, Object value) {
+            assert this.lock.isHeldByCurrentThread();
+            this.drainReads();
+            this.sketch.increment(id);
+
+            // Replace the old node if exists
+            SegmentNode node = new SegmentNode(id, value);
+            SegmentNode old = map.put(id, node);
+            if (old != null) {
+                this.unlink(old);
+            }
+            this.window.append(node);
+            node.inWindow = true;
+
+            // Move the overflowed items of window into main space
+            while (this.window.size() > this.windowCapacity) {
+                SegmentNode candidate = this.window.poll();
+                candidate.inWindow = false;
+                if (this.size() + 1L > this.capacity) {
+                    SegmentNode victim = this.main.peek();
+                    if (victim != null) {
+                        // Admit the candidate only if it's more frequent
+                        if (this.sketch.frequency(candidate.key()) <=
+                            this.sketch.frequency(victim.key())) {
+                            this.evict(candidate, id);
+                            continue;
+                        }
+                        this.main.remove(victim);
+                        this.evict(victim, id);
+                    }
+                }
+                this.main.append(candidate);
+            }
+
+            // The segment is still full, evict the oldest of it
+            while (this.size() > this.capacity) {
+                SegmentNode victim = this.main.peek();
+                if (victim != null) {
+                    this.main.remove(victim);
+                } else {
+                    victim = this.window.poll();
+                    if (victim == null) {
+                        break;
+                    }
+                }
+                this.evict(victim, id);
+            }
+            return !node.removed;
+        }
+
+        public long size() {
+            return this.window.size() + this.main.size();
+        }
+
+        public void unlink(SegmentNode node) {
+            assert this.lock.isHeldByCurrentThread();
+            if (node.removed) {
+                return;
+            }
+            if (node.inWindow) {
+                this.window.remove(node);
+            } else {
+                this.main.remove(node);
+            }
+            node.removed = true;
+        }
+
+        public void clear() {
+            assert this.lock.isHeldByCurrentThread();
+            for (SegmentNode node = this.window.poll(); node != null;
+                 node = this.window.poll()) {
+                map.remove(node.key(), node);
+                node.removed = true;
+            }
+            for (SegmentNode node = this.main.poll(); node != null;
+                 node = this.main.poll()) {
+                map.remove(node.key(), node);
+                node.removed = true;
+            }
+            for (int i = 0; i < READ_BUFFER_SIZE; i++) {
+                this.readBuffer.lazySet(i, null);
+            }
+        }
+
+        private void evict(SegmentNode node, Id id) {
+            // The node has been unlinked from window or main
+            map.remove(node.key(), node);
+            node.removed = true;
+            if (LOG.isDebugEnabled()) {
+                LOG.debug("ShardedCache replaced '{}' with '{}' " +
+                          "(capacity={})", node.key(), id,
+                          ShardedCache.this.capacity());
+            }
+        }
+
+        private void drainReads() {
+            assert this.lock.isHeldByCurrentThread();
+            for (int i = 0; i < READ_BUFFER_SIZE; i++) {
+                SegmentNode node = this.readBuffer.getAndSet(i, null);
+                if (node == null || node.removed) {
+                    continue;
+                }
+                this.sketch.increment(node.key());
+                // Move the node to the tail of window or main
+                NodeList list = node.inWindow ? this.window : this.main;
+                list.remove(node);
+                list.append(node);
+            }
+        }
+    }
+
+    private static final class SegmentNode extends CacheNode<Id, Object> {
+
+        private SegmentNode prev;
+        private SegmentNode next;
+
+        // Guarded by the lock of segment
+        private boolean inWindow;
+        private volatile boolean removed;
+
+        public SegmentNode(Id key, Object value) {
+            super(key, value);
+            this.prev = this.next = null;
+            this.inWindow = false;
+            this.removed = false;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (!(obj instanceof SegmentNode)) {
+                return false;
+            }
+            SegmentNode other = (SegmentNode) obj;
+            return this.key().equals(other.key());
+        }
+
+        @Override
+        public int hashCode() {
+            return this.key().hashCode();
+        }
+    }
+
+    /**
+     * Doubly linked list from the least recently used to the most, it's
+     * not thread safe and guarded by the lock of segment
+     */
+    private static final class NodeList {
+
+        private SegmentNode head;
+        private SegmentNode tail;
+        private long size;
+
+        public NodeList() {
+            this.head = this.tail = null;
+            this.size = 0L;
+        }
+
+        public long size() {
+            return this.size;
+        }
+
+        public SegmentNode peek() {
+            return this.head;
+        }
+
+        public SegmentNode poll() {
+            SegmentNode node = this.head;
+            if (node != null) {
+                this.remove(node);
+            }
+            return node;
+        }
+
+        public void append(SegmentNode node) {
+            assert node.prev == null && node.next == null;
+            node.prev = this.tail;
+            if (this.tail == null) {
+                this.head = node;
+            } else {
+                this.tail.next = node;
+            }
+            this.tail = node;
+            this.size++;
+        }
+
+        public void remove(SegmentNode node) {
+            SegmentNode prev = node.prev;
+            SegmentNode next = node.next;
+            if (prev == null) {
+                assert this.head == node;
+                this.head = next;
+            } else {
+                prev.next = next;
+            }
+            if (next == null) {
+                assert this.tail == node;
+                this.tail = prev;
+            } else {
+                next.prev = prev;
+            }
+            node.prev = node.next = null;
+            this.size--;
+        }
+    }
+
+    /**
+     * Count-Min sketch with 4-bit counters to estimate the access frequency
+     * of keys, all counters are halved periodically to keep it fresh
+     */
+    private static final class FrequencySketch {
+
+        private static final long[] SEEDS = {
+            0xc3a5c85c97cb3127L, 0xb492b66fbe98f273L,
+            0x9ae16a3b2f90404fL, 0xcbf29ce484222325L
+        };
+        private static final long RESET_MASK = 0x7777777777777777L;
+        private static final int MAX_TABLE_SIZE = 1 << 24;
+
+        private final long[] table;
+        private final int tableMask;
+        private final long sampleSize;
+        private long additions;
+
+        public FrequencySketch(long capacity) {
+            long size = Math.min(Math.max(capacity, 1L), MAX_TABLE_SIZE);
+            int length = 1;
+            while (length < size) {
+                length <<= 1;
+            }
+            this.table = new long[length];
+            this.tableMask = length - 1;
+            this.sampleSize = 10L * size;
+            this.additions = 0L;
+        }
+
+        public int frequency(Object key) {
+            int hash = hash(key);
+            int frequency = Integer.MAX_VALUE;
+            for (int i = 0; i < SEEDS.length; i++) {
+                long value = this.table[this.indexOf(hash, i)];
+                int count = (int) ((value >>> offsetOf(hash, i)) & 0xfL);
+                frequency = Math.min(frequency, count);
+            }
+            return frequency;
+        }
+
+        public void increment(Object key) {
+            int hash = hash(key);
+            boolean added = false;
+            for (int i = 0; i < SEEDS.length; i++) {
+                int index = this.indexOf(hash, i);
+                int offset = offsetOf(hash, i);
+                if (((this.table[index] >>> offset) & 0xfL) != 0xfL) {
+                    this.table[index] += 1L << offset;
+                    added = true;
+                }
+            }
+            if (added && ++this.additions >= this.sampleSize) {
+                this.reset();
+            }
+        }
+
+        private void reset() {
+            for (int i = 0; i < this.table.length; i++) {
+                this.table[i] = (this.table[i] >>> 1) & RESET_MASK;
+            }
+            this.additions >>>= 1;
+        }
+
+        private int indexOf(int hash, int i) {
+            long h = (hash + SEEDS[i]) * SEEDS[i];
+            h += h >>> 32;
+            return (int) h & this.tableMask;
+        }
+
+        private static int offsetOf(int hash, int i) {
+            /*
+             * Select one of the 16 counters in a long by the low 16 bits,
+             * which are independent of the bits selecting the segment
+             */
+            return ((hash >>> (i << 2)) & 0xf) << 2;
+        }
+    }
+}
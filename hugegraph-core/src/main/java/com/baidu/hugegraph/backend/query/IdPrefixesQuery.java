@@ -0,0 +1,83 @@
+/*
+ * Copyright 2017 HugeGraph Authors
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with this
+ * work for additional information regarding copyright ownership. The ASF
+ * licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.baidu.hugegraph.backend.query;
+
+import java.util.List;
+
+import com.baidu.hugegraph.backend.id.Id;
+import com.baidu.hugegraph.structure.HugeElement;
+import com.baidu.hugegraph.type.HugeType;
+import com.baidu.hugegraph.util.Bytes;
+import com.baidu.hugegraph.util.E;
+
+public final class IdPrefixesQuery extends Query {
+
+    private final List<Id> prefixes;
+
+    public IdPrefixesQuery(Query originQuery, List<Id> prefixes) {
+        this(originQuery.resultType(), originQuery, prefixes);
+    }
+
+    public IdPrefixesQuery(HugeType resultType, Query originQuery,
+                           List<Id> prefixes) {
+        super(resultType, originQuery);
+        E.checkArgument(prefixes != null && !prefixes.isEmpty(),
+                        "The prefixes parameter can't be empty");
+        this.prefixes = prefixes;
+        if (originQuery != null) {
+            this.copyBasic(originQuery);
+        }
+    }
+
+    public List<Id> prefixes() {
+        return this.prefixes;
+    }
+
+    @Override
+    public boolean empty() {
+        return false;
+    }
+
+    @Override
+    public boolean test(HugeElement element) {
+        byte[] elem = element.id().asBytes();
+        for (Id prefix : this.prefixes) {
+            if (Bytes.prefixWith(elem, prefix.asBytes())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public IdPrefixesQuery copy() {
+        return (IdPrefixesQuery) super.copy();
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder(super.toString());
+        assert sb.length() > 0;
+        sb.deleteCharAt(sb.length() - 1); // Remove the last "`"
+        sb.append(" id prefix with any of ").append(this.prefixes);
+        sb.append("`");
+        return sb.toString();
+    }
+}
@@ -19,6 +19,7 @@
 
 package com.baidu.hugegraph.backend.serializer;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 import java.util.Map;
@@ -36,6 +37,7 @@ import com.baidu.hugegraph.backend.query.Condition;
 import com.baidu.hugegraph.backend.query.Condition.RangeConditions;
 import com.baidu.hugegraph.backend.query.ConditionQuery;
 import com.baidu.hugegraph.backend.query.IdPrefixQuery;
+import com.baidu.hugegraph.backend.query.IdPrefixesQuery;
 import com.baidu.hugegraph.backend.query.IdRangeQuery;
 import com.baidu.hugegraph.backend.query.Query;
 import com.baidu.hugegraph.backend.serializer.BinaryBackendEntry.BinaryId;
@@ -80,6 +82,8 @@ public class BinarySerializer extends AbstractSerializer {
      */
     private final boolean keyWithIdPrefix;
     private final boolean indexWithIdPrefix;
+    // Whether to decode the properties of vertex/edge on demand
+    private boolean lazyProperties;
 
     public BinarySerializer() {
         this(true, true);
@@ -89,6 +93,11 @@ public class BinarySerializer extends AbstractSerializer {
                             boolean indexWithIdPrefix) {
         this.keyWithIdPrefix = keyWithIdPrefix;
         this.indexWithIdPrefix = indexWithIdPrefix;
+        this.lazyProperties = false;
+    }
+
+    public void lazyProperties(boolean lazyProperties) {
+        this.lazyProperties = lazyProperties;
     }
 
     @Override
@@ -207,6 +216,11 @@ public class BinarySerializer extends AbstractSerializer {
     }
 
     protected void parseProperties(BytesBuffer buffer, HugeElement owner) {
+        if (this.lazyProperties) {
+            // Just skip the values, which will be decoded when accessing
+            owner.lazyProperties(LazyProperties.parse(owner.graph(), buffer));
+            return;
+        }
         int size = buffer.readVInt();
         assert size >= 0;
         for (int i = 0; i < size; i++) {
@@ -562,13 +576,54 @@ public class BinarySerializer extends AbstractSerializer {
     @Override
     protected Query writeQueryEdgeCondition(Query query) {
         ConditionQuery cq = (ConditionQuery) query;
-        if (cq.hasRangeCondition()) {
+        if (cq.containsCondition(HugeKeys.OWNER_VERTEX,
+                                 Condition.RelationType.IN)) {
+            return this.writeQueryEdgeOwnersCondition(cq);
+        } else if (cq.hasRangeCondition()) {
             return this.writeQueryEdgeRangeCondition(cq);
         } else {
             return this.writeQueryEdgePrefixCondition(cq);
         }
     }
 
+    private Query writeQueryEdgeOwnersCondition(ConditionQuery cq) {
+        /*
+         * Query edges of multi owners like:
+         *  owner-vertex IN [ids] and direction EQ dir [and label EQ label]
+         * by the prefix of each owner, which are swept in the owners order
+         */
+        List<Id> owners = null;
+        for (Condition.Relation r : cq.relations()) {
+            if (r.key() == HugeKeys.OWNER_VERTEX) {
+                E.checkArgument(owners == null &&
+                                r.relation() == Condition.RelationType.IN,
+                                "Invalid owners condition of query: %s", cq);
+                @SuppressWarnings("unchecked")
+                List<Id> values = (List<Id>) r.value();
+                owners = values;
+            }
+        }
+        assert owners != null;
+        Directions direction = cq.condition(HugeKeys.DIRECTION);
+        E.checkArgument(direction != null,
+                        "The direction is required by query: %s", cq);
+        Id label = cq.condition(HugeKeys.LABEL);
+        E.checkArgument(cq.conditions().size() == (label == null ? 2 : 3),
+                        "Not supported querying edges by %s", cq);
+
+        List<Id> prefixes = new ArrayList<>(owners.size());
+        for (Id owner : owners) {
+            BytesBuffer buffer = BytesBuffer.allocate(BytesBuffer.BUF_EDGE_ID);
+            buffer.writeId(owner);
+            buffer.write(direction.type().code());
+            if (label != null) {
+                buffer.writeId(label);
+            }
+            prefixes.add(new BinaryId(buffer.bytes(), null));
+        }
+        return new IdPrefixesQuery(cq, prefixes);
+    }
+
     private Query writeQueryEdgeRangeCondition(ConditionQuery cq) {
         List<Condition> sortValues = cq.syspropConditions(HugeKeys.SORT_VALUES);
         E.checkArgument(sortValues.size() >= 1 && sortValues.size() <= 2,
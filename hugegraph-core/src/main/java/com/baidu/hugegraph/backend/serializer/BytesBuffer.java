@@ -623,6 +623,53 @@ public final class BytesBuffer {
         }
     }
 
+    public void skipProperty(PropertyKey pkey) {
+        if (pkey.cardinality() == Cardinality.SINGLE) {
+            this.skipProperty(pkey.dataType());
+            return;
+        }
+
+        assert pkey.cardinality() == Cardinality.LIST ||
+               pkey.cardinality() == Cardinality.SET;
+        int size = this.readVInt();
+        for (int i = 0; i < size; i++) {
+            this.skipProperty(pkey.dataType());
+        }
+    }
+
+    public void skipProperty(DataType dataType) {
+        // Move to the next property without decoding the value
+        switch (dataType) {
+            case BOOLEAN:
+            case BYTE:
+            case INT:
+                this.readVInt();
+                break;
+            case FLOAT:
+                this.skip(FLOAT_LEN);
+                break;
+            case LONG:
+            case DATE:
+                this.readVLong();
+                break;
+            case DOUBLE:
+                this.skip(DOUBLE_LEN);
+                break;
+            case UUID:
+                this.skip(LONG_LEN * 2);
+                break;
+            default:
+                // TEXT, BLOB and the kryo value are all prefixed with length
+                this.skip(this.readVInt());
+                break;
+        }
+    }
+
+    private void skip(int length) {
+        assert length >= 0;
+        this.buffer.position(this.buffer.position() + length);
+    }
+
     public BytesBuffer writeId(Id id) {
         return this.writeId(id, false);
     }
@@ -0,0 +1,91 @@
+/*
+ * Copyright 2017 HugeGraph Authors
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with this
+ * work for additional information regarding copyright ownership. The ASF
+ * licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.baidu.hugegraph.backend.serializer;
+
+import com.baidu.hugegraph.HugeGraph;
+import com.baidu.hugegraph.backend.id.Id;
+import com.baidu.hugegraph.backend.id.IdGenerator;
+import com.baidu.hugegraph.schema.PropertyKey;
+
+/**
+ * The properties of a vertex or edge which are kept as the raw bytes and
+ * decoded on demand, only the offset of each property value is recorded
+ * when parsing, so that the values never accessed are not materialized.
+ * NOTE: it's immutable, and can be shared by the copies of an element.
+ */
+public final class LazyProperties {
+
+    private final byte[] bytes;
+    private final PropertyKey[] keys;
+    private final int[] offsets;
+
+    private LazyProperties(byte[] bytes, PropertyKey[] keys, int[] offsets) {
+        this.bytes = bytes;
+        this.keys = keys;
+        this.offsets = offsets;
+    }
+
+    public int size() {
+        return this.keys.length;
+    }
+
+    public PropertyKey key(int index) {
+        return this.keys[index];
+    }
+
+    public int indexOf(Id key) {
+        for (int i = 0; i < this.keys.length; i++) {
+            if (this.keys[i].id().equals(key)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    public Object value(int index) {
+        int offset = this.offsets[index];
+        BytesBuffer buffer = BytesBuffer.wrap(this.bytes, offset,
+                                              this.bytes.length - offset);
+        return buffer.readProperty(this.keys[index]);
+    }
+
+    /**
+     * Parse the properties from the buffer like
+     * BinarySerializer.parseProperties(), but just skip the values, and the
+     * buffer will be positioned after the properties when returned.
+     * @param graph the graph to lookup property keys
+     * @param buffer the buffer positioned at the properties
+     * @return the LazyProperties which decode values on demand
+     */
+    public static LazyProperties parse(HugeGraph graph, BytesBuffer buffer) {
+        int size = buffer.readVInt();
+        assert size >= 0;
+        PropertyKey[] keys = new PropertyKey[size];
+        int[] offsets = new int[size];
+        for (int i = 0; i < size; i++) {
+            Id pkeyId = IdGenerator.of(buffer.readVInt());
+            PropertyKey pkey = graph.propertyKey(pkeyId);
+            keys[i] = pkey;
+            offsets[i] = buffer.position();
+            buffer.skipProperty(pkey);
+        }
+        return new LazyProperties(buffer.array(), keys, offsets);
+    }
+}
@@ -397,6 +397,15 @@ public abstract class TableSerializer extends AbstractSerializer {
                 }
             } else if (value instanceof Directions) {
                 r.serialValue(((Directions) value).type().code());
+            } else if (r.key() == HugeKeys.OWNER_VERTEX &&
+                       r.relation() == Condition.RelationType.IN) {
+                // Serialize vertex ids of multi owners
+                List<?> ids = (List<?>) value;
+                List<Object> serializedIds = new ArrayList<>(ids.size());
+                for (Object id : ids) {
+                    serializedIds.add(this.writeId((Id) id));
+                }
+                r.serialValue(serializedIds);
             }
         }
         return null;
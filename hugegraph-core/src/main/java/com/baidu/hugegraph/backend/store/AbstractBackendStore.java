@@ -19,6 +19,7 @@
 
 package com.baidu.hugegraph.backend.store;
 
+import com.baidu.hugegraph.backend.id.Id;
 import com.baidu.hugegraph.exception.ConnectionException;
 import com.baidu.hugegraph.type.HugeType;
 
@@ -26,9 +27,11 @@ public abstract class AbstractBackendStore<Session extends BackendSession>
                 implements BackendStore {
 
     private final MetaDispatcher<Session> dispatcher;
+    private final IdBlockAllocator idAllocator;
 
     public AbstractBackendStore() {
         this.dispatcher = new MetaDispatcher<>();
+        this.idAllocator = new IdBlockAllocator(this);
     }
 
     protected MetaDispatcher<Session> metaDispatcher() {
@@ -53,6 +56,18 @@ public abstract class AbstractBackendStore<Session extends BackendSession>
         return dispatcher.dispatchMetaHandler(session, meta, args);
     }
 
+    // Generate an id from the block leased from backend counter
+    @Override
+    public Id nextId(HugeType type) {
+        return this.idAllocator.nextId(type);
+    }
+
+    @Override
+    public void setCounterLowest(HugeType type, long lowest) {
+        this.idAllocator.lowest(type, lowest);
+        BackendStore.super.setCounterLowest(type, lowest);
+    }
+
     protected void checkOpened() throws ConnectionException {
         if (!this.opened()) {
             throw new ConnectionException(
@@ -47,6 +47,10 @@ public interface BackendFeatures {
 
     public boolean supportsQuerySortByInputIds();
 
+    public default boolean supportsQueryByMultiOwners() {
+        return false;
+    }
+
     public boolean supportsDeleteEdgeByLabel();
 
     public boolean supportsUpdateVertexProperty();
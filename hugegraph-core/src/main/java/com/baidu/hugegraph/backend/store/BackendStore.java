@@ -116,6 +116,20 @@ public interface BackendStore {
     // Get current counter for a specific type
     public long getCounter(HugeType type);
 
+    // Increase the statistic counter of a specific schema element
+    public default void increaseCounter(HugeType type, Id id, long increment) {
+        throw new UnsupportedOperationException(String.format(
+                  "%s.increaseCounter(type, id)",
+                  this.getClass().getSimpleName()));
+    }
+
+    // Get the statistic counter of a specific schema element
+    public default long getCounter(HugeType type, Id id) {
+        throw new UnsupportedOperationException(String.format(
+                  "%s.getCounter(type, id)",
+                  this.getClass().getSimpleName()));
+    }
+
     static enum TxState {
         BEGIN, COMMITTING, COMMITT_FAIL, ROLLBACKING, ROLLBACK_FAIL, CLEAN
     }
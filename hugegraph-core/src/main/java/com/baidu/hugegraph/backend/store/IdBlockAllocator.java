@@ -0,0 +1,197 @@
+/*
+ * Copyright 2017 HugeGraph Authors
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with this
+ * work for additional information regarding copyright ownership. The ASF
+ * licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.baidu.hugegraph.backend.store;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+
+import com.baidu.hugegraph.backend.id.Id;
+import com.baidu.hugegraph.backend.id.IdGenerator;
+import com.baidu.hugegraph.event.EventListener;
+import com.baidu.hugegraph.type.HugeType;
+import com.baidu.hugegraph.util.E;
+import com.baidu.hugegraph.util.Events;
+import com.baidu.hugegraph.util.Log;
+import com.google.common.collect.ImmutableSet;
+
+/**
+ * Generate ids from blocks leased from the counter of a backend store,
+ * each block is reserved by one get-increase-get-compare operation and
+ * then the ids in it are handed out locally without accessing backend.
+ */
+public class IdBlockAllocator {
+
+    private static final Logger LOG = Log.logger(IdBlockAllocator.class);
+
+    public static final long DEFAULT_BLOCK_SIZE = 1000L;
+
+    private static final int MAX_TIMES = 1000;
+    private static final long NO_ID = 0L;
+
+    private final BackendStore store;
+    private final long blockSize;
+    private final Map<HugeType, IdBlock> blocks;
+
+    private EventListener storeEventListener;
+
+    public IdBlockAllocator(BackendStore store) {
+        this(store, DEFAULT_BLOCK_SIZE);
+    }
+
+    public IdBlockAllocator(BackendStore store, long blockSize) {
+        E.checkNotNull(store, "store");
+        E.checkArgument(blockSize > 0L,
+                        "The id block size must be > 0, but got %s",
+                        blockSize);
+        this.store = store;
+        this.blockSize = blockSize;
+        this.blocks = new ConcurrentHashMap<>();
+        this.storeEventListener = null;
+    }
+
+    public Id nextId(HugeType type) {
+        IdBlock block = this.blocks.get(type);
+        while (true) {
+            if (block != null) {
+                long id = block.next();
+                if (id != NO_ID) {
+                    return IdGenerator.of(id);
+                }
+            }
+            block = this.renew(type, block);
+        }
+    }
+
+    /**
+     * Skip the ids <= lowest in the leased block, it's needed when ids
+     * are provided by users (like restoring) instead of generated
+     */
+    public synchronized void lowest(HugeType type, long lowest) {
+        IdBlock block = this.blocks.get(type);
+        if (block == null) {
+            return;
+        }
+        if (lowest >= block.end()) {
+            this.blocks.remove(type);
+        } else {
+            block.skipTo(lowest + 1L);
+        }
+    }
+
+    public void reset() {
+        this.blocks.clear();
+    }
+
+    private synchronized IdBlock renew(HugeType type, IdBlock exhausted) {
+        IdBlock block = this.blocks.get(type);
+        if (block != null && block != exhausted) {
+            // The block has been renewed by another thread
+            return block;
+        }
+        this.listenStoreEventsIfNeeded();
+        block = this.lease(type);
+        this.blocks.put(type, block);
+        return block;
+    }
+
+    private IdBlock lease(HugeType type) {
+        // Do get-increase-get-compare operation
+        long counter = 0L;
+        long expect = -1L;
+        for (int i = 0; i < MAX_TIMES; i++) {
+            counter = this.store.getCounter(type);
+
+            if (counter == expect) {
+                break;
+            }
+            // Increase local counter
+            expect = counter + this.blockSize;
+            // Increase remote counter
+            this.store.increaseCounter(type, this.blockSize);
+        }
+
+        E.checkState(counter != 0L, "Please check whether '%s' is OK",
+                     this.store.provider().type());
+        E.checkState(counter == expect, "'%s' is busy please try again",
+                     this.store.provider().type());
+        /*
+         * Nobody else increased the counter between the two gets, so
+         * the ids in range (expect - blockSize, expect] belong to us
+         */
+        LOG.debug("Lease id block ({}, {}] of {} from store {}",
+                  expect - this.blockSize, expect, type, this.store);
+        return new IdBlock(expect - this.blockSize + 1L, expect);
+    }
+
+    private void listenStoreEventsIfNeeded() {
+        if (this.storeEventListener != null) {
+            return;
+        }
+        // The leased ids are invalid once the counters are reset
+        Set<String> storeEvents = ImmutableSet.of(Events.STORE_INIT,
+                                                  Events.STORE_CLEAR,
+                                                  Events.STORE_TRUNCATE);
+        this.storeEventListener = event -> {
+            if (storeEvents.contains(event.name())) {
+                LOG.debug("Store {} reset id blocks on event '{}'",
+                          this.store, event.name());
+                this.reset();
+                return true;
+            }
+            return false;
+        };
+        this.store.provider().listen(this.storeEventListener);
+    }
+
+    private static class IdBlock {
+
+        private final AtomicLong next;
+        private final long end;
+
+        public IdBlock(long begin, long end) {
+            assert begin > NO_ID && begin <= end;
+            this.next = new AtomicLong(begin);
+            this.end = end;
+        }
+
+        public long end() {
+            return this.end;
+        }
+
+        public long next() {
+            long id = this.next.getAndIncrement();
+            return id <= this.end ? id : NO_ID;
+        }
+
+        public void skipTo(long id) {
+            long current;
+            do {
+                current = this.next.get();
+                if (current >= id) {
+                    return;
+                }
+            } while (!this.next.compareAndSet(current, id));
+        }
+    }
+}
@@ -281,6 +281,16 @@ public abstract class InMemoryDBStore
             return this.counter.getCounter(type);
         }
 
+        @Override
+        public void increaseCounter(HugeType type, Id id, long increment) {
+            this.counter.increaseCounter(type, id, increment);
+        }
+
+        @Override
+        public long getCounter(HugeType type, Id id) {
+            return this.counter.getCounter(type, id);
+        }
+
         @Override
         public void clear(boolean clearSpace) {
             this.counter.reset();
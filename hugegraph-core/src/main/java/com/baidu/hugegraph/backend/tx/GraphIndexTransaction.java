@@ -42,7 +42,10 @@ import com.baidu.hugegraph.HugeException;
 import com.baidu.hugegraph.HugeGraph;
 import com.baidu.hugegraph.HugeGraphParams;
 import com.baidu.hugegraph.analyzer.Analyzer;
+import com.baidu.hugegraph.backend.cache.Cache;
+import com.baidu.hugegraph.backend.cache.CacheManager;
 import com.baidu.hugegraph.backend.id.Id;
+import com.baidu.hugegraph.backend.id.IdGenerator;
 import com.baidu.hugegraph.backend.page.IdHolder;
 import com.baidu.hugegraph.backend.page.IdHolder.BatchIdHolder;
 import com.baidu.hugegraph.backend.page.IdHolder.FixedIdHolder;
@@ -99,13 +102,26 @@ public class GraphIndexTransaction extends AbstractTransaction {
     public static final String INDEX_SYM_EMPTY = "\u0002";
     public static final char INDEX_SYM_MAX = '\u0003';
 
+    // The batch size to probe the cardinality of each joint index query
+    private static final long JOINT_PROBE_BATCH = 1000L;
+    private static final long JOINT_SCAN_BATCH = 10000L;
+    private static final long STATISTICS_CAPACITY = 100000L;
+    private static final long STATISTICS_EXPIRE = 10 * 60 * 1000L;
+
     private final Analyzer textAnalyzer;
+    // Map index query => the observed count of its element ids
+    private final Cache<Id, Object> statistics;
 
     public GraphIndexTransaction(HugeGraphParams graph, BackendStore store) {
         super(graph, store);
 
         this.textAnalyzer = graph.analyzer();
         assert this.textAnalyzer != null;
+
+        String name = "index-statistics-" + graph.name();
+        this.statistics = CacheManager.instance().cache(name,
+                                                        STATISTICS_CAPACITY);
+        this.statistics.expire(STATISTICS_EXPIRE);
     }
 
     protected Id asyncRemoveIndexLeft(ConditionQuery query,
@@ -489,31 +505,46 @@ public class GraphIndexTransaction extends AbstractTransaction {
 
     @Watched(prefix = "index")
     private IdHolder doJointIndex(IndexQueries queries) {
-        if (queries.bigCapacity()) {
-            LOG.warn("There is OOM risk if the joint operation is based on a " +
-                     "large amount of data, please use single index + filter " +
-                     "instead of joint index: {}", queries.rootQuery());
-        }
-        // All queries are joined with AND
-        Set<Id> intersectIds = null;
-        for (Map.Entry<IndexLabel, ConditionQuery> e : queries.entrySet()) {
-            IndexLabel indexLabel = e.getKey();
-            ConditionQuery query = e.getValue();
-            if (!query.nolimit()) {
-                // Increase limit for intersection
-                increaseLimit(query);
+        /*
+         * Probe each index query with a small batch to estimate its
+         * cardinality, then collect the ids of the most selective one, and
+         * scan the others in increasing order of cardinality, just keeping
+         * the collected ids which they contain
+         */
+        List<JointIndexStream> streams = new ArrayList<>(queries.size());
+        try {
+            for (Map.Entry<IndexLabel, ConditionQuery> e :
+                 queries.entrySet()) {
+                IndexLabel indexLabel = e.getKey();
+                ConditionQuery query = e.getValue();
+                if (!query.nolimit()) {
+                    /*
+                     * Unset limit for intersection, the ids out of the
+                     * limit of one index query may be matched by the
+                     * others, the limit is applied to the joint results
+                     */
+                    query.limit(Query.NO_LIMIT);
+                }
+                IdHolder holder = this.doIndexQuery(indexLabel, query);
+                streams.add(new JointIndexStream(indexLabel, holder,
+                                                 this.statistics));
             }
-            Set<Id> ids = this.doIndexQuery(indexLabel, query).all();
-            if (intersectIds == null) {
-                intersectIds = ids;
-            } else {
-                CollectionUtil.intersectWithModify(intersectIds, ids);
+            Collections.sort(streams);
+
+            if (!streams.get(0).exhausted() && queries.bigCapacity()) {
+                LOG.warn("There is OOM risk if the joint operation is " +
+                         "based on a large amount of data, please use " +
+                         "single index + filter instead of joint index: {}",
+                         queries.rootQuery());
             }
-            if (intersectIds.isEmpty()) {
-                break;
+
+            Set<Id> intersectIds = JointIndexStream.intersect(streams);
+            return new FixedIdHolder(queries.asJointQuery(), intersectIds);
+        } finally {
+            for (JointIndexStream stream : streams) {
+                stream.close();
             }
         }
-        return new FixedIdHolder(queries.asJointQuery(), intersectIds);
     }
 
     @Watched(prefix = "index")
@@ -1380,6 +1411,128 @@ public class GraphIndexTransaction extends AbstractTransaction {
         }
     }
 
+    public static class JointIndexStream
+                  implements Comparable<JointIndexStream> {
+
+        private final IndexLabel indexLabel;
+        private final BatchIdHolder holder;
+        // Map index query => the observed count of its element ids
+        private final Cache<Id, Object> statistics;
+        private final Id statisticsKey;
+        private final Set<Id> probed;
+        private final long estimated;
+        private long count;
+
+        public JointIndexStream(IndexLabel indexLabel, IdHolder holder,
+                                Cache<Id, Object> statistics) {
+            E.checkState(holder instanceof BatchIdHolder,
+                         "Not support joint index query in paging");
+            this.indexLabel = indexLabel;
+            this.holder = (BatchIdHolder) holder;
+            this.statistics = statistics;
+            Query query = holder.query();
+            this.statisticsKey = IdGenerator.of(query.conditions().toString());
+
+            this.probed = this.holder.fetchNext(null, JOINT_PROBE_BATCH)
+                                     .ids();
+            this.count = this.probed.size();
+            if (this.exhausted()) {
+                this.estimated = this.count;
+            } else {
+                Long observed = (Long) this.statistics.get(this.statisticsKey);
+                this.estimated = observed == null ? Long.MAX_VALUE :
+                                 Math.max(observed, this.count + 1L);
+            }
+        }
+
+        /**
+         * Intersect the ids of the streams joined with AND
+         * @param streams the streams sorted in increasing order of
+         *                cardinality, the ids of the first one are
+         *                collected, and the others are just scanned
+         * @return the intersected ids
+         */
+        public static Set<Id> intersect(List<JointIndexStream> streams) {
+            Set<Id> intersectIds = null;
+            for (JointIndexStream stream : streams) {
+                if (intersectIds == null) {
+                    intersectIds = stream.all();
+                } else {
+                    intersectIds = stream.retain(intersectIds);
+                }
+                if (intersectIds.isEmpty()) {
+                    break;
+                }
+            }
+            return intersectIds;
+        }
+
+        public boolean exhausted() {
+            return !this.holder.hasNext();
+        }
+
+        public long count() {
+            return this.count;
+        }
+
+        public Set<Id> all() {
+            Set<Id> ids = InsertionOrderUtil.newSet();
+            ids.addAll(this.probed);
+            if (!this.exhausted()) {
+                Set<Id> rest = this.holder.all();
+                this.count += rest.size();
+                ids.addAll(rest);
+            }
+            return ids;
+        }
+
+        public Set<Id> retain(Set<Id> candidates) {
+            // Just keep the matched ids instead of all the scanned ids
+            Set<Id> matched = new HashSet<>();
+            retain(this.probed, candidates, matched);
+            while (matched.size() < candidates.size() && !this.exhausted()) {
+                Set<Id> ids = this.holder.fetchNext(null, JOINT_SCAN_BATCH)
+                                         .ids();
+                this.count += ids.size();
+                retain(ids, candidates, matched);
+            }
+            CollectionUtil.intersectWithModify(candidates, matched);
+            return candidates;
+        }
+
+        public void close() {
+            /*
+             * Refresh the statistics only by the exact count, the count of
+             * a stream stopped early is just a lower bound of a big one
+             */
+            if (this.holder.query().nolimit() && this.exhausted()) {
+                this.statistics.update(this.statisticsKey, this.count);
+            }
+            this.holder.close();
+        }
+
+        @Override
+        public int compareTo(JointIndexStream other) {
+            int result = Long.compare(this.estimated, other.estimated);
+            if (result != 0) {
+                return result;
+            }
+            // Assume that the range index is less selective if both unknown
+            boolean range = this.indexLabel.indexType().isRange();
+            boolean otherRange = other.indexLabel.indexType().isRange();
+            return Boolean.compare(range, otherRange);
+        }
+
+        private void retain(Set<Id> ids, Set<Id> candidates,
+                            Set<Id> matched) {
+            for (Id id : ids) {
+                if (candidates.contains(id)) {
+                    matched.add(id);
+                }
+            }
+        }
+    }
+
     private static class IndexQueries
                    extends HashMap<IndexLabel, ConditionQuery> {
 
@@ -45,6 +45,7 @@ import com.baidu.hugegraph.HugeException;
 import com.baidu.hugegraph.HugeGraph;
 import com.baidu.hugegraph.HugeGraphParams;
 import com.baidu.hugegraph.backend.BackendException;
+import com.baidu.hugegraph.backend.cache.DegreeCache;
 import com.baidu.hugegraph.backend.id.EdgeId;
 import com.baidu.hugegraph.backend.id.Id;
 import com.baidu.hugegraph.backend.id.SplicingIdGenerator;
@@ -71,6 +72,9 @@ import com.baidu.hugegraph.iterator.FilterIterator;
 import com.baidu.hugegraph.iterator.FlatMapperIterator;
 import com.baidu.hugegraph.iterator.ListIterator;
 import com.baidu.hugegraph.iterator.MapperIterator;
+import com.baidu.hugegraph.job.JobBuilder;
+import com.baidu.hugegraph.job.schema.RecountLabelCallable;
+import com.baidu.hugegraph.job.schema.SchemaCallable;
 import com.baidu.hugegraph.job.system.DeleteExpiredJob;
 import com.baidu.hugegraph.perf.PerfUtil.Watched;
 import com.baidu.hugegraph.schema.EdgeLabel;
@@ -86,6 +90,7 @@ import com.baidu.hugegraph.structure.HugeIndex;
 import com.baidu.hugegraph.structure.HugeProperty;
 import com.baidu.hugegraph.structure.HugeVertex;
 import com.baidu.hugegraph.structure.HugeVertexProperty;
+import com.baidu.hugegraph.task.HugeTask;
 import com.baidu.hugegraph.type.HugeType;
 import com.baidu.hugegraph.type.define.Action;
 import com.baidu.hugegraph.type.define.Directions;
@@ -126,10 +131,16 @@ public class GraphTransaction extends IndexableTransaction {
     private final int commitPartOfAdjacentEdges;
     private final int batchSize;
     private final int pageSize;
+    private final int adjacentBatchSize;
 
     private final int verticesCapacity;
     private final int edgesCapacity;
 
+    private final DegreeCache degreeCache;
+    // Null means the label statistics is disabled
+    private final LabelStatistics statistics;
+    private final boolean countByStatistics;
+
     public GraphTransaction(HugeGraphParams graph, BackendStore store) {
         super(graph, store);
 
@@ -151,10 +162,26 @@ public class GraphTransaction extends IndexableTransaction {
              conf.get(CoreOptions.QUERY_IGNORE_INVALID_DATA);
         this.batchSize = conf.get(CoreOptions.QUERY_BATCH_SIZE);
         this.pageSize = conf.get(CoreOptions.QUERY_PAGE_SIZE);
+        this.adjacentBatchSize =
+             conf.get(CoreOptions.QUERY_ADJACENT_BATCH_SIZE);
 
         this.verticesCapacity = conf.get(CoreOptions.VERTEX_TX_CAPACITY);
         this.edgesCapacity = conf.get(CoreOptions.EDGE_TX_CAPACITY);
 
+        this.degreeCache = DegreeCache.open(
+                           graph.name(),
+                           conf.get(CoreOptions.EDGE_DEGREE_CACHE_CAPACITY),
+                           conf.get(CoreOptions.EDGE_DEGREE_CACHE_EXPIRE));
+
+        if (conf.get(CoreOptions.STATISTICS_LABEL_COUNTER)) {
+            this.statistics = new LabelStatistics(graph.loadSchemaStore());
+        } else {
+            this.statistics = null;
+        }
+        this.countByStatistics =
+             this.statistics != null &&
+             conf.get(CoreOptions.QUERY_COUNT_BY_STATISTICS);
+
         E.checkArgument(this.commitPartOfAdjacentEdges < this.edgesCapacity,
                         "Option value of %s(%s) must be < %s(%s)",
                         CoreOptions.VERTEX_PART_EDGE_COMMIT_SIZE.name(),
@@ -205,6 +232,14 @@ public class GraphTransaction extends IndexableTransaction {
         return this.checkAdjacentVertexExist;
     }
 
+    public int adjacentBatchSize() {
+        return this.adjacentBatchSize;
+    }
+
+    public final DegreeCache degreeCache() {
+        return this.degreeCache;
+    }
+
     @Override
     protected void reset() {
         super.reset();
@@ -279,6 +314,14 @@ public class GraphTransaction extends IndexableTransaction {
         return new ArrayList<>(this.removedVertices.values());
     }
 
+    protected final Collection<HugeEdge> edgesInTx() {
+        List<HugeEdge> edges = new ArrayList<>(this.edgesInTxSize());
+        edges.addAll(this.addedEdges.values());
+        edges.addAll(this.removedEdges.values());
+        edges.addAll(this.updatedEdges.values());
+        return edges;
+    }
+
     protected final boolean removingEdgeOwner(HugeEdge edge) {
         for (HugeVertex vertex : this.removedVertices.values()) {
             if (edge.belongToVertex(vertex)) {
@@ -482,18 +525,83 @@ public class GraphTransaction extends IndexableTransaction {
             idxMutation.clear();
         }
 
+        this.updateDegrees(ImmutableList.of(), removedEdges.values());
+        this.updateStatistics(ImmutableList.of(), removedEdges.values());
         removedEdges.clear();
     }
 
     @Override
     public void commit() throws BackendException {
+        /*
+         * Keep the changes to update degrees after committed, the maps will
+         * be replaced by reset(), and the adjacent edges of removed vertices
+         * will be added into removedEdges when committing
+         */
+        Map<Id, HugeVertex> addedVertices = this.addedVertices;
+        Map<Id, HugeVertex> removedVertices = this.removedVertices;
+        Map<Id, HugeVertex> updatedVertices = this.updatedVertices;
+        Map<Id, HugeEdge> addedEdges = this.addedEdges;
+        Map<Id, HugeEdge> removedEdges = this.removedEdges;
+        Map<Id, HugeEdge> updatedEdges = this.updatedEdges;
         try {
             super.commit();
+            // The updated elements are overridden, degrees are unchanged
+            List<HugeEdge> newEdges = newElements(addedEdges, updatedEdges);
+            if (this.degreeCache.enabled()) {
+                for (Id vertex : removedVertices.keySet()) {
+                    this.degreeCache.invalidate(vertex);
+                }
+                this.updateDegrees(newEdges, removedEdges.values());
+            }
+            if (this.statistics != null) {
+                this.updateStatistics(newElements(addedVertices,
+                                                  updatedVertices),
+                                      removedVertices.values());
+                this.updateStatistics(newEdges, removedEdges.values());
+            }
         } finally {
             this.locksTable.unlock();
         }
     }
 
+    private static <T extends HugeElement> List<T> newElements(
+                                               Map<Id, T> addedElements,
+                                               Map<Id, T> updatedElements) {
+        List<T> elements = new ArrayList<>(addedElements.size());
+        for (T element : addedElements.values()) {
+            if (!updatedElements.containsKey(element.id())) {
+                elements.add(element);
+            }
+        }
+        return elements;
+    }
+
+    private void updateDegrees(Collection<HugeEdge> addedEdges,
+                               Collection<HugeEdge> removedEdges) {
+        if (!this.degreeCache.enabled()) {
+            return;
+        }
+        for (HugeEdge edge : addedEdges) {
+            this.degreeCache.increase(edge, 1L);
+        }
+        for (HugeEdge edge : removedEdges) {
+            this.degreeCache.increase(edge, -1L);
+        }
+    }
+
+    private void updateStatistics(Collection<? extends HugeElement> added,
+                                  Collection<? extends HugeElement> removed) {
+        if (this.statistics == null) {
+            return;
+        }
+        try {
+            this.statistics.update(added, removed);
+        } catch (Exception e) {
+            // The statistics is approximate, don't fail the committed changes
+            LOG.warn("Failed to update label statistics", e);
+        }
+    }
+
     @Override
     public void rollback() throws BackendException {
         // Rollback properties changes
@@ -514,6 +622,12 @@ public class GraphTransaction extends IndexableTransaction {
             return super.query(query);
         }
 
+        if (this.queryByMultiOwners((ConditionQuery) query)) {
+            // Query edges of multi owners at once instead of one by one
+            LOG.debug("Query{multi-owners:{}}", query);
+            return super.query(query);
+        }
+
         QueryList<BackendEntry> queries = this.optimizeQueries(query,
                                                                super::query);
         LOG.debug("{}", queries);
@@ -527,6 +641,16 @@ public class GraphTransaction extends IndexableTransaction {
                         "It's not allowed to query number when " +
                         "there are uncommitted records.");
 
+        if (this.countByStatistics) {
+            Number number = this.queryNumberByStatistics(query);
+            if (number != null) {
+                return number;
+            }
+        }
+        return this.doQueryNumber(query);
+    }
+
+    private Number doQueryNumber(Query query) {
         if (!(query instanceof ConditionQuery)) {
             return super.queryNumber(query);
         }
@@ -544,6 +668,146 @@ public class GraphTransaction extends IndexableTransaction {
         return aggregate.reduce(results.iterator());
     }
 
+    /**
+     * Count all vertices/edges or the ones of some labels by the label
+     * statistics, only takes effect for the query without other conditions
+     * @param query the number query
+     * @return the number, or null if the query can't be counted in this way
+     */
+    private Number queryNumberByStatistics(Query query) {
+        Aggregate aggregate = query.aggregate();
+        if (aggregate == null || !aggregate.countAll() || !query.nolimit() ||
+            query.offset() > 0L || query.paging() || !query.ids().isEmpty()) {
+            return null;
+        }
+        boolean vertex = query.resultType().isVertex();
+        Collection<? extends SchemaLabel> labels;
+        if (query.conditions().isEmpty()) {
+            labels = vertex ? this.graph().vertexLabels() :
+                              this.graph().edgeLabels();
+        } else {
+            Set<Id> labelIds = labelIdsOfQuery(query);
+            if (labelIds == null) {
+                return null;
+            }
+            List<SchemaLabel> schemaLabels = new ArrayList<>(labelIds.size());
+            for (Id id : labelIds) {
+                SchemaLabel label = vertex ? this.graph().vertexLabel(id) :
+                                             this.graph().edgeLabel(id);
+                if (label.hidden()) {
+                    // The hidden labels are not counted
+                    return null;
+                }
+                schemaLabels.add(label);
+            }
+            labels = schemaLabels;
+        }
+
+        long count = 0L;
+        for (SchemaLabel label : labels) {
+            if (!label.hidden()) {
+                count += this.statistics.count(label);
+            }
+        }
+        return count;
+    }
+
+    private static Set<Id> labelIdsOfQuery(Query query) {
+        if (query.conditions().size() != 1) {
+            return null;
+        }
+        Condition condition = query.conditions().iterator().next();
+        if (!condition.isRelation()) {
+            return null;
+        }
+        Condition.Relation relation = (Condition.Relation) condition;
+        if (relation.key() != HugeKeys.LABEL) {
+            return null;
+        }
+        Set<Id> labels = new HashSet<>();
+        if (relation.relation() == Condition.RelationType.EQ) {
+            labels.add((Id) relation.value());
+        } else if (relation.relation() == Condition.RelationType.IN) {
+            for (Object label : (List<?>) relation.value()) {
+                labels.add((Id) label);
+            }
+        } else {
+            return null;
+        }
+        return labels;
+    }
+
+    public long labelCount(SchemaLabel label) {
+        this.checkLabelStatisticsEnabled();
+        return this.statistics.count(label);
+    }
+
+    /**
+     * Recount the vertices/edges of the label by a job, which scans them and
+     * resets the counter of the label
+     * @param label the vertex label or edge label
+     * @return the id of the job
+     */
+    public Id recountLabel(SchemaLabel label) {
+        this.checkLabelStatisticsEnabled();
+        E.checkArgument(!label.hidden(),
+                        "Can't recount the hidden label '%s'", label);
+
+        String name = SchemaCallable.formatTaskName(label.type(), label.id(),
+                                                    label.name());
+        JobBuilder<Object> builder = JobBuilder.of(this.graph()).name(name)
+                                               .job(new RecountLabelCallable());
+        HugeTask<?> task = builder.schedule();
+        // Wait for the job done like the schema jobs, used by tests
+        if (this.syncDelete()) {
+            task.syncWait();
+        }
+        return task.id();
+    }
+
+    public long resetLabelCount(SchemaLabel label) {
+        this.checkLabelStatisticsEnabled();
+        E.checkArgument(!label.hidden(),
+                        "Can't recount the hidden label '%s'", label);
+        E.checkArgument(!this.hasUpdate(),
+                        "It's not allowed to recount label when " +
+                        "there are uncommitted records.");
+
+        long count;
+        if (label.enableLabelIndex()) {
+            HugeType type = label.type() == HugeType.VERTEX_LABEL ?
+                            HugeType.VERTEX : HugeType.EDGE;
+            ConditionQuery query = new ConditionQuery(type);
+            query.eq(HugeKeys.LABEL, label.id());
+            query.capacity(Query.NO_CAPACITY);
+            query.aggregate(Aggregate.AggregateFunc.COUNT, null);
+            count = this.doQueryNumber(query).longValue();
+        } else {
+            long[] counter = new long[1];
+            if (label.type() == HugeType.VERTEX_LABEL) {
+                this.traverseVerticesByLabel((VertexLabel) label,
+                                             v -> counter[0]++, false);
+            } else {
+                this.traverseEdgesByLabel((EdgeLabel) label,
+                                          e -> counter[0]++, false);
+            }
+            count = counter[0];
+        }
+        /*
+         * NOTE: the changes committed during the recount may be lost or
+         * counted twice, recount again if it matters
+         */
+        this.statistics.reset(label, count);
+        return count;
+    }
+
+    private void checkLabelStatisticsEnabled() {
+        E.checkState(this.statistics != null,
+                     "The label statistics is disabled, please enable " +
+                     "the option '%s'",
+                     CoreOptions.STATISTICS_LABEL_COUNTER.name());
+    }
+
     @Watched(prefix = "graph")
     public HugeVertex addVertex(Object... keyValues) {
         return this.addVertex(this.constructVertex(true, keyValues));
@@ -874,6 +1138,22 @@ public class GraphTransaction extends IndexableTransaction {
                         "It's not allowed to query with limit when " +
                         "there are uncommitted delete records.");
 
+        if (this.hasUpdate() && query instanceof ConditionQuery &&
+            ((ConditionQuery) query).containsCondition(
+                                     HugeKeys.OWNER_VERTEX,
+                                     Condition.RelationType.IN)) {
+            /*
+             * The edge in tx is joined only once even if both its vertices
+             * are the owners, so split into the query of each owner
+             */
+            ExtendableIterator<Edge> results = new ExtendableIterator<>();
+            for (ConditionQuery cq : splitQueryByOwners(
+                                     (ConditionQuery) query)) {
+                results.extend(this.queryEdges(cq));
+            }
+            return results;
+        }
+
         Iterator<HugeEdge> results = this.queryEdgesFromBackend(query);
 
         // TODO: any unconsidered case, maybe the query with OR condition?
@@ -1124,14 +1404,75 @@ public class GraphTransaction extends IndexableTransaction {
                                                      Id... edgeLabels) {
         E.checkState(sourceVertex != null,
                      "The edge query must contain source vertex");
-        E.checkState(direction != null,
-                     "The edge query must contain direction");
 
         ConditionQuery query = new ConditionQuery(HugeType.EDGE);
 
         // Edge source vertex
         query.eq(HugeKeys.OWNER_VERTEX, sourceVertex);
 
+        return fillEdgesQuery(query, direction, edgeLabels);
+    }
+
+    public static ConditionQuery constructEdgesQuery(List<Id> sourceVertices,
+                                                     Directions direction,
+                                                     Id... edgeLabels) {
+        E.checkState(sourceVertices != null && !sourceVertices.isEmpty(),
+                     "The edge query must contain source vertices");
+        if (sourceVertices.size() == 1) {
+            return constructEdgesQuery(sourceVertices.get(0),
+                                       direction, edgeLabels);
+        }
+
+        ConditionQuery query = new ConditionQuery(HugeType.EDGE);
+
+        // Edge source vertices, query the edges of them at once
+        query.query(Condition.in(HugeKeys.OWNER_VERTEX, sourceVertices));
+
+        return fillEdgesQuery(query, direction, edgeLabels);
+    }
+
+    private static List<ConditionQuery> splitQueryByOwners(
+                                        ConditionQuery query) {
+        /*
+         * Split just the owners and keep the other conditions like
+         * direction BOTH, so the query of each owner is the same as
+         * the one constructed by constructEdgesQuery(owner, ...)
+         */
+        Condition.Relation owners = null;
+        for (Condition c : query.conditions()) {
+            if (c.isRelation() &&
+                ((Condition.Relation) c).key() == HugeKeys.OWNER_VERTEX) {
+                E.checkArgument(owners == null,
+                                "Invalid owners condition of query: %s",
+                                query);
+                owners = (Condition.Relation) c;
+            }
+        }
+        assert owners != null &&
+               owners.relation() == Condition.RelationType.IN;
+
+        List<?> values = (List<?>) owners.value();
+        List<ConditionQuery> queries = new ArrayList<>(values.size());
+        for (Object owner : values) {
+            ConditionQuery cq = query.copy();
+            cq.resetConditions();
+            for (Condition c : query.conditions()) {
+                if (c == owners) {
+                    c = Condition.eq(HugeKeys.OWNER_VERTEX, owner);
+                }
+                cq.query(c);
+            }
+            queries.add(cq);
+        }
+        return queries;
+    }
+
+    private static ConditionQuery fillEdgesQuery(ConditionQuery query,
+                                                 Directions direction,
+                                                 Id... edgeLabels) {
+        E.checkState(direction != null,
+                     "The edge query must contain direction");
+
         // Edge direction
         if (direction == Directions.BOTH) {
             query.query(Condition.or(
@@ -1291,6 +1632,40 @@ public class GraphTransaction extends IndexableTransaction {
         return queries;
     }
 
+    private boolean queryByMultiOwners(ConditionQuery query) {
+        if (!query.resultType().isEdge() || !query.ids().isEmpty() ||
+            query.paging() ||
+            !this.store().features().supportsQueryByMultiOwners()) {
+            // Query by paging with the flattened queries of each owner
+            return false;
+        }
+        /*
+         * Just support the query like:
+         *  owner-vertex IN [ids] and direction EQ dir [and label EQ label]
+         * which is a prefix of the primary key of edges table
+         */
+        boolean byOwners = false;
+        boolean byDirection = false;
+        for (Condition c : query.conditions()) {
+            if (!c.isRelation()) {
+                return false;
+            }
+            Condition.Relation r = (Condition.Relation) c;
+            if (r.key() == HugeKeys.OWNER_VERTEX &&
+                r.relation() == Condition.RelationType.IN && !byOwners) {
+                byOwners = true;
+            } else if (r.key() == HugeKeys.DIRECTION &&
+                       r.relation() == Condition.RelationType.EQ &&
+                       !byDirection) {
+                byDirection = true;
+            } else if (r.key() != HugeKeys.LABEL ||
+                       r.relation() != Condition.RelationType.EQ) {
+                return false;
+            }
+        }
+        return byOwners && byDirection;
+    }
+
     private Query optimizeQuery(ConditionQuery query) {
         if (!query.ids().isEmpty()) {
             throw new HugeException(
@@ -1794,6 +2169,7 @@ public class GraphTransaction extends IndexableTransaction {
                 this.commitIfGtSize(COMMIT_BATCH);
             }, true);
             this.commit();
+            this.resetStatistics(vertexLabel);
         } catch (Exception e) {
             LOG.error("Failed to remove vertices", e);
             throw new HugeException("Failed to remove vertices", e);
@@ -1825,6 +2201,8 @@ public class GraphTransaction extends IndexableTransaction {
                 }, true);
             }
             this.commit();
+            // The edges removed by label are not counted when committing
+            this.resetStatistics(edgeLabel);
         } catch (Exception e) {
             LOG.error("Failed to remove edges", e);
             throw new HugeException("Failed to remove edges", e);
@@ -1833,6 +2211,12 @@ public class GraphTransaction extends IndexableTransaction {
         }
     }
 
+    private void resetStatistics(SchemaLabel label) {
+        if (this.statistics != null && !label.hidden()) {
+            this.statistics.reset(label, 0L);
+        }
+    }
+
     public void traverseVerticesByLabel(VertexLabel label,
                                         Consumer<Vertex> consumer,
                                         boolean deleting) {
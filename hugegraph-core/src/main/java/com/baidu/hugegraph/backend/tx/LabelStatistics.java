@@ -0,0 +1,87 @@
+/*
+ * Copyright 2017 HugeGraph Authors
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with this
+ * work for additional information regarding copyright ownership. The ASF
+ * licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.baidu.hugegraph.backend.tx;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+import com.baidu.hugegraph.backend.store.BackendStore;
+import com.baidu.hugegraph.schema.SchemaLabel;
+import com.baidu.hugegraph.structure.HugeElement;
+
+/**
+ * The number of vertices or edges of each label, which is kept in the
+ * counters of schema store and increased after graph changes committed,
+ * so the label count can be got without scanning the label index.
+ * NOTE: the number is approximate, adding an element that already exists
+ * or removing one that never exists also changes it, and the changes are
+ * not atomic with the graph store, the number can be corrected by recount.
+ */
+public final class LabelStatistics {
+
+    private final BackendStore store;
+
+    public LabelStatistics(BackendStore store) {
+        this.store = store;
+    }
+
+    public long count(SchemaLabel label) {
+        long count = this.store.getCounter(label.type(), label.id());
+        // The counter may be negative if removed elements never exist
+        return Math.max(count, 0L);
+    }
+
+    public void reset(SchemaLabel label, long count) {
+        long current = this.store.getCounter(label.type(), label.id());
+        if (current != count) {
+            this.store.increaseCounter(label.type(), label.id(),
+                                       count - current);
+        }
+    }
+
+    public void update(Collection<? extends HugeElement> added,
+                       Collection<? extends HugeElement> removed) {
+        Map<SchemaLabel, Long> increments = new HashMap<>();
+        collect(increments, added, 1L);
+        collect(increments, removed, -1L);
+        for (Map.Entry<SchemaLabel, Long> e : increments.entrySet()) {
+            SchemaLabel label = e.getKey();
+            long increment = e.getValue();
+            if (increment != 0L) {
+                this.store.increaseCounter(label.type(), label.id(),
+                                           increment);
+            }
+        }
+    }
+
+    private static void collect(Map<SchemaLabel, Long> increments,
+                                Collection<? extends HugeElement> elements,
+                                long delta) {
+        for (HugeElement element : elements) {
+            SchemaLabel label = element.schemaLabel();
+            // Skip the system elements like tasks and undefined labels
+            if (label.hidden()) {
+                continue;
+            }
+            increments.merge(label, delta, Long::sum);
+        }
+    }
+}
@@ -194,6 +194,16 @@ public class CoreOptions extends OptionHolder {
                     true
             );
 
+    public static final ConfigOption<Boolean> QUERY_LAZY_DECODE_PROPERTIES =
+            new ConfigOption<>(
+                    "query.lazy_decode_properties",
+                    "Whether to decode the properties of vertex or edge on " +
+                    "demand instead of decoding all when reading, only " +
+                    "takes effect for the binary serializer.",
+                    disallowEmpty(),
+                    false
+            );
+
     public static final ConfigOption<Integer> QUERY_BATCH_SIZE =
             new ConfigOption<>(
                     "query.batch_size",
@@ -202,6 +212,16 @@ public class CoreOptions extends OptionHolder {
                     1000
             );
 
+    public static final ConfigOption<Integer> QUERY_ADJACENT_BATCH_SIZE =
+            new ConfigOption<>(
+                    "query.adjacent_batch_size",
+                    "The max number of traversers to query the adjacent " +
+                    "edges of their vertices at once in a traversal step " +
+                    "like out()/outE(), 1 means query one vertex by one.",
+                    rangeInt(1, 10000),
+                    1
+            );
+
     public static final ConfigOption<Integer> QUERY_PAGE_SIZE =
             new ConfigOption<>(
                     "query.page_size",
@@ -210,6 +230,26 @@ public class CoreOptions extends OptionHolder {
                     500
             );
 
+    public static final ConfigOption<Boolean> QUERY_COUNT_BY_STATISTICS =
+            new ConfigOption<>(
+                    "query.count_by_statistics",
+                    "Whether to count all vertices or edges (or the ones of " +
+                    "given labels) by the label statistics instead of " +
+                    "scanning, the result is approximate and requires " +
+                    "statistics.label_counter enabled.",
+                    disallowEmpty(),
+                    false
+            );
+
+    public static final ConfigOption<Boolean> STATISTICS_LABEL_COUNTER =
+            new ConfigOption<>(
+                    "statistics.label_counter",
+                    "Whether to maintain the number of vertices or edges of " +
+                    "each label in counters of schema store when committing.",
+                    disallowEmpty(),
+                    false
+            );
+
     public static final ConfigOption<Integer> VERTEX_TX_CAPACITY =
             new ConfigOption<>(
                     "vertex.tx_capacity",
@@ -258,8 +298,9 @@ public class CoreOptions extends OptionHolder {
     public static final ConfigOption<String> VERTEX_CACHE_TYPE =
             new ConfigOption<>(
                     "vertex.cache_type",
-                    "The type of vertex cache, allowed values are [l1, l2].",
-                    allowValues("l1", "l2"),
+                    "The type of vertex cache, allowed values are " +
+                    "[l1, l2, sharded].",
+                    allowValues("l1", "l2", "sharded"),
                     "l1"
             );
 
@@ -290,8 +331,9 @@ public class CoreOptions extends OptionHolder {
     public static final ConfigOption<String> EDGE_CACHE_TYPE =
             new ConfigOption<>(
                     "edge.cache_type",
-                    "The type of edge cache, allowed values are [l1, l2].",
-                    allowValues("l1", "l2"),
+                    "The type of edge cache, allowed values are " +
+                    "[l1, l2, sharded].",
+                    allowValues("l1", "l2", "sharded"),
                     "l1"
             );
 
@@ -311,6 +353,62 @@ public class CoreOptions extends OptionHolder {
                     (60 * 10)
             );
 
+    public static final ConfigOption<Long> EDGE_DEGREE_CACHE_CAPACITY =
+            new ConfigOption<>(
+                    "edge.degree_cache_capacity",
+                    "The max cache size(vertices) of the approximate degree " +
+                    "cache, which is used to find super nodes before " +
+                    "querying adjacent edges, 0 means disabled.",
+                    rangeInt(0L, Long.MAX_VALUE),
+                    (1000 * 1000 * 1L)
+            );
+
+    public static final ConfigOption<Integer> EDGE_DEGREE_CACHE_EXPIRE =
+            new ConfigOption<>(
+                    "edge.degree_cache_expire",
+                    "The expire time in seconds of the degree cache.",
+                    rangeInt(0, Integer.MAX_VALUE),
+                    (60 * 10)
+            );
+
+    public static final ConfigOption<String> CACHE_SYNC_BUS =
+            new ConfigOption<>(
+                    "cache.sync_bus",
+                    "The bus to sync the cache invalidations with the other " +
+                    "servers sharing the same backend store, allowed " +
+                    "values are [none, backend].",
+                    allowValues("none", "backend"),
+                    "none"
+            );
+
+    public static final ConfigOption<Long> CACHE_SYNC_INTERVAL =
+            new ConfigOption<>(
+                    "cache.sync_interval",
+                    "The interval in milliseconds to poll the cache " +
+                    "invalidations published by the other servers.",
+                    rangeInt(10L, Long.MAX_VALUE),
+                    1000L
+            );
+
+    public static final ConfigOption<Long> CACHE_SYNC_EXPIRE =
+            new ConfigOption<>(
+                    "cache.sync_expire",
+                    "The expire time in seconds of the published cache " +
+                    "invalidations kept in backend store.",
+                    rangeInt(1L, Long.MAX_VALUE),
+                    (60 * 10L)
+            );
+
+    public static final ConfigOption<Integer> AUTH_CACHE_EXPIRE =
+            new ConfigOption<>(
+                    "auth.cache_expire",
+                    "The expire time in seconds of users cache, including " +
+                    "the verified credentials and role permissions, " +
+                    "the value must be > 0.",
+                    rangeInt(1, Integer.MAX_VALUE),
+                    (60 * 60 * 24)
+            );
+
     public static final ConfigOption<Long> SNOWFLAKE_WORKER_ID =
             new ConfigOption<>(
                     "snowflake.worker_id",
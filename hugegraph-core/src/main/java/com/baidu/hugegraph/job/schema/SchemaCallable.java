@@ -18,6 +18,7 @@ public abstract class SchemaCallable extends SysJob<Object> {
     public static final String REMOVE_SCHEMA = "remove_schema";
     public static final String REBUILD_INDEX = "rebuild_index";
     public static final String CREATE_INDEX = "create_index";
+    public static final String RECOUNT_LABEL = "recount_label";
 
     private static final String SPLITOR = ":";
 
@@ -41,6 +41,7 @@ import com.baidu.hugegraph.backend.id.EdgeId;
 import com.baidu.hugegraph.backend.id.Id;
 import com.baidu.hugegraph.backend.id.IdGenerator;
 import com.baidu.hugegraph.backend.serializer.BytesBuffer;
+import com.baidu.hugegraph.backend.serializer.LazyProperties;
 import com.baidu.hugegraph.backend.tx.GraphTransaction;
 import com.baidu.hugegraph.perf.PerfUtil.Watched;
 import com.baidu.hugegraph.schema.PropertyKey;
@@ -67,6 +68,8 @@ public abstract class HugeElement implements Element, GraphType, Idfiable {
     protected boolean removed;
     protected boolean fresh;
     protected boolean propLoaded;
+    // The properties not decoded yet, merged with properties on access
+    private volatile LazyProperties lazyProperties;
 
     public HugeElement(final HugeGraph graph, Id id) {
         E.checkArgument(graph != null, "HugeElement graph can't be null");
@@ -77,6 +80,7 @@ public abstract class HugeElement implements Element, GraphType, Idfiable {
         this.removed = false;
         this.fresh = false;
         this.propLoaded = true;
+        this.lazyProperties = null;
     }
 
     public abstract SchemaLabel schemaLabel();
@@ -169,8 +173,12 @@ public abstract class HugeElement implements Element, GraphType, Idfiable {
         return this.schemaLabel().ttl() > 0L;
     }
 
+    public void lazyProperties(LazyProperties properties) {
+        this.lazyProperties = properties;
+    }
+
     public Map<Id, HugeProperty<?>> getProperties() {
-        return Collections.unmodifiableMap(this.properties);
+        return Collections.unmodifiableMap(this.decodedProperties());
     }
 
     public Map<Id, HugeProperty<?>> getFilledProperties() {
@@ -180,7 +188,8 @@ public abstract class HugeElement implements Element, GraphType, Idfiable {
 
     public Map<Id, Object> getPropertiesMap() {
         Map<Id, Object> props = new HashMap<>();
-        for (Map.Entry<Id, HugeProperty<?>> e : this.properties.entrySet()) {
+        for (Map.Entry<Id, HugeProperty<?>> e :
+             this.decodedProperties().entrySet()) {
             props.put(e.getKey(), e.getValue().value());
         }
         return props;
@@ -188,7 +197,8 @@ public abstract class HugeElement implements Element, GraphType, Idfiable {
 
     public Map<Id, HugeProperty<?>> getAggregateProperties() {
         Map<Id, HugeProperty<?>> aggrProps = new HashMap<>();
-        for (Map.Entry<Id, HugeProperty<?>> e : this.properties.entrySet()) {
+        for (Map.Entry<Id, HugeProperty<?>> e :
+             this.decodedProperties().entrySet()) {
             if (e.getValue().type().isAggregateProperty()) {
                 aggrProps.put(e.getKey(), e.getValue());
             }
@@ -198,12 +208,22 @@ public abstract class HugeElement implements Element, GraphType, Idfiable {
 
     @SuppressWarnings("unchecked")
     public <V> HugeProperty<V> getProperty(Id key) {
+        LazyProperties lazy = this.lazyProperties;
+        if (lazy != null) {
+            // Just decode the expected one, other properties keep lazy
+            int index = lazy.indexOf(key);
+            if (index >= 0) {
+                return this.newProperty(lazy.key(index),
+                                        (V) lazy.value(index));
+            }
+        }
+        // Not a lazy one, or the lazy ones have been decoded
         return (HugeProperty<V>) this.properties.get(key);
     }
 
     @SuppressWarnings("unchecked")
     public <V> V getPropertyValue(Id key) {
-        HugeProperty<?> prop = this.properties.get(key);
+        HugeProperty<?> prop = this.getProperty(key);
         if (prop == null) {
             return null;
         }
@@ -211,20 +231,36 @@ public abstract class HugeElement implements Element, GraphType, Idfiable {
     }
 
     public boolean hasProperty(Id key) {
+        LazyProperties lazy = this.lazyProperties;
+        if (lazy != null && lazy.indexOf(key) >= 0) {
+            return true;
+        }
         return this.properties.containsKey(key);
     }
 
     public boolean hasProperties() {
-        return this.properties.size() > 0;
+        return this.sizeOfProperties() > 0;
     }
 
     public int sizeOfProperties() {
-        return this.properties.size();
+        LazyProperties lazy = this.lazyProperties;
+        Map<Id, HugeProperty<?>> props = this.properties;
+        if (lazy == null) {
+            return props.size();
+        }
+        // The lazy ones are merged with the decoded ones, skip the duplicated
+        int size = props.size();
+        for (int i = 0; i < lazy.size(); i++) {
+            if (!props.containsKey(lazy.key(i).id())) {
+                size++;
+            }
+        }
+        return size;
     }
 
     public int sizeOfSubProperties() {
         int size = 0;
-        for (HugeProperty<?> p : this.properties.values()) {
+        for (HugeProperty<?> p : this.decodedProperties().values()) {
             size++;
             if (p.propertyKey().cardinality() != Cardinality.SINGLE &&
                 p.value() instanceof Collection) {
@@ -236,6 +272,7 @@ public abstract class HugeElement implements Element, GraphType, Idfiable {
 
     @Watched(prefix = "element")
     public <V> HugeProperty<?> setProperty(HugeProperty<V> prop) {
+        this.decodedProperties();
         if (this.properties == EMPTY) {
             this.properties = new HashMap<>();
         }
@@ -247,7 +284,7 @@ public abstract class HugeElement implements Element, GraphType, Idfiable {
     }
 
     public <V> HugeProperty<?> removeProperty(Id key) {
-        return this.properties.remove(key);
+        return this.decodedProperties().remove(key);
     }
 
     public <V> HugeProperty<V> addProperty(PropertyKey pkey, V value) {
@@ -294,6 +331,8 @@ public abstract class HugeElement implements Element, GraphType, Idfiable {
     private <V> HugeProperty<V> addProperty(PropertyKey pkey, V value,
                                             Supplier<Collection<V>> supplier) {
         assert pkey.cardinality().multiple();
+        // The existing collection value will be updated in place
+        this.decodedProperties();
         HugeProperty<Collection<V>> property;
         if (this.hasProperty(pkey.id())) {
             property = this.getProperty(pkey.id());
@@ -326,11 +365,41 @@ public abstract class HugeElement implements Element, GraphType, Idfiable {
     public void resetProperties() {
         this.properties = new HashMap<>();
         this.propLoaded = false;
+        this.lazyProperties = null;
     }
 
     public void copyProperties(HugeElement element) {
-        this.properties = new HashMap<>(element.properties);
+        this.properties = new HashMap<>(element.decodedProperties());
         this.propLoaded = true;
+        this.lazyProperties = null;
+    }
+
+    private Map<Id, HugeProperty<?>> decodedProperties() {
+        if (this.lazyProperties != null) {
+            this.decodeProperties();
+        }
+        return this.properties;
+    }
+
+    private synchronized void decodeProperties() {
+        LazyProperties lazy = this.lazyProperties;
+        if (lazy == null) {
+            // Decoded by other thread
+            return;
+        }
+        /*
+         * NOTE: build a new map and publish it before clearing the lazy
+         * properties, the element may be shared by threads through cache
+         */
+        int size = this.properties.size() + lazy.size();
+        Map<Id, HugeProperty<?>> props = new HashMap<>(size);
+        props.putAll(this.properties);
+        for (int i = 0; i < lazy.size(); i++) {
+            PropertyKey pkey = lazy.key(i);
+            props.put(pkey.id(), this.newProperty(pkey, lazy.value(i)));
+        }
+        this.properties = props;
+        this.lazyProperties = null;
     }
 
     public HugeElement copyAsFresh() {
@@ -27,6 +27,7 @@ import java.util.Set;
 
 import org.apache.commons.lang.mutable.MutableLong;
 import org.apache.tinkerpop.gremlin.structure.Edge;
+import org.apache.tinkerpop.gremlin.structure.util.CloseableIterator;
 
 import com.baidu.hugegraph.HugeGraph;
 import com.baidu.hugegraph.backend.id.Id;
@@ -36,6 +37,7 @@ import com.baidu.hugegraph.backend.query.QueryResults;
 import com.baidu.hugegraph.backend.tx.GraphTransaction;
 import com.baidu.hugegraph.iterator.FilterIterator;
 import com.baidu.hugegraph.iterator.FlatMapperIterator;
+import com.baidu.hugegraph.iterator.MapperIterator;
 import com.baidu.hugegraph.structure.HugeEdge;
 import com.baidu.hugegraph.type.define.Directions;
 import com.baidu.hugegraph.util.E;
@@ -90,18 +92,24 @@ public class CountTraverser extends HugeTraverser {
 
         // The last step, just query count
         Step lastStep = steps.get(stepNum - 1);
-        while (edges.hasNext()) {
-            Id target = ((HugeEdge) edges.next()).id().otherVertexId();
-            if (this.dedup(target)) {
-                continue;
+        Iterator<Id> targets = new MapperIterator<>(edges, edge -> {
+            return ((HugeEdge) edge).id().otherVertexId();
+        });
+        targets = new FilterIterator<>(targets, target -> {
+            return !this.dedup(target);
+        });
+        // Count last layer vertices(without dedup size)
+        Iterator<Long> counts = this.concurrentMap(targets, target -> {
+            return this.edgesCount(target, lastStep.direction,
+                                   lastStep.labels, lastStep.properties,
+                                   lastStep.degree, lastStep.skipDegree);
+        });
+        try {
+            while (counts.hasNext()) {
+                this.count.add(counts.next());
             }
-            // Count last layer vertices(without dedup size)
-            long edgesCount = this.edgesCount(target, lastStep.direction,
-                                              lastStep.labels,
-                                              lastStep.properties,
-                                              lastStep.degree,
-                                              lastStep.skipDegree);
-            this.count.add(edgesCount);
+        } finally {
+            CloseableIterator.closeIterator(counts);
         }
 
         return this.count.longValue();
@@ -130,6 +138,11 @@ public class CountTraverser extends HugeTraverser {
                                          Map<Id, Object> properties,
                                          long degree, long skipDegree) {
         checkSkipDegree(skipDegree, degree, NO_LIMIT);
+        if (skipDegree > 0L && recordable(labels, properties)) {
+            // Skip the super node by recorded degree if possible
+            return this.edgesOfVertex(source, dir, singleLabel(labels),
+                                      degree, skipDegree);
+        }
         long queryLimit = skipDegree > 0 ? skipDegree : degree;
         Iterator<Edge> edges = this.edgesOfVertexWithSK(source, dir, labels,
                                                         properties, queryLimit);
@@ -155,6 +168,12 @@ public class CountTraverser extends HugeTraverser {
                             Map<Id, Object> properties, long degree,
                             long skipDegree) {
         checkSkipDegree(skipDegree, degree, NO_LIMIT);
+        boolean recordable = recordable(labels, properties);
+        Id label = singleLabel(labels);
+        // The recorded degree is just used as a lower bound to skip
+        if (recordable && this.superNode(source, dir, label, skipDegree)) {
+            return 0L;
+        }
         Id[] els = labels.keySet().toArray(new Id[labels.size()]);
         Query query = GraphTransaction.constructEdgesQuery(source, dir, els);
         this.fillFilterBySortKeys(query, els, properties);
@@ -162,6 +181,9 @@ public class CountTraverser extends HugeTraverser {
         query.capacity(Query.NO_CAPACITY);
         query.limit(Query.NO_LIMIT);
         long count = graph().queryNumber(query).longValue();
+        if (recordable) {
+            this.recordDegree(source, dir, label, count, true);
+        }
         if (degree == NO_LIMIT || count < degree) {
             return count;
         } else if (skipDegree != 0L && count >= skipDegree) {
@@ -171,6 +193,23 @@ public class CountTraverser extends HugeTraverser {
         }
     }
 
+    /**
+     * The degree is recorded by direction and single edge label, so it can't
+     * be used if querying with multiple edge labels or properties
+     */
+    private static boolean recordable(Map<Id, String> labels,
+                                      Map<Id, Object> properties) {
+        return (properties == null || properties.isEmpty()) &&
+               (labels == null || labels.size() <= 1);
+    }
+
+    private static Id singleLabel(Map<Id, String> labels) {
+        if (labels == null || labels.isEmpty()) {
+            return null;
+        }
+        return labels.keySet().iterator().next();
+    }
+
     private void checkDedupSize(long dedup) {
         checkNonNegativeOrNoLimit(dedup, "dedup size");
     }
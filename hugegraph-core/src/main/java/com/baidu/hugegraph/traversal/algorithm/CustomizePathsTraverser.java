@@ -36,7 +36,6 @@ import com.baidu.hugegraph.schema.PropertyKey;
 import com.baidu.hugegraph.structure.HugeEdge;
 import com.baidu.hugegraph.structure.HugeVertex;
 import com.baidu.hugegraph.type.define.Directions;
-import com.baidu.hugegraph.util.CollectionUtil;
 import com.baidu.hugegraph.util.E;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
@@ -104,7 +103,8 @@ public class CustomizePathsTraverser extends HugeTraverser {
 
                 if (step.sample > 0) {
                     // Sample current node's adjacent nodes
-                    adjacency = sample(adjacency, step.sample);
+                    adjacency = sample(adjacency, step.sample,
+                                       sorted && step.weightBy != null);
                 }
 
                 // Add current node's adjacent nodes
@@ -154,16 +154,17 @@ public class CustomizePathsTraverser extends HugeTraverser {
         return paths.subList(0, (int) limit);
     }
 
-    private static List<Node> sample(List<Node> nodes, long sample) {
+    private static List<Node> sample(List<Node> nodes, long sample,
+                                     boolean weighted) {
         if (nodes.size() <= sample) {
             return nodes;
         }
-        List<Node> result = new ArrayList<>((int) sample);
-        int size = nodes.size();
-        for (int random : CollectionUtil.randomSet(0, size, (int) sample)) {
-            result.add(nodes.get(random));
+        if (weighted) {
+            // Prefer the nodes with larger weight of edge
+            return weightedSample(nodes.iterator(), (int) sample,
+                                  n -> ((WeightNode) n).weight);
         }
-        return result;
+        return reservoirSample(nodes.iterator(), (int) sample);
     }
 
     public static class WeightNode extends Node {
@@ -28,20 +28,29 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.PriorityQueue;
+import java.util.Random;
 import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Function;
+import java.util.function.ToDoubleFunction;
 
 import javax.ws.rs.core.MultivaluedHashMap;
 import javax.ws.rs.core.MultivaluedMap;
 
 import org.apache.commons.collections.CollectionUtils;
+import org.apache.commons.lang3.tuple.Pair;
 import org.apache.tinkerpop.gremlin.process.traversal.P;
 import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversal;
 import org.apache.tinkerpop.gremlin.structure.Edge;
 import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.apache.tinkerpop.gremlin.structure.util.CloseableIterator;
 import org.apache.tinkerpop.gremlin.util.iterator.IteratorUtils;
 
 import com.baidu.hugegraph.HugeException;
 import com.baidu.hugegraph.HugeGraph;
+import com.baidu.hugegraph.backend.cache.DegreeCache;
 import com.baidu.hugegraph.backend.id.Id;
 import com.baidu.hugegraph.backend.query.Condition;
 import com.baidu.hugegraph.backend.query.ConditionQuery;
@@ -59,7 +68,9 @@ import com.baidu.hugegraph.type.define.Directions;
 import com.baidu.hugegraph.type.define.HugeKeys;
 import com.baidu.hugegraph.util.CollectionUtil;
 import com.baidu.hugegraph.util.E;
+import com.baidu.hugegraph.util.ExecutorUtil;
 import com.baidu.hugegraph.util.InsertionOrderUtil;
+import com.baidu.hugegraph.util.collection.IdSet;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableSet;
@@ -67,6 +78,8 @@ import com.google.common.collect.ImmutableSet;
 public class HugeTraverser {
 
     private HugeGraph graph;
+    private int parallelism;
+    private final DegreeCache degreeCache;
 
     public static final List<Id> PATH_NONE = ImmutableList.of();
 
@@ -79,6 +92,15 @@ public class HugeTraverser {
     public static final String DEFAULT_SAMPLE = "100";
     public static final String DEFAULT_MAX_DEPTH = "50";
     public static final String DEFAULT_WEIGHT = "0";
+    public static final String DEFAULT_PARALLELISM = "1";
+
+    // The max number of edges queries being executed at the same time
+    public static final int MAX_PARALLELISM =
+                            4 * Runtime.getRuntime().availableProcessors();
+    public static final String OLTP_WORKER = "oltp-worker-%d";
+    // The number of sources mapped by an OLTP worker in one task
+    public static final int OLTP_BATCH = 16;
+    private static volatile ExecutorService executor = null;
 
     // Empirical value of scan limit, with which results can be returned in 3s
     public static final String DEFAULT_PAGE_LIMIT = "100000";
@@ -87,12 +109,26 @@ public class HugeTraverser {
 
     public HugeTraverser(HugeGraph graph) {
         this.graph = graph;
+        this.parallelism = 1;
+        // Opened by the graph transaction with the configured capacity
+        this.degreeCache = graph.degreeCache();
     }
 
     public HugeGraph graph() {
         return this.graph;
     }
 
+    public int parallelism() {
+        return this.parallelism;
+    }
+
+    public void parallelism(int parallelism) {
+        E.checkArgument(parallelism > 0 && parallelism <= MAX_PARALLELISM,
+                        "The parallelism must be in range [1, %s], " +
+                        "but got %s", MAX_PARALLELISM, parallelism);
+        this.parallelism = parallelism;
+    }
+
     public Set<Id> kout(Id sourceV, Directions dir, String label,
                         int depth, boolean nearest,
                         long degree, long capacity, long limit) {
@@ -112,10 +148,10 @@ public class HugeTraverser {
 
         Id labelId = this.getEdgeLabelId(label);
 
-        Set<Id> latest = newSet();
+        Set<Id> latest = newIdSet();
         latest.add(sourceV);
 
-        Set<Id> all = newSet();
+        Set<Id> all = newIdSet();
         all.add(sourceV);
 
         long remaining = capacity == NO_LIMIT ?
@@ -160,10 +196,10 @@ public class HugeTraverser {
 
         Id labelId = this.getEdgeLabelId(label);
 
-        Set<Id> latest = newSet();
+        Set<Id> latest = newIdSet();
         latest.add(sourceV);
 
-        Set<Id> all = newSet();
+        Set<Id> all = newIdSet();
         all.add(sourceV);
 
         while (depth-- > 0) {
@@ -179,6 +215,191 @@ public class HugeTraverser {
         return all;
     }
 
+    /**
+     * Get the k-out vertices in streaming mode, the vertices of the last
+     * layer are produced while expanding the previous layer, and the
+     * traversal can be resumed from the page of the returned iterator
+     * @param page the page to start from, empty for the first page, and
+     *             null means not paging
+     * @return the iterator of vertex ids, see {@link KoutIterator}
+     */
+    public Iterator<Id> kout(Id sourceV, Directions dir, String label,
+                             int depth, boolean nearest, long degree,
+                             long capacity, long limit, String page) {
+        E.checkNotNull(sourceV, "source vertex id");
+        E.checkNotNull(dir, "direction");
+        checkPositive(depth, "k-out max_depth");
+        checkDegree(degree);
+        checkCapacity(capacity);
+        checkLimit(limit);
+        if (capacity != NO_LIMIT) {
+            // Capacity must > limit because sourceV is counted in capacity
+            E.checkArgument(capacity >= limit && limit != NO_LIMIT,
+                            "Capacity can't be less than limit, " +
+                            "but got capacity '%s' and limit '%s'",
+                            capacity, limit);
+        }
+
+        Id labelId = this.getEdgeLabelId(label);
+
+        Set<Id> latest = newIdSet();
+        latest.add(sourceV);
+
+        Set<Id> all = newIdSet();
+        all.add(sourceV);
+
+        long remaining = capacity == NO_LIMIT ?
+                         NO_LIMIT : capacity - latest.size();
+        // Expand the layers before the last layer
+        while (--depth > 0) {
+            latest = this.adjacentVertices(latest, dir, labelId,
+                                           nearest ? all : null,
+                                           degree, remaining);
+            if (nearest) {
+                all.addAll(latest);
+            }
+            if (capacity != NO_LIMIT) {
+                remaining -= latest.size();
+                if (remaining <= 0) {
+                    throw new HugeException(
+                              "Reach capacity '%s' while remaining depth '%s'",
+                              capacity, depth);
+                }
+            }
+        }
+
+        /*
+         * Just get limit vertices in last layer if limit < remaining
+         * capacity, and the capacity is not applied to a page since
+         * the vertices of a page are not accumulated
+         */
+        if (page != null || (limit != NO_LIMIT &&
+            (limit < remaining || remaining == NO_LIMIT))) {
+            remaining = limit;
+        }
+        return new KoutIterator(this, ImmutableSet.of(), latest,
+                                nearest ? all : null, dir, labelId,
+                                degree, remaining, page);
+    }
+
+    /**
+     * Get the k-neighbor vertices in streaming mode, the vertices before
+     * the last layer are produced first, then the vertices of the last
+     * layer are produced while expanding the previous layer
+     * @param capacity the max number of vertices before the last layer
+     * @param page the page to start from, empty for the first page, and
+     *             null means not paging
+     * @return the iterator of vertex ids, see {@link KoutIterator}
+     */
+    public Iterator<Id> kneighbor(Id sourceV, Directions dir,
+                                  String label, int depth, long degree,
+                                  long capacity, long limit, String page) {
+        E.checkNotNull(sourceV, "source vertex id");
+        E.checkNotNull(dir, "direction");
+        checkPositive(depth, "k-neighbor max_depth");
+        checkDegree(degree);
+        checkCapacity(capacity);
+        checkLimit(limit);
+        if (capacity != NO_LIMIT && limit != NO_LIMIT) {
+            E.checkArgument(capacity >= limit,
+                            "Capacity can't be less than limit, " +
+                            "but got capacity '%s' and limit '%s'",
+                            capacity, limit);
+        }
+
+        Id labelId = this.getEdgeLabelId(label);
+
+        Set<Id> latest = newIdSet();
+        latest.add(sourceV);
+
+        Set<Id> all = newIdSet();
+        all.add(sourceV);
+
+        // Expand the layers before the last layer
+        while (--depth > 0) {
+            long remaining = capacity == NO_LIMIT ?
+                             NO_LIMIT : capacity - all.size();
+            // Just get limit vertices if not paging
+            boolean limited = page == null && limit != NO_LIMIT;
+            if (limited && (limit - all.size() < remaining ||
+                            remaining == NO_LIMIT)) {
+                remaining = limit - all.size();
+            }
+            latest = this.adjacentVertices(latest, dir, labelId, all,
+                                           degree, remaining);
+            all.addAll(latest);
+            if (limited && all.size() >= limit) {
+                latest = ImmutableSet.of();
+                break;
+            }
+            if (capacity != NO_LIMIT && all.size() >= capacity) {
+                throw new HugeException(
+                          "Reach capacity '%s' while remaining depth '%s'",
+                          capacity, depth);
+            }
+        }
+
+        return new KoutIterator(this, all, latest, all, dir, labelId,
+                                degree, limit, page);
+    }
+
+    /**
+     * Get the k-out vertices of multiple sources in one pass, the adjacent
+     * vertices of each vertex are queried at most once and shared by all
+     * sources which reach it, and the capacity is applied to all sources
+     * @return the k-out vertices of each source
+     */
+    public Map<Id, Set<Id>> kout(Set<Id> sources, Directions dir,
+                                 String label, int depth, boolean nearest,
+                                 long degree, long capacity, long limit) {
+        E.checkArgument(sources != null && !sources.isEmpty(),
+                        "The source vertices can't be empty");
+        E.checkNotNull(dir, "direction");
+        checkPositive(depth, "k-out max_depth");
+        checkDegree(degree);
+        checkCapacity(capacity);
+        checkLimit(limit);
+
+        Id labelId = this.getEdgeLabelId(label);
+        Adjacencies adjacencies = new Adjacencies(dir, labelId, degree,
+                                                  capacity, "kout");
+        BatchExpansion expansion = new BatchExpansion(sources, adjacencies);
+        while (depth-- > 0) {
+            // Just get limit vertices of each source in last layer
+            long max = depth == 0 ? limit : NO_LIMIT;
+            expansion.expand(nearest, max, false);
+        }
+        return expansion.latest;
+    }
+
+    /**
+     * Get the k-neighbor vertices of multiple sources in one pass, the
+     * adjacent vertices of each vertex are queried at most once and shared
+     * by all sources which reach it, and the capacity is applied to all
+     * sources
+     * @return the k-neighbor vertices of each source
+     */
+    public Map<Id, Set<Id>> kneighbor(Set<Id> sources, Directions dir,
+                                      String label, int depth, long degree,
+                                      long capacity, long limit) {
+        E.checkArgument(sources != null && !sources.isEmpty(),
+                        "The source vertices can't be empty");
+        E.checkNotNull(dir, "direction");
+        checkPositive(depth, "k-neighbor max_depth");
+        checkDegree(degree);
+        checkCapacity(capacity);
+        checkLimit(limit);
+
+        Id labelId = this.getEdgeLabelId(label);
+        Adjacencies adjacencies = new Adjacencies(dir, labelId, degree,
+                                                  capacity, "k-neighbor");
+        BatchExpansion expansion = new BatchExpansion(sources, adjacencies);
+        while (depth-- > 0) {
+            expansion.expand(true, limit, true);
+        }
+        return expansion.all;
+    }
+
     public Set<Id> sameNeighbors(Id vertex, Id other, Directions direction,
                                  String label, long degree, long limit) {
         E.checkNotNull(vertex, "vertex id");
@@ -222,6 +443,97 @@ public class HugeTraverser {
         return (double) interNum / unionNum;
     }
 
+    /**
+     * Get the same neighbors of multiple vertex pairs in one pass, the
+     * adjacent vertices of each vertex are queried at most once and shared
+     * by all pairs which contain it, and the capacity is applied to all pairs
+     * @return the same neighbors of each pair, in the order of the pairs
+     */
+    public List<Set<Id>> sameNeighbors(List<Pair<Id, Id>> pairs,
+                                       Directions direction, String label,
+                                       long degree, long capacity,
+                                       long limit) {
+        E.checkArgument(pairs != null && !pairs.isEmpty(),
+                        "The vertex pairs can't be empty");
+        E.checkNotNull(direction, "direction");
+        checkDegree(degree);
+        checkCapacity(capacity);
+        checkLimit(limit);
+
+        Id labelId = this.getEdgeLabelId(label);
+        Adjacencies adjacencies = this.pairAdjacencies(pairs, direction,
+                                                       labelId, degree,
+                                                       capacity,
+                                                       "same neighbors");
+        List<Set<Id>> results = new ArrayList<>(pairs.size());
+        for (Pair<Id, Id> pair : pairs) {
+            Set<Id> sourceNeighbors = newIdSet();
+            sourceNeighbors.addAll(adjacencies.get(pair.getLeft()));
+            Set<Id> targetNeighbors = newIdSet();
+            targetNeighbors.addAll(adjacencies.get(pair.getRight()));
+            Set<Id> sameNeighbors = (Set<Id>) CollectionUtil.intersect(
+                                    sourceNeighbors, targetNeighbors);
+            if (limit != NO_LIMIT) {
+                int end = Math.min(sameNeighbors.size(), (int) limit);
+                sameNeighbors = CollectionUtil.subSet(sameNeighbors, 0, end);
+            }
+            results.add(sameNeighbors);
+        }
+        return results;
+    }
+
+    /**
+     * Get the jaccard similarity of multiple vertex pairs in one pass, the
+     * adjacent vertices of each vertex are queried at most once and shared
+     * by all pairs which contain it, and the capacity is applied to all pairs
+     * @return the jaccard similarity of each pair, in the order of the pairs
+     */
+    public List<Double> jaccardSimilarity(List<Pair<Id, Id>> pairs,
+                                          Directions dir, String label,
+                                          long degree, long capacity) {
+        E.checkArgument(pairs != null && !pairs.isEmpty(),
+                        "The vertex pairs can't be empty");
+        E.checkNotNull(dir, "direction");
+        checkDegree(degree);
+        checkCapacity(capacity);
+
+        Id labelId = this.getEdgeLabelId(label);
+        Adjacencies adjacencies = this.pairAdjacencies(pairs, dir, labelId,
+                                                       degree, capacity,
+                                                       "jaccard similarity");
+        List<Double> results = new ArrayList<>(pairs.size());
+        for (Pair<Id, Id> pair : pairs) {
+            Set<Id> sourceNeighbors = newIdSet();
+            sourceNeighbors.addAll(adjacencies.get(pair.getLeft()));
+            Set<Id> targetNeighbors = newIdSet();
+            targetNeighbors.addAll(adjacencies.get(pair.getRight()));
+            int interNum = CollectionUtil.intersect(sourceNeighbors,
+                                                    targetNeighbors).size();
+            int unionNum = CollectionUtil.union(sourceNeighbors,
+                                                targetNeighbors).size();
+            results.add((double) interNum / unionNum);
+        }
+        return results;
+    }
+
+    private Adjacencies pairAdjacencies(List<Pair<Id, Id>> pairs,
+                                        Directions dir, Id label, long degree,
+                                        long capacity, String traverse) {
+        Set<Id> vertices = newIdSet();
+        for (Pair<Id, Id> pair : pairs) {
+            E.checkArgument(pair != null && pair.getLeft() != null &&
+                            pair.getRight() != null,
+                            "The vertex pair can't be null or contain null " +
+                            "vertex id, but got '%s'", pair);
+            vertices.add(pair.getLeft());
+            vertices.add(pair.getRight());
+        }
+        Adjacencies adjacencies = new Adjacencies(dir, label, degree,
+                                                  capacity, traverse);
+        adjacencies.fetch(vertices, 0L);
+        return adjacencies;
+    }
+
     private Set<Id> adjacentVertices(Set<Id> vertices, Directions dir,
                                      Id label, Set<Id> excluded,
                                      long degree, long limit) {
@@ -229,25 +541,101 @@ public class HugeTraverser {
             return ImmutableSet.of();
         }
 
-        Set<Id> neighbors = newSet();
-        for (Id source : vertices) {
-            Iterator<Edge> edges = this.edgesOfVertex(source, dir,
-                                                      label, degree);
-            while (edges.hasNext()) {
-                HugeEdge e = (HugeEdge) edges.next();
-                Id target = e.id().otherVertexId();
-                if (excluded != null && excluded.contains(target)) {
-                    continue;
-                }
-                neighbors.add(target);
-                if (limit != NO_LIMIT && neighbors.size() >= limit) {
-                    return neighbors;
+        Set<Id> neighbors = newIdSet();
+        Iterator<Iterator<Id>> adjacencies = this.adjacencies(
+                                             vertices.iterator(), source -> {
+            return this.adjacentVertices(source, dir, label, degree);
+        });
+        try {
+            while (adjacencies.hasNext()) {
+                Iterator<Id> targets = adjacencies.next();
+                while (targets.hasNext()) {
+                    Id target = targets.next();
+                    if (excluded != null && excluded.contains(target)) {
+                        continue;
+                    }
+                    neighbors.add(target);
+                    if (limit != NO_LIMIT && neighbors.size() >= limit) {
+                        return neighbors;
+                    }
                 }
             }
+        } finally {
+            CloseableIterator.closeIterator(adjacencies);
         }
         return neighbors;
     }
 
+    /**
+     * Map each source to its adjacent vertices, the edges of the sources
+     * are queried concurrently if parallelism > 1, and the results are
+     * always returned in the order of the sources
+     */
+    protected <S> Iterator<Iterator<Id>> adjacencies(
+                                         Iterator<S> sources,
+                                         Function<S, Iterator<Id>> adjacency) {
+        if (this.parallelism <= 1) {
+            return new MapperIterator<>(sources, adjacency);
+        }
+        // Backend iterator can't be passed across threads, so fetch all
+        return this.concurrentMap(sources, source -> {
+            return IteratorUtils.list(adjacency.apply(source)).iterator();
+        });
+    }
+
+    /**
+     * Map each source by the mapper in OLTP executor if parallelism > 1,
+     * the mapper must return a result without lazy backend iterator.
+     * NOTE: the sources are mapped in batches, and the transaction opened
+     * by the mapper in an OLTP worker thread is closed after each batch,
+     * or it will be left open after the graph is closed.
+     */
+    protected <S, T> Iterator<T> concurrentMap(Iterator<S> sources,
+                                               Function<S, T> mapper) {
+        if (this.parallelism <= 1) {
+            return new MapperIterator<>(sources, mapper);
+        }
+        HugeGraph graph = this.graph;
+        return new ParallelMapperIterator<>(sources, mapper, executor(),
+                                            this.parallelism, OLTP_BATCH,
+                                            () -> closeTx(graph));
+    }
+
+    private static void closeTx(HugeGraph graph) {
+        /*
+         * Just close the tx and keep the backend transactions of the
+         * worker thread to reuse them like the server worker threads
+         */
+        if (graph.tx().isOpen()) {
+            graph.tx().close();
+        }
+    }
+
+    /**
+     * Set the OLTP executor before any parallel traversal, it's used to
+     * replace the default executor with one that passes thread context
+     */
+    public static void executor(ExecutorService oltpExecutor) {
+        E.checkNotNull(oltpExecutor, "executor");
+        synchronized (HugeTraverser.class) {
+            E.checkState(executor == null,
+                         "The OLTP executor has been initialized");
+            executor = oltpExecutor;
+        }
+    }
+
+    private static ExecutorService executor() {
+        if (executor == null) {
+            synchronized (HugeTraverser.class) {
+                if (executor == null) {
+                    executor = ExecutorUtil.newFixedThreadPool(
+                               MAX_PARALLELISM, OLTP_WORKER);
+                }
+            }
+        }
+        return executor;
+    }
+
     protected Iterator<Id> adjacentVertices(Id source, Directions dir,
                                             Id label, long limit) {
         Iterator<Edge> edges = this.edgesOfVertex(source, dir, label, limit);
@@ -271,6 +659,113 @@ public class HugeTraverser {
         return this.graph.edges(query);
     }
 
+    /**
+     * Query adjacent edges of the vertex, and skip it if it's a super node,
+     * the recorded degree is used to find the super node before querying
+     * @param source the vertex id
+     * @param dir the direction of edges
+     * @param label the edge label id, null means all edge labels
+     * @param degree the max number of edges returned
+     * @param skipDegree the degree of super node, 0 means never skip
+     * @return the adjacent edges, or empty if it's a super node
+     */
+    protected Iterator<Edge> edgesOfVertex(Id source, Directions dir,
+                                           Id label, long degree,
+                                           long skipDegree) {
+        if (skipDegree <= 0L) {
+            return this.edgesOfVertex(source, dir, label, degree);
+        }
+        if (this.superNode(source, dir, label, skipDegree)) {
+            return QueryResults.emptyIterator();
+        }
+
+        Iterator<Edge> edges = this.edgesOfVertex(source, dir, label,
+                                                  skipDegree);
+        List<Edge> edgeList = new ArrayList<>();
+        long count = 0L;
+        try {
+            while (edges.hasNext()) {
+                Edge edge = edges.next();
+                if (++count <= degree) {
+                    edgeList.add(edge);
+                }
+                if (count >= skipDegree) {
+                    break;
+                }
+            }
+        } finally {
+            CloseableIterator.closeIterator(edges);
+        }
+
+        // The degree is exact only if all edges are traversed
+        boolean exact = count < skipDegree;
+        this.degreeCache.record(source, dir, label, count, exact);
+        if (!exact) {
+            return QueryResults.emptyIterator();
+        }
+        return edgeList.iterator();
+    }
+
+    /**
+     * Check whether the vertex is a super node by the recorded degree,
+     * without querying adjacent edges
+     * @param vertex the vertex id
+     * @param dir the direction of edges
+     * @param label the edge label id, null means all edge labels
+     * @param skipDegree the degree of super node, 0 means never skip
+     * @return true if it's known as a super node
+     */
+    protected boolean superNode(Id vertex, Directions dir, Id label,
+                                long skipDegree) {
+        if (skipDegree <= 0L) {
+            return false;
+        }
+        Boolean superNode = this.degreeCache.atLeast(vertex, dir, label,
+                                                     skipDegree);
+        return superNode != null && superNode;
+    }
+
+    /**
+     * Get the recorded degree of the vertex without querying adjacent edges
+     * @param vertex the vertex id
+     * @param dir the direction of edges
+     * @param label the edge label id, null means all edge labels
+     * @return the degree, or DegreeCache.UNKNOWN if it's not recorded
+     */
+    protected long degree(Id vertex, Directions dir, Id label) {
+        return this.degreeCache.degree(vertex, dir, label);
+    }
+
+    protected void recordDegree(Id vertex, Directions dir, Id label,
+                                long degree, boolean exact) {
+        this.degreeCache.record(vertex, dir, label, degree, exact);
+    }
+
+    /**
+     * Estimate the number of edges to be visited when expanding vertices,
+     * the recorded degree is used if known, otherwise one edge per vertex
+     * is assumed, so it's the frontier size for never traversed vertices
+     * @param vertices the vertices to be expanded
+     * @param dir the direction of edges
+     * @param label the edge label id, null means all edge labels
+     * @param degree the max number of edges visited of each vertex
+     * @return the estimated cost
+     */
+    protected long expansionCost(Collection<Id> vertices, Directions dir,
+                                 Id label, long degree) {
+        long cost = 0L;
+        for (Id vertex : vertices) {
+            long estimate = this.degreeCache.estimate(vertex, dir, label);
+            if (estimate == DegreeCache.UNKNOWN) {
+                estimate = 1L;
+            } else if (degree != NO_LIMIT && estimate > degree) {
+                estimate = degree;
+            }
+            cost += estimate;
+        }
+        return cost;
+    }
+
     protected Iterator<Edge> edgesOfVertex(Id source, Directions dir,
                                            Set<Id> labels, long limit) {
         if (labels == null || labels.isEmpty()) {
@@ -404,6 +899,70 @@ public class HugeTraverser {
         return edgeList.iterator();
     }
 
+    /**
+     * Sample elements by reservoir sampling, each element is selected with
+     * the same probability, and the iterator is traversed only once
+     * @param iterator the elements to be sampled
+     * @param sample the max number of elements selected
+     * @return the selected elements
+     */
+    public static <T> List<T> reservoirSample(Iterator<T> iterator,
+                                              int sample) {
+        E.checkArgument(sample > 0,
+                        "The sample must be > 0, but got %s", sample);
+        List<T> results = new ArrayList<>(sample);
+        Random random = ThreadLocalRandom.current();
+        for (long i = 0L; iterator.hasNext(); i++) {
+            T element = iterator.next();
+            if (i < sample) {
+                results.add(element);
+                continue;
+            }
+            long index = (long) (random.nextDouble() * (i + 1));
+            if (index < sample) {
+                results.set((int) index, element);
+            }
+        }
+        return results;
+    }
+
+    /**
+     * Sample elements by weighted reservoir sampling(A-Res), each element is
+     * selected with probability proportional to its weight, the elements
+     * with non-positive weight are selected only if there are not enough
+     * @param iterator the elements to be sampled
+     * @param sample the max number of elements selected
+     * @param weight the function to get weight of an element
+     * @return the selected elements
+     */
+    public static <T> List<T> weightedSample(Iterator<T> iterator, int sample,
+                                             ToDoubleFunction<T> weight) {
+        E.checkArgument(sample > 0,
+                        "The sample must be > 0, but got %s", sample);
+        // Keep the elements with top n keys, the key is u^(1/w)
+        PriorityQueue<Pair<Double, T>> heap = new PriorityQueue<>(sample,
+                                              (p1, p2) -> Double.compare(
+                                              p1.getLeft(), p2.getLeft()));
+        Random random = ThreadLocalRandom.current();
+        while (iterator.hasNext()) {
+            T element = iterator.next();
+            double w = weight.applyAsDouble(element);
+            double key = w > 0.0 ?
+                         Math.pow(random.nextDouble(), 1.0 / w) : -1.0;
+            if (heap.size() < sample) {
+                heap.add(Pair.of(key, element));
+            } else if (key > heap.peek().getLeft()) {
+                heap.poll();
+                heap.add(Pair.of(key, element));
+            }
+        }
+        List<T> results = new ArrayList<>(heap.size());
+        for (Pair<Double, T> pair : heap) {
+            results.add(pair.getRight());
+        }
+        return results;
+    }
+
     protected void fillFilterBySortKeys(Query query,Id[] edgeLabels,
                                         Map<Id, Object> properties) {
         if (properties == null || properties.isEmpty()) {
@@ -442,6 +1001,10 @@ public class HugeTraverser {
         return new HashSet<>();
     }
 
+    protected static Set<Id> newIdSet() {
+        return new IdSet();
+    }
+
     protected static <K, V> Map<K, V> newMap() {
         return new HashMap<>();
     }
@@ -471,6 +1034,162 @@ public class HugeTraverser {
         return results;
     }
 
+    /**
+     * Expand the layers of multiple sources together, the frontiers of all
+     * sources are merged to query the adjacent vertices of each vertex once
+     */
+    private class BatchExpansion {
+
+        private final Map<Id, Set<Id>> latest;
+        private final Map<Id, Set<Id>> all;
+        private final Adjacencies adjacencies;
+        private long size;
+
+        public BatchExpansion(Set<Id> sources, Adjacencies adjacencies) {
+            this.latest = newMap();
+            this.all = newMap();
+            for (Id source : sources) {
+                Set<Id> vertices = newIdSet();
+                vertices.add(source);
+                this.latest.put(source, vertices);
+                vertices = newIdSet();
+                vertices.add(source);
+                this.all.put(source, vertices);
+            }
+            this.adjacencies = adjacencies;
+            this.size = 2L * sources.size();
+        }
+
+        /**
+         * Expand one layer of each source
+         * @param nearest whether to exclude the vertices reached before
+         * @param limit the max number of vertices of each source
+         * @param inclusive whether the limit is applied to all the vertices
+         *                  reached, or just the vertices of the new layer
+         */
+        public void expand(boolean nearest, long limit, boolean inclusive) {
+            // Merge the frontiers of all sources
+            Set<Id> frontier = newIdSet();
+            for (Set<Id> layer : this.latest.values()) {
+                frontier.addAll(layer);
+            }
+            this.adjacencies.fetch(frontier, this.size);
+
+            for (Map.Entry<Id, Set<Id>> e : this.latest.entrySet()) {
+                Set<Id> all = this.all.get(e.getKey());
+                long remaining = limit;
+                if (inclusive && limit != NO_LIMIT) {
+                    remaining = limit - all.size();
+                }
+                Set<Id> neighbors = newIdSet();
+                if (remaining == NO_LIMIT || remaining > 0L) {
+                    this.neighbors(e.getValue(), nearest ? all : null,
+                                   remaining, neighbors);
+                }
+                this.size -= e.getValue().size();
+                if (nearest) {
+                    all.addAll(neighbors);
+                    this.size += neighbors.size();
+                }
+                if (inclusive && limit != NO_LIMIT && all.size() >= limit) {
+                    // Don't expand the source any more
+                    neighbors = newIdSet();
+                }
+                this.size += neighbors.size();
+                e.setValue(neighbors);
+                this.adjacencies.checkCapacity(this.size);
+            }
+        }
+
+        private void neighbors(Set<Id> vertices, Set<Id> excluded,
+                               long limit, Set<Id> neighbors) {
+            for (Id vertex : vertices) {
+                for (Id target : this.adjacencies.get(vertex)) {
+                    if (excluded != null && excluded.contains(target)) {
+                        continue;
+                    }
+                    neighbors.add(target);
+                    if (limit != NO_LIMIT && neighbors.size() >= limit) {
+                        return;
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * The adjacent vertices of the vertices queried in a batch request, the
+     * adjacent vertices of each vertex are queried once (with parallelism
+     * if configured) and kept for the rest of the request
+     */
+    private class Adjacencies {
+
+        private final Map<Id, List<Id>> adjacencies;
+        private final Directions direction;
+        private final Id label;
+        private final long degree;
+        private final long capacity;
+        private final String traverse;
+        private long size;
+
+        public Adjacencies(Directions direction, Id label, long degree,
+                           long capacity, String traverse) {
+            this.adjacencies = newMap();
+            this.direction = direction;
+            this.label = label;
+            this.degree = degree;
+            this.capacity = capacity;
+            this.traverse = traverse;
+            this.size = 0L;
+        }
+
+        public List<Id> get(Id vertex) {
+            List<Id> targets = this.adjacencies.get(vertex);
+            E.checkState(targets != null,
+                         "The adjacent vertices of '%s' are not fetched",
+                         vertex);
+            return targets;
+        }
+
+        /**
+         * Query the adjacent vertices of the vertices not queried before
+         * @param vertices the vertices to query adjacent vertices
+         * @param held the number of vertices held by the caller, which is
+         *             counted in the capacity
+         */
+        public void fetch(Collection<Id> vertices, long held) {
+            Set<Id> missing = newIdSet();
+            for (Id vertex : vertices) {
+                if (!this.adjacencies.containsKey(vertex)) {
+                    missing.add(vertex);
+                }
+            }
+
+            Iterator<Id> sources = missing.iterator();
+            Iterator<Iterator<Id>> adjacencies = adjacencies(
+                                   missing.iterator(), source -> {
+                return adjacentVertices(source, this.direction, this.label,
+                                        this.degree);
+            });
+            try {
+                while (sources.hasNext()) {
+                    Id source = sources.next();
+                    List<Id> targets = IteratorUtils.list(adjacencies.next());
+                    this.adjacencies.put(source, targets);
+                    this.size += targets.size();
+                    this.checkCapacity(held);
+                }
+            } finally {
+                CloseableIterator.closeIterator(adjacencies);
+            }
+        }
+
+        public void checkCapacity(long held) {
+            HugeTraverser.checkCapacity(this.capacity, this.size + held,
+                                        this.traverse);
+        }
+    }
+
     public static class Node {
 
         private Id id;
@@ -0,0 +1,282 @@
+/*
+ * Copyright 2017 HugeGraph Authors
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with this
+ * work for additional information regarding copyright ownership. The ASF
+ * licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.baidu.hugegraph.traversal.algorithm;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+import org.apache.tinkerpop.gremlin.structure.util.CloseableIterator;
+
+import com.baidu.hugegraph.HugeException;
+import com.baidu.hugegraph.backend.id.Id;
+import com.baidu.hugegraph.backend.page.PageInfo;
+import com.baidu.hugegraph.backend.serializer.BytesBuffer;
+import com.baidu.hugegraph.iterator.Metadatable;
+import com.baidu.hugegraph.type.define.Directions;
+import com.baidu.hugegraph.util.Bytes;
+import com.baidu.hugegraph.util.StringEncoding;
+
+/**
+ * Produce the vertices of k-out/k-neighbor while expanding the last layer,
+ * instead of collecting all of them before returning. The vertices known
+ * before the last layer (for k-neighbor) are produced first, then the
+ * adjacent vertices of the previous layer one by one.
+ *
+ * The page returned by {@link #metadata(String, Object...)} records the
+ * position of the next vertex to be produced, which is the vertex of the
+ * known list or the previous layer and the number of adjacent vertices
+ * visited of it, both lists are sorted to keep the position stable across
+ * requests. NOTE: the vertices are deduplicated only within a page, so a
+ * vertex reached from multiple vertices of the previous layer may appear
+ * in more than one page.
+ */
+public class KoutIterator implements CloseableIterator<Id>, Metadatable {
+
+    private static final byte PHASE_KNOWN = 0x00;
+    private static final byte PHASE_LAST_LAYER = 0x01;
+
+    private static final Comparator<Id> ID_ORDER = (id1, id2) -> {
+        int cmp = id1.type().compareTo(id2.type());
+        return cmp != 0 ? cmp : id1.compareTo(id2);
+    };
+
+    private final HugeTraverser traverser;
+    private final List<Id> known;
+    private final List<Id> previous;
+    private final Set<Id> excluded;
+    private final Directions direction;
+    private final Id label;
+    private final long degree;
+    private final long limit;
+
+    private final Set<Id> produced;
+    private int knownIndex;
+    private int previousIndex;
+    private int skipped;
+    private Iterator<Iterator<Id>> adjacencies;
+    private Iterator<Id> adjacent;
+    private int visited;
+    private Id next;
+    private long count;
+
+    /**
+     * @param traverser the traverser to query adjacent vertices
+     * @param known the vertices produced before the last layer
+     * @param previous the vertices of the layer before the last layer
+     * @param excluded the vertices excluded from the last layer, or null
+     * @param direction the direction of edges
+     * @param label the edge label id, null means all edge labels
+     * @param degree the max number of edges visited of each vertex
+     * @param limit the max number of vertices produced
+     * @param page the page to start from, null or empty for the first page
+     */
+    public KoutIterator(HugeTraverser traverser, Collection<Id> known,
+                        Collection<Id> previous, Set<Id> excluded,
+                        Directions direction, Id label,
+                        long degree, long limit, String page) {
+        this.traverser = traverser;
+        this.known = sort(known);
+        this.previous = sort(previous);
+        this.excluded = excluded;
+        this.direction = direction;
+        this.label = label;
+        this.degree = degree;
+        this.limit = limit;
+
+        this.produced = HugeTraverser.newIdSet();
+        this.knownIndex = 0;
+        this.previousIndex = 0;
+        this.skipped = 0;
+        this.adjacencies = null;
+        this.adjacent = null;
+        this.visited = 0;
+        this.next = null;
+        this.count = 0L;
+
+        if (page != null && !page.isEmpty()) {
+            this.seek(page);
+        }
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (this.next != null) {
+            return true;
+        }
+        if (this.limit != HugeTraverser.NO_LIMIT && this.count >= this.limit) {
+            return false;
+        }
+        this.next = this.fetch();
+        return this.next != null;
+    }
+
+    @Override
+    public Id next() {
+        if (!this.hasNext()) {
+            throw new NoSuchElementException();
+        }
+        Id id = this.next;
+        this.next = null;
+        this.count++;
+        return id;
+    }
+
+    @Override
+    public void close() {
+        CloseableIterator.closeIterator(this.adjacent);
+        CloseableIterator.closeIterator(this.adjacencies);
+    }
+
+    @Override
+    public Object metadata(String meta, Object... args) {
+        if (PageInfo.PAGE.equals(meta)) {
+            return this.page();
+        }
+        throw new HugeException("Invalid metadata '%s'", meta);
+    }
+
+    private Id fetch() {
+        if (this.knownIndex < this.known.size()) {
+            Id id = this.known.get(this.knownIndex++);
+            this.produced.add(id);
+            return id;
+        }
+
+        while (this.previousIndex < this.previous.size()) {
+            if (this.adjacent == null) {
+                this.adjacent = this.adjacencies().next();
+                this.visited = 0;
+                // Skip the adjacent vertices produced by previous page
+                for (; this.skipped > 0 && this.adjacent.hasNext();
+                     this.skipped--) {
+                    this.adjacent.next();
+                    this.visited++;
+                }
+                this.skipped = 0;
+            }
+            while (this.adjacent.hasNext()) {
+                Id target = this.adjacent.next();
+                this.visited++;
+                if (this.excluded != null && this.excluded.contains(target)) {
+                    continue;
+                }
+                if (this.produced.add(target)) {
+                    return target;
+                }
+            }
+            CloseableIterator.closeIterator(this.adjacent);
+            this.adjacent = null;
+            this.previousIndex++;
+        }
+        return null;
+    }
+
+    private Iterator<Iterator<Id>> adjacencies() {
+        if (this.adjacencies == null) {
+            List<Id> sources = this.previous.subList(this.previousIndex,
+                                                     this.previous.size());
+            this.adjacencies = this.traverser.adjacencies(
+                               sources.iterator(), source -> {
+                return this.traverser.adjacentVertices(source, this.direction,
+                                                       this.label,
+                                                       this.degree);
+            });
+        }
+        return this.adjacencies;
+    }
+
+    private String page() {
+        byte phase;
+        Id position;
+        int offset = 0;
+        if (this.knownIndex < this.known.size()) {
+            phase = PHASE_KNOWN;
+            position = this.known.get(this.knownIndex);
+        } else if (this.previousIndex < this.previous.size()) {
+            phase = PHASE_LAST_LAYER;
+            position = this.previous.get(this.previousIndex);
+            offset = this.adjacent == null ? this.skipped : this.visited;
+        } else {
+            // No more vertices
+            return null;
+        }
+        BytesBuffer buffer = BytesBuffer.allocate(BytesBuffer.BUF_EDGE_ID);
+        buffer.write(phase);
+        buffer.writeId(position);
+        buffer.writeVInt(offset);
+        return StringEncoding.encodeBase64(buffer.bytes());
+    }
+
+    private void seek(String page) {
+        byte[] bytes;
+        try {
+            bytes = StringEncoding.decodeBase64(page);
+        } catch (Exception e) {
+            throw new HugeException("Invalid page: '%s'", e, page);
+        }
+
+        byte phase;
+        Id position;
+        int offset;
+        try {
+            BytesBuffer buffer = BytesBuffer.wrap(bytes);
+            phase = buffer.read();
+            position = buffer.readId();
+            offset = buffer.readVInt();
+        } catch (Exception e) {
+            throw new HugeException("Invalid page: '0x%s'",
+                                    e, Bytes.toHex(bytes));
+        }
+
+        if (phase == PHASE_KNOWN) {
+            this.knownIndex = indexOf(this.known, position);
+        } else if (phase == PHASE_LAST_LAYER) {
+            this.knownIndex = this.known.size();
+            int index = Collections.binarySearch(this.previous, position,
+                                                 ID_ORDER);
+            if (index >= 0) {
+                this.previousIndex = index;
+                this.skipped = offset;
+            } else {
+                // The vertex has gone, start from the vertex after it
+                this.previousIndex = -index - 1;
+            }
+        } else {
+            throw new HugeException("Invalid page phase: %s", phase);
+        }
+    }
+
+    private static int indexOf(List<Id> ids, Id id) {
+        int index = Collections.binarySearch(ids, id, ID_ORDER);
+        return index >= 0 ? index : -index - 1;
+    }
+
+    private static List<Id> sort(Collection<Id> ids) {
+        List<Id> list = new ArrayList<>(ids);
+        list.sort(ID_ORDER);
+        return list;
+    }
+}
@@ -208,10 +208,10 @@ public class NeighborRankTraverser extends HugeTraverser {
         for (Adjacencies adjacenciesV : adjacencies) {
             Id source = adjacenciesV.source();
             long degree = adjacenciesV.degree();
+            double incr = lastLayerRanks.get(source) * this.alpha / degree;
             for (Node node : adjacenciesV.nodes()) {
                 double rank = newLayerRanks.getOrDefault(node.id(), 0.0);
-                rank += (lastLayerRanks.get(source) * this.alpha / degree);
-                newLayerRanks.put(node.id(), rank);
+                newLayerRanks.put(node.id(), rank + incr);
             }
         }
         return newLayerRanks;
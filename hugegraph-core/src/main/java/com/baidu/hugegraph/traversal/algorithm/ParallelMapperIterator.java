@@ -0,0 +1,167 @@
+/*
+ * Copyright 2017 HugeGraph Authors
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with this
+ * work for additional information regarding copyright ownership. The ASF
+ * licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.baidu.hugegraph.traversal.algorithm;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.function.Function;
+
+import org.apache.tinkerpop.gremlin.structure.util.CloseableIterator;
+
+import com.baidu.hugegraph.HugeException;
+import com.baidu.hugegraph.util.E;
+
+/**
+ * Map each element of the origin iterator in the executor, at most
+ * `parallelism` batches are mapped at the same time, and the results are
+ * returned in the same order as the origin elements.
+ * NOTE: the origin iterator is only consumed by the caller thread, and the
+ * mapper should return a fully materialized result because the backend
+ * iterators are bound to the thread creating them.
+ * The finisher is called by the worker thread once a batch is mapped, it's
+ * used to release the resources of the worker, like the transaction.
+ */
+public class ParallelMapperIterator<T, R> implements CloseableIterator<R> {
+
+    private final Iterator<T> origin;
+    private final Function<T, R> mapper;
+    private final ExecutorService executor;
+    private final int parallelism;
+    private final int batchSize;
+    private final Runnable finisher;
+    private final Deque<Future<List<R>>> futures;
+    private Iterator<R> batch;
+    private boolean closed;
+
+    public ParallelMapperIterator(Iterator<T> origin, Function<T, R> mapper,
+                                  ExecutorService executor, int parallelism) {
+        this(origin, mapper, executor, parallelism, 1, () -> {});
+    }
+
+    public ParallelMapperIterator(Iterator<T> origin, Function<T, R> mapper,
+                                  ExecutorService executor, int parallelism,
+                                  int batchSize, Runnable finisher) {
+        E.checkNotNull(origin, "origin");
+        E.checkNotNull(mapper, "mapper");
+        E.checkNotNull(executor, "executor");
+        E.checkNotNull(finisher, "finisher");
+        E.checkArgument(parallelism > 0,
+                        "The parallelism must be > 0, but got %s",
+                        parallelism);
+        E.checkArgument(batchSize > 0,
+                        "The batch size must be > 0, but got %s",
+                        batchSize);
+        this.origin = origin;
+        this.mapper = mapper;
+        this.executor = executor;
+        this.parallelism = parallelism;
+        this.batchSize = batchSize;
+        this.finisher = finisher;
+        this.futures = new ArrayDeque<>(parallelism);
+        this.batch = null;
+        this.closed = false;
+    }
+
+    @Override
+    public boolean hasNext() {
+        while (this.batch == null || !this.batch.hasNext()) {
+            this.submitIfNeeded();
+            if (this.futures.isEmpty()) {
+                return false;
+            }
+            this.batch = this.waitFirst().iterator();
+        }
+        return true;
+    }
+
+    @Override
+    public R next() {
+        if (!this.hasNext()) {
+            throw new NoSuchElementException();
+        }
+        return this.batch.next();
+    }
+
+    @Override
+    public void close() {
+        this.closed = true;
+        this.batch = null;
+        // Don't interrupt the running tasks, which may be accessing backend
+        for (Future<List<R>> future : this.futures) {
+            future.cancel(false);
+        }
+        this.futures.clear();
+        CloseableIterator.closeIterator(this.origin);
+    }
+
+    private List<R> waitFirst() {
+        Future<List<R>> future = this.futures.removeFirst();
+        List<R> results;
+        try {
+            results = future.get();
+        } catch (InterruptedException e) {
+            this.close();
+            throw new HugeException("Interrupted while traversing", e);
+        } catch (ExecutionException e) {
+            this.close();
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new HugeException("Failed to traverse", cause);
+        }
+        // Submit the next batch before the caller consumes this one
+        this.submitIfNeeded();
+        return results;
+    }
+
+    private void submitIfNeeded() {
+        while (!this.closed && this.futures.size() < this.parallelism &&
+               this.origin.hasNext()) {
+            List<T> elements = new ArrayList<>(this.batchSize);
+            do {
+                elements.add(this.origin.next());
+            } while (elements.size() < this.batchSize &&
+                     this.origin.hasNext());
+            this.futures.addLast(this.executor.submit(() -> {
+                return this.map(elements);
+            }));
+        }
+    }
+
+    private List<R> map(List<T> elements) {
+        try {
+            List<R> results = new ArrayList<>(elements.size());
+            for (T element : elements) {
+                results.add(this.mapper.apply(element));
+            }
+            return results;
+        } finally {
+            this.finisher.run();
+        }
+    }
+}
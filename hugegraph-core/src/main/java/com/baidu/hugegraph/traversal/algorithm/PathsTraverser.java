@@ -69,16 +69,18 @@ public class PathsTraverser extends HugeTraverser {
             if (--depth < 0 || traverser.reachLimit()) {
                 break;
             }
-            List<Path> foundPaths = traverser.forward(sourceDir);
-            paths.addAll(foundPaths);
-
-            if (--depth < 0 || traverser.reachLimit()) {
-                break;
-            }
-            foundPaths = traverser.backward(targetDir);
-            for (Path path : foundPaths) {
-                path.reverse();
-                paths.add(path);
+            /*
+             * Expand the side which is cheaper to expand, all the paths
+             * within max depth are still found since any path can be split
+             * into the parts of both sides by the depth searched of each
+             */
+            if (traverser.forwardFirst(sourceDir, targetDir)) {
+                paths.addAll(traverser.forward(sourceDir));
+            } else {
+                for (Path path : traverser.backward(targetDir)) {
+                    path.reverse();
+                    paths.add(path);
+                }
             }
         }
         return paths;
@@ -96,6 +98,7 @@ public class PathsTraverser extends HugeTraverser {
         private final long capacity;
         private final long limit;
         private long count;
+        private boolean lastForward;
 
         public Traverser(Id sourceV, Id targetV, Id label,
                          long degree, long capacity, long limit) {
@@ -108,6 +111,22 @@ public class PathsTraverser extends HugeTraverser {
             this.capacity = capacity;
             this.limit = limit;
             this.count = 0L;
+            this.lastForward = false;
+        }
+
+        /**
+         * Check whether to search forward or backward by the estimated cost
+         * of expanding the sources and targets, alternate if equal
+         */
+        public boolean forwardFirst(Directions sourceDir,
+                                    Directions targetDir) {
+            long forwardCost = expansionCost(this.sources.keySet(), sourceDir,
+                                             this.label, this.degree);
+            long backwardCost = expansionCost(this.targets.keySet(), targetDir,
+                                              this.label, this.degree);
+            this.lastForward = forwardCost < backwardCost ||
+                               forwardCost == backwardCost && !this.lastForward;
+            return this.lastForward;
         }
 
         /**
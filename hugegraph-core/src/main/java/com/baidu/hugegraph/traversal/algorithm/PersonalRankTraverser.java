@@ -19,13 +19,14 @@
 
 package com.baidu.hugegraph.traversal.algorithm;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
 import java.util.HashMap;
-import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
-import java.util.function.BiFunction;
 
 import org.apache.tinkerpop.gremlin.util.iterator.IteratorUtils;
 
@@ -39,6 +40,9 @@ import com.baidu.hugegraph.util.E;
 
 public class PersonalRankTraverser extends HugeTraverser {
 
+    // The max number of edges memoized for a request, about 4 bytes per edge
+    private static final long MAX_CACHED_EDGES = 1000 * 1000 * 10L;
+
     private final double alpha;
     private final long degree;
     private final int maxDepth;
@@ -56,84 +60,102 @@ public class PersonalRankTraverser extends HugeTraverser {
         E.checkArgumentNotNull(source, "The source vertex id can't be null");
         E.checkArgumentNotNull(label, "The edge label can't be null");
 
-        Map<Id, Double> ranks = new HashMap<>();
-        ranks.put(source, 1.0);
-
         Id labelId = this.graph().edgeLabel(label).id();
-        Directions dir = this.getStartDirection(source, label);
+        LocalGraph graph = new LocalGraph(labelId);
+        return this.personalRank(graph, source, label, withLabel);
+    }
 
-        Set<Id> outSeeds = new HashSet<>();
-        Set<Id> inSeeds = new HashSet<>();
-        if (dir == Directions.OUT) {
-            outSeeds.add(source);
-        } else {
-            inSeeds.add(source);
+    /**
+     * Get the personal rank of multiple sources, all the sources share the
+     * visited vertices and the memoized adjacencies of each layer, so the
+     * adjacent vertices of a vertex reached by many sources are queried once
+     * @return the personal rank of each source
+     */
+    public Map<Id, Map<Id, Double>> personalRank(Set<Id> sources, String label,
+                                                 WithLabel withLabel) {
+        E.checkArgument(sources != null && !sources.isEmpty(),
+                        "The source vertices can't be empty");
+        E.checkArgumentNotNull(label, "The edge label can't be null");
+
+        Id labelId = this.graph().edgeLabel(label).id();
+        LocalGraph graph = new LocalGraph(labelId);
+        Map<Id, Map<Id, Double>> results = new HashMap<>();
+        for (Id source : sources) {
+            E.checkArgumentNotNull(source,
+                                   "The source vertex id can't be null");
+            results.put(source, this.personalRank(graph, source, label,
+                                                  withLabel));
         }
+        return results;
+    }
+
+    private Map<Id, Double> personalRank(LocalGraph graph, Id source,
+                                         String label, WithLabel withLabel) {
+        Directions dir = this.getStartDirection(source, label);
+        int root = graph.add(source, dir == Directions.OUT);
 
-        Set<Id> rootAdjacencies = new HashSet<>();
+        // The graph may be shared with other sources, and root may not be 0
+        double[] ranks = new double[root + 1];
+        ranks[root] = 1.0;
+        BitSet rootAdjacencies = new BitSet();
         for (long i = 0; i < this.maxDepth; i++) {
-            Map<Id, Double> newRanks = this.calcNewRanks(outSeeds, inSeeds,
-                                                         labelId, ranks);
-            ranks = this.compensateRoot(source, newRanks);
+            ranks = this.calcNewRanks(graph, ranks);
+            // Compensate root
+            ranks[root] += (1 - this.alpha);
             if (i == 0) {
-                rootAdjacencies.addAll(ranks.keySet());
+                for (int v = 0; v < ranks.length; v++) {
+                    if (ranks[v] != 0.0) {
+                        rootAdjacencies.set(v);
+                    }
+                }
             }
         }
-        // Remove directly connected neighbors
-        removeAll(ranks, rootAdjacencies);
-        // Remove unnecessary label
-        if (withLabel == WithLabel.SAME_LABEL) {
-            removeAll(ranks, dir == Directions.OUT ? inSeeds : outSeeds);
-        } else if (withLabel == WithLabel.OTHER_LABEL) {
-            removeAll(ranks, dir == Directions.OUT ? outSeeds : inSeeds);
+
+        Map<Id, Double> results = new HashMap<>();
+        for (int v = 0; v < ranks.length; v++) {
+            if (ranks[v] == 0.0) {
+                continue;
+            }
+            // Remove directly connected neighbors
+            if (rootAdjacencies.get(v)) {
+                continue;
+            }
+            // Remove unnecessary label
+            boolean sameLabel = graph.outSide(v) == graph.outSide(root);
+            if ((withLabel == WithLabel.SAME_LABEL && !sameLabel) ||
+                (withLabel == WithLabel.OTHER_LABEL && sameLabel)) {
+                continue;
+            }
+            results.put(graph.id(v), ranks[v]);
         }
-        return ranks;
+        return results;
     }
 
-    private Map<Id, Double> calcNewRanks(Set<Id> outSeeds, Set<Id> inSeeds,
-                                         Id label, Map<Id, Double> ranks) {
-        Map<Id, Double> newRanks = new HashMap<>();
-        BiFunction<Set<Id>, Directions, Set<Id>> neighborIncrRanks;
-        neighborIncrRanks = (seeds, dir) -> {
-            Set<Id> tmpSeeds = new HashSet<>();
-            for (Id seed : seeds) {
-                Double oldRank = ranks.get(seed);
-                E.checkState(oldRank != null, "Expect rank of seed exists");
-
-                Iterator<Id> iter = this.adjacentVertices(seed, dir, label,
-                                                          this.degree);
-                List<Id> neighbors = IteratorUtils.list(iter);
-
-                long degree = neighbors.size();
-                if (degree == 0L) {
-                    newRanks.put(seed, oldRank);
-                    continue;
-                }
-                double incrRank = oldRank * this.alpha / degree;
-
-                // Collect all neighbors increment
-                for (Id neighbor : neighbors) {
-                    tmpSeeds.add(neighbor);
-                    // Assign an initial value when firstly update neighbor rank
-                    double rank = newRanks.getOrDefault(neighbor, 0.0);
-                    newRanks.put(neighbor, rank + incrRank);
-                }
+    private double[] calcNewRanks(LocalGraph graph, double[] ranks) {
+        // All visited vertices are seeds, new vertices may be added to graph
+        int seeds = graph.size();
+        double[] newRanks = new double[seeds];
+        for (int seed = 0; seed < seeds; seed++) {
+            double oldRank = seed < ranks.length ? ranks[seed] : 0.0;
+            if (oldRank == 0.0) {
+                continue;
             }
-            return tmpSeeds;
-        };
-
-        Set<Id> tmpInSeeds = neighborIncrRanks.apply(outSeeds, Directions.OUT);
-        Set<Id> tmpOutSeeds = neighborIncrRanks.apply(inSeeds, Directions.IN);
 
-        outSeeds.addAll(tmpOutSeeds);
-        inSeeds.addAll(tmpInSeeds);
-        return newRanks;
-    }
+            int[] neighbors = graph.adjacency(seed);
+            if (neighbors.length == 0) {
+                newRanks[seed] += oldRank;
+                continue;
+            }
+            double incrRank = oldRank * this.alpha / neighbors.length;
 
-    private Map<Id, Double> compensateRoot(Id root, Map<Id, Double> newRanks) {
-        double rank = newRanks.getOrDefault(root, 0.0);
-        rank += (1 - this.alpha);
-        newRanks.put(root, rank);
+            // Collect all neighbors increment
+            for (int neighbor : neighbors) {
+                if (neighbor >= newRanks.length) {
+                    newRanks = Arrays.copyOf(newRanks, graph.size());
+                }
+                newRanks[neighbor] += incrRank;
+            }
+        }
         return newRanks;
     }
 
@@ -159,9 +181,78 @@ public class PersonalRankTraverser extends HugeTraverser {
         }
     }
 
-    private static void removeAll(Map<Id, Double> map, Set<Id> keys) {
-        for (Id key : keys) {
-            map.remove(key);
+    /**
+     * The local dictionary of visited vertices, vertices are indexed in the
+     * visited order, and the adjacency of each vertex is memoized as an array
+     * of neighbor indexes since it never changes during the iterations
+     */
+    private class LocalGraph {
+
+        private final Id label;
+        private final Map<Id, Integer> indexes;
+        private final List<Id> ids;
+        // Vertices of the source side of the edge label, start with OUT
+        private final BitSet outSide;
+        private final List<int[]> adjacencies;
+        private long cachedEdges;
+
+        public LocalGraph(Id label) {
+            this.label = label;
+            this.indexes = new HashMap<>();
+            this.ids = new ArrayList<>();
+            this.outSide = new BitSet();
+            this.adjacencies = new ArrayList<>();
+            this.cachedEdges = 0L;
+        }
+
+        public int size() {
+            return this.ids.size();
+        }
+
+        public Id id(int vertex) {
+            return this.ids.get(vertex);
+        }
+
+        public boolean outSide(int vertex) {
+            return this.outSide.get(vertex);
+        }
+
+        public int add(Id id, boolean outSide) {
+            Integer index = this.indexes.get(id);
+            if (index != null) {
+                return index;
+            }
+            index = this.ids.size();
+            this.indexes.put(id, index);
+            this.ids.add(id);
+            this.outSide.set(index, outSide);
+            this.adjacencies.add(null);
+            return index;
+        }
+
+        public int[] adjacency(int vertex) {
+            int[] neighbors = this.adjacencies.get(vertex);
+            if (neighbors != null) {
+                return neighbors;
+            }
+
+            boolean out = this.outSide(vertex);
+            Directions dir = out ? Directions.OUT : Directions.IN;
+            Iterator<Id> iter = adjacentVertices(this.id(vertex), dir,
+                                                 this.label, degree);
+            List<Id> vertices = IteratorUtils.list(iter);
+            neighbors = new int[vertices.size()];
+            for (int i = 0; i < neighbors.length; i++) {
+                // The neighbors are at the other side of the edge label
+                neighbors[i] = this.add(vertices.get(i), !out);
+            }
+
+            // Spill the adjacency (query again when needed) if too many
+            if (this.cachedEdges + neighbors.length <= MAX_CACHED_EDGES) {
+                this.cachedEdges += neighbors.length;
+                this.adjacencies.set(vertex, neighbors);
+            }
+            return neighbors;
         }
     }
 
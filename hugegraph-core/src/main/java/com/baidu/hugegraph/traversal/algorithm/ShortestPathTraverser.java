@@ -19,15 +19,17 @@
 
 package com.baidu.hugegraph.traversal.algorithm;
 
-import java.util.Collections;
 import java.util.Iterator;
 import java.util.Map;
 
 import org.apache.tinkerpop.gremlin.structure.Edge;
+import org.apache.tinkerpop.gremlin.structure.util.CloseableIterator;
 import org.apache.tinkerpop.gremlin.util.iterator.IteratorUtils;
 
 import com.baidu.hugegraph.HugeGraph;
+import com.baidu.hugegraph.backend.cache.DegreeCache;
 import com.baidu.hugegraph.backend.id.Id;
+import com.baidu.hugegraph.iterator.MapperIterator;
 import com.baidu.hugegraph.structure.HugeEdge;
 import com.baidu.hugegraph.type.define.Directions;
 import com.baidu.hugegraph.util.E;
@@ -60,19 +62,11 @@ public class ShortestPathTraverser extends HugeTraverser {
         PathSet paths;
         while (true) {
             // Found, reach max depth or reach capacity, stop searching
-            if (!(paths = traverser.forward(false)).isEmpty() ||
+            if (!(paths = traverser.traverse(false)).isEmpty() ||
                 --depth <= 0) {
                 break;
             }
             checkCapacity(traverser.capacity, traverser.size, "shortest path");
-
-            if (!(paths = traverser.backward(false)).isEmpty() ||
-                --depth <= 0) {
-                Path path = paths.iterator().next();
-                Collections.reverse(path.vertices());
-                break;
-            }
-            checkCapacity(traverser.capacity, traverser.size, "shortest path");
         }
         return paths.isEmpty() ? Path.EMPTY_PATH : paths.iterator().next();
     }
@@ -99,20 +93,11 @@ public class ShortestPathTraverser extends HugeTraverser {
                                             degree, skipDegree, capacity);
         while (true) {
             // Found, reach max depth or reach capacity, stop searching
-            if (!(paths = traverser.forward(true)).isEmpty() ||
+            if (!(paths = traverser.traverse(true)).isEmpty() ||
                 --depth <= 0) {
                 break;
             }
             checkCapacity(traverser.capacity, traverser.size, "shortest path");
-
-            if (!(paths = traverser.backward(true)).isEmpty() ||
-                --depth <= 0) {
-                for (Path path : paths) {
-                    Collections.reverse(path.vertices());
-                }
-                break;
-            }
-            checkCapacity(traverser.capacity, traverser.size, "shortest path");
         }
         return paths;
     }
@@ -129,6 +114,7 @@ public class ShortestPathTraverser extends HugeTraverser {
         private final long skipDegree;
         private final long capacity;
         private long size;
+        private boolean lastForward;
 
         public Traverser(Id sourceV, Id targetV, Directions dir, Id label,
                          long degree, long skipDegree, long capacity) {
@@ -140,6 +126,38 @@ public class ShortestPathTraverser extends HugeTraverser {
             this.skipDegree = skipDegree;
             this.capacity = capacity;
             this.size = 0L;
+            this.lastForward = false;
+        }
+
+        /**
+         * Search one more step from the side which is cheaper to expand,
+         * the paths found are always from source to target. The shortest
+         * paths are still found at the first crosspoint because the sum of
+         * the depths of both sides grows by one for each step, no matter
+         * which side is expanded.
+         */
+        public PathSet traverse(boolean all) {
+            long forwardCost = expansionCost(this.sources.keySet(),
+                                             this.direction, this.label,
+                                             this.degree);
+            long backwardCost = expansionCost(this.targets.keySet(),
+                                              this.direction.opposite(),
+                                              this.label, this.degree);
+            // Alternate the sides if the costs are equal
+            boolean forward = forwardCost < backwardCost ||
+                              forwardCost == backwardCost && !this.lastForward;
+            this.lastForward = forward;
+            if (forward) {
+                return this.forward(all);
+            }
+
+            // Rehash the paths after reversed
+            PathSet paths = new PathSet();
+            for (Path path : this.backward(all)) {
+                path.reverse();
+                paths.add(path);
+            }
+            return paths;
         }
 
         /**
@@ -148,41 +166,46 @@ public class ShortestPathTraverser extends HugeTraverser {
         public PathSet forward(boolean all) {
             PathSet paths = new PathSet();
             Map<Id, Node> newVertices = newMap();
-            long degree = this.skipDegree > 0L ? this.skipDegree : this.degree;
             // Traversal vertices of previous level
-            for (Node v : this.sources.values()) {
-                Iterator<Edge> edges = edgesOfVertex(v.id(), this.direction,
-                                                     this.label, degree);
-                edges = skipSuperNodeIfNeeded(edges, this.degree,
-                                              this.skipDegree);
-                while (edges.hasNext()) {
-                    HugeEdge edge = (HugeEdge) edges.next();
-                    Id target = edge.id().otherVertexId();
-
-                    // If cross point exists, shortest path found, concat them
-                    if (this.targets.containsKey(target)) {
-                        if (this.superNode(target, this.direction)) {
-                            continue;
-                        }
-                        paths.add(new Path(
-                                  v.joinPath(this.targets.get(target))));
-                        if (!all) {
-                            return paths;
+            Iterator<Node> nodes = this.sources.values().iterator();
+            Iterator<Iterator<Id>> adjacencies = adjacencies(
+                                   this.sources.values().iterator(), v -> {
+                return this.neighbors(v.id(), this.direction);
+            });
+            try {
+                while (nodes.hasNext()) {
+                    Node v = nodes.next();
+                    Iterator<Id> adjacent = adjacencies.next();
+                    while (adjacent.hasNext()) {
+                        Id target = adjacent.next();
+
+                        // If cross point exists, shortest path found, concat
+                        if (this.targets.containsKey(target)) {
+                            if (this.superNode(target, this.direction)) {
+                                continue;
+                            }
+                            paths.add(new Path(
+                                      v.joinPath(this.targets.get(target))));
+                            if (!all) {
+                                return paths;
+                            }
                         }
-                    }
 
-                    /*
-                     * Not found shortest path yet, node is added to
-                     * newVertices if:
-                     * 1. not in sources and newVertices yet
-                     * 2. path of node doesn't have loop
-                     */
-                    if (!newVertices.containsKey(target) &&
-                        !this.sources.containsKey(target) &&
-                        !v.contains(target)) {
-                        newVertices.put(target, new Node(target, v));
+                        /*
+                         * Not found shortest path yet, node is added to
+                         * newVertices if:
+                         * 1. not in sources and newVertices yet
+                         * 2. path of node doesn't have loop
+                         */
+                        if (!newVertices.containsKey(target) &&
+                            !this.sources.containsKey(target) &&
+                            !v.contains(target)) {
+                            newVertices.put(target, new Node(target, v));
+                        }
                     }
                 }
+            } finally {
+                CloseableIterator.closeIterator(adjacencies);
             }
 
             // Re-init sources
@@ -198,42 +221,47 @@ public class ShortestPathTraverser extends HugeTraverser {
         public PathSet backward(boolean all) {
             PathSet paths = new PathSet();
             Map<Id, Node> newVertices = newMap();
-            long degree = this.skipDegree > 0L ? this.skipDegree : this.degree;
             Directions opposite = this.direction.opposite();
             // Traversal vertices of previous level
-            for (Node v : this.targets.values()) {
-                Iterator<Edge> edges = edgesOfVertex(v.id(), opposite,
-                                                     this.label, degree);
-                edges = skipSuperNodeIfNeeded(edges, this.degree,
-                                              this.skipDegree);
-                while (edges.hasNext()) {
-                    HugeEdge edge = (HugeEdge) edges.next();
-                    Id target = edge.id().otherVertexId();
-
-                    // If cross point exists, shortest path found, concat them
-                    if (this.sources.containsKey(target)) {
-                        if (this.superNode(target, opposite)) {
-                            continue;
-                        }
-                        paths.add(new Path(
-                                  v.joinPath(this.sources.get(target))));
-                        if (!all) {
-                            return paths;
+            Iterator<Node> nodes = this.targets.values().iterator();
+            Iterator<Iterator<Id>> adjacencies = adjacencies(
+                                   this.targets.values().iterator(), v -> {
+                return this.neighbors(v.id(), opposite);
+            });
+            try {
+                while (nodes.hasNext()) {
+                    Node v = nodes.next();
+                    Iterator<Id> adjacent = adjacencies.next();
+                    while (adjacent.hasNext()) {
+                        Id target = adjacent.next();
+
+                        // If cross point exists, shortest path found, concat
+                        if (this.sources.containsKey(target)) {
+                            if (this.superNode(target, opposite)) {
+                                continue;
+                            }
+                            paths.add(new Path(
+                                      v.joinPath(this.sources.get(target))));
+                            if (!all) {
+                                return paths;
+                            }
                         }
-                    }
 
-                    /*
-                     * Not found shortest path yet, node is added to
-                     * newVertices if:
-                     * 1. not in targets and newVertices yet
-                     * 2. path of node doesn't have loop
-                     */
-                    if (!newVertices.containsKey(target) &&
-                        !this.targets.containsKey(target) &&
-                        !v.contains(target)) {
-                        newVertices.put(target, new Node(target, v));
+                        /*
+                         * Not found shortest path yet, node is added to
+                         * newVertices if:
+                         * 1. not in targets and newVertices yet
+                         * 2. path of node doesn't have loop
+                         */
+                        if (!newVertices.containsKey(target) &&
+                            !this.targets.containsKey(target) &&
+                            !v.contains(target)) {
+                            newVertices.put(target, new Node(target, v));
+                        }
                     }
                 }
+            } finally {
+                CloseableIterator.closeIterator(adjacencies);
             }
 
             // Re-init targets
@@ -243,13 +271,34 @@ public class ShortestPathTraverser extends HugeTraverser {
             return paths;
         }
 
+        private Iterator<Id> neighbors(Id source, Directions direction) {
+            Iterator<Edge> edges = edgesOfVertex(source, direction,
+                                                 this.label, this.degree,
+                                                 this.skipDegree);
+            return new MapperIterator<>(edges, e -> {
+                return ((HugeEdge) e).id().otherVertexId();
+            });
+        }
+
         private boolean superNode(Id vertex, Directions direction) {
             if (this.skipDegree <= 0L) {
                 return false;
             }
+            if (ShortestPathTraverser.this.superNode(vertex, direction,
+                                                     this.label,
+                                                     this.skipDegree)) {
+                return true;
+            }
+            if (degree(vertex, direction, this.label) != DegreeCache.UNKNOWN) {
+                // The exact degree is known and less than skipped degree
+                return false;
+            }
             Iterator<Edge> edges = edgesOfVertex(vertex, direction,
                                                  this.label, this.skipDegree);
-            return IteratorUtils.count(edges) >= this.skipDegree;
+            long count = IteratorUtils.count(edges);
+            recordDegree(vertex, direction, this.label, count,
+                         count < this.skipDegree);
+            return count >= this.skipDegree;
         }
     }
 }
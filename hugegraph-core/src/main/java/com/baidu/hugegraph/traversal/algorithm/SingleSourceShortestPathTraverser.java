@@ -19,11 +19,9 @@
 
 package com.baidu.hugegraph.traversal.algorithm;
 
-import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
-import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
@@ -31,7 +29,6 @@ import org.apache.tinkerpop.gremlin.structure.Edge;
 
 import com.baidu.hugegraph.HugeGraph;
 import com.baidu.hugegraph.backend.id.Id;
-import com.baidu.hugegraph.backend.query.QueryResults;
 import com.baidu.hugegraph.structure.HugeEdge;
 import com.baidu.hugegraph.type.define.Directions;
 import com.baidu.hugegraph.util.CollectionUtil;
@@ -131,12 +128,11 @@ public class SingleSourceShortestPathTraverser extends HugeTraverser {
          * Search forward from source
          */
         public void forward() {
-            long degree = this.skipDegree > 0L ? this.skipDegree : this.degree;
             for (NodeWithWeight node : this.sources) {
                 Iterator<Edge> edges = edgesOfVertex(node.node().id(),
                                                      this.direction,
-                                                     this.label, degree);
-                edges = this.skipSuperNodeIfNeeded(edges);
+                                                     this.label, this.degree,
+                                                     this.skipDegree);
                 while (edges.hasNext()) {
                     HugeEdge edge = (HugeEdge) edges.next();
                     Id target = edge.id().otherVertexId();
@@ -210,24 +206,6 @@ public class SingleSourceShortestPathTraverser extends HugeTraverser {
             }
             return edgeWeight;
         }
-
-        private Iterator<Edge> skipSuperNodeIfNeeded(Iterator<Edge> edges) {
-            if (this.skipDegree <= 0L) {
-                return edges;
-            }
-            List<Edge> edgeList = new ArrayList<>();
-            int count = 0;
-            while (edges.hasNext()) {
-                if (count < this.degree) {
-                    edgeList.add(edges.next());
-                }
-                if (count >= this.skipDegree) {
-                    return QueryResults.emptyIterator();
-                }
-                count++;
-            }
-            return edgeList.iterator();
-        }
     }
 
     public static class NodeWithWeight implements Comparable<NodeWithWeight> {
@@ -22,8 +22,12 @@ package com.baidu.hugegraph.traversal.optimize;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.function.Function;
 
 import org.apache.tinkerpop.gremlin.process.traversal.Traverser;
 import org.apache.tinkerpop.gremlin.process.traversal.step.map.VertexStep;
@@ -31,6 +35,7 @@ import org.apache.tinkerpop.gremlin.process.traversal.step.util.HasContainer;
 import org.apache.tinkerpop.gremlin.structure.Edge;
 import org.apache.tinkerpop.gremlin.structure.Element;
 import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.apache.tinkerpop.gremlin.structure.util.CloseableIterator;
 import org.apache.tinkerpop.gremlin.structure.util.StringFactory;
 import org.slf4j.Logger;
 
@@ -39,9 +44,16 @@ import com.baidu.hugegraph.backend.id.Id;
 import com.baidu.hugegraph.backend.query.ConditionQuery;
 import com.baidu.hugegraph.backend.query.Query;
 import com.baidu.hugegraph.backend.query.QueryResults;
+import com.baidu.hugegraph.backend.store.BackendFeatures;
 import com.baidu.hugegraph.backend.tx.GraphTransaction;
+import com.baidu.hugegraph.iterator.FlatMapperIterator;
+import com.baidu.hugegraph.iterator.MapperIterator;
+import com.baidu.hugegraph.structure.HugeEdge;
 import com.baidu.hugegraph.type.define.Directions;
+import com.baidu.hugegraph.util.InsertionOrderUtil;
 import com.baidu.hugegraph.util.Log;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Lists;
 
 public final class HugeVertexStep<E extends Element>
              extends VertexStep<E> implements QueryHolder {
@@ -57,6 +69,11 @@ public final class HugeVertexStep<E extends Element>
 
     private Iterator<E> lastTimeResults = QueryResults.emptyIterator();
 
+    // The number of traversers to query adjacent edges at once, -1 means unset
+    private int batchSize = -1;
+    private Iterator<Traverser.Admin<E>> batchResults =
+                                         QueryResults.emptyIterator();
+
     public HugeVertexStep(final VertexStep<E> originVertexStep) {
         super(originVertexStep.getTraversal(),
               originVertexStep.getReturnClass(),
@@ -65,6 +82,32 @@ public final class HugeVertexStep<E extends Element>
         originVertexStep.getLabels().forEach(this::addLabel);
     }
 
+    @Override
+    protected Traverser.Admin<E> processNextStart() {
+        if (this.batchSize() <= 1) {
+            return super.processNextStart();
+        }
+        while (!this.batchResults.hasNext()) {
+            // Throw NoSuchElementException if there is no more traverser
+            this.batchResults = this.flatMapBatch();
+        }
+        return this.batchResults.next();
+    }
+
+    @Override
+    public void reset() {
+        super.reset();
+        this.batchResults = QueryResults.emptyIterator();
+    }
+
+    @Override
+    public HugeVertexStep<E> clone() {
+        @SuppressWarnings("unchecked")
+        HugeVertexStep<E> clone = (HugeVertexStep<E>) super.clone();
+        clone.batchResults = QueryResults.emptyIterator();
+        return clone;
+    }
+
     @SuppressWarnings("unchecked")
     @Override
     protected Iterator<E> flatMap(final Traverser.Admin<Vertex> traverser) {
@@ -170,6 +213,88 @@ public final class HugeVertexStep<E extends Element>
         return edges;
     }
 
+    private Iterator<Traverser.Admin<E>> flatMapBatch() {
+        List<Traverser.Admin<Vertex>> traversers = new ArrayList<>();
+        traversers.add(this.starts.next());
+        while (traversers.size() < this.batchSize && this.starts.hasNext()) {
+            traversers.add(this.starts.next());
+        }
+
+        List<Id> vertices = new ArrayList<>(traversers.size());
+        for (Traverser.Admin<Vertex> traverser : traversers) {
+            vertices.add((Id) traverser.get().id());
+        }
+
+        HugeGraph graph = TraversalUtil.getGraph(this);
+        /*
+         * The owners of multi-owners query are returned in the input order
+         * unless the backend queries them at once and can't sort by input
+         */
+        BackendFeatures features = graph.backendStoreFeatures();
+        boolean ordered = !features.supportsQueryByMultiOwners() ||
+                          features.supportsQuerySortByInputIds();
+        // Query the adjacent edges of all the vertices at once
+        OwnerEdges ownerEdges = new OwnerEdges(vertices, ordered,
+                                               this::edges);
+
+        boolean queryVertex = this.returnsVertex();
+        return new FlatMapperIterator<>(traversers.iterator(), traverser -> {
+            Id vertex = (Id) traverser.get().id();
+            Iterator<Edge> adjacentEdges = ownerEdges.edges(vertex);
+            Iterator<?> results;
+            if (queryVertex) {
+                results = graph.adjacentVertices(adjacentEdges);
+            } else {
+                results = adjacentEdges;
+            }
+            @SuppressWarnings("unchecked")
+            Iterator<E> elements = (Iterator<E>) results;
+            // Split the traverser to keep its bulk and path
+            return new MapperIterator<>(elements, result -> {
+                return traverser.split(result, this);
+            });
+        });
+    }
+
+    private Iterator<Edge> edges(List<Id> vertices) {
+        HugeGraph graph = TraversalUtil.getGraph(this);
+
+        Directions direction = Directions.convert(this.getDirection());
+        Id[] edgeLabels = graph.mapElName2Id(this.getEdgeLabels());
+
+        LOG.debug("HugeVertexStep.edges(): vertices={}, direction={}, " +
+                  "edgeLabels={}", vertices, direction, edgeLabels);
+
+        ConditionQuery query = GraphTransaction.constructEdgesQuery(
+                               vertices, direction, edgeLabels);
+        query = this.injectQueryInfo(query);
+        // The capacity is for the edges of each vertex
+        if (query.capacity() != Query.NO_CAPACITY) {
+            query.capacity(query.capacity() * vertices.size());
+        }
+
+        return graph.edges(query);
+    }
+
+    private int batchSize() {
+        if (this.batchSize < 0) {
+            /*
+             * Query adjacent edges of multi vertices at once only if the
+             * results of each vertex needn't be filtered or limited
+             */
+            Query info = this.queryInfo;
+            if (this.hasContainers.isEmpty() && info.nolimit() &&
+                info.offset() == 0L && !info.paging() &&
+                info.orders().isEmpty()) {
+                this.batchSize = TraversalUtil.getGraph(this)
+                                              .adjacentBatchSize();
+            } else {
+                this.batchSize = 1;
+            }
+        }
+        return this.batchSize;
+    }
+
     @Override
     public String toString() {
         if (this.hasContainers.isEmpty()) {
@@ -214,4 +339,148 @@ public final class HugeVertexStep<E extends Element>
                this.queryInfo.hashCode() ^
                this.hasContainers.hashCode();
     }
+
+    /**
+     * The adjacent edges of a batch of vertices queried at once, which are
+     * returned owner by owner (the edges of an owner are contiguous), then
+     * the edges of each owner are streamed to its traversers in turn.
+     * Only the edges read ahead of the current owner (when the owners are
+     * not returned in the input order) or shared by multi traversers of the
+     * same owner are buffered, and the owners are queried one by one if too
+     * many edges are read ahead.
+     */
+    private static final class OwnerEdges {
+
+        private static final int MAX_BUFFERED_EDGES = 100000;
+
+        // Map owner => the position of its first traverser
+        private final Map<Id, Integer> positions;
+        // Map owner => the number of its traversers not served yet
+        private final Map<Id, Integer> traversers;
+        private final boolean ordered;
+        private final Function<List<Id>, Iterator<Edge>> fetcher;
+        private final Map<Id, List<Edge>> buffered;
+        private final Iterator<Edge> edges;
+
+        private HugeEdge pending;
+        private int bufferedSize;
+        private boolean overflowed;
+
+        public OwnerEdges(List<Id> owners, boolean ordered,
+                          Function<List<Id>, Iterator<Edge>> fetcher) {
+            this.positions = InsertionOrderUtil.newMap();
+            this.traversers = new HashMap<>();
+            for (Id owner : owners) {
+                this.positions.putIfAbsent(owner, this.positions.size());
+                this.traversers.merge(owner, 1, Integer::sum);
+            }
+            this.ordered = ordered;
+            this.fetcher = fetcher;
+            this.buffered = new HashMap<>();
+            List<Id> distinctOwners = new ArrayList<>(this.positions.keySet());
+            this.edges = fetcher.apply(distinctOwners);
+            this.pending = null;
+            this.bufferedSize = 0;
+            this.overflowed = false;
+        }
+
+        public Iterator<Edge> edges(Id owner) {
+            boolean shared = this.traversers.merge(owner, -1, Integer::sum) > 0;
+            Iterator<Edge> results;
+            List<Edge> edges = this.buffered.remove(owner);
+            if (edges != null) {
+                this.bufferedSize -= edges.size();
+                results = edges.iterator();
+            } else if (this.seek(owner)) {
+                results = this.stream(owner);
+            } else {
+                // Too many edges are read ahead, query the owner alone
+                results = this.fetcher.apply(ImmutableList.of(owner));
+            }
+            if (shared) {
+                // Keep the edges for the next traverser of the same owner
+                if (edges == null) {
+                    edges = Lists.newArrayList(results);
+                    results = edges.iterator();
+                }
+                this.buffered.put(owner, edges);
+                this.bufferedSize += edges.size();
+            }
+            return results;
+        }
+
+        private boolean seek(Id owner) {
+            // Buffer the edges of other owners until the edges of the owner
+            int position = this.positions.get(owner);
+            while (!this.overflowed) {
+                if (this.pending == null) {
+                    if (!this.edges.hasNext()) {
+                        return true;
+                    }
+                    this.pending = (HugeEdge) this.edges.next();
+                }
+                Id pendingOwner = this.pending.ownerVertex().id();
+                if (pendingOwner.equals(owner)) {
+                    return true;
+                }
+                Integer pendingPosition = this.positions.get(pendingOwner);
+                if (pendingPosition == null) {
+                    // Ignore the edge not belonging to any owner
+                    this.pending = null;
+                    continue;
+                }
+                if (this.ordered && pendingPosition > position) {
+                    // The owner has no edges since owners are in order
+                    return true;
+                }
+                if (this.bufferedSize >= MAX_BUFFERED_EDGES) {
+                    this.overflow(pendingOwner);
+                    break;
+                }
+                this.buffered.computeIfAbsent(pendingOwner,
+                                              k -> new ArrayList<>())
+                             .add(this.pending);
+                this.bufferedSize++;
+                this.pending = null;
+            }
+            return false;
+        }
+
+        private void overflow(Id pendingOwner) {
+            // The edges of pending owner may be incomplete, query it again
+            List<Edge> edges = this.buffered.remove(pendingOwner);
+            if (edges != null) {
+                this.bufferedSize -= edges.size();
+            }
+            this.pending = null;
+            this.overflowed = true;
+            CloseableIterator.closeIterator(this.edges);
+        }
+
+        private Iterator<Edge> stream(Id owner) {
+            // Read the edges of the owner until the edges of another owner
+            return new Iterator<Edge>() {
+
+                @Override
+                public boolean hasNext() {
+                    OwnerEdges self = OwnerEdges.this;
+                    if (self.pending == null && self.edges.hasNext()) {
+                        self.pending = (HugeEdge) self.edges.next();
+                    }
+                    return self.pending != null &&
+                           self.pending.ownerVertex().id().equals(owner);
+                }
+
+                @Override
+                public Edge next() {
+                    if (!this.hasNext()) {
+                        throw new NoSuchElementException();
+                    }
+                    Edge edge = OwnerEdges.this.pending;
+                    OwnerEdges.this.pending = null;
+                    return edge;
+                }
+            };
+        }
+    }
 }
@@ -20,14 +20,17 @@
 package com.baidu.hugegraph.util;
 
 import java.io.IOException;
+import java.io.OutputStream;
 import java.util.Date;
 
+import org.apache.tinkerpop.shaded.jackson.core.JsonEncoding;
 import org.apache.tinkerpop.shaded.jackson.core.JsonGenerator;
 import org.apache.tinkerpop.shaded.jackson.core.JsonProcessingException;
 import org.apache.tinkerpop.shaded.jackson.core.type.TypeReference;
 import org.apache.tinkerpop.shaded.jackson.databind.Module;
 import org.apache.tinkerpop.shaded.jackson.databind.ObjectMapper;
 import org.apache.tinkerpop.shaded.jackson.databind.ObjectReader;
+import org.apache.tinkerpop.shaded.jackson.databind.SerializationFeature;
 import org.apache.tinkerpop.shaded.jackson.databind.SerializerProvider;
 import org.apache.tinkerpop.shaded.jackson.databind.module.SimpleModule;
 import org.apache.tinkerpop.shaded.jackson.databind.ser.std.StdSerializer;
@@ -50,6 +53,8 @@ public final class JsonUtil {
         HugeGraphSONModule.registerGraphSerializers(module);
 
         mapper.registerModule(module);
+        // Avoid flushing each element when writing to a generator
+        mapper.disable(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
     }
 
     public static void registerModule(Module module) {
@@ -64,6 +69,22 @@ public final class JsonUtil {
         }
     }
 
+    /**
+     * Create a generator writing json to the output stream directly, the
+     * output stream will not be closed when closing the generator
+     */
+    public static JsonGenerator newGenerator(OutputStream out) {
+        try {
+            JsonGenerator generator = mapper.getFactory().createGenerator(
+                                      out, JsonEncoding.UTF8);
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            return generator;
+        } catch (IOException e) {
+            throw new HugeException("Can't create json generator: %s",
+                                    e, e.getMessage());
+        }
+    }
+
     public static <T> T fromJson(String json, Class<T> clazz) {
         E.checkState(json != null,
                      "Json value can't be null for '%s'",
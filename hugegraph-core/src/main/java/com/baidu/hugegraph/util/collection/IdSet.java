@@ -0,0 +1,124 @@
+/*
+ * Copyright 2017 HugeGraph Authors
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with this
+ * work for additional information regarding copyright ownership. The ASF
+ * licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.baidu.hugegraph.util.collection;
+
+import java.util.AbstractSet;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+import java.util.Set;
+
+import com.baidu.hugegraph.backend.id.Id;
+import com.baidu.hugegraph.backend.id.IdGenerator;
+
+/**
+ * A compact set of ids, the number ids are stored as primitive long values
+ * and the others(string/uuid/edge ids) are stored in a common hash set.
+ * It's mainly used to hold the vertices of traversing frontier, in which
+ * the number ids are the majority in most graphs.
+ * NOTE: the number ids are rebuilt while iterating, and the set can't be
+ * modified while iterating.
+ */
+public class IdSet extends AbstractSet<Id> {
+
+    private final LongHashSet numberIds;
+    private final Set<Id> nonNumberIds;
+
+    public IdSet() {
+        this.numberIds = new LongHashSet();
+        this.nonNumberIds = new HashSet<>();
+    }
+
+    @Override
+    public int size() {
+        return this.numberIds.size() + this.nonNumberIds.size();
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return this.numberIds.isEmpty() && this.nonNumberIds.isEmpty();
+    }
+
+    @Override
+    public boolean contains(Object object) {
+        if (!(object instanceof Id)) {
+            return false;
+        }
+        Id id = (Id) object;
+        if (id.number()) {
+            return this.numberIds.contains(id.asLong());
+        }
+        return this.nonNumberIds.contains(id);
+    }
+
+    @Override
+    public boolean add(Id id) {
+        if (id.number()) {
+            return this.numberIds.add(id.asLong());
+        }
+        return this.nonNumberIds.add(id);
+    }
+
+    @Override
+    public boolean remove(Object object) {
+        if (!(object instanceof Id)) {
+            return false;
+        }
+        Id id = (Id) object;
+        if (id.number()) {
+            return this.numberIds.remove(id.asLong());
+        }
+        return this.nonNumberIds.remove(id);
+    }
+
+    @Override
+    public void clear() {
+        this.numberIds.clear();
+        this.nonNumberIds.clear();
+    }
+
+    @Override
+    public Iterator<Id> iterator() {
+        return new Iterator<Id>() {
+
+            private final PrimitiveIterator.OfLong numbers =
+                          IdSet.this.numberIds.iterator();
+            private final Iterator<Id> others =
+                          IdSet.this.nonNumberIds.iterator();
+
+            @Override
+            public boolean hasNext() {
+                return this.numbers.hasNext() || this.others.hasNext();
+            }
+
+            @Override
+            public Id next() {
+                if (this.numbers.hasNext()) {
+                    return IdGenerator.of(this.numbers.nextLong());
+                }
+                if (this.others.hasNext()) {
+                    return this.others.next();
+                }
+                throw new NoSuchElementException();
+            }
+        };
+    }
+}
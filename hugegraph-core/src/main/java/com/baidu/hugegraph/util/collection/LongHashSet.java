@@ -0,0 +1,221 @@
+/*
+ * Copyright 2017 HugeGraph Authors
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with this
+ * work for additional information regarding copyright ownership. The ASF
+ * licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.baidu.hugegraph.util.collection;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+
+import com.baidu.hugegraph.util.E;
+
+/**
+ * A set of primitive long values based on open addressing with linear
+ * probing, it avoids boxing each value and the entry object of HashSet.
+ * NOTE: this class is not thread safe
+ */
+public class LongHashSet {
+
+    private static final int DEFAULT_CAPACITY = 16;
+    private static final float LOAD_FACTOR = 0.5F;
+
+    // The slot value 0 means empty, and the value 0 is stored by a flag
+    private static final long EMPTY = 0L;
+
+    private long[] slots;
+    private boolean containsZero;
+    private int size;
+    private int threshold;
+
+    public LongHashSet() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public LongHashSet(int capacity) {
+        E.checkArgument(capacity >= 0,
+                        "The capacity must be >= 0, but got %s", capacity);
+        this.allocate(tableSizeFor((int) (capacity / LOAD_FACTOR)));
+        this.containsZero = false;
+        this.size = 0;
+    }
+
+    public int size() {
+        return this.size;
+    }
+
+    public boolean isEmpty() {
+        return this.size == 0;
+    }
+
+    public boolean contains(long value) {
+        if (value == EMPTY) {
+            return this.containsZero;
+        }
+        long[] slots = this.slots;
+        int mask = slots.length - 1;
+        for (int i = index(value, mask); ; i = (i + 1) & mask) {
+            long slot = slots[i];
+            if (slot == value) {
+                return true;
+            }
+            if (slot == EMPTY) {
+                return false;
+            }
+        }
+    }
+
+    public boolean add(long value) {
+        if (value == EMPTY) {
+            if (this.containsZero) {
+                return false;
+            }
+            this.containsZero = true;
+            this.size++;
+            return true;
+        }
+        if (!this.insert(this.slots, value)) {
+            return false;
+        }
+        if (++this.size > this.threshold) {
+            this.resize(this.slots.length << 1);
+        }
+        return true;
+    }
+
+    public boolean remove(long value) {
+        if (value == EMPTY) {
+            if (!this.containsZero) {
+                return false;
+            }
+            this.containsZero = false;
+            this.size--;
+            return true;
+        }
+
+        long[] slots = this.slots;
+        int mask = slots.length - 1;
+        int gap = index(value, mask);
+        while (slots[gap] != value) {
+            if (slots[gap] == EMPTY) {
+                return false;
+            }
+            gap = (gap + 1) & mask;
+        }
+
+        // Shift back the following values of the same cluster into the gap
+        for (int i = (gap + 1) & mask; slots[i] != EMPTY; i = (i + 1) & mask) {
+            int home = index(slots[i], mask);
+            boolean movable = gap <= i ? (home <= gap || home > i) :
+                                         (home <= gap && home > i);
+            if (movable) {
+                slots[gap] = slots[i];
+                gap = i;
+            }
+        }
+        slots[gap] = EMPTY;
+        this.size--;
+        return true;
+    }
+
+    public void clear() {
+        Arrays.fill(this.slots, EMPTY);
+        this.containsZero = false;
+        this.size = 0;
+    }
+
+    /**
+     * Iterate all values, the set can't be modified while iterating
+     */
+    public PrimitiveIterator.OfLong iterator() {
+        return new PrimitiveIterator.OfLong() {
+
+            private final long[] slots = LongHashSet.this.slots;
+            private boolean zeroPending = LongHashSet.this.containsZero;
+            private int index = 0;
+
+            @Override
+            public boolean hasNext() {
+                if (this.zeroPending) {
+                    return true;
+                }
+                while (this.index < this.slots.length) {
+                    if (this.slots[this.index] != EMPTY) {
+                        return true;
+                    }
+                    this.index++;
+                }
+                return false;
+            }
+
+            @Override
+            public long nextLong() {
+                if (!this.hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                if (this.zeroPending) {
+                    this.zeroPending = false;
+                    return EMPTY;
+                }
+                return this.slots[this.index++];
+            }
+        };
+    }
+
+    private boolean insert(long[] slots, long value) {
+        assert value != EMPTY;
+        int mask = slots.length - 1;
+        for (int i = index(value, mask); ; i = (i + 1) & mask) {
+            long slot = slots[i];
+            if (slot == value) {
+                return false;
+            }
+            if (slot == EMPTY) {
+                slots[i] = value;
+                return true;
+            }
+        }
+    }
+
+    private void resize(int capacity) {
+        long[] old = this.slots;
+        this.allocate(capacity);
+        for (long value : old) {
+            if (value != EMPTY) {
+                this.insert(this.slots, value);
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        this.slots = new long[capacity];
+        this.threshold = (int) (capacity * LOAD_FACTOR);
+    }
+
+    private static int index(long value, int mask) {
+        // Spread the bits of value by a fibonacci multiplier
+        long hash = value * 0x9E3779B97F4A7C15L;
+        return (int) (hash ^ (hash >>> 32)) & mask;
+    }
+
+    private static int tableSizeFor(int capacity) {
+        int size = Integer.highestOneBit(Math.max(capacity, 2) - 1) << 1;
+        E.checkArgument(size > 0, "Too large capacity: %s", capacity);
+        return size;
+    }
+}
@@ -35,6 +35,8 @@ fi
 
 # Append schema.sync_deletion=true to config file
 echo "schema.sync_deletion=true" >> $CONF
+# Append statistics.label_counter=true to test statistics API
+echo "statistics.label_counter=true" >> $CONF
 
 AGENT_JAR=${HOME_DIR}/${TRAVIS_DIR}/jacocoagent.jar
 $BIN/init-store.sh && $BIN/start-hugegraph.sh -j "-javaagent:${AGENT_JAR}=includes=*,port=36320,destfile=jacoco-it.exec,output=tcpserver" -v
@@ -144,6 +144,8 @@ public class RegisterUtil {
                 "com.baidu.hugegraph.backend.store.rocksdb.RocksDBStoreProvider");
         BackendProviderFactory.register("rocksdbsst",
                 "com.baidu.hugegraph.backend.store.rocksdbsst.RocksDBSstStoreProvider");
+        BackendProviderFactory.register("rocksdbmem",
+                "com.baidu.hugegraph.backend.store.rocksdbmem.RocksDBMemStoreProvider");
     }
 
     public static void registerMysql() {
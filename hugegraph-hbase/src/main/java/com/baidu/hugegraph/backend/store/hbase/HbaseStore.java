@@ -471,6 +471,20 @@ public abstract class HbaseStore extends AbstractBackendStore<Session> {
             return this.counters.getCounter(super.sessions.session(), type);
         }
 
+        @Override
+        public void increaseCounter(HugeType type, Id id, long increment) {
+            super.checkOpened();
+            this.counters.increaseCounter(super.sessions.session(),
+                                          type, id, increment);
+        }
+
+        @Override
+        public long getCounter(HugeType type, Id id) {
+            super.checkOpened();
+            return this.counters.getCounter(super.sessions.session(),
+                                            type, id);
+        }
+
         @Override
         public boolean isSchemaStore() {
             return true;
@@ -28,6 +28,7 @@ import org.apache.hadoop.hbase.CellUtil;
 import org.apache.hadoop.hbase.client.Result;
 import org.apache.hadoop.hbase.util.Bytes;
 
+import com.baidu.hugegraph.backend.id.Id;
 import com.baidu.hugegraph.backend.query.Query;
 import com.baidu.hugegraph.backend.serializer.BinaryBackendEntry;
 import com.baidu.hugegraph.backend.serializer.BinaryEntryIterator;
@@ -53,6 +54,25 @@ public class HbaseTables {
 
         public long getCounter(Session session, HugeType type) {
             byte[] key = new byte[]{type.code()};
+            return this.getCounter(session, key);
+        }
+
+        public void increaseCounter(Session session, HugeType type,
+                                    long increment) {
+            byte[] key = new byte[]{type.code()};
+            session.increase(this.table(), CF, key, COL, increment);
+        }
+
+        public long getCounter(Session session, HugeType type, Id id) {
+            return this.getCounter(session, key(type, id));
+        }
+
+        public void increaseCounter(Session session, HugeType type, Id id,
+                                    long increment) {
+            session.increase(this.table(), CF, key(type, id), COL, increment);
+        }
+
+        private long getCounter(Session session, byte[] key) {
             RowIterator results = session.get(this.table(), CF, key);
             if (results.hasNext()) {
                 Result row = results.next();
@@ -62,10 +82,9 @@ public class HbaseTables {
             }
         }
 
-        public void increaseCounter(Session session, HugeType type,
-                                    long increment) {
-            byte[] key = new byte[]{type.code()};
-            session.increase(this.table(), CF, key, COL, increment);
+        private static byte[] key(HugeType type, Id id) {
+            // Longer than the key of type counter, so never conflict with it
+            return Bytes.add(new byte[]{type.code()}, id.asBytes());
         }
     }
 
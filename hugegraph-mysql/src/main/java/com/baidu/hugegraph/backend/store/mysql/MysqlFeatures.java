@@ -80,6 +80,11 @@ public class MysqlFeatures implements BackendFeatures {
         return false;
     }
 
+    @Override
+    public boolean supportsQueryByMultiOwners() {
+        return true;
+    }
+
     @Override
     public boolean supportsDeleteEdgeByLabel() {
         return true;
@@ -98,6 +98,17 @@ public class MysqlOptions extends OptionHolder {
                     "false"
             );
 
+    public static final ConfigOption<Boolean> JDBC_SERVER_PREPARED =
+            new ConfigOption<>(
+                    "jdbc.server_prepared_statements",
+                    "Whether to prepare the parameterized queries on the " +
+                    "server side to avoid parsing them repeatedly, note " +
+                    "that MySQL doesn't rewrite the batched inserts into " +
+                    "multi-values inserts if it's enabled.",
+                    disallowEmpty(),
+                    false
+            );
+
     public static final ConfigOption<String> STORAGE_ENGINE =
             new ConfigOption<>(
                    "jdbc.storage_engine",
@@ -26,6 +26,7 @@ import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.stream.IntStream;
 
@@ -224,13 +225,17 @@ public class MysqlSessions extends BackendSessionPool {
         int maxTimes = this.config.get(MysqlOptions.JDBC_RECONNECT_MAX_TIMES);
         int interval = this.config.get(MysqlOptions.JDBC_RECONNECT_INTERVAL);
         String sslMode = this.config.get(MysqlOptions.JDBC_SSL_MODE);
+        boolean serverPrepared = this.config.get(
+                                 MysqlOptions.JDBC_SERVER_PREPARED);
 
         URIBuilder builder = this.newConnectionURIBuilder();
         builder.setPath(url).setParameter("useSSL", sslMode);
         if (withConnParams) {
             builder.setParameter("characterEncoding", "utf-8")
                    .setParameter("rewriteBatchedStatements", "true")
-                   .setParameter("useServerPrepStmts", "false")
+                   .setParameter("useServerPrepStmts",
+                                 String.valueOf(serverPrepared))
+                   .setParameter("cachePrepStmts", "true")
                    .setParameter("autoReconnect", String.valueOf(autoReconnect))
                    .setParameter("maxReconnects", String.valueOf(maxTimes))
                    .setParameter("initialTimeout", String.valueOf(interval));
@@ -469,6 +474,23 @@ public class MysqlSessions extends BackendSessionPool {
             return this.conn.createStatement().executeQuery(sql);
         }
 
+        public ResultSet select(String sql, List<Object> parameters)
+                                throws SQLException {
+            assert this.conn.getAutoCommit();
+            PreparedStatement statement = this.conn.prepareStatement(sql);
+            try {
+                for (int i = 0, n = parameters.size(); i < n; i++) {
+                    statement.setObject(i + 1, parameters.get(i));
+                }
+                // Close statement (back to statement cache) with the results
+                statement.closeOnCompletion();
+                return statement.executeQuery();
+            } catch (SQLException e) {
+                statement.close();
+                throw e;
+            }
+        }
+
         public boolean execute(String sql) throws SQLException {
             /*
              * commit() or rollback() failed to set connection to auto-commit
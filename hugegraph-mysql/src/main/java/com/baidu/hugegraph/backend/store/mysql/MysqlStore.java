@@ -411,6 +411,20 @@ public abstract class MysqlStore extends AbstractBackendStore<Session> {
             return this.counters.getCounter(session, type);
         }
 
+        @Override
+        public void increaseCounter(HugeType type, Id id, long increment) {
+            this.checkOpened();
+            Session session = super.sessions.session();
+            this.counters.increaseCounter(session, type, id, increment);
+        }
+
+        @Override
+        public long getCounter(HugeType type, Id id) {
+            this.checkOpened();
+            Session session = super.sessions.session();
+            return this.counters.getCounter(session, type, id);
+        }
+
         @Override
         public boolean isSchemaStore() {
             return true;
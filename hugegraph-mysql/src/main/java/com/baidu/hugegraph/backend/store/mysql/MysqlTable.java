@@ -61,6 +61,9 @@ public abstract class MysqlTable
 
     private static final String DECIMAL = "DECIMAL";
 
+    // The max number of ids in a `IN (?, ?...)` clause
+    private static final int MAX_IN_BATCH = 256;
+
     // The template for insert and delete statements
     private String insertTemplate;
     private String insertTemplateTtl;
@@ -361,10 +364,11 @@ public abstract class MysqlTable
             return rs;
         }
 
-        List<StringBuilder> selections = this.query2Select(this.table(), query);
+        List<Select> selections = this.query2Select(this.table(), query);
         try {
-            for (StringBuilder selection : selections) {
-                ResultSet results = session.select(selection.toString());
+            for (Select selection : selections) {
+                ResultSet results = session.select(selection.sql(),
+                                                   selection.parameters());
                 rs.extend(parser.apply(query, results));
             }
         } catch (SQLException e) {
@@ -375,9 +379,9 @@ public abstract class MysqlTable
         return rs;
     }
 
-    protected List<StringBuilder> query2Select(String table, Query query) {
+    protected List<Select> query2Select(String table, Query query) {
         // Build query
-        StringBuilder select = new StringBuilder(64);
+        Select select = new Select();
         select.append("SELECT ");
 
         // Set aggregate
@@ -392,9 +396,9 @@ public abstract class MysqlTable
         select.append(" FROM ").append(table);
 
         // Is query by id?
-        List<StringBuilder> ids = this.queryId2Select(query, select);
+        List<Select> ids = this.queryId2Select(query, select);
 
-        List<StringBuilder> selections;
+        List<Select> selections;
 
         if (query.conditions().isEmpty()) {
             // Query only by id
@@ -408,14 +412,14 @@ public abstract class MysqlTable
             }
 
             selections = new ArrayList<>(ids.size());
-            for (StringBuilder selection : ids) {
+            for (Select selection : ids) {
                 // Query by condition
                 selections.addAll(this.queryCondition2Select(query, selection));
             }
             LOG.debug("Query by conditions: {}", selections);
         }
         // Set page, order-by and limit
-        for (StringBuilder selection : selections) {
+        for (Select selection : selections) {
             boolean hasOrder = !query.orders().isEmpty();
             if (hasOrder) {
                 this.wrapOrderBy(selection, query);
@@ -425,7 +429,7 @@ public abstract class MysqlTable
                 wrapLimit(selection, query);
             } else {
                 if (aggregate == null && !hasOrder) {
-                    select.append(this.orderByKeys());
+                    selection.append(this.orderByKeys());
                 }
                 if (!query.nolimit() || query.offset() > 0L) {
                     this.wrapOffset(selection, query);
@@ -436,8 +440,7 @@ public abstract class MysqlTable
         return selections;
     }
 
-    protected StringBuilder queryByRange(ConditionQuery query,
-                                         StringBuilder select) {
+    protected Select queryByRange(ConditionQuery query, Select select) {
         E.checkArgument(query.relations().size() == 1,
                         "Invalid scan with multi conditions: %s", query);
         Condition.Relation scan = query.relations().iterator().next();
@@ -457,15 +460,15 @@ public abstract class MysqlTable
             // >= page
             this.wrapPage(select, query, true);
             // < end
-            WhereBuilder where = this.newWhereBuilder(false);
+            WhereBuilder where = this.newSelectWhereBuilder(false);
             if (!MysqlShardSpliter.END.equals(shard.end())) {
                 where.and();
                 where.lt(formatKey(partitionKey), shard.end());
             }
-            select.append(where.build());
+            select.append(where);
         } else {
             // >= start
-            WhereBuilder where = this.newWhereBuilder();
+            WhereBuilder where = this.newSelectWhereBuilder(true);
             boolean hasStart = false;
             if (!MysqlShardSpliter.START.equals(shard.start())) {
                 where.gte(formatKey(partitionKey), shard.start());
@@ -478,15 +481,14 @@ public abstract class MysqlTable
                 }
                 where.lt(formatKey(partitionKey), shard.end());
             }
-            select.append(where.build());
+            select.append(where);
         }
         this.wrapLimit(select, query);
 
         return select;
     }
 
-    protected List<StringBuilder> queryId2Select(Query query,
-                                                 StringBuilder select) {
+    protected List<Select> queryId2Select(Query query, Select select) {
         // Query by id(s)
         if (query.ids().isEmpty()) {
             return ImmutableList.of(select);
@@ -512,11 +514,28 @@ public abstract class MysqlTable
                 assert objects.size() == 1;
                 values.add(objects.get(0));
             }
+            String key = formatKey(nameParts.get(0));
 
-            WhereBuilder where = this.newWhereBuilder();
-            where.in(formatKey(nameParts.get(0)), values);
-            select.append(where.build());
-            return ImmutableList.of(select);
+            /*
+             * Split ids into batches if the results are not limited,
+             * and pad each batch to a bucketed size by repeating the last
+             * id, so there are just a few shapes of the prepared statements
+             */
+            int batch = values.size();
+            if (query.nolimit() && query.offset() == 0L && !query.paging()) {
+                batch = MAX_IN_BATCH;
+            }
+            List<Select> selections = new ArrayList<>();
+            for (int i = 0, n = values.size(); i < n; i += batch) {
+                List<Object> batchValues = values.subList(
+                                           i, Math.min(i + batch, n));
+                Select idSelection = new Select(select);
+                WhereBuilder where = this.newSelectWhereBuilder(true);
+                where.in(key, padInValues(batchValues));
+                idSelection.append(where);
+                selections.add(idSelection);
+            }
+            return selections;
         }
 
         /*
@@ -526,65 +545,64 @@ public abstract class MysqlTable
          * columns when using: select.where(QueryBuilder.in(names, idList));
          * So we use multi-query instead of IN
          */
-        List<StringBuilder> selections = new ArrayList<>(ids.size());
+        List<Select> selections = new ArrayList<>(ids.size());
         for (List<Object> objects : ids) {
             assert nameParts.size() == objects.size();
-            StringBuilder idSelection = new StringBuilder(select);
+            Select idSelection = new Select(select);
             /*
              * NOTE: concat with AND relation, like:
              * "pk = id and ck1 = v1 and ck2 = v2"
              */
-            WhereBuilder where = this.newWhereBuilder();
+            WhereBuilder where = this.newSelectWhereBuilder(true);
             where.and(formatKeys(nameParts), objects);
 
-            idSelection.append(where.build());
+            idSelection.append(where);
             selections.add(idSelection);
         }
         return selections;
     }
 
-    protected List<StringBuilder> queryCondition2Select(Query query,
-                                                        StringBuilder select) {
+    protected List<Select> queryCondition2Select(Query query, Select select) {
         // Query by conditions
         Set<Condition> conditions = query.conditions();
-        List<StringBuilder> clauses = new ArrayList<>(conditions.size());
+        E.checkArgument(!conditions.isEmpty(), "The conditions can't be empty");
+        WhereBuilder where = this.newSelectWhereBuilder(true);
+        int i = 0;
         for (Condition condition : conditions) {
-            clauses.add(this.condition2Sql(condition));
+            if (i++ > 0) {
+                where.and();
+            }
+            this.condition2Sql(condition, where);
         }
-        WhereBuilder where = this.newWhereBuilder();
-        where.and(clauses);
-        select.append(where.build());
+        select.append(where);
         return ImmutableList.of(select);
     }
 
-    protected StringBuilder condition2Sql(Condition condition) {
+    protected void condition2Sql(Condition condition, WhereBuilder where) {
         switch (condition.type()) {
             case AND:
                 Condition.And and = (Condition.And) condition;
-                StringBuilder left = this.condition2Sql(and.left());
-                StringBuilder right = this.condition2Sql(and.right());
-                int size = left.length() + right.length() + " AND ".length();
-                StringBuilder sql = new StringBuilder(size);
-                sql.append(left).append(" AND ").append(right);
-                return sql;
+                this.condition2Sql(and.left(), where);
+                where.and();
+                this.condition2Sql(and.right(), where);
+                break;
             case OR:
                 throw new BackendException("Not support OR currently");
             case RELATION:
                 Condition.Relation r = (Condition.Relation) condition;
-                return this.relation2Sql(r);
+                this.relation2Sql(r, where);
+                break;
             default:
                 final String msg = "Unsupported condition: " + condition;
                 throw new AssertionError(msg);
         }
     }
 
-    protected StringBuilder relation2Sql(Condition.Relation relation) {
+    protected void relation2Sql(Condition.Relation relation,
+                                WhereBuilder where) {
         String key = relation.serialKey().toString();
         Object value = relation.serialValue();
-
-        WhereBuilder sql = this.newWhereBuilder(false);
-        sql.relation(key, relation.relation(), value);
-        return sql.build();
+        where.relation(key, relation.relation(), value);
     }
 
     protected WhereBuilder newWhereBuilder() {
@@ -595,7 +613,11 @@ public abstract class MysqlTable
         return new WhereBuilder(startWithWhere);
     }
 
-    protected void wrapOrderBy(StringBuilder select, Query query) {
+    protected WhereBuilder newSelectWhereBuilder(boolean startWithWhere) {
+        return this.newWhereBuilder(startWithWhere).parameterize();
+    }
+
+    protected void wrapOrderBy(Select select, Query query) {
         int size = query.orders().size();
         assert size > 0;
 
@@ -619,7 +641,7 @@ public abstract class MysqlTable
         }
     }
 
-    protected void wrapPage(StringBuilder select, Query query, boolean scan) {
+    protected void wrapPage(Select select, Query query, boolean scan) {
         String page = query.page();
         // It's the first time if page is empty
         if (!page.isEmpty()) {
@@ -635,21 +657,21 @@ public abstract class MysqlTable
 
             // Need add `where` to `select` when query is IdQuery
             boolean expectWhere = scan || query.conditions().isEmpty();
-            WhereBuilder where = this.newWhereBuilder(expectWhere);
+            WhereBuilder where = this.newSelectWhereBuilder(expectWhere);
             if (!expectWhere) {
                 where.and();
             }
             where.gte(formatKeys(idColumnNames), values);
-            select.append(where.build());
+            select.append(where);
         }
     }
 
-    private void wrapLimit(StringBuilder select, Query query) {
+    private void wrapLimit(Select select, Query query) {
         select.append(this.orderByKeys());
         if (!query.nolimit()) {
             // Fetch `limit + 1` rows for judging whether reached the last page
             select.append(" limit ");
-            select.append(query.limit() + 1);
+            select.appendParameter(query.limit() + 1);
         }
         select.append(";");
     }
@@ -658,14 +680,14 @@ public abstract class MysqlTable
         return Strings.EMPTY;
     }
 
-    protected void wrapOffset(StringBuilder select, Query query) {
+    protected void wrapOffset(Select select, Query query) {
         assert query.limit() >= 0;
         assert query.offset() >= 0;
         // Set limit and offset
         select.append(" limit ");
-        select.append(query.limit());
+        select.appendParameter(query.limit());
         select.append(" offset ");
-        select.append(query.offset());
+        select.appendParameter(query.offset());
         select.append(";");
 
         query.skipOffset(query.offset());
@@ -697,6 +719,73 @@ public abstract class MysqlTable
         return names;
     }
 
+    private static List<Object> padInValues(List<Object> values) {
+        int size = values.size();
+        assert size > 0;
+        // Round up to the power of 2
+        int bucket = size == 1 ? 1 : Integer.highestOneBit(size - 1) << 1;
+        if (bucket == size || size > MAX_IN_BATCH) {
+            return values;
+        }
+        List<Object> padded = new ArrayList<>(bucket);
+        padded.addAll(values);
+        Object last = values.get(size - 1);
+        while (padded.size() < bucket) {
+            padded.add(last);
+        }
+        return padded;
+    }
+
+    /**
+     * The sql of select statement with parameter placeholders, and the
+     * parameters to be bound in order
+     */
+    protected static class Select {
+
+        private final StringBuilder sql;
+        private final List<Object> parameters;
+
+        public Select() {
+            this.sql = new StringBuilder(64);
+            this.parameters = new ArrayList<>();
+        }
+
+        public Select(Select other) {
+            this.sql = new StringBuilder(other.sql);
+            this.parameters = new ArrayList<>(other.parameters);
+        }
+
+        public String sql() {
+            return this.sql.toString();
+        }
+
+        public List<Object> parameters() {
+            return this.parameters;
+        }
+
+        public Select append(String sql) {
+            this.sql.append(sql);
+            return this;
+        }
+
+        public Select append(WhereBuilder where) {
+            this.sql.append(where.build());
+            this.parameters.addAll(where.parameters());
+            return this;
+        }
+
+        public Select appendParameter(Object value) {
+            this.sql.append("?");
+            this.parameters.add(value);
+            return this;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%s %s", this.sql, this.parameters);
+        }
+    }
+
     private static class MysqlShardSpliter extends ShardSpliter<Session> {
 
         private static final String BASE64 =
@@ -103,11 +103,29 @@ public class MysqlTables {
         }
 
         public long getCounter(Session session, HugeType type) {
+            return this.getCounter(session, type.name());
+        }
+
+        public void increaseCounter(Session session,
+                                    HugeType type, long increment) {
+            this.increaseCounter(session, type.name(), increment);
+        }
+
+        public long getCounter(Session session, HugeType type, Id id) {
+            return this.getCounter(session, key(type, id));
+        }
+
+        public void increaseCounter(Session session, HugeType type, Id id,
+                                    long increment) {
+            this.increaseCounter(session, key(type, id), increment);
+        }
+
+        protected long getCounter(Session session, String key) {
             String schemaCol = formatKey(HugeKeys.SCHEMA_TYPE);
             String idCol = formatKey(HugeKeys.ID);
 
             String select = String.format("SELECT ID FROM %s WHERE %s = '%s';",
-                                          this.table(), schemaCol, type.name());
+                                          this.table(), schemaCol, key);
             try {
                 ResultSet resultSet = session.select(select);
                 if (resultSet.next()) {
@@ -117,17 +135,17 @@ public class MysqlTables {
                 }
             } catch (SQLException e) {
                 throw new BackendException(
-                          "Failed to get id from counters with type '%s'",
-                          e, type);
+                          "Failed to get id from counters with key '%s'",
+                          e, key);
             }
         }
 
-        public void increaseCounter(Session session,
-                                    HugeType type, long increment) {
+        protected void increaseCounter(Session session, String key,
+                                       long increment) {
             String update = String.format(
                             "INSERT INTO %s VALUES ('%s', %s) " +
                             "ON DUPLICATE KEY UPDATE ID = ID + %s;",
-                            this.table(), type.name(), increment, increment);
+                            this.table(), key, increment, increment);
             try {
                 session.execute(update);
             } catch (SQLException e) {
@@ -135,6 +153,11 @@ public class MysqlTables {
                                            "with '%s'", e, update);
             }
         }
+
+        public static String key(HugeType type, Id id) {
+            // The type name never contains '-', so never conflict with it
+            return type.name() + "-" + id.asString();
+        }
     }
 
     public static class VertexLabel extends MysqlTableTemplate {
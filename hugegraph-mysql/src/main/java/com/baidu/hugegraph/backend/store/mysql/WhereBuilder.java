@@ -19,15 +19,19 @@
 
 package com.baidu.hugegraph.backend.store.mysql;
 
+import java.util.ArrayList;
 import java.util.List;
 
 import com.baidu.hugegraph.backend.query.Condition.RelationType;
 import com.baidu.hugegraph.exception.NotSupportException;
 import com.baidu.hugegraph.util.E;
+import com.google.common.collect.ImmutableList;
 
 public class WhereBuilder {
 
     private StringBuilder builder;
+    // Collect the values if use parameter placeholders instead of literals
+    private List<Object> parameters;
 
     public WhereBuilder() {
         this(true);
@@ -39,6 +43,26 @@ public class WhereBuilder {
         } else {
             this.builder = new StringBuilder(" ");
         }
+        this.parameters = null;
+    }
+
+    /**
+     * Build values as parameter placeholders '?' instead of literals, and
+     * the values are collected in order, see {@link #parameters()}
+     * @return WhereBuilder
+     */
+    public WhereBuilder parameterize() {
+        if (this.parameters == null) {
+            this.parameters = new ArrayList<>();
+        }
+        return this;
+    }
+
+    public List<Object> parameters() {
+        if (this.parameters == null) {
+            return ImmutableList.of();
+        }
+        return this.parameters;
     }
 
     public WhereBuilder relation(String key, RelationType type, Object value) {
@@ -276,6 +300,10 @@ public class WhereBuilder {
     }
 
     protected String wrapStringIfNeeded(Object value) {
+        if (this.parameters != null) {
+            this.parameters.add(this.parameter(value));
+            return "?";
+        }
         if (value instanceof String) {
             return this.escapeAndWrapString((String) value);
         } else {
@@ -286,4 +314,8 @@ public class WhereBuilder {
     protected String escapeAndWrapString(String value) {
         return MysqlUtil.escapeAndWrapString(value);
     }
+
+    protected Object parameter(Object value) {
+        return value;
+    }
 }
@@ -107,6 +107,16 @@ public class PaloStoreProvider extends MysqlStoreProvider {
             return this.counter.getCounter(type);
         }
 
+        @Override
+        public void increaseCounter(HugeType type, Id id, long increment) {
+            this.counter.increaseCounter(type, id, increment);
+        }
+
+        @Override
+        public long getCounter(HugeType type, Id id) {
+            return this.counter.getCounter(type, id);
+        }
+
         @Override
         public boolean isSchemaStore() {
             return true;
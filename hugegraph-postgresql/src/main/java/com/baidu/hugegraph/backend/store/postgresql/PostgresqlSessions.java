@@ -114,7 +114,13 @@ public class PostgresqlSessions extends MysqlSessions {
     @Override
     protected URIBuilder newConnectionURIBuilder() {
         // Suppress error log when database does not exist
-        return new URIBuilder().addParameter("loggerLevel", "OFF");
+        URIBuilder builder = new URIBuilder();
+        builder.addParameter("loggerLevel", "OFF");
+        /*
+         * Send string parameters of prepared statements as untyped like the
+         * literals, so they can be compared with the columns of other types
+         */
+        return builder.addParameter("stringtype", "unspecified");
     }
 
     public static String escapeAndWrapString(String value) {
@@ -109,6 +109,20 @@ public class PostgresqlStoreProvider extends MysqlStoreProvider {
             return this.counters.getCounter(session, type);
         }
 
+        @Override
+        public void increaseCounter(HugeType type, Id id, long increment) {
+            this.checkOpened();
+            MysqlSessions.Session session = this.session(type);
+            this.counters.increaseCounter(session, type, id, increment);
+        }
+
+        @Override
+        public long getCounter(HugeType type, Id id) {
+            this.checkOpened();
+            MysqlSessions.Session session = this.session(type);
+            return this.counters.getCounter(session, type, id);
+        }
+
         @Override
         public boolean isSchemaStore() {
             return true;
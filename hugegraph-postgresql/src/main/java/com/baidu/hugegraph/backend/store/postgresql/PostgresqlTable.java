@@ -147,5 +147,13 @@ public abstract class PostgresqlTable extends MysqlTable {
             }
             return PostgresqlSessions.escapeAndWrapString(value);
         }
+
+        @Override
+        protected Object parameter(Object value) {
+            if ("\u0000".equals(value)) {
+                return "";
+            }
+            return value;
+        }
     }
 }
@@ -88,18 +88,34 @@ public class PostgresqlTables {
 
         public void increaseCounter(Session session, HugeType type,
                                     long increment) {
+            this.increaseCounter(session, type.name(), increment);
+        }
+
+        public long getCounter(Session session, HugeType type, Id id) {
+            MysqlTables.Counters table = (MysqlTables.Counters) this.template;
+            return table.getCounter(session, type, id);
+        }
+
+        public void increaseCounter(Session session, HugeType type, Id id,
+                                    long increment) {
+            String key = MysqlTables.Counters.key(type, id);
+            this.increaseCounter(session, key, increment);
+        }
+
+        private void increaseCounter(Session session, String key,
+                                     long increment) {
             String update = String.format(
                             "INSERT INTO %s (%s, %s) VALUES ('%s', %s) " +
                             "ON CONFLICT (%s) DO UPDATE SET ID = %s.ID + %s;",
                             this.table(), formatKey(HugeKeys.SCHEMA_TYPE),
-                            formatKey(HugeKeys.ID), type.name(), increment,
+                            formatKey(HugeKeys.ID), key, increment,
                             formatKey(HugeKeys.SCHEMA_TYPE),
                             this.table(), increment);
             try {
                 session.execute(update);
             } catch (SQLException e) {
                 throw new BackendException(
-                          "Failed to update counters with type '%s'", e, type);
+                          "Failed to update counters with key '%s'", e, key);
             }
         }
     }
@@ -82,6 +82,12 @@ public class RocksDBFeatures implements BackendFeatures {
         return true;
     }
 
+    @Override
+    public boolean supportsQueryByMultiOwners() {
+        // Sweep the edges of multi owner vertices by a single iterator
+        return true;
+    }
+
     @Override
     public boolean supportsDeleteEdgeByLabel() {
         // No index in RocksDB
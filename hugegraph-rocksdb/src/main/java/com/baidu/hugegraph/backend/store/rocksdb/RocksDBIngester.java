@@ -27,17 +27,27 @@ import java.nio.file.Path;
 import java.nio.file.SimpleFileVisitor;
 import java.nio.file.attribute.BasicFileAttributes;
 import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 
 import org.rocksdb.ColumnFamilyHandle;
+import org.rocksdb.EnvOptions;
 import org.rocksdb.IngestExternalFileOptions;
+import org.rocksdb.Options;
 import org.rocksdb.RocksDB;
 import org.rocksdb.RocksDBException;
+import org.rocksdb.SstFileWriter;
+import org.slf4j.Logger;
 
 import com.baidu.hugegraph.backend.BackendException;
+import com.baidu.hugegraph.util.Log;
+import com.google.common.collect.ImmutableList;
 
 public class RocksDBIngester {
 
+    private static final Logger LOG = Log.logger(RocksDBIngester.class);
+
     private final RocksDB rocksdb;
     private final IngestExternalFileOptions options;
 
@@ -77,6 +87,36 @@ public class RocksDBIngester {
         }
     }
 
+    /**
+     * Write the sorted KVs into a SST file and ingest it, the keys must be
+     * in ascending order and without duplicates
+     */
+    public void ingest(ColumnFamilyHandle cf, Path sst,
+                       Iterator<Map.Entry<byte[], byte[]>> kvs)
+                       throws RocksDBException {
+        String path = sst.toString();
+        try {
+            try (EnvOptions env = new EnvOptions();
+                 Options options = new Options();
+                 SstFileWriter writer = new SstFileWriter(env, options)) {
+                writer.open(path);
+                while (kvs.hasNext()) {
+                    Map.Entry<byte[], byte[]> kv = kvs.next();
+                    writer.put(kv.getKey(), kv.getValue());
+                }
+                writer.finish();
+            }
+            // The file will be moved into RocksDB if ingested successfully
+            this.ingest(cf, ImmutableList.of(path));
+        } finally {
+            try {
+                Files.deleteIfExists(sst);
+            } catch (IOException e) {
+                LOG.warn("Failed to delete SST file '{}'", path, e);
+            }
+        }
+    }
+
     public static class SuffixFileVisitor extends SimpleFileVisitor<Path> {
 
         private final List<Path> files = new ArrayList<>();
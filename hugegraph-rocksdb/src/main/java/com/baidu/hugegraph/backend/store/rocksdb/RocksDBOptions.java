@@ -22,6 +22,7 @@ package com.baidu.hugegraph.backend.store.rocksdb;
 import static com.baidu.hugegraph.config.OptionChecker.allowValues;
 import static com.baidu.hugegraph.config.OptionChecker.disallowEmpty;
 import static com.baidu.hugegraph.config.OptionChecker.inValues;
+import static com.baidu.hugegraph.config.OptionChecker.nonNegativeInt;
 import static com.baidu.hugegraph.config.OptionChecker.rangeDouble;
 import static com.baidu.hugegraph.config.OptionChecker.rangeInt;
 
@@ -131,6 +132,27 @@ public class RocksDBOptions extends OptionHolder {
                     false
             );
 
+    public static final ConfigOption<Integer> BULKLOAD_INGEST_SIZE =
+            new ConfigOption<>(
+                    "rocksdb.bulkload_ingest_size",
+                    "The minimum number of records put by a commit to write " +
+                    "them into sorted SST files and ingest into RocksDB " +
+                    "directly, bypassing memtable and WAL, only take effect " +
+                    "if rocksdb.bulkload_mode is true, 0 means disabled.",
+                    nonNegativeInt(),
+                    0
+            );
+
+    public static final ConfigOption<Boolean> MEMORY_SNAPSHOT =
+            new ConfigOption<>(
+                    "rocksdb.memory_snapshot",
+                    "Whether to save the data of backend 'rocksdbmem' into " +
+                    "snapshot files under rocksdb.data_path when closing, " +
+                    "and load them when opening again.",
+                    disallowEmpty(),
+                    false
+            );
+
     public static final ConfigListConvOption<String, CompressionType> LEVELS_COMPRESSIONS =
             new ConfigListConvOption<>(
                     "rocksdb.compression_per_level",
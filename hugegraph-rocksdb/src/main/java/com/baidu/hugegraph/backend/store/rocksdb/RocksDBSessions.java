@@ -75,10 +75,14 @@ public abstract class RocksDBSessions extends BackendSessionPool {
         public abstract void delete(String table, byte[] key);
 
         public abstract byte[] get(String table, byte[] key);
+        public abstract BackendColumnIterator get(String table,
+                                                  List<byte[]> keys);
 
         public abstract BackendColumnIterator scan(String table);
         public abstract BackendColumnIterator scan(String table,
                                                    byte[] prefix);
+        public abstract BackendColumnIterator scan(String table,
+                                                   List<byte[]> prefixes);
         public abstract BackendColumnIterator scan(String table,
                                                    byte[] keyFrom,
                                                    byte[] keyTo,
@@ -20,15 +20,22 @@
 package com.baidu.hugegraph.backend.store.rocksdb;
 
 import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
@@ -60,17 +67,23 @@ import com.baidu.hugegraph.backend.BackendException;
 import com.baidu.hugegraph.backend.serializer.BinarySerializer;
 import com.baidu.hugegraph.backend.store.BackendEntry.BackendColumn;
 import com.baidu.hugegraph.backend.store.BackendEntry.BackendColumnIterator;
+import com.baidu.hugegraph.backend.store.BackendEntry.BackendColumnIteratorWrapper;
 import com.baidu.hugegraph.backend.store.BackendEntryIterator;
 import com.baidu.hugegraph.config.HugeConfig;
 import com.baidu.hugegraph.util.Bytes;
 import com.baidu.hugegraph.util.E;
 import com.baidu.hugegraph.util.StringEncoding;
 import com.google.common.collect.ImmutableList;
+import com.google.common.primitives.UnsignedBytes;
 
 public class RocksDBStdSessions extends RocksDBSessions {
 
+    private static final String INGEST_DIR = "ingest";
+
     private final RocksDB rocksdb;
     private final SstFileManager sstFileManager;
+    private final RocksDBIngester ingester;
+    private final Path ingestPath;
 
     private final Map<String, CFHandle> cfs;
     private final AtomicInteger refCount;
@@ -94,6 +107,8 @@ public class RocksDBStdSessions extends RocksDBSessions {
          * Don't merge old CFs, we expect a clear DB when using this one
          */
         this.rocksdb = RocksDB.open(options, dataPath);
+        this.ingester = new RocksDBIngester(this.rocksdb);
+        this.ingestPath = Paths.get(dataPath, INGEST_DIR);
 
         this.cfs = new ConcurrentHashMap<>();
         this.refCount = new AtomicInteger(1);
@@ -131,6 +146,8 @@ public class RocksDBStdSessions extends RocksDBSessions {
         this.rocksdb = RocksDB.open(options, dataPath, cfds, cfhs);
         E.checkState(cfhs.size() == cfs.size(),
                      "Expect same size of cf-handles and cf-names");
+        this.ingester = new RocksDBIngester(this.rocksdb);
+        this.ingestPath = Paths.get(dataPath, INGEST_DIR);
 
         // Collect CF Handles
         this.cfs = new ConcurrentHashMap<>();
@@ -149,6 +166,8 @@ public class RocksDBStdSessions extends RocksDBSessions {
 
         this.rocksdb = origin.rocksdb;
         this.sstFileManager = origin.sstFileManager;
+        this.ingester = origin.ingester;
+        this.ingestPath = origin.ingestPath;
         this.cfs = origin.cfs;
         this.refCount = origin.refCount;
 
@@ -292,13 +311,12 @@ public class RocksDBStdSessions extends RocksDBSessions {
         if (directory == null || directory.isEmpty()) {
             return;
         }
-        RocksDBIngester ingester = new RocksDBIngester(this.rocksdb);
         // Ingest all *.sst files in `directory`
         for (String cf : this.cfs.keySet()) {
             Path path = Paths.get(directory, cf);
             if (path.toFile().isDirectory()) {
                 try (CFHandle cfh = cf(cf)) {
-                    ingester.ingest(path, cfh.get());
+                    this.ingester.ingest(path, cfh.get());
                 }
             }
         }
@@ -559,12 +577,25 @@ public class RocksDBStdSessions extends RocksDBSessions {
         private WriteBatch batch;
         private WriteOptions writeOptions;
 
+        /*
+         * The records put in bulkload mode are kept sorted by table until
+         * any other kind of mutation, then they are written into SST files
+         * and ingested when committing if there are enough of them
+         */
+        private final int ingestSize;
+        private Map<String, SortedMap<byte[], byte[]>> sortedPuts;
+        private int sortedPutsSize;
+
         public StdSession(HugeConfig conf) {
             boolean bulkload = conf.get(RocksDBOptions.BULKLOAD_MODE);
             this.batch = new WriteBatch();
             this.writeOptions = new WriteOptions();
             this.writeOptions.setDisableWAL(bulkload);
             //this.writeOptions.setSync(false);
+
+            this.ingestSize = bulkload ?
+                              conf.get(RocksDBOptions.BULKLOAD_INGEST_SIZE) : 0;
+            this.resetSortedPuts();
         }
 
         @Override
@@ -588,7 +619,7 @@ public class RocksDBStdSessions extends RocksDBSessions {
          */
         @Override
         public boolean hasChanges() {
-            return this.batch.count() > 0;
+            return this.batch.count() > 0 || this.sortedPutsSize > 0;
         }
 
         /**
@@ -627,6 +658,14 @@ public class RocksDBStdSessions extends RocksDBSessions {
          */
         @Override
         public Integer commit() {
+            if (this.sortedPutsSize > 0) {
+                if (this.sortedPutsSize >= this.ingestSize) {
+                    assert this.batch.count() == 0;
+                    return this.ingestSortedPuts();
+                }
+                this.flushSortedPuts();
+            }
+
             int count = this.batch.count();
             if (count <= 0) {
                 return 0;
@@ -641,6 +680,7 @@ public class RocksDBStdSessions extends RocksDBSessions {
 
             // Clear batch if write() successfully (retained if failed)
             this.batch.clear();
+            this.resetSortedPuts();
 
             return count;
         }
@@ -651,6 +691,7 @@ public class RocksDBStdSessions extends RocksDBSessions {
         @Override
         public void rollback() {
             this.batch.clear();
+            this.resetSortedPuts();
         }
 
         /**
@@ -658,6 +699,18 @@ public class RocksDBStdSessions extends RocksDBSessions {
          */
         @Override
         public void put(String table, byte[] key, byte[] value) {
+            if (this.sortedPuts != null) {
+                SortedMap<byte[], byte[]> puts = this.sortedPuts.get(table);
+                if (puts == null) {
+                    puts = new TreeMap<>(UnsignedBytes
+                                         .lexicographicalComparator());
+                    this.sortedPuts.put(table, puts);
+                }
+                if (puts.put(key, value) == null) {
+                    this.sortedPutsSize++;
+                }
+                return;
+            }
             try (CFHandle cf = cf(table)) {
                 this.batch.put(cf.get(), key, value);
             } catch (RocksDBException e) {
@@ -672,6 +725,7 @@ public class RocksDBStdSessions extends RocksDBSessions {
          */
         @Override
         public void merge(String table, byte[] key, byte[] value) {
+            this.flushSortedPuts();
             try (CFHandle cf = cf(table)) {
                 this.batch.merge(cf.get(), key, value);
             } catch (RocksDBException e) {
@@ -696,6 +750,7 @@ public class RocksDBStdSessions extends RocksDBSessions {
          */
         @Override
         public void remove(String table, byte[] key) {
+            this.flushSortedPuts();
             try (CFHandle cf = cf(table)) {
                 this.batch.singleDelete(cf.get(), key);
             } catch (RocksDBException e) {
@@ -711,6 +766,7 @@ public class RocksDBStdSessions extends RocksDBSessions {
             byte[] keyFrom = key;
             byte[] keyTo = Arrays.copyOf(key, key.length);
             keyTo = BinarySerializer.increaseOne(keyTo);
+            this.flushSortedPuts();
             try (CFHandle cf = cf(table)) {
                 this.batch.deleteRange(cf.get(), keyFrom, keyTo);
             } catch (RocksDBException e) {
@@ -723,6 +779,7 @@ public class RocksDBStdSessions extends RocksDBSessions {
          */
         @Override
         public void delete(String table, byte[] keyFrom, byte[] keyTo) {
+            this.flushSortedPuts();
             try (CFHandle cf = cf(table)) {
                 this.batch.deleteRange(cf.get(), keyFrom, keyTo);
             } catch (RocksDBException e) {
@@ -730,6 +787,68 @@ public class RocksDBStdSessions extends RocksDBSessions {
             }
         }
 
+        private void resetSortedPuts() {
+            this.sortedPuts = this.ingestSize > 0 ? new HashMap<>() : null;
+            this.sortedPutsSize = 0;
+        }
+
+        /**
+         * Move the sorted records into write batch, and don't keep the
+         * records sorted any more to preserve the order of mutations
+         */
+        private void flushSortedPuts() {
+            if (this.sortedPuts == null) {
+                return;
+            }
+            Map<String, SortedMap<byte[], byte[]>> sortedPuts;
+            sortedPuts = this.sortedPuts;
+            this.sortedPuts = null;
+            this.sortedPutsSize = 0;
+            for (Map.Entry<String, SortedMap<byte[], byte[]>> e :
+                 sortedPuts.entrySet()) {
+                for (Map.Entry<byte[], byte[]> kv : e.getValue().entrySet()) {
+                    this.put(e.getKey(), kv.getKey(), kv.getValue());
+                }
+            }
+        }
+
+        private int ingestSortedPuts() {
+            int count = this.sortedPutsSize;
+            try {
+                Files.createDirectories(ingestPath);
+            } catch (IOException e) {
+                throw new BackendException("Failed to create directory '%s'",
+                                           e, ingestPath);
+            }
+            /*
+             * NOTE: the SST files of tables are ingested one by one, so the
+             * commit is not atomic across tables like a write batch
+             */
+            Iterator<Map.Entry<String, SortedMap<byte[], byte[]>>> iter;
+            iter = this.sortedPuts.entrySet().iterator();
+            while (iter.hasNext()) {
+                Map.Entry<String, SortedMap<byte[], byte[]>> entry;
+                entry = iter.next();
+                String table = entry.getKey();
+                SortedMap<byte[], byte[]> puts = entry.getValue();
+                String file = String.format("%s-%s-%s.sst", table,
+                                            Thread.currentThread().getId(),
+                                            System.nanoTime());
+                try (CFHandle cf = cf(table)) {
+                    ingester.ingest(cf.get(), ingestPath.resolve(file),
+                                    puts.entrySet().iterator());
+                } catch (RocksDBException e) {
+                    // The ingested tables are removed, others are retained
+                    throw new BackendException(e);
+                }
+                this.sortedPutsSize -= puts.size();
+                iter.remove();
+            }
+            assert this.sortedPutsSize == 0;
+            this.resetSortedPuts();
+            return count;
+        }
+
         /**
          * Get a record by key from a table
          */
@@ -744,6 +863,34 @@ public class RocksDBStdSessions extends RocksDBSessions {
             }
         }
 
+        /**
+         * Get records by a batch of keys from a table, the results are
+         * returned in the order of keys and missing keys are skipped
+         */
+        @Override
+        public BackendColumnIterator get(String table, List<byte[]> keys) {
+            assert !this.hasChanges();
+
+            List<byte[]> values;
+            try (CFHandle cf = cf(table)) {
+                List<ColumnFamilyHandle> handles = Collections.nCopies(
+                                                   keys.size(), cf.get());
+                values = rocksdb().multiGetAsList(handles, keys);
+            } catch (RocksDBException e) {
+                throw new BackendException(e);
+            }
+
+            assert values.size() == keys.size();
+            List<BackendColumn> cols = new ArrayList<>(keys.size());
+            for (int i = 0; i < keys.size(); i++) {
+                byte[] value = values.get(i);
+                if (value != null) {
+                    cols.add(BackendColumn.of(keys.get(i), value));
+                }
+            }
+            return new BackendColumnIteratorWrapper(cols.iterator());
+        }
+
         /**
          * Scan all records from a table
          */
@@ -775,6 +922,20 @@ public class RocksDBStdSessions extends RocksDBSessions {
             }
         }
 
+        /**
+         * Scan records by a batch of key prefixes from a table, a single
+         * iterator seeks the prefixes lazily, and the results are returned
+         * in the order of prefixes
+         */
+        @Override
+        public BackendColumnIterator scan(String table, List<byte[]> prefixes) {
+            assert !this.hasChanges();
+            try (CFHandle cf = cf(table)) {
+                RocksIterator iter = rocksdb().newIterator(cf.get());
+                return new PrefixesColumnIterator(iter, prefixes);
+            }
+        }
+
         /**
          * Scan records by key range from a table
          */
@@ -795,6 +956,92 @@ public class RocksDBStdSessions extends RocksDBSessions {
         }
     }
 
+    /**
+     * A wrapper for RocksIterator that sweeps a batch of key prefixes, the
+     * next prefix is sought only after the records of the last one are
+     * consumed, so that the caller can stop at any time like reaching limit
+     */
+    private static class PrefixesColumnIterator
+                   implements BackendColumnIterator, Countable {
+
+        private final RocksIterator iter;
+        private final Iterator<byte[]> prefixes;
+
+        private byte[] prefix;
+        private boolean matched;
+
+        public PrefixesColumnIterator(RocksIterator iter,
+                                      List<byte[]> prefixes) {
+            E.checkNotNull(iter, "iter");
+            this.iter = iter;
+            this.prefixes = prefixes.iterator();
+            this.prefix = null;
+            this.matched = false;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (!this.iter.isOwningHandle()) {
+                // Maybe closed
+                return false;
+            }
+            if (this.matched) {
+                return true;
+            }
+            while (this.prefix == null || !this.iter.isValid() ||
+                   !Bytes.prefixWith(this.iter.key(), this.prefix)) {
+                if (!this.prefixes.hasNext()) {
+                    // Free the iterator if finished
+                    this.prefix = null;
+                    this.close();
+                    return false;
+                }
+                this.prefix = this.prefixes.next();
+                this.iter.seek(this.prefix);
+            }
+            this.matched = true;
+            return true;
+        }
+
+        @Override
+        public BackendColumn next() {
+            if (!this.hasNext()) {
+                throw new NoSuchElementException();
+            }
+            BackendColumn col = BackendColumn.of(this.iter.key(),
+                                                 this.iter.value());
+            this.iter.next();
+            this.matched = false;
+            return col;
+        }
+
+        @Override
+        public long count() {
+            long count = 0L;
+            while (this.hasNext()) {
+                this.iter.next();
+                this.matched = false;
+                count++;
+                BackendEntryIterator.checkInterrupted();
+            }
+            return count;
+        }
+
+        @Override
+        public byte[] position() {
+            // Not support paging
+            return null;
+        }
+
+        @Override
+        public void close() {
+            this.matched = false;
+            if (this.iter.isOwningHandle()) {
+                this.iter.close();
+            }
+        }
+    }
+
     /**
      * A wrapper for RocksIterator that convert RocksDB results to std Iterator
      */
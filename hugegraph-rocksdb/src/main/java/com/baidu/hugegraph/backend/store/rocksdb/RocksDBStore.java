@@ -644,6 +644,20 @@ public abstract class RocksDBStore extends AbstractBackendStore<Session> {
             return this.counters.getCounter(session, type);
         }
 
+        @Override
+        public void increaseCounter(HugeType type, Id id, long increment) {
+            super.checkOpened();
+            Session session = super.sessions.session();
+            this.counters.increaseCounter(session, type, id, increment);
+        }
+
+        @Override
+        public long getCounter(HugeType type, Id id) {
+            super.checkOpened();
+            Session session = super.sessions.session();
+            return this.counters.getCounter(session, type, id);
+        }
+
         @Override
         public boolean isSchemaStore() {
             return true;
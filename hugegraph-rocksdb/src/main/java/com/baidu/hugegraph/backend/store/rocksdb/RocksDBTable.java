@@ -20,6 +20,7 @@
 package com.baidu.hugegraph.backend.store.rocksdb;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
@@ -35,6 +36,7 @@ import com.baidu.hugegraph.backend.query.Aggregate.AggregateFunc;
 import com.baidu.hugegraph.backend.query.Condition.Relation;
 import com.baidu.hugegraph.backend.query.ConditionQuery;
 import com.baidu.hugegraph.backend.query.IdPrefixQuery;
+import com.baidu.hugegraph.backend.query.IdPrefixesQuery;
 import com.baidu.hugegraph.backend.query.IdRangeQuery;
 import com.baidu.hugegraph.backend.query.Query;
 import com.baidu.hugegraph.backend.serializer.BinaryBackendEntry;
@@ -157,6 +159,12 @@ public class RocksDBTable extends BackendTable<Session, BackendEntry> {
             return this.queryByPrefix(session, pq);
         }
 
+        // Query by multi prefixes
+        if (query instanceof IdPrefixesQuery) {
+            IdPrefixesQuery pq = (IdPrefixesQuery) query;
+            return this.queryByPrefixes(session, pq);
+        }
+
         // Query by range
         if (query instanceof IdRangeQuery) {
             IdRangeQuery rq = (IdRangeQuery) query;
@@ -166,6 +174,10 @@ public class RocksDBTable extends BackendTable<Session, BackendEntry> {
         // Query by id
         if (query.conditions().isEmpty()) {
             assert !query.ids().isEmpty();
+            if (query.ids().size() > 1) {
+                // Query by multi ids in one batch
+                return this.queryByIds(session, query.ids());
+            }
             // NOTE: this will lead to lazy create rocksdb iterator
             return new BackendColumnIteratorWrapper(new FlatMapperIterator<>(
                    query.ids().iterator(), id -> this.queryById(session, id)
@@ -201,6 +213,17 @@ public class RocksDBTable extends BackendTable<Session, BackendEntry> {
         return new BackendEntry.BackendColumnIteratorWrapper(col);
     }
 
+    protected BackendColumnIterator queryByIds(Session session,
+                                               Collection<Id> ids) {
+        // NOTE: sweep all id prefixes by a single rocksdb iterator
+        return session.scan(this.table(), idsToBytes(ids));
+    }
+
+    protected BackendColumnIterator getByIds(Session session,
+                                             Collection<Id> ids) {
+        return session.get(this.table(), idsToBytes(ids));
+    }
+
     protected BackendColumnIterator queryByPrefix(Session session,
                                                   IdPrefixQuery query) {
         int type = query.inclusiveStart() ?
@@ -210,6 +233,12 @@ public class RocksDBTable extends BackendTable<Session, BackendEntry> {
                             query.prefix().asBytes(), type);
     }
 
+    protected BackendColumnIterator queryByPrefixes(Session session,
+                                                    IdPrefixesQuery query) {
+        // NOTE: sweep all the prefixes by a single rocksdb iterator
+        return session.scan(this.table(), idsToBytes(query.prefixes()));
+    }
+
     protected BackendColumnIterator queryByRange(Session session,
                                                  IdRangeQuery query) {
         byte[] start = query.start().asBytes();
@@ -270,6 +299,14 @@ public class RocksDBTable extends BackendTable<Session, BackendEntry> {
         });
     }
 
+    protected static final List<byte[]> idsToBytes(Collection<Id> ids) {
+        List<byte[]> keys = new ArrayList<>(ids.size());
+        for (Id id : ids) {
+            keys.add(id.asBytes());
+        }
+        return keys;
+    }
+
     protected static final long sizeOfBackendEntry(BackendEntry entry) {
         return BinaryEntryIterator.sizeOfBackendEntry(entry);
     }
@@ -21,6 +21,7 @@ package com.baidu.hugegraph.backend.store.rocksdb;
 
 import java.nio.ByteBuffer;
 import java.nio.ByteOrder;
+import java.util.Collection;
 import java.util.List;
 
 import com.baidu.hugegraph.backend.id.Id;
@@ -47,6 +48,25 @@ public class RocksDBTables {
 
         public long getCounter(Session session, HugeType type) {
             byte[] key = new byte[]{type.code()};
+            return this.getCounter(session, key);
+        }
+
+        public void increaseCounter(Session session, HugeType type,
+                                    long increment) {
+            byte[] key = new byte[]{type.code()};
+            session.increase(this.table(), key, b(increment));
+        }
+
+        public long getCounter(Session session, HugeType type, Id id) {
+            return this.getCounter(session, key(type, id));
+        }
+
+        public void increaseCounter(Session session, HugeType type, Id id,
+                                    long increment) {
+            session.increase(this.table(), key(type, id), b(increment));
+        }
+
+        private long getCounter(Session session, byte[] key) {
             byte[] value = session.get(this.table(), key);
             if (value != null) {
                 return l(value);
@@ -55,10 +75,11 @@ public class RocksDBTables {
             }
         }
 
-        public void increaseCounter(Session session, HugeType type,
-                                    long increment) {
-            byte[] key = new byte[]{type.code()};
-            session.increase(this.table(), key, b(increment));
+        private static byte[] key(HugeType type, Id id) {
+            // Longer than the key of type counter, so never conflict with it
+            byte[] idBytes = id.asBytes();
+            return ByteBuffer.allocate(1 + idBytes.length)
+                             .put(type.code()).put(idBytes).array();
         }
 
         private static byte[] b(long value) {
@@ -123,6 +144,12 @@ public class RocksDBTables {
         protected BackendColumnIterator queryById(Session session, Id id) {
             return this.getById(session, id);
         }
+
+        @Override
+        protected BackendColumnIterator queryByIds(Session session,
+                                                   Collection<Id> ids) {
+            return this.getByIds(session, ids);
+        }
     }
 
     public static class Edge extends RocksDBTable {
@@ -146,6 +173,12 @@ public class RocksDBTables {
         protected BackendColumnIterator queryById(Session session, Id id) {
             return this.getById(session, id);
         }
+
+        @Override
+        protected BackendColumnIterator queryByIds(Session session,
+                                                   Collection<Id> ids) {
+            return this.getByIds(session, ids);
+        }
     }
 
     public static class IndexTable extends RocksDBTable {
@@ -0,0 +1,728 @@
+/*
+ * Copyright 2017 HugeGraph Authors
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with this
+ * work for additional information regarding copyright ownership. The ASF
+ * licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.baidu.hugegraph.backend.store.rocksdbmem;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.commons.lang3.tuple.Pair;
+import org.slf4j.Logger;
+
+import com.baidu.hugegraph.backend.BackendException;
+import com.baidu.hugegraph.backend.store.BackendEntry.BackendColumn;
+import com.baidu.hugegraph.backend.store.BackendEntry.BackendColumnIterator;
+import com.baidu.hugegraph.backend.store.BackendEntry.BackendColumnIteratorWrapper;
+import com.baidu.hugegraph.backend.store.BackendEntryIterator;
+import com.baidu.hugegraph.backend.store.rocksdb.RocksDBMetrics;
+import com.baidu.hugegraph.backend.store.rocksdb.RocksDBOptions;
+import com.baidu.hugegraph.backend.store.rocksdb.RocksDBSessions;
+import com.baidu.hugegraph.config.HugeConfig;
+import com.baidu.hugegraph.util.Bytes;
+import com.baidu.hugegraph.util.E;
+import com.baidu.hugegraph.util.Log;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Iterators;
+import com.google.common.primitives.UnsignedBytes;
+
+/**
+ * The sessions keep the binary records of each table in a concurrent skip
+ * list sorted in the same order as RocksDB, so the RocksDB tables can be
+ * reused to serve prefix, range and shard scans in memory.
+ * NOTE: the changes of a commit are applied one by one, so a commit is not
+ * atomic to the concurrent readers like a write batch of RocksDB.
+ */
+public class RocksDBMemSessions extends RocksDBSessions {
+
+    private static final Logger LOG = Log.logger(RocksDBMemSessions.class);
+
+    private static final String SNAPSHOT_SUFFIX = ".snapshot";
+    private static final int SNAPSHOT_END = -1;
+
+    private static final String SST_SIZE = "rocksdb.total-sst-files-size";
+    private static final String NUM_KEYS = "rocksdb.estimate-num-keys";
+
+    /*
+     * DataPath:MemDB mapping, the data is kept until the process exits,
+     * or until the last sessions closed if saved into snapshot files
+     */
+    private static final ConcurrentMap<String, MemDB> dbs;
+
+    static {
+        dbs = new ConcurrentHashMap<>();
+    }
+
+    private final String dataPath;
+    private final boolean snapshot;
+    private final MemDB db;
+    private final ConcurrentMap<String, MemTable> tables;
+    private volatile boolean opened;
+
+    public RocksDBMemSessions(HugeConfig config, String database, String store,
+                              String dataPath) {
+        super(config, database, store);
+
+        this.dataPath = dataPath;
+        this.snapshot = config.get(RocksDBOptions.MEMORY_SNAPSHOT);
+        this.db = dbs.compute(dataPath, (path, db) -> {
+            if (db == null) {
+                db = new MemDB();
+                if (this.snapshot) {
+                    loadSnapshot(path, db.tables);
+                }
+            }
+            db.refCount.incrementAndGet();
+            return db;
+        });
+        this.tables = this.db.tables;
+        this.opened = true;
+    }
+
+    private RocksDBMemSessions(HugeConfig config, String database, String store,
+                               RocksDBMemSessions origin) {
+        super(config, database, store);
+
+        this.dataPath = origin.dataPath;
+        this.snapshot = origin.snapshot;
+        this.db = origin.db;
+        this.tables = origin.tables;
+        this.opened = true;
+
+        this.db.refCount.incrementAndGet();
+    }
+
+    @Override
+    public void open() throws Exception {
+        // pass
+    }
+
+    @Override
+    protected boolean opened() {
+        return this.opened;
+    }
+
+    @Override
+    public Set<String> openedTables() {
+        return this.tables.keySet();
+    }
+
+    @Override
+    public void createTable(String table) {
+        this.tables.putIfAbsent(table, new MemTable());
+    }
+
+    @Override
+    public void dropTable(String table) {
+        this.tables.remove(table);
+        try {
+            Files.deleteIfExists(this.snapshotFile(table));
+        } catch (IOException e) {
+            throw new BackendException("Failed to delete snapshot of '%s'",
+                                       e, table);
+        }
+    }
+
+    @Override
+    public boolean existsTable(String table) {
+        return this.tables.containsKey(table);
+    }
+
+    @Override
+    public List<String> property(String property) {
+        if (property.equals(RocksDBMetrics.DISK_USAGE)) {
+            long size = 0L;
+            for (String table : this.tables.keySet()) {
+                size += this.snapshotFile(table).toFile().length();
+            }
+            return ImmutableList.of(String.valueOf(size));
+        }
+        // The properties of tables are returned by session.property()
+        return ImmutableList.of();
+    }
+
+    @Override
+    public RocksDBSessions copy(HugeConfig config,
+                                String database, String store) {
+        return new RocksDBMemSessions(config, database, store, this);
+    }
+
+    @Override
+    public final Session session() {
+        return (Session) super.getOrNewSession();
+    }
+
+    @Override
+    protected final Session newSession() {
+        E.checkState(this.opened, "RocksDB memory has been closed");
+        return new MemSession();
+    }
+
+    @Override
+    protected synchronized void doClose() {
+        if (!this.opened) {
+            return;
+        }
+        this.opened = false;
+        if (!this.snapshot) {
+            this.db.refCount.decrementAndGet();
+            return;
+        }
+        this.saveSnapshot();
+        dbs.computeIfPresent(this.dataPath, (path, db) -> {
+            // Free the memory if the data has been saved by all sessions
+            return db.refCount.decrementAndGet() > 0 ? db : null;
+        });
+    }
+
+    private MemTable table(String table) {
+        MemTable memTable = this.tables.get(table);
+        if (memTable == null) {
+            throw new BackendException("Table '%s' is not opened", table);
+        }
+        return memTable;
+    }
+
+    private Path snapshotFile(String table) {
+        return Paths.get(this.dataPath, table + SNAPSHOT_SUFFIX);
+    }
+
+    private void saveSnapshot() {
+        for (Map.Entry<String, MemTable> e : this.tables.entrySet()) {
+            Path file = this.snapshotFile(e.getKey());
+            Path temp = Paths.get(file.toString() + ".tmp");
+            try (DataOutputStream output = new DataOutputStream(
+                                           new BufferedOutputStream(
+                                           Files.newOutputStream(temp)))) {
+                for (Map.Entry<byte[], byte[]> kv :
+                     e.getValue().data.entrySet()) {
+                    output.writeInt(kv.getKey().length);
+                    output.write(kv.getKey());
+                    output.writeInt(kv.getValue().length);
+                    output.write(kv.getValue());
+                }
+                output.writeInt(SNAPSHOT_END);
+            } catch (IOException ex) {
+                throw new BackendException("Failed to write snapshot '%s'",
+                                           ex, temp);
+            }
+            try {
+                Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING,
+                           StandardCopyOption.ATOMIC_MOVE);
+            } catch (IOException ex) {
+                throw new BackendException("Failed to move snapshot '%s'",
+                                           ex, temp);
+            }
+            LOG.debug("Write snapshot of table '{}' into '{}'",
+                      e.getKey(), file);
+        }
+    }
+
+    private static void loadSnapshot(String dataPath,
+                                     Map<String, MemTable> tables) {
+        File[] files = new File(dataPath).listFiles((dir, name) -> {
+            return name.endsWith(SNAPSHOT_SUFFIX);
+        });
+        if (files == null) {
+            return;
+        }
+        for (File file : files) {
+            String name = file.getName();
+            String table = name.substring(0, name.length() -
+                                             SNAPSHOT_SUFFIX.length());
+            MemTable memTable = new MemTable();
+            try (DataInputStream input = new DataInputStream(
+                                         new BufferedInputStream(
+                                         Files.newInputStream(
+                                         file.toPath())))) {
+                int length;
+                while ((length = input.readInt()) != SNAPSHOT_END) {
+                    byte[] key = new byte[length];
+                    input.readFully(key);
+                    byte[] value = new byte[input.readInt()];
+                    input.readFully(value);
+                    memTable.put(key, value);
+                }
+            } catch (IOException e) {
+                throw new BackendException("Failed to read snapshot '%s'",
+                                           e, file);
+            }
+            tables.put(table, memTable);
+            LOG.info("Load snapshot of table '{}' with {} records",
+                     table, memTable.count.get());
+        }
+    }
+
+    private static class MemDB {
+
+        private final ConcurrentMap<String, MemTable> tables;
+        private final AtomicInteger refCount;
+
+        public MemDB() {
+            this.tables = new ConcurrentHashMap<>();
+            this.refCount = new AtomicInteger(0);
+        }
+    }
+
+    /**
+     * The records of a table, with the statistics for shard splitting
+     */
+    private static class MemTable {
+
+        private final ConcurrentSkipListMap<byte[], byte[]> data;
+        private final AtomicLong count;
+        private final AtomicLong size;
+
+        public MemTable() {
+            this.data = new ConcurrentSkipListMap<>(
+                        UnsignedBytes.lexicographicalComparator());
+            this.count = new AtomicLong(0L);
+            this.size = new AtomicLong(0L);
+        }
+
+        public void put(byte[] key, byte[] value) {
+            byte[] old = this.data.put(key, value);
+            this.updated(key, old, value);
+        }
+
+        public void remove(byte[] key) {
+            byte[] old = this.data.remove(key);
+            this.updated(key, old, null);
+        }
+
+        public void removePrefix(byte[] prefix) {
+            for (byte[] key : this.data.tailMap(prefix).keySet()) {
+                if (!Bytes.prefixWith(key, prefix)) {
+                    break;
+                }
+                this.remove(key);
+            }
+        }
+
+        public void removeRange(byte[] keyFrom, byte[] keyTo) {
+            for (byte[] key : this.data.subMap(keyFrom, keyTo).keySet()) {
+                this.remove(key);
+            }
+        }
+
+        /**
+         * Add the value to the existing value like RocksDB 'uint64add'
+         */
+        public void increase(byte[] key, byte[] value) {
+            while (true) {
+                byte[] old = this.data.get(key);
+                if (old == null) {
+                    if (this.data.putIfAbsent(key, value) == null) {
+                        this.updated(key, null, value);
+                        return;
+                    }
+                } else {
+                    byte[] sum = add(old, value);
+                    if (this.data.replace(key, old, sum)) {
+                        return;
+                    }
+                }
+            }
+        }
+
+        private void updated(byte[] key, byte[] oldValue, byte[] newValue) {
+            if (oldValue != null) {
+                this.count.decrementAndGet();
+                this.size.addAndGet(-(key.length + oldValue.length));
+            }
+            if (newValue != null) {
+                this.count.incrementAndGet();
+                this.size.addAndGet(key.length + newValue.length);
+            }
+        }
+
+        private static byte[] add(byte[] value1, byte[] value2) {
+            assert value1.length == Long.BYTES && value2.length == Long.BYTES;
+            long sum = ByteBuffer.wrap(value1)
+                                 .order(ByteOrder.nativeOrder()).getLong() +
+                       ByteBuffer.wrap(value2)
+                                 .order(ByteOrder.nativeOrder()).getLong();
+            return ByteBuffer.allocate(Long.BYTES)
+                             .order(ByteOrder.nativeOrder())
+                             .putLong(sum).array();
+        }
+    }
+
+    /**
+     * MemSession implement for RocksDB memory
+     */
+    private final class MemSession extends Session {
+
+        private final List<Runnable> batch;
+
+        public MemSession() {
+            this.batch = new ArrayList<>();
+        }
+
+        @Override
+        public void open() {
+            this.opened = true;
+        }
+
+        @Override
+        public void close() {
+            assert this.closeable();
+            this.opened = false;
+        }
+
+        @Override
+        public boolean closed() {
+            return !this.opened || !RocksDBMemSessions.this.opened();
+        }
+
+        /**
+         * Any change in the session
+         */
+        @Override
+        public boolean hasChanges() {
+            return !this.batch.isEmpty();
+        }
+
+        /**
+         * Commit all updates(put/delete) to memory
+         */
+        @Override
+        public Integer commit() {
+            int count = this.batch.size();
+            if (count <= 0) {
+                return 0;
+            }
+
+            for (Runnable change : this.batch) {
+                change.run();
+            }
+
+            // Clear batch if write() successfully (retained if failed)
+            this.batch.clear();
+
+            return count;
+        }
+
+        /**
+         * Rollback all updates(put/delete) not committed
+         */
+        @Override
+        public void rollback() {
+            this.batch.clear();
+        }
+
+        /**
+         * Get property value by name from specified table
+         */
+        @Override
+        public String property(String table, String property) {
+            MemTable memTable = table(table);
+            switch (property) {
+                case RocksDBMetrics.MEM_TABLE:
+                case RocksDBMetrics.ALL_MEM_TABLE:
+                    return String.valueOf(memTable.size.get());
+                case NUM_KEYS:
+                    return String.valueOf(memTable.count.get());
+                case SST_SIZE:
+                default:
+                    return "0";
+            }
+        }
+
+        @Override
+        public Pair<byte[], byte[]> keyRange(String table) {
+            NavigableMap<byte[], byte[]> data = table(table).data;
+            Map.Entry<byte[], byte[]> first = data.firstEntry();
+            if (first == null) {
+                return null;
+            }
+            Map.Entry<byte[], byte[]> last = data.lastEntry();
+            return Pair.of(first.getKey(), last == null ? null : last.getKey());
+        }
+
+        /**
+         * Add a KV record to a table
+         */
+        @Override
+        public void put(String table, byte[] key, byte[] value) {
+            MemTable memTable = table(table);
+            this.batch.add(() -> memTable.put(key, value));
+        }
+
+        /**
+         * Merge a record to an existing key to a table, only the merge
+         * operator 'uint64add' is supported like RocksDB
+         */
+        @Override
+        public void merge(String table, byte[] key, byte[] value) {
+            MemTable memTable = table(table);
+            this.batch.add(() -> memTable.increase(key, value));
+        }
+
+        /**
+         * Merge a record to an existing key to a table and commit immediately
+         */
+        @Override
+        public void increase(String table, byte[] key, byte[] value) {
+            table(table).increase(key, value);
+        }
+
+        /**
+         * Delete a record by key from a table
+         */
+        @Override
+        public void remove(String table, byte[] key) {
+            MemTable memTable = table(table);
+            this.batch.add(() -> memTable.remove(key));
+        }
+
+        /**
+         * Delete a record by key(or prefix with key) from a table
+         */
+        @Override
+        public void delete(String table, byte[] key) {
+            MemTable memTable = table(table);
+            this.batch.add(() -> memTable.removePrefix(key));
+        }
+
+        /**
+         * Delete a range of keys from a table
+         */
+        @Override
+        public void delete(String table, byte[] keyFrom, byte[] keyTo) {
+            MemTable memTable = table(table);
+            this.batch.add(() -> memTable.removeRange(keyFrom, keyTo));
+        }
+
+        /**
+         * Get a record by key from a table
+         */
+        @Override
+        public byte[] get(String table, byte[] key) {
+            assert !this.hasChanges();
+            return table(table).data.get(key);
+        }
+
+        /**
+         * Get records by a batch of keys from a table, the results are
+         * returned in the order of keys and missing keys are skipped
+         */
+        @Override
+        public BackendColumnIterator get(String table, List<byte[]> keys) {
+            assert !this.hasChanges();
+            NavigableMap<byte[], byte[]> data = table(table).data;
+            List<BackendColumn> cols = new ArrayList<>(keys.size());
+            for (byte[] key : keys) {
+                byte[] value = data.get(key);
+                if (value != null) {
+                    cols.add(BackendColumn.of(key, value));
+                }
+            }
+            return new BackendColumnIteratorWrapper(cols.iterator());
+        }
+
+        /**
+         * Scan all records from a table
+         */
+        @Override
+        public BackendColumnIterator scan(String table) {
+            assert !this.hasChanges();
+            return new ColumnIterator(table(table).data, null, null, SCAN_ANY);
+        }
+
+        /**
+         * Scan records by key prefix from a table
+         */
+        @Override
+        public BackendColumnIterator scan(String table, byte[] prefix) {
+            assert !this.hasChanges();
+            return new ColumnIterator(table(table).data, prefix, null,
+                                      SCAN_PREFIX_BEGIN);
+        }
+
+        /**
+         * Scan records by a batch of key prefixes from a table, the results
+         * are returned in the order of prefixes
+         */
+        @Override
+        public BackendColumnIterator scan(String table, List<byte[]> prefixes) {
+            assert !this.hasChanges();
+            NavigableMap<byte[], byte[]> data = table(table).data;
+            Iterator<BackendColumn> cols = Iterators.concat(
+                                           Iterators.transform(
+                                           prefixes.iterator(),
+                                           prefix -> new ColumnIterator(
+                                                     data, prefix, null,
+                                                     SCAN_PREFIX_BEGIN)));
+            return new BackendColumnIteratorWrapper(cols);
+        }
+
+        /**
+         * Scan records by key range from a table
+         */
+        @Override
+        public BackendColumnIterator scan(String table, byte[] keyFrom,
+                                          byte[] keyTo, int scanType) {
+            assert !this.hasChanges();
+            return new ColumnIterator(table(table).data, keyFrom,
+                                      keyTo, scanType);
+        }
+    }
+
+    /**
+     * An iterator of the sorted records that filter records like RocksDB
+     * ColumnIterator, the first unmatched record ends the iteration
+     */
+    private static class ColumnIterator implements BackendColumnIterator,
+                                                   Countable {
+
+        private final Iterator<Map.Entry<byte[], byte[]>> iter;
+        private final byte[] keyBegin;
+        private final byte[] keyEnd;
+        private final int scanType;
+
+        private Map.Entry<byte[], byte[]> current;
+        private byte[] position;
+        private boolean finished;
+
+        public ColumnIterator(NavigableMap<byte[], byte[]> data,
+                              byte[] keyBegin, byte[] keyEnd, int scanType) {
+            this.keyBegin = keyBegin;
+            this.keyEnd = keyEnd;
+            this.scanType = scanType;
+
+            if (keyBegin != null) {
+                // Skip `keyBegin` if set SCAN_GT_BEGIN (key > 'xx')
+                boolean inclusive = !(this.match(Session.SCAN_GT_BEGIN) &&
+                                      !this.match(Session.SCAN_GTE_BEGIN));
+                data = data.tailMap(keyBegin, inclusive);
+            }
+            this.iter = data.entrySet().iterator();
+
+            this.current = null;
+            this.position = keyBegin;
+            this.finished = false;
+        }
+
+        private boolean match(int expected) {
+            return Session.matchScanType(expected, this.scanType);
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (this.current != null) {
+                return true;
+            }
+            if (!this.finished && this.iter.hasNext()) {
+                Map.Entry<byte[], byte[]> entry = this.iter.next();
+                // Update position for paging
+                this.position = entry.getKey();
+                // Do filter if not SCAN_ANY
+                if (this.match(Session.SCAN_ANY) ||
+                    this.filter(this.position)) {
+                    this.current = entry;
+                    return true;
+                }
+            }
+            // The end
+            this.finished = true;
+            this.position = null;
+            return false;
+        }
+
+        private boolean filter(byte[] key) {
+            if (this.match(Session.SCAN_PREFIX_BEGIN)) {
+                return Bytes.prefixWith(key, this.keyBegin);
+            } else if (this.match(Session.SCAN_PREFIX_END)) {
+                assert this.keyEnd != null;
+                return Bytes.prefixWith(key, this.keyEnd);
+            } else if (this.match(Session.SCAN_LT_END)) {
+                assert this.keyEnd != null;
+                if (this.match(Session.SCAN_LTE_END)) {
+                    // Just compare the prefix, maybe there are excess tail
+                    key = Arrays.copyOfRange(key, 0, this.keyEnd.length);
+                    return Bytes.compare(key, this.keyEnd) <= 0;
+                } else {
+                    return Bytes.compare(key, this.keyEnd) < 0;
+                }
+            } else {
+                assert this.match(Session.SCAN_ANY) ||
+                       this.match(Session.SCAN_GT_BEGIN) ||
+                       this.match(Session.SCAN_GTE_BEGIN) :
+                       "Unknow scan type";
+                return true;
+            }
+        }
+
+        @Override
+        public BackendColumn next() {
+            if (!this.hasNext()) {
+                throw new NoSuchElementException();
+            }
+            BackendColumn col = BackendColumn.of(this.current.getKey(),
+                                                 this.current.getValue());
+            this.current = null;
+            return col;
+        }
+
+        @Override
+        public long count() {
+            long count = 0L;
+            while (this.hasNext()) {
+                this.current = null;
+                count++;
+                BackendEntryIterator.checkInterrupted();
+            }
+            return count;
+        }
+
+        @Override
+        public byte[] position() {
+            return this.position;
+        }
+
+        @Override
+        public void close() {
+            this.finished = true;
+            this.current = null;
+        }
+    }
+}
@@ -315,6 +315,14 @@ public class RocksDBSstSessions extends RocksDBSessions {
             return null;
         }
 
+        /**
+         * Get records by a batch of keys from a table
+         */
+        @Override
+        public BackendColumnIterator get(String table, List<byte[]> keys) {
+            throw new NotSupportException("RocksDBSstStore get() by keys");
+        }
+
         /**
          * Scan all records from a table
          */
@@ -333,6 +341,15 @@ public class RocksDBSstSessions extends RocksDBSessions {
             return BackendColumnIterator.empty();
         }
 
+        /**
+         * Scan records by a batch of key prefixes from a table
+         */
+        @Override
+        public BackendColumnIterator scan(String table, List<byte[]> prefixes) {
+            throw new NotSupportException("RocksDBSstStore scan() by " +
+                                          "prefixes");
+        }
+
         /**
          * Scan records by key range from a table
          */
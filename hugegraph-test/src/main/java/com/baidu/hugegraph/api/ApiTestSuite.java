@@ -33,6 +33,12 @@ import com.baidu.hugegraph.dist.RegisterUtil;
     IndexLabelApiTest.class,
     VertexApiTest.class,
     EdgeApiTest.class,
+    KoutApiTest.class,
+    KneighborApiTest.class,
+    SameNeighborsApiTest.class,
+    JaccardSimilarityApiTest.class,
+    PersonalRankApiTest.class,
+    StatisticsApiTest.class,
     TaskApiTest.class,
     GremlinApiTest.class,
     MetricsApiTest.class
@@ -338,6 +338,34 @@ public class BaseApiTest {
                 + "}");
     }
 
+    protected static void initEdge() throws IOException {
+        String path = URL_PREFIX + GRAPH_EDGE;
+
+        String[][] edges = {
+            {"knows", "person", "marko", "person", "vadas"},
+            {"knows", "person", "marko", "person", "josh"},
+            {"created", "person", "marko", "software", "lop"},
+            {"created", "person", "josh", "software", "ripple"},
+            {"created", "person", "josh", "software", "lop"},
+            {"created", "person", "peter", "software", "lop"}
+        };
+        for (String[] edge : edges) {
+            String outV = getVertexId(edge[1], "name", edge[2]);
+            String inV = getVertexId(edge[3], "name", edge[4]);
+            createAndAssert(path, String.format("{\n"
+                    + "\"label\": \"%s\",\n"
+                    + "\"outVLabel\": \"%s\",\n"
+                    + "\"outV\": \"%s\",\n"
+                    + "\"inVLabel\": \"%s\",\n"
+                    + "\"inV\": \"%s\",\n"
+                    + "\"properties\":{"
+                    + "\"date\": \"20170324\","
+                    + "\"weight\": 0.5"
+                    + "}\n"
+                    + "}", edge[0], edge[1], outV, edge[3], inV));
+        }
+    }
+
     protected static Response createAndAssert(String path, String body) {
         Response r = client.post(path, body);
         assertResponseStatus(201, r);
@@ -20,6 +20,11 @@
 package com.baidu.hugegraph.api;
 
 import java.io.IOException;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 import javax.ws.rs.core.Response;
 
@@ -206,4 +211,51 @@ public class EdgeApiTest extends BaseApiTest {
         r = client().delete(path, id);
         assertResponseStatus(204, r);
     }
+
+    @Test
+    public void testListByPage() throws IOException {
+        BaseApiTest.initEdge();
+
+        Set<Object> ids = new HashSet<>();
+        Map<String, Object> params = new HashMap<>();
+        params.put("page", "");
+        params.put("limit", 4);
+        String page;
+        do {
+            Response r = client().get(path, params);
+            String content = assertResponseStatus(200, r);
+            @SuppressWarnings("rawtypes")
+            List<Map> edges = readList(content, "edges", Map.class);
+            Assert.assertTrue(edges.size() <= 4);
+            for (Map<?, ?> edge : edges) {
+                Assert.assertTrue(ids.add(edge.get("id")));
+            }
+            page = assertJsonContains(content, "page");
+            params.put("page", page);
+        } while (page != null);
+        Assert.assertEquals(6, ids.size());
+    }
+
+    @Test
+    public void testListByVertex() throws IOException {
+        BaseApiTest.initEdge();
+
+        String markoId = getVertexId("person", "name", "marko");
+        Map<String, Object> params = new HashMap<>();
+        params.put("vertex_id", String.format("\"%s\"", markoId));
+        params.put("direction", "OUT");
+        Response r = client().get(path, params);
+        String content = assertResponseStatus(200, r);
+        @SuppressWarnings("rawtypes")
+        List<Map> edges = readList(content, "edges", Map.class);
+        Assert.assertEquals(3, edges.size());
+        for (Map<?, ?> edge : edges) {
+            Assert.assertEquals(markoId, edge.get("outV"));
+        }
+
+        params.put("label", "knows");
+        r = client().get(path, params);
+        content = assertResponseStatus(200, r);
+        Assert.assertEquals(2, readList(content, "edges", Map.class).size());
+    }
 }
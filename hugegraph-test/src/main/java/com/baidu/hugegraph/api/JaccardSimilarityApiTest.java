@@ -0,0 +1,88 @@
+/*
+ * Copyright 2017 HugeGraph Authors
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with this
+ * work for additional information regarding copyright ownership. The ASF
+ * licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.baidu.hugegraph.api;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+
+import javax.ws.rs.core.Response;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import com.baidu.hugegraph.testutil.Assert;
+import com.google.common.collect.ImmutableMap;
+
+public class JaccardSimilarityApiTest extends BaseApiTest {
+
+    private static String path = "/graphs/hugegraph/traversers/" +
+                                 "jaccardsimilarity";
+
+    @Before
+    public void prepareSchema() throws IOException {
+        BaseApiTest.initPropertyKey();
+        BaseApiTest.initVertexLabel();
+        BaseApiTest.initEdgeLabel();
+        BaseApiTest.initVertex();
+        BaseApiTest.initEdge();
+    }
+
+    @Test
+    public void testPost() throws IOException {
+        String marko = getVertexId("person", "name", "marko");
+        String josh = getVertexId("person", "name", "josh");
+        String peter = getVertexId("person", "name", "peter");
+        String body = String.format("{\"pairs\":[[\"%s\",\"%s\"]," +
+                                    "[\"%s\",\"%s\"]],\"direction\":" +
+                                    "\"BOTH\",\"parallelism\":2}",
+                                    marko, josh, josh, peter);
+        Response r = client().post(path, body);
+        String content = assertResponseStatus(200, r);
+        List<Map> results = readList(content, "jaccard_similarities",
+                                     Map.class);
+        Assert.assertEquals(2, results.size());
+
+        // The same results as the GET API of each pair
+        for (Map<?, ?> result : results) {
+            Map<String, Object> params = ImmutableMap.of(
+                                         "vertex", String.format("\"%s\"",
+                                                   result.get("vertex")),
+                                         "other", String.format("\"%s\"",
+                                                  result.get("other")),
+                                         "direction", "BOTH");
+            r = client().get(path, params);
+            content = assertResponseStatus(200, r);
+            double expected = assertJsonContains(content,
+                                                 "jaccard_similarity");
+            Assert.assertEquals(expected, (double) result.get(
+                                          "jaccard_similarity"), 0.0);
+        }
+
+        // {vadas, josh, lop} and {marko, ripple, lop}
+        Assert.assertEquals(marko, results.get(0).get("vertex"));
+        Assert.assertEquals(0.2, (double) results.get(0).get(
+                                          "jaccard_similarity"), 1e-6);
+        // {marko, ripple, lop} and {lop}
+        Assert.assertEquals(josh, results.get(1).get("vertex"));
+        Assert.assertEquals(1.0 / 3, (double) results.get(1).get(
+                                             "jaccard_similarity"), 1e-6);
+    }
+}
@@ -0,0 +1,108 @@
+/*
+ * Copyright 2017 HugeGraph Authors
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with this
+ * work for additional information regarding copyright ownership. The ASF
+ * licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.baidu.hugegraph.api;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import javax.ws.rs.core.Response;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import com.baidu.hugegraph.testutil.Assert;
+import com.google.common.collect.ImmutableSet;
+
+public class KneighborApiTest extends BaseApiTest {
+
+    private static String path = "/graphs/hugegraph/traversers/kneighbor";
+
+    @Before
+    public void prepareSchema() throws IOException {
+        BaseApiTest.initPropertyKey();
+        BaseApiTest.initVertexLabel();
+        BaseApiTest.initEdgeLabel();
+        BaseApiTest.initVertex();
+        BaseApiTest.initEdge();
+    }
+
+    @Test
+    public void testPost() throws IOException {
+        String marko = getVertexId("person", "name", "marko");
+        String peter = getVertexId("person", "name", "peter");
+        String body = String.format("{\"sources\":{\"ids\":[\"%s\",\"%s\"]}," +
+                                    "\"direction\":\"BOTH\"," +
+                                    "\"max_depth\":1}", marko, peter);
+        Response r = client().post(path, body);
+        String content = assertResponseStatus(200, r);
+        Map<Object, Set<Object>> kneighbors = readResults(content);
+        Assert.assertEquals(ImmutableSet.of(marko, peter),
+                            kneighbors.keySet());
+        Assert.assertEquals(ids("marko", "vadas", "josh", "lop"),
+                            kneighbors.get(marko));
+        Assert.assertEquals(ids("peter", "lop"), kneighbors.get(peter));
+
+        body = String.format("{\"sources\":{\"ids\":[\"%s\",\"%s\"]}," +
+                             "\"direction\":\"BOTH\",\"max_depth\":2," +
+                             "\"limit\":3}", marko, peter);
+        r = client().post(path, body);
+        content = assertResponseStatus(200, r);
+        kneighbors = readResults(content);
+        // The limit is applied to each source
+        Assert.assertEquals(3, kneighbors.get(marko).size());
+        Assert.assertEquals(3, kneighbors.get(peter).size());
+        Assert.assertTrue(kneighbors.get(peter).contains(peter));
+    }
+
+    @Test
+    public void testPostWithCapacity() throws IOException {
+        String body = "{\"sources\":{\"label\":\"person\"}," +
+                      "\"direction\":\"BOTH\",\"max_depth\":2," +
+                      "\"capacity\":5}";
+        Response r = client().post(path, body);
+        String content = assertResponseStatus(400, r);
+        Assert.assertContains("Exceed capacity '5' while finding " +
+                              "k-neighbor", content);
+    }
+
+    private static Set<Object> ids(String... names) throws IOException {
+        Set<Object> ids = new HashSet<>();
+        for (String name : names) {
+            String label = ImmutableSet.of("lop", "ripple").contains(name) ?
+                           "software" : "person";
+            ids.add(getVertexId(label, "name", name));
+        }
+        return ids;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<Object, Set<Object>> readResults(String content) {
+        Map<Object, Set<Object>> results = new HashMap<>();
+        for (Map<?, ?> result : readList(content, "kneighbors", Map.class)) {
+            results.put(result.get("source"),
+                        new HashSet<>((List<Object>) result.get("vertices")));
+        }
+        return results;
+    }
+}
@@ -0,0 +1,195 @@
+/*
+ * Copyright 2017 HugeGraph Authors
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with this
+ * work for additional information regarding copyright ownership. The ASF
+ * licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.baidu.hugegraph.api;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import javax.ws.rs.core.Response;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import com.baidu.hugegraph.testutil.Assert;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+
+public class KoutApiTest extends BaseApiTest {
+
+    private static String path = "/graphs/hugegraph/traversers/kout";
+
+    @Before
+    public void prepareSchema() throws IOException {
+        BaseApiTest.initPropertyKey();
+        BaseApiTest.initVertexLabel();
+        BaseApiTest.initEdgeLabel();
+        BaseApiTest.initVertex();
+        BaseApiTest.initEdge();
+    }
+
+    @Test
+    public void testGet() throws IOException {
+        Map<String, Object> params = this.params("marko", 1);
+        Response r = client().get(path, params);
+        String content = assertResponseStatus(200, r);
+        Assert.assertEquals(this.ids("vadas", "josh", "lop"),
+                            new HashSet<>(readIds(content)));
+
+        params = this.params("marko", 2);
+        r = client().get(path, params);
+        content = assertResponseStatus(200, r);
+        Assert.assertEquals(this.ids("ripple"),
+                            new HashSet<>(readIds(content)));
+    }
+
+    @Test
+    public void testGetByPage() throws IOException {
+        Map<String, Object> params = this.params("marko", 1);
+        params.put("page", "");
+        params.put("limit", 1);
+
+        Set<Object> ids = new HashSet<>();
+        String page;
+        do {
+            Response r = client().get(path, params);
+            String content = assertResponseStatus(200, r);
+            List<Object> vertices = readIds(content);
+            Assert.assertTrue(vertices.size() <= 1);
+            for (Object vertex : vertices) {
+                Assert.assertTrue(ids.add(vertex));
+            }
+            page = assertJsonContains(content, "page");
+            params.put("page", page);
+        } while (page != null);
+        Assert.assertEquals(this.ids("vadas", "josh", "lop"), ids);
+    }
+
+    @Test
+    public void testGetInParallel() throws IOException {
+        Map<String, Object> params = this.params("marko", 1);
+        params.put("parallelism", 4);
+        Response r = client().get(path, params);
+        String content = assertResponseStatus(200, r);
+        Assert.assertEquals(this.ids("vadas", "josh", "lop"),
+                            new HashSet<>(readIds(content)));
+    }
+
+    @Test
+    public void testGetWithInvalidDepth() throws IOException {
+        // The error is responded before streaming the vertices
+        Map<String, Object> params = this.params("marko", 0);
+        Response r = client().get(path, params);
+        String content = assertResponseStatus(400, r);
+        Assert.assertContains("max_depth", content);
+    }
+
+    @Test
+    public void testPost() throws IOException {
+        String marko = getVertexId("person", "name", "marko");
+        String josh = getVertexId("person", "name", "josh");
+        String body = String.format("{\"sources\":{\"ids\":[\"%s\",\"%s\"]}," +
+                                    "\"direction\":\"OUT\",\"max_depth\":1}",
+                                    marko, josh);
+        Response r = client().post(path, body);
+        String content = assertResponseStatus(200, r);
+        Map<Object, Set<Object>> kouts = readResults(content);
+        Assert.assertEquals(ImmutableMap.of(
+                            marko, this.ids("vadas", "josh", "lop"),
+                            josh, this.ids("ripple", "lop")),
+                            kouts);
+
+        // The results of each source are the same as the GET API
+        body = String.format("{\"sources\":{\"ids\":[\"%s\",\"%s\"]}," +
+                             "\"direction\":\"OUT\",\"max_depth\":2}",
+                             marko, josh);
+        r = client().post(path, body);
+        content = assertResponseStatus(200, r);
+        kouts = readResults(content);
+        Assert.assertEquals(this.ids("ripple"), kouts.get(marko));
+        Assert.assertEquals(ImmutableSet.of(), kouts.get(josh));
+    }
+
+    @Test
+    public void testPostBySourceLabel() throws IOException {
+        String body = "{\"sources\":{\"label\":\"person\"}," +
+                      "\"direction\":\"OUT\",\"max_depth\":1," +
+                      "\"parallelism\":4}";
+        Response r = client().post(path, body);
+        String content = assertResponseStatus(200, r);
+        Map<Object, Set<Object>> kouts = readResults(content);
+        Assert.assertEquals(this.ids("marko", "vadas", "josh", "peter"),
+                            kouts.keySet());
+        Assert.assertEquals(this.ids("vadas", "josh", "lop"),
+                            kouts.get(getVertexId("person", "name",
+                                                  "marko")));
+        Assert.assertEquals(this.ids("lop"),
+                            kouts.get(getVertexId("person", "name",
+                                                  "peter")));
+        Assert.assertEquals(ImmutableSet.of(),
+                            kouts.get(getVertexId("person", "name",
+                                                  "vadas")));
+    }
+
+    @Test
+    public void testPostWithoutSources() throws IOException {
+        Response r = client().post(path, "{\"max_depth\":1}");
+        String content = assertResponseStatus(400, r);
+        Assert.assertContains("The sources of k-out request can't be null",
+                              content);
+    }
+
+    private Map<String, Object> params(String source, int depth)
+                                       throws IOException {
+        String id = getVertexId("person", "name", source);
+        Map<String, Object> params = new HashMap<>();
+        params.put("source", String.format("\"%s\"", id));
+        params.put("direction", "OUT");
+        params.put("max_depth", depth);
+        return params;
+    }
+
+    private Set<Object> ids(String... names) throws IOException {
+        ImmutableSet.Builder<Object> builder = ImmutableSet.builder();
+        for (String name : names) {
+            String label = ImmutableSet.of("lop", "ripple").contains(name) ?
+                           "software" : "person";
+            builder.add(getVertexId(label, "name", name));
+        }
+        return builder.build();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<Object, Set<Object>> readResults(String content) {
+        Map<Object, Set<Object>> results = new HashMap<>();
+        for (Map<?, ?> result : readList(content, "kouts", Map.class)) {
+            results.put(result.get("source"),
+                        new HashSet<>((List<Object>) result.get("vertices")));
+        }
+        return results;
+    }
+
+    private static List<Object> readIds(String content) {
+        return readList(content, "vertices", Object.class);
+    }
+}
@@ -0,0 +1,90 @@
+/*
+ * Copyright 2017 HugeGraph Authors
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with this
+ * work for additional information regarding copyright ownership. The ASF
+ * licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.baidu.hugegraph.api;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+
+import javax.ws.rs.core.Response;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import com.baidu.hugegraph.testutil.Assert;
+import com.baidu.hugegraph.util.JsonUtil;
+import com.google.common.collect.ImmutableSet;
+
+public class PersonalRankApiTest extends BaseApiTest {
+
+    private static String path = "/graphs/hugegraph/traversers/personalrank";
+
+    @Before
+    public void prepareSchema() throws IOException {
+        BaseApiTest.initPropertyKey();
+        BaseApiTest.initVertexLabel();
+        BaseApiTest.initEdgeLabel();
+        BaseApiTest.initVertex();
+        BaseApiTest.initEdge();
+    }
+
+    @Test
+    public void testPostBatch() throws IOException {
+        String marko = getVertexId("person", "name", "marko");
+        String peter = getVertexId("person", "name", "peter");
+        String lop = getVertexId("software", "name", "lop");
+        String body = String.format("{\"sources\":{\"ids\":[\"%s\",\"%s\"," +
+                                    "\"%s\"]},\"label\":\"created\"," +
+                                    "\"alpha\":0.85,\"max_depth\":3}",
+                                    marko, peter, lop);
+        Response r = client().post(path + "/batch", body);
+        String content = assertResponseStatus(200, r);
+        List<Map> results = readList(content, "personal_ranks", Map.class);
+        Assert.assertEquals(3, results.size());
+
+        // The ranks of each source are the same as the single source API
+        for (Map<?, ?> result : results) {
+            Object source = result.get("source");
+            Assert.assertTrue(ImmutableSet.of(marko, peter, lop)
+                                          .contains(source));
+            body = String.format("{\"source\":\"%s\",\"label\":\"created\"," +
+                                 "\"alpha\":0.85,\"max_depth\":3}", source);
+            r = client().post(path, body);
+            content = assertResponseStatus(200, r);
+            Map<?, ?> expected = JsonUtil.fromJson(content, Map.class);
+            Map<?, ?> ranks = (Map<?, ?>) result.get("ranks");
+            Assert.assertEquals(expected.keySet(), ranks.keySet());
+            for (Object vertex : expected.keySet()) {
+                Assert.assertEquals((double) expected.get(vertex),
+                                    (double) ranks.get(vertex), 1e-9);
+            }
+        }
+    }
+
+    @Test
+    public void testPostBatchWithoutSources() throws IOException {
+        String body = "{\"label\":\"created\",\"alpha\":0.85," +
+                      "\"max_depth\":3}";
+        Response r = client().post(path + "/batch", body);
+        String content = assertResponseStatus(400, r);
+        Assert.assertContains("The source vertices of rank request " +
+                              "can't be null", content);
+    }
+}
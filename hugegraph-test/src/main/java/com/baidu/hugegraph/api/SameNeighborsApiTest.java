@@ -0,0 +1,97 @@
+/*
+ * Copyright 2017 HugeGraph Authors
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with this
+ * work for additional information regarding copyright ownership. The ASF
+ * licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.baidu.hugegraph.api;
+
+import java.io.IOException;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+
+import javax.ws.rs.core.Response;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import com.baidu.hugegraph.testutil.Assert;
+import com.google.common.collect.ImmutableSet;
+
+public class SameNeighborsApiTest extends BaseApiTest {
+
+    private static String path = "/graphs/hugegraph/traversers/" +
+                                 "sameneighbors";
+
+    @Before
+    public void prepareSchema() throws IOException {
+        BaseApiTest.initPropertyKey();
+        BaseApiTest.initVertexLabel();
+        BaseApiTest.initEdgeLabel();
+        BaseApiTest.initVertex();
+        BaseApiTest.initEdge();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testPost() throws IOException {
+        String marko = getVertexId("person", "name", "marko");
+        String josh = getVertexId("person", "name", "josh");
+        String peter = getVertexId("person", "name", "peter");
+        String vadas = getVertexId("person", "name", "vadas");
+        String lop = getVertexId("software", "name", "lop");
+        String body = String.format("{\"pairs\":[[\"%s\",\"%s\"]," +
+                                    "[\"%s\",\"%s\"],[\"%s\",\"%s\"]]," +
+                                    "\"direction\":\"BOTH\"}",
+                                    marko, josh, josh, peter, vadas, peter);
+        Response r = client().post(path, body);
+        String content = assertResponseStatus(200, r);
+        List<Map> results = readList(content, "same_neighbors", Map.class);
+        Assert.assertEquals(3, results.size());
+
+        // The results are in the order of the pairs
+        Assert.assertEquals(marko, results.get(0).get("vertex"));
+        Assert.assertEquals(josh, results.get(0).get("other"));
+        Assert.assertEquals(ImmutableSet.of(lop), new HashSet<>(
+                            (List<Object>) results.get(0)
+                                                  .get("same_neighbors")));
+        Assert.assertEquals(josh, results.get(1).get("vertex"));
+        Assert.assertEquals(peter, results.get(1).get("other"));
+        Assert.assertEquals(ImmutableSet.of(lop), new HashSet<>(
+                            (List<Object>) results.get(1)
+                                                  .get("same_neighbors")));
+        Assert.assertEquals(vadas, results.get(2).get("vertex"));
+        Assert.assertEquals(peter, results.get(2).get("other"));
+        Assert.assertEquals(ImmutableSet.of(), new HashSet<>(
+                            (List<Object>) results.get(2)
+                                                  .get("same_neighbors")));
+    }
+
+    @Test
+    public void testPostWithInvalidPair() throws IOException {
+        String marko = getVertexId("person", "name", "marko");
+        String body = String.format("{\"pairs\":[[\"%s\"]]}", marko);
+        Response r = client().post(path, body);
+        String content = assertResponseStatus(400, r);
+        Assert.assertContains("The vertex pair must contain 2 vertex ids",
+                              content);
+
+        r = client().post(path, "{\"pairs\":[]}");
+        content = assertResponseStatus(400, r);
+        Assert.assertContains("The vertex pairs can't be empty", content);
+    }
+}
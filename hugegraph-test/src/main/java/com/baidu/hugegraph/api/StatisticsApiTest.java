@@ -0,0 +1,122 @@
+/*
+ * Copyright 2017 HugeGraph Authors
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with this
+ * work for additional information regarding copyright ownership. The ASF
+ * licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.baidu.hugegraph.api;
+
+import java.io.IOException;
+import java.util.Map;
+
+import javax.ws.rs.core.Response;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import com.baidu.hugegraph.testutil.Assert;
+import com.google.common.collect.ImmutableMap;
+
+public class StatisticsApiTest extends BaseApiTest {
+
+    private static String path = "/graphs/hugegraph/statistics";
+
+    @Before
+    public void prepareSchema() throws IOException {
+        BaseApiTest.initPropertyKey();
+        BaseApiTest.initVertexLabel();
+        BaseApiTest.initEdgeLabel();
+        BaseApiTest.initVertex();
+        BaseApiTest.initEdge();
+    }
+
+    @Test
+    public void testList() {
+        Response r = client().get(path);
+        String content = assertResponseStatus(200, r);
+        Map<?, ?> vertices = assertJsonContains(content, "vertices");
+        Assert.assertEquals(ImmutableMap.of("person", 4, "software", 2),
+                            vertices);
+        Map<?, ?> edges = assertJsonContains(content, "edges");
+        Assert.assertEquals(ImmutableMap.of("created", 4, "knows", 2),
+                            edges);
+    }
+
+    @Test
+    public void testGet() {
+        Response r = client().get(path + "/vertexlabels", "person");
+        String content = assertResponseStatus(200, r);
+        Assert.assertEquals("person", assertJsonContains(content, "name"));
+        Assert.assertEquals(4, (int) assertJsonContains(content, "count"));
+
+        r = client().get(path + "/edgelabels", "knows");
+        content = assertResponseStatus(200, r);
+        Assert.assertEquals("knows", assertJsonContains(content, "name"));
+        Assert.assertEquals(2, (int) assertJsonContains(content, "count"));
+
+        r = client().get(path + "/vertexlabels", "not-exist");
+        assertResponseStatus(404, r);
+    }
+
+    @Test
+    public void testRecount() {
+        // Add an existing vertex again, the counter is increased by mistake
+        createAndAssert("/graphs/hugegraph/graph/vertices", "{\n"
+                + "\"label\": \"person\",\n"
+                + "\"type\": \"vertex\",\n"
+                + "\"properties\":{"
+                + "\"name\": \"marko\","
+                + "\"age\": 29,"
+                + "\"city\": \"Beijing\""
+                + "}\n"
+                + "}");
+        Assert.assertEquals(5, this.count("vertexlabels", "person"));
+
+        int taskId = this.recount("vertexlabels", "person");
+        waitTaskSuccess(taskId);
+        Assert.assertEquals("4", this.taskResult(taskId));
+        Assert.assertEquals(4, this.count("vertexlabels", "person"));
+
+        taskId = this.recount("edgelabels", "created");
+        waitTaskSuccess(taskId);
+        Assert.assertEquals("4", this.taskResult(taskId));
+        Assert.assertEquals(4, this.count("edgelabels", "created"));
+
+        Response r = client().put(path + "/edgelabels", "not-exist", "",
+                                  ImmutableMap.of());
+        assertResponseStatus(404, r);
+    }
+
+    private int count(String type, String label) {
+        Response r = client().get(path + "/" + type, label);
+        String content = assertResponseStatus(200, r);
+        return assertJsonContains(content, "count");
+    }
+
+    private int recount(String type, String label) {
+        Response r = client().put(path + "/" + type, label, "",
+                                  ImmutableMap.of());
+        String content = assertResponseStatus(202, r);
+        return assertJsonContains(content, "task_id");
+    }
+
+    private String taskResult(int taskId) {
+        Response r = client().get("/graphs/hugegraph/tasks/",
+                                  String.valueOf(taskId));
+        String content = assertResponseStatus(200, r);
+        return assertJsonContains(content, "task_result");
+    }
+}
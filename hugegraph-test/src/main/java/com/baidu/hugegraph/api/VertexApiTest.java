@@ -20,12 +20,19 @@
 package com.baidu.hugegraph.api;
 
 import java.io.IOException;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 import javax.ws.rs.core.Response;
 
 import org.junit.Before;
 import org.junit.Test;
 
+import com.baidu.hugegraph.testutil.Assert;
+
 public class VertexApiTest extends BaseApiTest {
 
     private static String path = "/graphs/hugegraph/graph/vertices/";
@@ -83,6 +90,56 @@ public class VertexApiTest extends BaseApiTest {
         assertResponseStatus(200, r);
     }
 
+    @Test
+    public void testListByPage() {
+        BaseApiTest.initVertex();
+
+        Set<Object> ids = new HashSet<>();
+        Map<String, Object> params = new HashMap<>();
+        params.put("page", "");
+        params.put("limit", 4);
+        String page;
+        do {
+            Response r = client().get(path, params);
+            String content = assertResponseStatus(200, r);
+            @SuppressWarnings("rawtypes")
+            List<Map> vertices = readList(content, "vertices", Map.class);
+            Assert.assertTrue(vertices.size() <= 4);
+            for (Map<?, ?> vertex : vertices) {
+                Assert.assertTrue(ids.add(vertex.get("id")));
+            }
+            page = assertJsonContains(content, "page");
+            params.put("page", page);
+        } while (page != null);
+        Assert.assertEquals(6, ids.size());
+    }
+
+    @Test
+    public void testListByLabel() {
+        BaseApiTest.initVertex();
+
+        Map<String, Object> params = new HashMap<>();
+        params.put("label", "software");
+        Response r = client().get(path, params);
+        String content = assertResponseStatus(200, r);
+        @SuppressWarnings("rawtypes")
+        List<Map> vertices = readList(content, "vertices", Map.class);
+        Assert.assertEquals(2, vertices.size());
+        for (Map<?, ?> vertex : vertices) {
+            Assert.assertEquals("software", vertex.get("label"));
+        }
+    }
+
+    @Test
+    public void testListWithInvalidLabel() {
+        Map<String, Object> params = new HashMap<>();
+        params.put("label", "not-exist");
+        // The error is responded before streaming the vertices
+        Response r = client().get(path, params);
+        String content = assertResponseStatus(400, r);
+        Assert.assertContains("not-exist", content);
+    }
+
     @Test
     public void testDelete() throws IOException {
         String vertex = "{"
@@ -47,6 +47,8 @@ import com.baidu.hugegraph.util.Log;
     EdgePropertyCoreTest.class,
     RestoreCoreTest.class,
     TaskCoreTest.class,
+    StatisticsCoreTest.class,
+    TraverserCoreTest.class,
     UsersTest.class,
     MultiGraphsTest.class
 })
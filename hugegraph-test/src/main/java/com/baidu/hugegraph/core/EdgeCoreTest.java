@@ -6658,6 +6658,75 @@ public class EdgeCoreTest extends BaseCoreTest {
         Assert.assertNull(page);
     }
 
+    @Test
+    public void testQueryAdjacentEdgesOfBatchVertices() {
+        HugeGraph graph = graph();
+        init18Edges();
+
+        // Add a self-loop edge
+        Vertex louise = vertex("person", "name", "Louise");
+        louise.addEdge("friend", louise);
+        graph.tx().commit();
+
+        assertBatchedEquals(g -> g.V().out());
+        assertBatchedEquals(g -> g.V().in());
+        assertBatchedEquals(g -> g.V().both());
+        assertBatchedEquals(g -> g.V().outE());
+        assertBatchedEquals(g -> g.V().inE());
+        assertBatchedEquals(g -> g.V().bothE());
+        assertBatchedEquals(g -> g.V().out("look"));
+        assertBatchedEquals(g -> g.V().in("friend", "follow"));
+        assertBatchedEquals(g -> g.V().bothE("friend").otherV());
+    }
+
+    @Test
+    public void testQueryAdjacentEdgesOfBatchVerticesWithBulkAndPath() {
+        HugeGraph graph = graph();
+        init18Edges();
+
+        // Add a self-loop edge
+        Vertex louise = vertex("person", "name", "Louise");
+        louise.addEdge("friend", louise);
+        graph.tx().commit();
+
+        // Multi traversers of the same vertex
+        assertBatchedEquals(g -> g.V().both().both());
+        assertBatchedEquals(g -> g.V().both().bothE());
+        // Traversers with bulk
+        assertBatchedEquals(g -> g.V().both().barrier().both());
+        assertBatchedEquals(g -> g.V().both().barrier().out().count());
+        // Traversers with path
+        assertBatchedEquals(g -> g.V().out().in().path());
+        assertBatchedEquals(g -> g.V().both().barrier().bothE().path());
+        assertBatchedEquals(g -> g.V().as("a").both().as("b")
+                                  .select("a", "b"));
+    }
+
+    @Test
+    public void testQueryAdjacentEdgesOfBatchVerticesWithUncommittedEdges() {
+        HugeGraph graph = graph();
+        init18Edges();
+
+        Vertex louise = vertex("person", "name", "Louise");
+        Vertex jeff = vertex("person", "name", "Jeff");
+        Vertex james = vertex("author", "id", 1);
+        Vertex java1 = vertex("book", "name", "java-1");
+
+        // Add edges (including a self-loop) and remove edge without commit
+        jeff.addEdge("look", java1, "time", "2017-6-1");
+        louise.addEdge("friend", louise);
+        james.edges(Direction.OUT, "authored").next().remove();
+
+        assertBatchedEquals(g -> g.V().out());
+        assertBatchedEquals(g -> g.V().in());
+        assertBatchedEquals(g -> g.V().both());
+        assertBatchedEquals(g -> g.V().bothE());
+        assertBatchedEquals(g -> g.V().both().both());
+        assertBatchedEquals(g -> g.V().out().in().path());
+
+        graph.tx().rollback();
+    }
+
     private void init18Edges() {
         this.init18Edges(true);
     }
@@ -6763,6 +6832,26 @@ public class EdgeCoreTest extends BaseCoreTest {
         return vertices.size() == 1 ? vertices.get(0) : null;
     }
 
+    private <T> void assertBatchedEquals(
+            Function<GraphTraversalSource, GraphTraversal<?, T>> traversal) {
+        GraphTransaction tx = params().graphTransaction();
+        int batchSize = tx.adjacentBatchSize();
+        GraphTraversalSource g = graph().traversal();
+        try {
+            Whitebox.setInternalState(tx, "adjacentBatchSize", 1);
+            List<T> expected = traversal.apply(g).toList();
+            Assert.assertFalse(expected.isEmpty());
+
+            // The results of batches must be same as queried one by one
+            for (int size : new int[]{2, 5, 100}) {
+                Whitebox.setInternalState(tx, "adjacentBatchSize", size);
+                Assert.assertEquals(expected, traversal.apply(g).toList());
+            }
+        } finally {
+            Whitebox.setInternalState(tx, "adjacentBatchSize", batchSize);
+        }
+    }
+
     private static void assertContains(
             List<Edge> edges,
             String label,
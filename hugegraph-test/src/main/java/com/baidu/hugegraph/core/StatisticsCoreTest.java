@@ -0,0 +1,294 @@
+/*
+ * Copyright 2017 HugeGraph Authors
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with this
+ * work for additional information regarding copyright ownership. The ASF
+ * licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.baidu.hugegraph.core;
+
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSource;
+import org.apache.tinkerpop.gremlin.structure.Edge;
+import org.apache.tinkerpop.gremlin.structure.T;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.baidu.hugegraph.HugeGraph;
+import com.baidu.hugegraph.backend.id.Id;
+import com.baidu.hugegraph.backend.tx.GraphTransaction;
+import com.baidu.hugegraph.backend.tx.LabelStatistics;
+import com.baidu.hugegraph.schema.EdgeLabel;
+import com.baidu.hugegraph.schema.SchemaLabel;
+import com.baidu.hugegraph.schema.SchemaManager;
+import com.baidu.hugegraph.schema.VertexLabel;
+import com.baidu.hugegraph.task.HugeTask;
+import com.baidu.hugegraph.testutil.Assert;
+import com.baidu.hugegraph.testutil.Whitebox;
+
+public class StatisticsCoreTest extends BaseCoreTest {
+
+    @Before
+    public void initSchema() {
+        SchemaManager schema = graph().schema();
+
+        schema.propertyKey("name").asText().create();
+        schema.propertyKey("city").asText().create();
+        schema.vertexLabel("person")
+              .properties("name", "city")
+              .primaryKeys("name")
+              .create();
+        schema.vertexLabel("software")
+              .properties("name")
+              .primaryKeys("name")
+              .enableLabelIndex(false)
+              .create();
+        schema.edgeLabel("knows")
+              .sourceLabel("person").targetLabel("person")
+              .create();
+        schema.edgeLabel("created")
+              .sourceLabel("person").targetLabel("software")
+              .enableLabelIndex(false)
+              .create();
+        schema.indexLabel("personByCity")
+              .onV("person").by("city").secondary()
+              .create();
+    }
+
+    @Test
+    public void testLabelCountAfterCommit() {
+        HugeGraph graph = graph();
+
+        Vertex marko = graph.addVertex(T.label, "person", "name", "marko",
+                                       "city", "Beijing");
+        Vertex vadas = graph.addVertex(T.label, "person", "name", "vadas",
+                                       "city", "Hongkong");
+        Vertex lop = graph.addVertex(T.label, "software", "name", "lop");
+        // The uncommitted changes are not counted
+        Assert.assertEquals(0L, this.count("person"));
+        Assert.assertEquals(0L, this.count("software"));
+
+        graph.tx().commit();
+        Assert.assertEquals(2L, this.count("person"));
+        Assert.assertEquals(1L, this.count("software"));
+
+        marko.addEdge("knows", vadas);
+        marko.addEdge("created", lop);
+        vadas.addEdge("created", lop);
+        Assert.assertEquals(0L, this.count("knows"));
+        Assert.assertEquals(0L, this.count("created"));
+
+        graph.tx().commit();
+        Assert.assertEquals(1L, this.count("knows"));
+        Assert.assertEquals(2L, this.count("created"));
+        Assert.assertEquals(2L, this.count("person"));
+        Assert.assertEquals(1L, this.count("software"));
+
+        // The updated vertices are not counted again
+        marko.property("city", "Shanghai");
+        graph.tx().commit();
+        Assert.assertEquals(2L, this.count("person"));
+    }
+
+    @Test
+    public void testLabelCountAfterRollback() {
+        HugeGraph graph = graph();
+
+        Vertex marko = graph.addVertex(T.label, "person", "name", "marko",
+                                       "city", "Beijing");
+        Vertex lop = graph.addVertex(T.label, "software", "name", "lop");
+        marko.addEdge("created", lop);
+        graph.tx().rollback();
+
+        Assert.assertEquals(0L, this.count("person"));
+        Assert.assertEquals(0L, this.count("software"));
+        Assert.assertEquals(0L, this.count("created"));
+    }
+
+    @Test
+    public void testLabelCountAfterRemove() {
+        HugeGraph graph = graph();
+        this.initGraph();
+
+        GraphTraversalSource g = graph.traversal();
+        Vertex vadas = g.V().hasLabel("person").has("name", "vadas").next();
+        Vertex josh = g.V().hasLabel("person").has("name", "josh").next();
+        Edge knows = g.V(vadas.id()).inE("knows").next();
+        knows.remove();
+        graph.tx().commit();
+        Assert.assertEquals(1L, this.count("knows"));
+        Assert.assertEquals(3L, this.count("person"));
+
+        // The adjacent edges of the removed vertex are also subtracted
+        josh.remove();
+        graph.tx().commit();
+        Assert.assertEquals(2L, this.count("person"));
+        Assert.assertEquals(0L, this.count("knows"));
+        Assert.assertEquals(1L, this.count("created"));
+        Assert.assertEquals(1L, this.count("software"));
+    }
+
+    @Test
+    public void testLabelCountAfterRemoveLabel() {
+        HugeGraph graph = graph();
+        this.initGraph();
+
+        EdgeLabel created = graph.edgeLabel("created");
+        VertexLabel software = graph.vertexLabel("software");
+        Assert.assertEquals(2L, graph.labelCount(created));
+        Assert.assertEquals(1L, graph.labelCount(software));
+
+        graph.schema().edgeLabel("created").remove();
+        Assert.assertEquals(0L, graph.labelCount(created));
+        Assert.assertEquals(2L, this.count("knows"));
+
+        graph.schema().vertexLabel("software").remove();
+        Assert.assertEquals(0L, graph.labelCount(software));
+        Assert.assertEquals(3L, this.count("person"));
+    }
+
+    @Test
+    public void testCountByStatistics() {
+        HugeGraph graph = graph();
+        GraphTraversalSource g = graph.traversal();
+        this.initGraph();
+
+        // Make the counters different from the real numbers
+        LabelStatistics statistics = this.statistics();
+        statistics.reset(graph.vertexLabel("person"), 13L);
+        statistics.reset(graph.edgeLabel("knows"), 12L);
+
+        Assert.assertEquals(3L, g.V().hasLabel("person").count().next());
+        Assert.assertEquals(2L, g.E().hasLabel("knows").count().next());
+
+        this.countByStatistics(true);
+        try {
+            Assert.assertEquals(13L, g.V().hasLabel("person").count().next());
+            Assert.assertEquals(14L, g.V().hasLabel("person", "software")
+                                          .count().next());
+            Assert.assertEquals(14L, g.V().count().next());
+            Assert.assertEquals(12L, g.E().hasLabel("knows").count().next());
+            Assert.assertEquals(14L, g.E().count().next());
+
+            // Count by scanning if there are other conditions
+            Assert.assertEquals(2L, g.V().hasLabel("person")
+                                         .has("city", "Beijing")
+                                         .count().next());
+            Assert.assertEquals(2L, g.V().hasLabel("person").limit(2L)
+                                         .count().next());
+        } finally {
+            this.countByStatistics(false);
+        }
+    }
+
+    @Test
+    public void testRecountLabel() {
+        HugeGraph graph = graph();
+        this.initGraph();
+
+        LabelStatistics statistics = this.statistics();
+        VertexLabel person = graph.vertexLabel("person");
+        VertexLabel software = graph.vertexLabel("software");
+        EdgeLabel knows = graph.edgeLabel("knows");
+        EdgeLabel created = graph.edgeLabel("created");
+        statistics.reset(person, 13L);
+        statistics.reset(software, 5L);
+        statistics.reset(knows, 12L);
+        statistics.reset(created, 0L);
+
+        // Recount by label index
+        Assert.assertEquals("3", this.recount(person));
+        Assert.assertEquals(3L, graph.labelCount(person));
+        Assert.assertEquals("2", this.recount(knows));
+        Assert.assertEquals(2L, graph.labelCount(knows));
+
+        // Recount by scanning all the vertices or edges
+        Assert.assertEquals("1", this.recount(software));
+        Assert.assertEquals(1L, graph.labelCount(software));
+        Assert.assertEquals("2", this.recount(created));
+        Assert.assertEquals(2L, graph.labelCount(created));
+    }
+
+    @Test
+    public void testLabelStatisticsDisabled() {
+        HugeGraph graph = graph();
+        VertexLabel person = graph.vertexLabel("person");
+
+        GraphTransaction tx = params().graphTransaction();
+        LabelStatistics statistics = this.statistics();
+        Whitebox.setInternalState(tx, "statistics", null);
+        try {
+            Assert.assertThrows(IllegalStateException.class, () -> {
+                graph.labelCount(person);
+            }, e -> {
+                Assert.assertContains("statistics.label_counter",
+                                      e.getMessage());
+            });
+            Assert.assertThrows(IllegalStateException.class, () -> {
+                graph.recountLabel(person);
+            });
+        } finally {
+            Whitebox.setInternalState(tx, "statistics", statistics);
+        }
+    }
+
+    private void initGraph() {
+        HugeGraph graph = graph();
+
+        Vertex marko = graph.addVertex(T.label, "person", "name", "marko",
+                                       "city", "Beijing");
+        Vertex vadas = graph.addVertex(T.label, "person", "name", "vadas",
+                                       "city", "Hongkong");
+        Vertex josh = graph.addVertex(T.label, "person", "name", "josh",
+                                      "city", "Beijing");
+        Vertex lop = graph.addVertex(T.label, "software", "name", "lop");
+
+        marko.addEdge("knows", vadas);
+        marko.addEdge("knows", josh);
+        marko.addEdge("created", lop);
+        josh.addEdge("created", lop);
+        graph.tx().commit();
+    }
+
+    private long count(String label) {
+        HugeGraph graph = graph();
+        SchemaLabel schemaLabel;
+        if (graph.existsVertexLabel(label)) {
+            schemaLabel = graph.vertexLabel(label);
+        } else {
+            schemaLabel = graph.edgeLabel(label);
+        }
+        return graph.labelCount(schemaLabel);
+    }
+
+    private String recount(SchemaLabel label) {
+        HugeGraph graph = graph();
+        // Wait for the job done since task.sync_deletion is enabled
+        Id id = graph.recountLabel(label);
+        HugeTask<?> task = graph.taskScheduler().task(id);
+        Assert.assertTrue(task.success());
+        return task.result();
+    }
+
+    private LabelStatistics statistics() {
+        return Whitebox.getInternalState(params().graphTransaction(),
+                                         "statistics");
+    }
+
+    private void countByStatistics(boolean enabled) {
+        Whitebox.setInternalState(params().graphTransaction(),
+                                  "countByStatistics", enabled);
+    }
+}
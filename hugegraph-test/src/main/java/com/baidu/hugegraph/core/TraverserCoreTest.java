@@ -0,0 +1,600 @@
+/*
+ * Copyright 2017 HugeGraph Authors
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with this
+ * work for additional information regarding copyright ownership. The ASF
+ * licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.baidu.hugegraph.core;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.commons.lang3.tuple.Pair;
+import org.apache.tinkerpop.gremlin.structure.T;
+import org.apache.tinkerpop.gremlin.structure.Transaction;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.baidu.hugegraph.HugeException;
+import com.baidu.hugegraph.HugeGraph;
+import com.baidu.hugegraph.backend.cache.DegreeCache;
+import com.baidu.hugegraph.backend.id.Id;
+import com.baidu.hugegraph.schema.SchemaManager;
+import com.baidu.hugegraph.testutil.Assert;
+import com.baidu.hugegraph.testutil.Whitebox;
+import com.baidu.hugegraph.traversal.algorithm.CountTraverser;
+import com.baidu.hugegraph.traversal.algorithm.HugeTraverser;
+import com.baidu.hugegraph.traversal.algorithm.HugeTraverser.Path;
+import com.baidu.hugegraph.traversal.algorithm.HugeTraverser.PathSet;
+import com.baidu.hugegraph.traversal.algorithm.PathsTraverser;
+import com.baidu.hugegraph.traversal.algorithm.PersonalRankTraverser;
+import com.baidu.hugegraph.traversal.algorithm.PersonalRankTraverser.WithLabel;
+import com.baidu.hugegraph.traversal.algorithm.ShortestPathTraverser;
+import com.baidu.hugegraph.type.define.Directions;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+
+public class TraverserCoreTest extends BaseCoreTest {
+
+    private static final long NO_LIMIT = HugeTraverser.NO_LIMIT;
+    private static final long DEGREE = HugeTraverser.NO_LIMIT;
+    private static final int VERTICES = 40;
+    private static final int PARALLELISM = 4;
+
+    private List<Id> vertices;
+
+    @Before
+    public void initSchema() {
+        SchemaManager schema = graph().schema();
+
+        schema.propertyKey("name").asText().create();
+        schema.vertexLabel("person")
+              .properties("name")
+              .primaryKeys("name")
+              .enableLabelIndex(false)
+              .create();
+        schema.edgeLabel("knows")
+              .sourceLabel("person").targetLabel("person")
+              .create();
+
+        this.initGraph();
+    }
+
+    private void initGraph() {
+        HugeGraph graph = graph();
+        List<Vertex> persons = new ArrayList<>(VERTICES);
+        this.vertices = new ArrayList<>(VERTICES);
+        for (int i = 0; i < VERTICES; i++) {
+            Vertex person = graph.addVertex(T.label, "person",
+                                            "name", "p" + i);
+            persons.add(person);
+            this.vertices.add((Id) person.id());
+        }
+        // A binary tree with some cross links between the branches
+        for (int i = 0; i < VERTICES; i++) {
+            for (int j : new int[]{2 * i + 1, 2 * i + 2, i * 7 % VERTICES}) {
+                if (j < VERTICES && j != i) {
+                    persons.get(i).addEdge("knows", persons.get(j));
+                }
+            }
+        }
+        graph.tx().commit();
+    }
+
+    @Test
+    public void testKoutInParallel() {
+        HugeTraverser serial = this.traverser(1);
+        HugeTraverser parallel = this.traverser(PARALLELISM);
+        Id source = this.vertices.get(0);
+
+        for (int depth = 1; depth <= 4; depth++) {
+            for (boolean nearest : new boolean[]{true, false}) {
+                Set<Id> expected = serial.kout(source, Directions.BOTH,
+                                               "knows", depth, nearest,
+                                               DEGREE, NO_LIMIT, NO_LIMIT);
+                Assert.assertFalse(expected.isEmpty());
+                Assert.assertEquals(expected,
+                                    parallel.kout(source, Directions.BOTH,
+                                                  "knows", depth, nearest,
+                                                  DEGREE, NO_LIMIT,
+                                                  NO_LIMIT));
+
+                // The streaming k-out keeps the order of the results
+                Assert.assertEquals(list(serial.kout(source, Directions.OUT,
+                                                     "knows", depth, nearest,
+                                                     DEGREE, NO_LIMIT,
+                                                     NO_LIMIT, null)),
+                                    list(parallel.kout(source, Directions.OUT,
+                                                       "knows", depth,
+                                                       nearest, DEGREE,
+                                                       NO_LIMIT, NO_LIMIT,
+                                                       null)));
+            }
+        }
+
+        // Batch k-out of multi sources
+        Set<Id> sources = ImmutableSet.of(this.vertices.get(0),
+                                          this.vertices.get(5),
+                                          this.vertices.get(9));
+        Map<Id, Set<Id>> expected = serial.kout(sources, Directions.OUT,
+                                                "knows", 2, true, DEGREE,
+                                                NO_LIMIT, NO_LIMIT);
+        Assert.assertEquals(expected, parallel.kout(sources, Directions.OUT,
+                                                    "knows", 2, true, DEGREE,
+                                                    NO_LIMIT, NO_LIMIT));
+        this.assertTxClosedInWorkers();
+    }
+
+    @Test
+    public void testKneighborInParallel() {
+        HugeTraverser serial = this.traverser(1);
+        HugeTraverser parallel = this.traverser(PARALLELISM);
+        Id source = this.vertices.get(3);
+
+        for (int depth = 1; depth <= 4; depth++) {
+            Set<Id> expected = serial.kneighbor(source, Directions.BOTH,
+                                                "knows", depth, DEGREE,
+                                                NO_LIMIT);
+            Assert.assertEquals(expected,
+                                parallel.kneighbor(source, Directions.BOTH,
+                                                   "knows", depth, DEGREE,
+                                                   NO_LIMIT));
+
+            Assert.assertEquals(list(serial.kneighbor(source, Directions.OUT,
+                                                      "knows", depth, DEGREE,
+                                                      NO_LIMIT, NO_LIMIT,
+                                                      null)),
+                                list(parallel.kneighbor(source,
+                                                        Directions.OUT,
+                                                        "knows", depth,
+                                                        DEGREE, NO_LIMIT,
+                                                        NO_LIMIT, null)));
+        }
+
+        // Limit the results while querying in parallel
+        Set<Id> limited = parallel.kneighbor(source, Directions.BOTH,
+                                             "knows", 3, DEGREE, 10L);
+        Assert.assertTrue(limited.size() <= 10);
+        Assert.assertEquals(limited, serial.kneighbor(source,
+                                                      Directions.BOTH,
+                                                      "knows", 3, DEGREE,
+                                                      10L));
+        this.assertTxClosedInWorkers();
+    }
+
+    @Test
+    public void testShortestPathInParallel() {
+        ShortestPathTraverser serial = new ShortestPathTraverser(graph());
+        ShortestPathTraverser parallel = new ShortestPathTraverser(graph());
+        parallel.parallelism(PARALLELISM);
+
+        for (int i = 1; i < VERTICES; i += 3) {
+            Id source = this.vertices.get(VERTICES - i);
+            Id target = this.vertices.get(i / 2);
+            HugeTraverser.Path expected = serial.shortestPath(
+                                          source, target, Directions.BOTH,
+                                          "knows", 6, DEGREE, 0L, NO_LIMIT);
+            Assert.assertNotEquals(HugeTraverser.Path.EMPTY_PATH, expected);
+            Assert.assertEquals(expected,
+                                parallel.shortestPath(source, target,
+                                                      Directions.BOTH,
+                                                      "knows", 6, DEGREE,
+                                                      0L, NO_LIMIT));
+            Assert.assertEquals(serial.allShortestPaths(source, target,
+                                                        Directions.BOTH,
+                                                        "knows", 6, DEGREE,
+                                                        0L, NO_LIMIT),
+                                parallel.allShortestPaths(source, target,
+                                                          Directions.BOTH,
+                                                          "knows", 6,
+                                                          DEGREE, 0L,
+                                                          NO_LIMIT));
+        }
+        this.assertTxClosedInWorkers();
+    }
+
+    @Test
+    public void testCountWithDegreeCache() {
+        DegreeCache cache = graph().degreeCache();
+        Assert.assertTrue(cache.enabled());
+        cache.clear();
+
+        // The vertex p0 has 2 out edges
+        Id source = this.vertices.get(0);
+        CountTraverser traverser = new CountTraverser(graph());
+        CountTraverser.Step step = new CountTraverser.Step(
+                                   Directions.OUT, ImmutableMap.of(),
+                                   ImmutableMap.of(), DEGREE, 0L);
+        Assert.assertEquals(2L, traverser.count(source,
+                                                ImmutableList.of(step),
+                                                false, NO_LIMIT));
+        Assert.assertEquals(2L, cache.degree(source, Directions.OUT, null));
+
+        // Always count by querying even if a stale degree is recorded
+        cache.record(source, Directions.OUT, null, 5L, true);
+        traverser = new CountTraverser(graph());
+        Assert.assertEquals(2L, traverser.count(source,
+                                                ImmutableList.of(step),
+                                                false, NO_LIMIT));
+        Assert.assertEquals(2L, cache.degree(source, Directions.OUT, null));
+
+        // Skip the super node by the lower bound of degree
+        cache.record(source, Directions.OUT, null, 100L, false);
+        CountTraverser.Step skipped = new CountTraverser.Step(
+                                      Directions.OUT, ImmutableMap.of(),
+                                      ImmutableMap.of(), 10L, 100L);
+        traverser = new CountTraverser(graph());
+        Assert.assertEquals(0L, traverser.count(source,
+                                                ImmutableList.of(skipped),
+                                                false, NO_LIMIT));
+    }
+
+    @Test
+    public void testShortestPathExpandCheaperSide() {
+        DegreeCache cache = graph().degreeCache();
+        Id knows = graph().edgeLabel("knows").id();
+        ShortestPathTraverser traverser = new ShortestPathTraverser(graph());
+        long degree = 100L;
+        long skipDegree = 10000L;
+
+        for (int i = 1; i < VERTICES; i += 5) {
+            Id source = this.vertices.get(VERTICES - i);
+            Id target = this.vertices.get(i / 2);
+
+            cache.clear();
+            Path expected = traverser.shortestPath(source, target,
+                                                   Directions.BOTH, "knows",
+                                                   8, degree, skipDegree,
+                                                   NO_LIMIT);
+            PathSet expectedAll = traverser.allShortestPaths(
+                                  source, target, Directions.BOTH, "knows",
+                                  8, degree, skipDegree, NO_LIMIT);
+            Assert.assertTrue(expectedAll.contains(expected));
+
+            // Only expand from the other side of the known large vertex
+            for (Id large : ImmutableList.of(source, target)) {
+                cache.clear();
+                cache.record(large, Directions.BOTH, knows, 1000L, true);
+                Path path = traverser.shortestPath(source, target,
+                                                   Directions.BOTH, "knows",
+                                                   8, degree, skipDegree,
+                                                   NO_LIMIT);
+                assertPath(path, source, target);
+                Assert.assertEquals(expected.vertices().size(),
+                                    path.vertices().size());
+                Assert.assertEquals(expectedAll,
+                                    traverser.allShortestPaths(
+                                    source, target, Directions.BOTH,
+                                    "knows", 8, degree, skipDegree,
+                                    NO_LIMIT));
+                // The large vertex is never expanded, its degree is kept
+                Assert.assertEquals(1000L, cache.estimate(large,
+                                                          Directions.BOTH,
+                                                          knows));
+            }
+        }
+    }
+
+    @Test
+    public void testPathsExpandCheaperSide() {
+        DegreeCache cache = graph().degreeCache();
+        Id knows = graph().edgeLabel("knows").id();
+        PathsTraverser traverser = new PathsTraverser(graph());
+
+        for (int i = 1; i < VERTICES; i += 7) {
+            Id source = this.vertices.get(VERTICES - i);
+            Id target = this.vertices.get(i / 2);
+
+            cache.clear();
+            PathSet expected = traverser.paths(source, Directions.BOTH,
+                                               target, Directions.BOTH,
+                                               "knows", 5, DEGREE,
+                                               NO_LIMIT, NO_LIMIT);
+            for (Path path : expected) {
+                assertPath(path, source, target);
+            }
+
+            // The same paths are found no matter which side is expanded
+            for (Id large : ImmutableList.of(source, target)) {
+                cache.clear();
+                cache.record(large, Directions.BOTH, knows, 1000L, true);
+                PathSet paths = traverser.paths(source, Directions.BOTH,
+                                                target, Directions.BOTH,
+                                                "knows", 5, DEGREE,
+                                                NO_LIMIT, NO_LIMIT);
+                for (Path path : paths) {
+                    assertPath(path, source, target);
+                }
+                Assert.assertEquals(expected, paths);
+            }
+        }
+    }
+
+    @Test
+    public void testBatchKoutAndKneighbor() {
+        HugeTraverser traverser = this.traverser(1);
+        Set<Id> sources = ImmutableSet.of(this.vertices.get(0),
+                                          this.vertices.get(1),
+                                          this.vertices.get(7),
+                                          this.vertices.get(20));
+
+        for (Directions dir : new Directions[]{Directions.OUT,
+                                               Directions.BOTH}) {
+            for (int depth = 1; depth <= 3; depth++) {
+                for (boolean nearest : new boolean[]{true, false}) {
+                    Map<Id, Set<Id>> kouts = traverser.kout(
+                                             sources, dir, "knows", depth,
+                                             nearest, DEGREE, NO_LIMIT,
+                                             NO_LIMIT);
+                    Assert.assertEquals(sources, kouts.keySet());
+                    for (Id source : sources) {
+                        Assert.assertEquals(traverser.kout(source, dir,
+                                                           "knows", depth,
+                                                           nearest, DEGREE,
+                                                           NO_LIMIT,
+                                                           NO_LIMIT),
+                                            kouts.get(source));
+                    }
+                }
+
+                Map<Id, Set<Id>> kneighbors = traverser.kneighbor(
+                                              sources, dir, "knows", depth,
+                                              DEGREE, NO_LIMIT, NO_LIMIT);
+                Assert.assertEquals(sources, kneighbors.keySet());
+                for (Id source : sources) {
+                    Assert.assertEquals(traverser.kneighbor(source, dir,
+                                                            "knows", depth,
+                                                            DEGREE,
+                                                            NO_LIMIT),
+                                        kneighbors.get(source));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testBatchKoutAndKneighborWithLimit() {
+        HugeTraverser traverser = this.traverser(1);
+        Set<Id> sources = ImmutableSet.of(this.vertices.get(0),
+                                          this.vertices.get(1),
+                                          this.vertices.get(2));
+        long limit = 3L;
+
+        // The limit is applied to each source
+        Map<Id, Set<Id>> all = traverser.kout(sources, Directions.BOTH,
+                                              "knows", 2, true, DEGREE,
+                                              NO_LIMIT, NO_LIMIT);
+        Map<Id, Set<Id>> limited = traverser.kout(sources, Directions.BOTH,
+                                                  "knows", 2, true, DEGREE,
+                                                  NO_LIMIT, limit);
+        for (Id source : sources) {
+            Assert.assertTrue(all.get(source).size() > limit);
+            Assert.assertEquals(limit, limited.get(source).size());
+            Assert.assertTrue(all.get(source)
+                                 .containsAll(limited.get(source)));
+        }
+
+        all = traverser.kneighbor(sources, Directions.BOTH, "knows", 2,
+                                  DEGREE, NO_LIMIT, NO_LIMIT);
+        limited = traverser.kneighbor(sources, Directions.BOTH, "knows", 2,
+                                      DEGREE, NO_LIMIT, limit);
+        for (Id source : sources) {
+            Assert.assertTrue(all.get(source).size() > limit);
+            Assert.assertEquals(limit, limited.get(source).size());
+            Assert.assertTrue(limited.get(source).contains(source));
+            Assert.assertTrue(all.get(source)
+                                 .containsAll(limited.get(source)));
+        }
+    }
+
+    @Test
+    public void testBatchKoutWithCapacity() {
+        HugeTraverser traverser = this.traverser(1);
+        Set<Id> sources = ImmutableSet.copyOf(this.vertices.subList(0, 10));
+
+        Assert.assertThrows(HugeException.class, () -> {
+            traverser.kout(sources, Directions.BOTH, "knows", 3, true,
+                           DEGREE, 30L, NO_LIMIT);
+        }, e -> {
+            Assert.assertContains("Exceed capacity '30' while finding kout",
+                                  e.getMessage());
+        });
+        Assert.assertThrows(HugeException.class, () -> {
+            traverser.kneighbor(sources, Directions.BOTH, "knows", 3,
+                                DEGREE, 30L, NO_LIMIT);
+        }, e -> {
+            Assert.assertContains("Exceed capacity '30' while finding " +
+                                  "k-neighbor", e.getMessage());
+        });
+        Assert.assertThrows(IllegalArgumentException.class, () -> {
+            traverser.kout(ImmutableSet.of(), Directions.BOTH, "knows", 3,
+                           true, DEGREE, NO_LIMIT, NO_LIMIT);
+        }, e -> {
+            Assert.assertContains("The source vertices can't be empty",
+                                  e.getMessage());
+        });
+    }
+
+    @Test
+    public void testBatchQueryAdjacenciesOnce() {
+        Map<Id, Integer> queried = new HashMap<>();
+        HugeTraverser traverser = new HugeTraverser(graph()) {
+            @Override
+            protected Iterator<Id> adjacentVertices(Id source,
+                                                    Directions dir,
+                                                    Id label, long limit) {
+                queried.merge(source, 1, Integer::sum);
+                return super.adjacentVertices(source, dir, label, limit);
+            }
+        };
+        Set<Id> sources = ImmutableSet.copyOf(this.vertices.subList(0, 20));
+
+        // The sources share most of the vertices of each layer
+        Map<Id, Set<Id>> kneighbors = traverser.kneighbor(
+                                      sources, Directions.BOTH, "knows", 3,
+                                      DEGREE, NO_LIMIT, NO_LIMIT);
+        Assert.assertFalse(queried.isEmpty());
+        for (int times : queried.values()) {
+            Assert.assertEquals(1, times);
+        }
+        int reached = 0;
+        for (Set<Id> vertices : kneighbors.values()) {
+            reached += vertices.size();
+        }
+        Assert.assertTrue(queried.size() < reached);
+
+        queried.clear();
+        List<Pair<Id, Id>> pairs = ImmutableList.of(
+                Pair.of(this.vertices.get(1), this.vertices.get(2)),
+                Pair.of(this.vertices.get(1), this.vertices.get(3)),
+                Pair.of(this.vertices.get(2), this.vertices.get(3)));
+        traverser.jaccardSimilarity(pairs, Directions.BOTH, "knows",
+                                    DEGREE, NO_LIMIT);
+        Assert.assertEquals(ImmutableMap.of(this.vertices.get(1), 1,
+                                            this.vertices.get(2), 1,
+                                            this.vertices.get(3), 1),
+                            queried);
+    }
+
+    @Test
+    public void testBatchSameNeighborsAndJaccardSimilarity() {
+        HugeTraverser serial = this.traverser(1);
+        HugeTraverser parallel = this.traverser(PARALLELISM);
+        List<Pair<Id, Id>> pairs = new ArrayList<>();
+        for (int i = 0; i < VERTICES; i += 3) {
+            pairs.add(Pair.of(this.vertices.get(i),
+                              this.vertices.get((i * 5 + 1) % VERTICES)));
+        }
+        // The same vertex may appear in multiple pairs
+        pairs.add(Pair.of(this.vertices.get(0), this.vertices.get(1)));
+        pairs.add(Pair.of(this.vertices.get(1), this.vertices.get(0)));
+
+        for (Directions dir : new Directions[]{Directions.OUT,
+                                               Directions.BOTH}) {
+            List<Set<Id>> neighbors = parallel.sameNeighbors(
+                                      pairs, dir, "knows", DEGREE,
+                                      NO_LIMIT, NO_LIMIT);
+            List<Double> similarities = parallel.jaccardSimilarity(
+                                        pairs, dir, "knows", DEGREE,
+                                        NO_LIMIT);
+            Assert.assertEquals(pairs.size(), neighbors.size());
+            Assert.assertEquals(pairs.size(), similarities.size());
+            for (int i = 0; i < pairs.size(); i++) {
+                Id vertex = pairs.get(i).getLeft();
+                Id other = pairs.get(i).getRight();
+                Assert.assertEquals(serial.sameNeighbors(vertex, other, dir,
+                                                         "knows", DEGREE,
+                                                         NO_LIMIT),
+                                    neighbors.get(i));
+                Assert.assertEquals(serial.jaccardSimilarity(vertex, other,
+                                                             dir, "knows",
+                                                             DEGREE),
+                                    similarities.get(i), 0.0);
+            }
+        }
+
+        // The limit is applied to each pair
+        List<Set<Id>> limited = serial.sameNeighbors(pairs, Directions.BOTH,
+                                                     "knows", DEGREE,
+                                                     NO_LIMIT, 1L);
+        for (Set<Id> neighbors : limited) {
+            Assert.assertTrue(neighbors.size() <= 1);
+        }
+        this.assertTxClosedInWorkers();
+    }
+
+    @Test
+    public void testBatchPersonalRank() {
+        HugeGraph graph = graph();
+        SchemaManager schema = graph.schema();
+        schema.vertexLabel("software")
+              .properties("name")
+              .primaryKeys("name")
+              .create();
+        schema.edgeLabel("created")
+              .sourceLabel("person").targetLabel("software")
+              .create();
+
+        int softwares = 8;
+        List<Vertex> targets = new ArrayList<>(softwares);
+        for (int i = 0; i < softwares; i++) {
+            targets.add(graph.addVertex(T.label, "software", "name", "s" + i));
+        }
+        for (int i = 0; i < VERTICES; i++) {
+            Vertex person = graph.vertices(this.vertices.get(i)).next();
+            person.addEdge("created", targets.get(i % softwares));
+            person.addEdge("created", targets.get(i * 3 % softwares));
+        }
+        graph.tx().commit();
+
+        PersonalRankTraverser traverser = new PersonalRankTraverser(
+                                          graph, 0.85, DEGREE, 5);
+        Set<Id> sources = ImmutableSet.of(this.vertices.get(0),
+                                          this.vertices.get(3),
+                                          this.vertices.get(11),
+                                          (Id) targets.get(2).id());
+        for (WithLabel withLabel : WithLabel.values()) {
+            Map<Id, Map<Id, Double>> ranks = traverser.personalRank(
+                                             sources, "created", withLabel);
+            Assert.assertEquals(sources, ranks.keySet());
+            for (Id source : sources) {
+                Map<Id, Double> expected = traverser.personalRank(
+                                           source, "created", withLabel);
+                Map<Id, Double> actual = ranks.get(source);
+                Assert.assertEquals(expected.keySet(), actual.keySet());
+                for (Map.Entry<Id, Double> e : expected.entrySet()) {
+                    Assert.assertEquals(e.getValue(), actual.get(e.getKey()),
+                                        1e-9);
+                }
+            }
+        }
+    }
+
+    private static void assertPath(Path path, Id source, Id target) {
+        List<Id> vertices = path.vertices();
+        Assert.assertTrue(vertices.size() >= 2);
+        Assert.assertEquals(source, vertices.get(0));
+        Assert.assertEquals(target, vertices.get(vertices.size() - 1));
+    }
+
+    private HugeTraverser traverser(int parallelism) {
+        HugeTraverser traverser = new HugeTraverser(graph());
+        traverser.parallelism(parallelism);
+        return traverser;
+    }
+
+    private void assertTxClosedInWorkers() {
+        // Only the transaction of current thread may be opened
+        Transaction tx = Whitebox.getInternalState(graph(), "tx");
+        AtomicInteger refs = Whitebox.getInternalState(tx, "refs");
+        Assert.assertTrue(refs.get() <= 1);
+    }
+
+    private static List<Id> list(Iterator<Id> iter) {
+        List<Id> list = new ArrayList<>();
+        while (iter.hasNext()) {
+            list.add(iter.next());
+        }
+        return list;
+    }
+}
@@ -224,6 +224,28 @@ public class UsersTest extends BaseCoreTest {
         });
     }
 
+    @Test
+    public void testMatchUserWithPasswordChanged() {
+        HugeGraph graph = graph();
+        UserManager userManager = graph.userManager();
+
+        String password = StringEncoding.hashPassword("pass1");
+        Id id = userManager.createUser(makeUser("tom", password));
+
+        // Match twice to hit the verified credentials
+        Assert.assertNotNull(userManager.matchUser("tom", "pass1"));
+        Assert.assertNotNull(userManager.matchUser("tom", "pass1"));
+        Assert.assertNull(userManager.matchUser("tom", "pass2"));
+
+        HugeUser user = userManager.getUser(id);
+        user.password(StringEncoding.hashPassword("pass2"));
+        userManager.updateUser(user);
+
+        Assert.assertNull(userManager.matchUser("tom", "pass1"));
+        Assert.assertNotNull(userManager.matchUser("tom", "pass2"));
+        Assert.assertNotNull(userManager.matchUser("tom", "pass2"));
+    }
+
     @Test
     public void testUpdateUser() throws InterruptedException {
         HugeGraph graph = graph();
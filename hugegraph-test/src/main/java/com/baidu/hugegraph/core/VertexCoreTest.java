@@ -3998,6 +3998,60 @@ public class VertexCoreTest extends BaseCoreTest {
         Assert.assertEquals(1, vertices.size());
     }
 
+    @Test
+    public void testQueryByJointIndexesWithSelectiveAndUnselectiveIndex() {
+        SchemaManager schema = graph().schema();
+        schema.vertexLabel("dog").properties("name", "age", "city")
+              .create();
+        schema.indexLabel("dogByAge").onV("dog").range().by("age").create();
+        schema.indexLabel("dogByCity").onV("dog").secondary().by("city")
+              .create();
+
+        // More dogs than a probe batch match the unselective index
+        for (int i = 0; i < 1200; i++) {
+            graph().addVertex(T.label, "dog", "name", "Tom" + i,
+                              "age", i, "city", "Beijing");
+            if (i % 100 == 0) {
+                graph().tx().commit();
+            }
+        }
+        // The dogs matched by the selective index are the oldest ones
+        for (int i = 0; i < 5; i++) {
+            graph().addVertex(T.label, "dog", "name", "Baby" + i,
+                              "age", 2000 + i, "city", "Hongkong");
+        }
+        graph().tx().commit();
+
+        List<Vertex> vertices;
+        vertices = graph().traversal().V().has("city", "Hongkong")
+                          .has("age", P.gt(0)).toList();
+        Assert.assertEquals(5, vertices.size());
+
+        // The limit is applied to the joint results
+        vertices = graph().traversal().V().has("city", "Hongkong")
+                          .has("age", P.gt(0)).limit(3).toList();
+        Assert.assertEquals(3, vertices.size());
+        for (Vertex vertex : vertices) {
+            Assert.assertEquals("Hongkong", vertex.value("city"));
+            Assert.assertTrue((int) vertex.<Integer>value("age") >= 2000);
+        }
+
+        vertices = graph().traversal().V().has("city", "Beijing")
+                          .has("age", P.lt(3)).toList();
+        Assert.assertEquals(3, vertices.size());
+        vertices = graph().traversal().V().has("city", "Beijing")
+                          .has("age", P.lt(3)).limit(2).toList();
+        Assert.assertEquals(2, vertices.size());
+        for (Vertex vertex : vertices) {
+            Assert.assertEquals("Beijing", vertex.value("city"));
+            Assert.assertTrue((int) vertex.<Integer>value("age") < 3);
+        }
+
+        vertices = graph().traversal().V().has("city", "Shanghai")
+                          .has("age", P.gt(0)).toList();
+        Assert.assertEquals(0, vertices.size());
+    }
+
     @Test
     public void testQueryByJointIndexesWithSearchAndRangeIndexes() {
         SchemaManager schema = graph().schema();
@@ -4892,7 +4946,7 @@ public class VertexCoreTest extends BaseCoreTest {
         graph.tx().commit();
         Assert.assertEquals("Beijing", vertex.value("city"));
         vertex = vertex("person", "name", "marko");
-        Assert.assertEquals(26, (int) vertex.value("age"));
+        Assert.assertEquals(26, (int) vertex.<Integer>value("age"));
         Assert.assertEquals(Utils.date("1992-11-17 12:00:00.000"),
                             vertex.value("birth"));
         // update property "birth" and keep the original properties unchanged
@@ -4901,7 +4955,7 @@ public class VertexCoreTest extends BaseCoreTest {
         graph.tx().commit();
         vertex = vertex("person", "name", "marko");
         Assert.assertEquals("Beijing", vertex.value("city"));
-        Assert.assertEquals(26, (int) vertex.value("age"));
+        Assert.assertEquals(26, (int) vertex.<Integer>value("age"));
         Assert.assertEquals(Utils.date("1993-11-17 12:00:00.000"),
                             vertex.value("birth"));
     }
@@ -22,10 +22,17 @@ package com.baidu.hugegraph.unit;
 import org.junit.runner.RunWith;
 import org.junit.runners.Suite;
 
+import com.baidu.hugegraph.unit.api.AuthenticationFilterTest;
+import com.baidu.hugegraph.unit.api.BatchApiTest;
+import com.baidu.hugegraph.unit.api.SourceVerticesTest;
+import com.baidu.hugegraph.unit.api.TokenGeneratorTest;
+import com.baidu.hugegraph.unit.cache.BackendInvalidationBusTest;
 import com.baidu.hugegraph.unit.cache.CacheManagerTest;
 import com.baidu.hugegraph.unit.cache.CacheTest;
 import com.baidu.hugegraph.unit.cache.CachedGraphTransactionTest;
 import com.baidu.hugegraph.unit.cache.CachedSchemaTransactionTest;
+import com.baidu.hugegraph.unit.cache.DegreeCacheTest;
+import com.baidu.hugegraph.unit.cache.EdgeCacheIndexTest;
 import com.baidu.hugegraph.unit.cassandra.CassandraTest;
 import com.baidu.hugegraph.unit.core.AnalyzerTest;
 import com.baidu.hugegraph.unit.core.BackendMutationTest;
@@ -35,27 +42,36 @@ import com.baidu.hugegraph.unit.core.ConditionTest;
 import com.baidu.hugegraph.unit.core.DataTypeTest;
 import com.baidu.hugegraph.unit.core.DirectionsTest;
 import com.baidu.hugegraph.unit.core.ExceptionTest;
+import com.baidu.hugegraph.unit.core.IdBlockAllocatorTest;
+import com.baidu.hugegraph.unit.core.JointIndexStreamTest;
+import com.baidu.hugegraph.unit.core.KoutIteratorTest;
 import com.baidu.hugegraph.unit.core.LocksTableTest;
+import com.baidu.hugegraph.unit.core.ParallelMapperIteratorTest;
 import com.baidu.hugegraph.unit.core.QueryTest;
 import com.baidu.hugegraph.unit.core.RolePermissionTest;
 import com.baidu.hugegraph.unit.core.RowLockTest;
 import com.baidu.hugegraph.unit.core.SecurityManagerTest;
 import com.baidu.hugegraph.unit.core.SerialEnumTest;
 import com.baidu.hugegraph.unit.core.TraversalUtilTest;
+import com.baidu.hugegraph.unit.hbase.HbaseCountersTest;
 import com.baidu.hugegraph.unit.id.EdgeIdTest;
 import com.baidu.hugegraph.unit.id.IdTest;
 import com.baidu.hugegraph.unit.id.IdUtilTest;
+import com.baidu.hugegraph.unit.mysql.MysqlCountersTest;
 import com.baidu.hugegraph.unit.mysql.MysqlUtilTest;
 import com.baidu.hugegraph.unit.mysql.WhereBuilderTest;
 import com.baidu.hugegraph.unit.rocksdb.RocksDBCountersTest;
+import com.baidu.hugegraph.unit.rocksdb.RocksDBMemSessionsTest;
 import com.baidu.hugegraph.unit.rocksdb.RocksDBSessionsTest;
 import com.baidu.hugegraph.unit.serializer.BinaryBackendEntryTest;
 import com.baidu.hugegraph.unit.serializer.BinaryScatterSerializerTest;
 import com.baidu.hugegraph.unit.serializer.BinarySerializerTest;
 import com.baidu.hugegraph.unit.serializer.BytesBufferTest;
+import com.baidu.hugegraph.unit.serializer.JsonSerializerTest;
 import com.baidu.hugegraph.unit.serializer.SerializerFactoryTest;
 import com.baidu.hugegraph.unit.serializer.TableBackendEntryTest;
 import com.baidu.hugegraph.unit.serializer.TextBackendEntryTest;
+import com.baidu.hugegraph.unit.util.IdSetTest;
 import com.baidu.hugegraph.unit.util.JsonUtilTest;
 import com.baidu.hugegraph.unit.util.StringEncodingTest;
 import com.baidu.hugegraph.unit.util.VersionTest;
@@ -66,9 +82,13 @@ import com.baidu.hugegraph.unit.util.VersionTest;
     CacheTest.RamCacheTest.class,
     CacheTest.OffheapCacheTest.class,
     CacheTest.LevelCacheTest.class,
+    CacheTest.ShardedCacheTest.class,
     CachedSchemaTransactionTest.class,
     CachedGraphTransactionTest.class,
     CacheManagerTest.class,
+    DegreeCacheTest.class,
+    EdgeCacheIndexTest.class,
+    BackendInvalidationBusTest.class,
 
     /* types */
     DataTypeTest.class,
@@ -88,11 +108,21 @@ import com.baidu.hugegraph.unit.util.VersionTest;
     ConditionTest.class,
     ConditionQueryFlattenTest.class,
     QueryTest.class,
+    JointIndexStreamTest.class,
     SecurityManagerTest.class,
     RolePermissionTest.class,
     ExceptionTest.class,
     BackendStoreSystemInfoTest.class,
     TraversalUtilTest.class,
+    KoutIteratorTest.class,
+    ParallelMapperIteratorTest.class,
+    IdBlockAllocatorTest.class,
+
+    /* api */
+    BatchApiTest.class,
+    TokenGeneratorTest.class,
+    AuthenticationFilterTest.class,
+    SourceVerticesTest.class,
 
     /* serializer */
     BytesBufferTest.class,
@@ -102,6 +132,7 @@ import com.baidu.hugegraph.unit.util.VersionTest;
     BinaryBackendEntryTest.class,
     BinarySerializerTest.class,
     BinaryScatterSerializerTest.class,
+    JsonSerializerTest.class,
 
     /* cassandra */
     CassandraTest.class,
@@ -109,15 +140,21 @@ import com.baidu.hugegraph.unit.util.VersionTest;
     /* mysql */
     MysqlUtilTest.class,
     WhereBuilderTest.class,
+    MysqlCountersTest.class,
+
+    /* hbase */
+    HbaseCountersTest.class,
 
     /* rocksdb */
     RocksDBSessionsTest.class,
     RocksDBCountersTest.class,
+    RocksDBMemSessionsTest.class,
 
     /* utils */
     VersionTest.class,
     JsonUtilTest.class,
-    StringEncodingTest.class
+    StringEncodingTest.class,
+    IdSetTest.class
 })
 public class UnitTestSuite {
 }
@@ -0,0 +1,179 @@
+/*
+ * Copyright 2017 HugeGraph Authors
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with this
+ * work for additional information regarding copyright ownership. The ASF
+ * licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.baidu.hugegraph.unit.api;
+
+import java.util.Map;
+
+import javax.ws.rs.ForbiddenException;
+import javax.ws.rs.NotAuthorizedException;
+import javax.ws.rs.container.ContainerRequestContext;
+import javax.ws.rs.core.HttpHeaders;
+import javax.ws.rs.core.SecurityContext;
+import javax.ws.rs.core.UriInfo;
+
+import org.apache.tinkerpop.gremlin.server.auth.AuthenticationException;
+import org.glassfish.grizzly.http.server.Request;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+
+import com.baidu.hugegraph.api.auth.LoginAPI;
+import com.baidu.hugegraph.api.filter.AuthenticationFilter;
+import com.baidu.hugegraph.api.filter.AuthenticationFilter.Authorizer;
+import com.baidu.hugegraph.auth.HugeAuthenticator;
+import com.baidu.hugegraph.auth.HugeAuthenticator.User;
+import com.baidu.hugegraph.auth.RolePermission;
+import com.baidu.hugegraph.core.GraphManager;
+import com.baidu.hugegraph.testutil.Assert;
+import com.baidu.hugegraph.testutil.Whitebox;
+import com.baidu.hugegraph.unit.BaseUnitTest;
+
+public class AuthenticationFilterTest extends BaseUnitTest {
+
+    private static final String TOKEN = "dG9t.1.c2lnbg";
+
+    private GraphManager manager;
+    private AuthenticationFilter filter;
+
+    @Before
+    public void setup() {
+        this.manager = Mockito.mock(GraphManager.class);
+        Mockito.when(this.manager.requireAuthentication()).thenReturn(true);
+
+        Request request = Mockito.mock(Request.class);
+        Mockito.when(request.getRemoteAddr()).thenReturn("127.0.0.1");
+        Mockito.when(request.getRemotePort()).thenReturn(8080);
+        Mockito.when(request.getRequestURI()).thenReturn("/graphs");
+
+        this.filter = new AuthenticationFilter();
+        javax.inject.Provider<GraphManager> managerProvider = () -> {
+            return this.manager;
+        };
+        javax.inject.Provider<Request> requestProvider = () -> request;
+        Whitebox.setInternalState(this.filter, "managerProvider",
+                                  managerProvider);
+        Whitebox.setInternalState(this.filter, "requestProvider",
+                                  requestProvider);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testFilterWithBearerToken() throws Exception {
+        User tom = new User("tom", RolePermission.none());
+        Mockito.when(this.manager.authenticate(Mockito.anyMap()))
+               .thenReturn(tom);
+
+        SecurityContext sc = this.filter("Bearer " + TOKEN);
+        Assert.assertEquals(AuthenticationFilter.BEARER_AUTH,
+                            sc.getAuthenticationScheme());
+        Assert.assertEquals("tom", sc.getUserPrincipal().getName());
+
+        ArgumentCaptor<Map<String, String>> credentials =
+                        ArgumentCaptor.forClass(Map.class);
+        Mockito.verify(this.manager).authenticate(credentials.capture());
+        Map<String, String> values = credentials.getValue();
+        Assert.assertEquals(TOKEN, values.get(HugeAuthenticator.KEY_TOKEN));
+        Assert.assertNull(values.get(HugeAuthenticator.KEY_PASSWORD));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testFilterWithInvalidBearerToken() throws Exception {
+        Mockito.when(this.manager.authenticate(Mockito.anyMap()))
+               .thenThrow(new AuthenticationException("Invalid token"));
+
+        Assert.assertThrows(NotAuthorizedException.class, () -> {
+            this.filter("Bearer " + TOKEN);
+        }, e -> {
+            Assert.assertContains("Authentication failed", e.getMessage());
+        });
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testFilterWithBasicCredentials() throws Exception {
+        User tom = new User("tom", RolePermission.none());
+        Mockito.when(this.manager.authenticate(Mockito.anyMap()))
+               .thenReturn(tom);
+
+        // Basic base64("tom:pass")
+        SecurityContext sc = this.filter("Basic dG9tOnBhc3M=");
+        Assert.assertEquals(SecurityContext.BASIC_AUTH,
+                            sc.getAuthenticationScheme());
+        Assert.assertEquals("tom", sc.getUserPrincipal().getName());
+
+        ArgumentCaptor<Map<String, String>> credentials =
+                        ArgumentCaptor.forClass(Map.class);
+        Mockito.verify(this.manager).authenticate(credentials.capture());
+        Map<String, String> values = credentials.getValue();
+        Assert.assertEquals("pass",
+                            values.get(HugeAuthenticator.KEY_PASSWORD));
+        Assert.assertNull(values.get(HugeAuthenticator.KEY_TOKEN));
+    }
+
+    @Test
+    public void testLoginWithBasicCredentials() {
+        Mockito.when(this.manager.createToken("tom")).thenReturn(TOKEN);
+
+        SecurityContext sc = authorizer("tom", SecurityContext.BASIC_AUTH);
+        Object result = new LoginAPI().login(this.manager, "hugegraph", sc);
+        Assert.assertEquals(TOKEN, ((Map<?, ?>) result).get("token"));
+    }
+
+    @Test
+    public void testLoginWithBearerToken() {
+        Mockito.when(this.manager.createToken("tom")).thenReturn(TOKEN);
+
+        // Can't renew a token by the token itself
+        SecurityContext sc = authorizer("tom",
+                                        AuthenticationFilter.BEARER_AUTH);
+        Assert.assertThrows(ForbiddenException.class, () -> {
+            new LoginAPI().login(this.manager, "hugegraph", sc);
+        }, e -> {
+            Assert.assertContains("requires the HTTP Basic credentials",
+                                  e.getMessage());
+        });
+        Mockito.verify(this.manager, Mockito.never())
+               .createToken(Mockito.anyString());
+    }
+
+    private SecurityContext filter(String authorization) throws Exception {
+        ContainerRequestContext context =
+                                Mockito.mock(ContainerRequestContext.class);
+        Mockito.when(context.getHeaderString(HttpHeaders.AUTHORIZATION))
+               .thenReturn(authorization);
+        Mockito.when(context.getUriInfo())
+               .thenReturn(Mockito.mock(UriInfo.class));
+
+        this.filter.filter(context);
+
+        ArgumentCaptor<SecurityContext> sc =
+                        ArgumentCaptor.forClass(SecurityContext.class);
+        Mockito.verify(context).setSecurityContext(sc.capture());
+        return sc.getValue();
+    }
+
+    private static SecurityContext authorizer(String username,
+                                              String scheme) {
+        User user = new User(username, RolePermission.none());
+        return new Authorizer(user, Mockito.mock(UriInfo.class), scheme);
+    }
+}
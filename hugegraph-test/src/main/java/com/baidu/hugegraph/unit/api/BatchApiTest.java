@@ -0,0 +1,325 @@
+/*
+ * Copyright 2017 HugeGraph Authors
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with this
+ * work for additional information regarding copyright ownership. The ASF
+ * licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.baidu.hugegraph.unit.api;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.tinkerpop.gremlin.structure.Transaction;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import com.baidu.hugegraph.HugeException;
+import com.baidu.hugegraph.HugeGraph;
+import com.baidu.hugegraph.api.graph.BatchAPI;
+import com.baidu.hugegraph.config.HugeConfig;
+import com.baidu.hugegraph.config.ServerOptions;
+import com.baidu.hugegraph.testutil.Assert;
+import com.baidu.hugegraph.unit.BaseUnitTest;
+
+public class BatchApiTest extends BaseUnitTest {
+
+    private static final int TIMEOUT = 10;
+
+    private ExecutorService executor;
+    private Transaction tx;
+    private HugeGraph graph;
+    private AtomicInteger commits;
+
+    @Before
+    public void setup() {
+        this.executor = Executors.newCachedThreadPool();
+        this.commits = new AtomicInteger();
+        this.tx = Mockito.mock(Transaction.class);
+        Mockito.doAnswer(invocation -> {
+            return this.commits.incrementAndGet();
+        }).when(this.tx).commit();
+        this.graph = Mockito.mock(HugeGraph.class);
+        Mockito.when(this.graph.name()).thenReturn("graph");
+        Mockito.when(this.graph.tx()).thenReturn(this.tx);
+    }
+
+    @After
+    public void teardown() {
+        this.executor.shutdownNow();
+    }
+
+    @Test
+    public void testCommitWithoutWaiting() throws Exception {
+        HugeConfig config = config(1, 0, 0);
+        BatchAPI api = new BatchAPI();
+        CountDownLatch writing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        Future<?> future = this.executor.submit(() -> {
+            return api.commit(config, this.graph, 1, () -> {
+                writing.countDown();
+                release.await();
+                return "1";
+            });
+        });
+        Assert.assertTrue(writing.await(TIMEOUT, TimeUnit.SECONDS));
+
+        // The only one slot is occupied, reject at once
+        Assert.assertThrows(HugeException.class, () -> {
+            api.commit(config, this.graph, 1, () -> "2");
+        }, e -> {
+            Assert.assertContains("too busy to write", e.getMessage());
+        });
+
+        release.countDown();
+        Assert.assertEquals("1", future.get(TIMEOUT, TimeUnit.SECONDS));
+        Assert.assertEquals("3", api.commit(config, this.graph, 1,
+                                            () -> "3"));
+        Assert.assertEquals(2, this.commits.get());
+    }
+
+    @Test
+    public void testCommitWithWaitingTimeout() throws Exception {
+        HugeConfig config = config(1, 200, 0);
+        BatchAPI api = new BatchAPI();
+        CountDownLatch writing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        Future<?> future = this.executor.submit(() -> {
+            return api.commit(config, this.graph, 1, () -> {
+                writing.countDown();
+                release.await();
+                return "1";
+            });
+        });
+        Assert.assertTrue(writing.await(TIMEOUT, TimeUnit.SECONDS));
+
+        long begin = System.currentTimeMillis();
+        Assert.assertThrows(HugeException.class, () -> {
+            api.commit(config, this.graph, 1, () -> "2");
+        }, e -> {
+            Assert.assertContains("too busy to write", e.getMessage());
+        });
+        Assert.assertGte(200L, System.currentTimeMillis() - begin);
+
+        // Wait for the slot released by the writing request
+        Future<?> waiting = this.executor.submit(() -> {
+            return api.commit(config, this.graph, 1, () -> "3");
+        });
+        Thread.sleep(50L);
+        Assert.assertFalse(waiting.isDone());
+        release.countDown();
+        Assert.assertEquals("1", future.get(TIMEOUT, TimeUnit.SECONDS));
+        Assert.assertEquals("3", waiting.get(TIMEOUT, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void testCommitWithSlotsOfEachConfig() throws Exception {
+        BatchAPI api = new BatchAPI();
+        CountDownLatch writing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        HugeConfig config1 = config(1, 0, 0);
+        Future<?> future = this.executor.submit(() -> {
+            return api.commit(config1, this.graph, 1, () -> {
+                writing.countDown();
+                release.await();
+                return "1";
+            });
+        });
+        Assert.assertTrue(writing.await(TIMEOUT, TimeUnit.SECONDS));
+        Assert.assertThrows(HugeException.class, () -> {
+            api.commit(config1, this.graph, 1, () -> "2");
+        });
+
+        // The slots of the other config are not occupied
+        HugeConfig config2 = config(2, 0, 0);
+        Assert.assertEquals("2", api.commit(config2, this.graph, 1,
+                                            () -> "2"));
+
+        release.countDown();
+        Assert.assertEquals("1", future.get(TIMEOUT, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void testGroupCommit() throws Exception {
+        HugeConfig config = config(10, 0, 100);
+        BatchAPI api = new BatchAPI();
+        CountDownLatch writing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        // The first batch holds the only committing permit
+        Future<?> first = this.executor.submit(() -> {
+            return api.commit(config, this.graph, 1, true, () -> {
+                writing.countDown();
+                release.await();
+                return "0";
+            });
+        });
+        Assert.assertTrue(writing.await(TIMEOUT, TimeUnit.SECONDS));
+
+        List<Future<?>> futures = new ArrayList<>();
+        List<Thread> threads = new ArrayList<>();
+        for (int i = 1; i <= 5; i++) {
+            String result = String.valueOf(i);
+            futures.add(this.executor.submit(() -> {
+                synchronized (threads) {
+                    threads.add(Thread.currentThread());
+                }
+                return api.commit(config, this.graph, 1, true, () -> {
+                    return result;
+                });
+            }));
+        }
+        waitUntilBlocked(threads, 5);
+
+        // The queued batches are committed together by one commit
+        release.countDown();
+        Assert.assertEquals("0", first.get(TIMEOUT, TimeUnit.SECONDS));
+        for (int i = 1; i <= 5; i++) {
+            Assert.assertEquals(String.valueOf(i),
+                                futures.get(i - 1).get(TIMEOUT,
+                                                       TimeUnit.SECONDS));
+        }
+        Assert.assertEquals(2, this.commits.get());
+    }
+
+    @Test
+    public void testGroupCommitWithFailedBatch() throws Exception {
+        HugeConfig config = config(10, 0, 100);
+        BatchAPI api = new BatchAPI();
+        CountDownLatch writing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        Future<?> first = this.executor.submit(() -> {
+            return api.commit(config, this.graph, 1, true, () -> {
+                writing.countDown();
+                release.await();
+                return "0";
+            });
+        });
+        Assert.assertTrue(writing.await(TIMEOUT, TimeUnit.SECONDS));
+
+        List<Future<?>> futures = new ArrayList<>();
+        List<Thread> threads = new ArrayList<>();
+        for (int i = 1; i <= 3; i++) {
+            String result = String.valueOf(i);
+            futures.add(this.executor.submit(() -> {
+                synchronized (threads) {
+                    threads.add(Thread.currentThread());
+                }
+                return api.commit(config, this.graph, 1, true, () -> {
+                    if (result.equals("2")) {
+                        throw new IllegalArgumentException("Invalid 2");
+                    }
+                    return result;
+                });
+            }));
+        }
+        waitUntilBlocked(threads, 3);
+        release.countDown();
+
+        Assert.assertEquals("0", first.get(TIMEOUT, TimeUnit.SECONDS));
+        Assert.assertEquals("1", futures.get(0).get(TIMEOUT,
+                                                    TimeUnit.SECONDS));
+        Assert.assertEquals("3", futures.get(2).get(TIMEOUT,
+                                                    TimeUnit.SECONDS));
+        // The failed group is rolled back and committed one by one
+        Assert.assertThrows(Exception.class, () -> {
+            futures.get(1).get(TIMEOUT, TimeUnit.SECONDS);
+        }, e -> {
+            Assert.assertTrue(e.getCause() instanceof
+                              IllegalArgumentException);
+            Assert.assertEquals("Invalid 2", e.getCause().getMessage());
+        });
+        Mockito.verify(this.tx, Mockito.atLeast(2)).rollback();
+        Assert.assertEquals(3, this.commits.get());
+    }
+
+    @Test
+    public void testGroupCommitOnlyWithSameKind() throws Exception {
+        HugeConfig config = config(10, 0, 100);
+        BatchAPI vertexApi = new BatchAPI() {};
+        BatchAPI edgeApi = new BatchAPI() {};
+        CountDownLatch writing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        Future<?> vertices = this.executor.submit(() -> {
+            return vertexApi.commit(config, this.graph, 1, true, () -> {
+                writing.countDown();
+                release.await();
+                return "vertices";
+            });
+        });
+        Assert.assertTrue(writing.await(TIMEOUT, TimeUnit.SECONDS));
+
+        // Not be queued behind the batch of vertices in the same group
+        Future<?> edges = this.executor.submit(() -> {
+            return edgeApi.commit(config, this.graph, 1, true, () -> {
+                return "edges";
+            });
+        });
+        Assert.assertEquals("edges", edges.get(TIMEOUT, TimeUnit.SECONDS));
+        Assert.assertFalse(vertices.isDone());
+
+        release.countDown();
+        Assert.assertEquals("vertices",
+                            vertices.get(TIMEOUT, TimeUnit.SECONDS));
+        Assert.assertEquals(2, this.commits.get());
+    }
+
+    private static HugeConfig config(int writeThreads, int waitTimeout,
+                                     int groupSize) {
+        HugeConfig config = Mockito.mock(HugeConfig.class);
+        Mockito.when(config.get(ServerOptions.MAX_WRITE_THREADS))
+               .thenReturn(writeThreads);
+        Mockito.when(config.get(ServerOptions.WRITE_WAIT_TIMEOUT))
+               .thenReturn(waitTimeout);
+        Mockito.when(config.get(ServerOptions.GROUP_COMMIT_SIZE))
+               .thenReturn(groupSize);
+        Mockito.when(config.get(ServerOptions.GROUP_COMMIT_THREADS))
+               .thenReturn(1);
+        return config;
+    }
+
+    private static void waitUntilBlocked(List<Thread> threads, int count)
+                                         throws InterruptedException {
+        // Wait until all the threads are waiting for the committing permit
+        for (int i = 0; i < TIMEOUT * 100; i++) {
+            int blocked = 0;
+            synchronized (threads) {
+                for (Thread thread : threads) {
+                    if (thread.getState() == Thread.State.WAITING) {
+                        blocked++;
+                    }
+                }
+            }
+            if (blocked == count) {
+                return;
+            }
+            Thread.sleep(10L);
+        }
+        Assert.fail("Timeout to wait for the blocked threads");
+    }
+}
@@ -0,0 +1,137 @@
+/*
+ * Copyright 2017 HugeGraph Authors
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with this
+ * work for additional information regarding copyright ownership. The ASF
+ * licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.baidu.hugegraph.unit.api;
+
+import java.util.Iterator;
+import java.util.Set;
+
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+
+import com.baidu.hugegraph.HugeGraph;
+import com.baidu.hugegraph.api.traversers.SourceVertices;
+import com.baidu.hugegraph.backend.id.Id;
+import com.baidu.hugegraph.backend.id.IdGenerator;
+import com.baidu.hugegraph.backend.query.ConditionQuery;
+import com.baidu.hugegraph.backend.query.Query;
+import com.baidu.hugegraph.schema.VertexLabel;
+import com.baidu.hugegraph.testutil.Assert;
+import com.baidu.hugegraph.type.define.HugeKeys;
+import com.baidu.hugegraph.unit.BaseUnitTest;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+
+public class SourceVerticesTest extends BaseUnitTest {
+
+    private HugeGraph graph;
+
+    @Before
+    public void setup() {
+        this.graph = Mockito.mock(HugeGraph.class);
+    }
+
+    @Test
+    public void testSourcesIdsByIds() {
+        SourceVertices sources = new SourceVertices();
+        sources.ids = ImmutableSet.of("1:marko", 2, "1:vadas");
+
+        Set<Id> ids = sources.sourcesIds(this.graph);
+        Assert.assertEquals(ImmutableSet.of(IdGenerator.of("1:marko"),
+                                            IdGenerator.of(2L),
+                                            IdGenerator.of("1:vadas")),
+                            ids);
+        // The vertices are not queried if the ids are provided
+        Mockito.verifyZeroInteractions(this.graph);
+    }
+
+    @Test
+    public void testSourcesIdsByLabel() {
+        Id label = IdGenerator.of(1L);
+        VertexLabel vertexLabel = Mockito.mock(VertexLabel.class);
+        Mockito.when(vertexLabel.id()).thenReturn(label);
+        Mockito.when(this.graph.vertexLabel("person"))
+               .thenReturn(vertexLabel);
+
+        Iterator<Vertex> vertices = ImmutableList.of(
+                                    vertex(IdGenerator.of("1:marko")),
+                                    vertex(IdGenerator.of("1:vadas")),
+                                    vertex(IdGenerator.of("1:marko")))
+                                    .iterator();
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        Mockito.when(this.graph.vertices(query.capture()))
+               .thenReturn(vertices);
+
+        SourceVertices sources = new SourceVertices();
+        sources.label = "person";
+        Set<Id> ids = sources.sourcesIds(this.graph);
+        Assert.assertEquals(ImmutableSet.of(IdGenerator.of("1:marko"),
+                                            IdGenerator.of("1:vadas")),
+                            ids);
+        Assert.assertEquals(label, ((ConditionQuery) query.getValue())
+                                   .condition(HugeKeys.LABEL));
+    }
+
+    @Test
+    public void testSourcesIdsWithoutSource() {
+        SourceVertices sources = new SourceVertices();
+        Assert.assertThrows(IllegalArgumentException.class, () -> {
+            sources.sourcesIds(this.graph);
+        }, e -> {
+            Assert.assertContains("No source vertices provided",
+                                  e.getMessage());
+        });
+
+        sources.ids = ImmutableSet.of();
+        Assert.assertThrows(IllegalArgumentException.class, () -> {
+            sources.sourcesIds(this.graph);
+        }, e -> {
+            Assert.assertContains("No source vertices provided",
+                                  e.getMessage());
+        });
+    }
+
+    @Test
+    public void testSourcesIdsByLabelWithoutVertex() {
+        VertexLabel vertexLabel = Mockito.mock(VertexLabel.class);
+        Mockito.when(vertexLabel.id()).thenReturn(IdGenerator.of(1L));
+        Mockito.when(this.graph.vertexLabel("person"))
+               .thenReturn(vertexLabel);
+        Mockito.when(this.graph.vertices(Mockito.any(Query.class)))
+               .thenReturn(ImmutableList.<Vertex>of().iterator());
+
+        SourceVertices sources = new SourceVertices();
+        sources.label = "person";
+        Assert.assertThrows(IllegalArgumentException.class, () -> {
+            sources.sourcesIds(this.graph);
+        }, e -> {
+            Assert.assertContains("Not exist source vertex with label " +
+                                  "'person'", e.getMessage());
+        });
+    }
+
+    private static Vertex vertex(Id id) {
+        Vertex vertex = Mockito.mock(Vertex.class);
+        Mockito.when(vertex.id()).thenReturn(id);
+        return vertex;
+    }
+}
@@ -0,0 +1,170 @@
+/*
+ * Copyright 2017 HugeGraph Authors
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with this
+ * work for additional information regarding copyright ownership. The ASF
+ * licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.baidu.hugegraph.unit.api;
+
+import org.apache.tinkerpop.gremlin.server.auth.AuthenticationException;
+import org.junit.Test;
+
+import com.baidu.hugegraph.auth.TokenGenerator;
+import com.baidu.hugegraph.testutil.Assert;
+import com.baidu.hugegraph.unit.BaseUnitTest;
+
+public class TokenGeneratorTest extends BaseUnitTest {
+
+    private static final String SECRET = "secret";
+    private static final long EXPIRE = 60 * 1000L;
+
+    @Test
+    public void testCreateAndVerify() throws AuthenticationException {
+        TokenGenerator generator = new TokenGenerator(SECRET, EXPIRE);
+        String token = generator.create("tom", "salt");
+
+        generator.verify(token, "salt");
+        Assert.assertEquals("tom", TokenGenerator.username(token));
+        Assert.assertEquals(3, token.split("\\.").length);
+    }
+
+    @Test
+    public void testVerifyWithChangedSalt() {
+        TokenGenerator generator = new TokenGenerator(SECRET, EXPIRE);
+        String token = generator.create("tom", "salt");
+
+        // The salt is the stored password, which has been changed
+        Assert.assertThrows(AuthenticationException.class, () -> {
+            generator.verify(token, "salt2");
+        }, e -> {
+            Assert.assertContains("Invalid token", e.getMessage());
+        });
+    }
+
+    @Test
+    public void testVerifyWithOtherSecret() {
+        TokenGenerator generator = new TokenGenerator(SECRET, EXPIRE);
+        TokenGenerator other = new TokenGenerator("secret2", EXPIRE);
+        String token = other.create("tom", "salt");
+
+        Assert.assertThrows(AuthenticationException.class, () -> {
+            generator.verify(token, "salt");
+        }, e -> {
+            Assert.assertContains("Invalid token", e.getMessage());
+        });
+    }
+
+    @Test
+    public void testVerifyWithTamperedToken() {
+        TokenGenerator generator = new TokenGenerator(SECRET, EXPIRE);
+        String token = generator.create("tom", "salt");
+        String[] parts = token.split("\\.");
+
+        // Tamper the username
+        String admin = generator.create("admin", "salt").split("\\.")[0];
+        String token1 = admin + "." + parts[1] + "." + parts[2];
+        Assert.assertThrows(AuthenticationException.class, () -> {
+            generator.verify(token1, "salt");
+        }, e -> {
+            Assert.assertContains("Invalid token", e.getMessage());
+        });
+
+        // Tamper the expire time
+        long expireTime = Long.parseLong(parts[1]) + EXPIRE;
+        String token2 = parts[0] + "." + expireTime + "." + parts[2];
+        Assert.assertThrows(AuthenticationException.class, () -> {
+            generator.verify(token2, "salt");
+        }, e -> {
+            Assert.assertContains("Invalid token", e.getMessage());
+        });
+
+        // Tamper the signature
+        char c = parts[2].charAt(0) == 'A' ? 'B' : 'A';
+        String token3 = parts[0] + "." + parts[1] + "." +
+                        c + parts[2].substring(1);
+        Assert.assertThrows(AuthenticationException.class, () -> {
+            generator.verify(token3, "salt");
+        }, e -> {
+            Assert.assertContains("Invalid token", e.getMessage());
+        });
+
+        // Remove the signature
+        String token4 = parts[0] + "." + parts[1] + ".";
+        Assert.assertThrows(AuthenticationException.class, () -> {
+            generator.verify(token4, "salt");
+        }, e -> {
+            Assert.assertContains("Invalid token", e.getMessage());
+        });
+    }
+
+    @Test
+    public void testVerifyWithExpiredToken() throws InterruptedException {
+        TokenGenerator generator = new TokenGenerator(SECRET, 1L);
+        String token = generator.create("tom", "salt");
+
+        Thread.sleep(10L);
+        Assert.assertThrows(AuthenticationException.class, () -> {
+            generator.verify(token, "salt");
+        }, e -> {
+            Assert.assertContains("expired", e.getMessage());
+        });
+    }
+
+    @Test
+    public void testVerifyWithMalformedToken() {
+        TokenGenerator generator = new TokenGenerator(SECRET, EXPIRE);
+
+        Assert.assertThrows(AuthenticationException.class, () -> {
+            generator.verify("", "salt");
+        }, e -> {
+            Assert.assertContains("Invalid token", e.getMessage());
+        });
+        Assert.assertThrows(AuthenticationException.class, () -> {
+            generator.verify("dG9t.123", "salt");
+        }, e -> {
+            Assert.assertContains("Invalid token", e.getMessage());
+        });
+        Assert.assertThrows(AuthenticationException.class, () -> {
+            generator.verify("dG9t.1.2.3", "salt");
+        }, e -> {
+            Assert.assertContains("Invalid token", e.getMessage());
+        });
+        Assert.assertThrows(AuthenticationException.class, () -> {
+            TokenGenerator.username("%%%.123.abc");
+        }, e -> {
+            Assert.assertContains("Invalid token", e.getMessage());
+        });
+    }
+
+    @Test
+    public void testCreateWithInvalidArgs() {
+        Assert.assertThrows(IllegalArgumentException.class, () -> {
+            new TokenGenerator("", EXPIRE);
+        }, e -> {
+            Assert.assertContains("can't be empty", e.getMessage());
+        });
+        Assert.assertThrows(IllegalArgumentException.class, () -> {
+            new TokenGenerator(null, EXPIRE);
+        }, e -> {
+            Assert.assertContains("can't be empty", e.getMessage());
+        });
+        Assert.assertThrows(IllegalArgumentException.class, () -> {
+            new TokenGenerator(SECRET, 0L);
+        }, e -> {
+            Assert.assertContains("must be > 0", e.getMessage());
+        });
+    }
+}
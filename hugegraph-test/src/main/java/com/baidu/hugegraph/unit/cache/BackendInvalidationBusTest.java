@@ -0,0 +1,313 @@
+/*
+ * Copyright 2017 HugeGraph Authors
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with this
+ * work for additional information regarding copyright ownership. The ASF
+ * licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.baidu.hugegraph.unit.cache;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.BooleanSupplier;
+
+import org.apache.tinkerpop.gremlin.structure.Edge;
+import org.apache.tinkerpop.gremlin.structure.T;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.baidu.hugegraph.HugeFactory;
+import com.baidu.hugegraph.HugeGraph;
+import com.baidu.hugegraph.HugeGraphParams;
+import com.baidu.hugegraph.backend.cache.BackendInvalidationBus;
+import com.baidu.hugegraph.backend.cache.DegreeCache;
+import com.baidu.hugegraph.backend.cache.InvalidationBus;
+import com.baidu.hugegraph.backend.id.EdgeId;
+import com.baidu.hugegraph.backend.id.Id;
+import com.baidu.hugegraph.backend.id.IdGenerator;
+import com.baidu.hugegraph.config.CoreOptions;
+import com.baidu.hugegraph.config.HugeConfig;
+import com.baidu.hugegraph.event.EventListener;
+import com.baidu.hugegraph.testutil.Assert;
+import com.baidu.hugegraph.testutil.Whitebox;
+import com.baidu.hugegraph.type.define.Directions;
+import com.baidu.hugegraph.unit.BaseUnitTest;
+import com.baidu.hugegraph.unit.FakeObjects;
+import com.baidu.hugegraph.util.Events;
+
+public class BackendInvalidationBusTest extends BaseUnitTest {
+
+    private static final long WAIT_TIMEOUT = 10000L;
+    private static final long WAIT_INTERVAL = 100L;
+
+    private HugeGraph graph;
+    private HugeGraphParams params;
+    private DegreeCache degreeCache;
+    private InvalidationBus bus1;
+    private InvalidationBus bus2;
+
+    private List<Object[]> graphEvents;
+    private List<Object[]> schemaEvents;
+    private EventListener graphListener;
+    private EventListener schemaListener;
+
+    @Before
+    public void setup() {
+        HugeConfig conf = FakeObjects.newConfig();
+        // Sync the buses manually by sync() instead of the worker
+        conf.setProperty(CoreOptions.CACHE_SYNC_INTERVAL.name(), 3600000L);
+        this.graph = HugeFactory.open(conf);
+        this.graph.initBackend();
+        this.params = Whitebox.getInternalState(this.graph, "params");
+
+        /*
+         * Open the cached graph tx before listening, to let it listen the
+         * cache events applied by the buses
+         */
+        this.degreeCache = this.graph.degreeCache();
+
+        this.graphEvents = new CopyOnWriteArrayList<>();
+        this.schemaEvents = new CopyOnWriteArrayList<>();
+        this.graphListener = event -> this.graphEvents.add(event.args());
+        this.schemaListener = event -> this.schemaEvents.add(event.args());
+        this.params.graphEventHub().listen(Events.CACHE, this.graphListener);
+        this.params.schemaEventHub().listen(Events.CACHE,
+                                            this.schemaListener);
+
+        // Two buses with the same backend act as two servers
+        this.bus1 = new BackendInvalidationBus(this.params);
+        this.bus2 = new BackendInvalidationBus(this.params);
+    }
+
+    @After
+    public void teardown() throws Exception {
+        this.bus1.close();
+        this.bus2.close();
+        this.params.graphEventHub().unlisten(Events.CACHE,
+                                             this.graphListener);
+        this.params.schemaEventHub().unlisten(Events.CACHE,
+                                              this.schemaListener);
+        this.graph.clearBackend();
+        this.graph.close();
+    }
+
+    @Test
+    public void testApplyEventsOfOtherServers() throws InterruptedException {
+        Id vertex = IdGenerator.of(1);
+        this.bus1.publish(InvalidationBus.GRAPH,
+                          InvalidationBus.ACTION_INVALID, vertex);
+        this.bus2.publish(InvalidationBus.SCHEMA,
+                          InvalidationBus.ACTION_CLEAR);
+        sync(this.bus1);
+        sync(this.bus2);
+        sync(this.bus1);
+
+        waitForEvents(this.graphEvents, 1);
+        waitForEvents(this.schemaEvents, 1);
+        Assert.assertArrayEquals(new Object[]{"invalid", vertex},
+                                 this.graphEvents.get(0));
+        Assert.assertArrayEquals(new Object[]{"clear", null},
+                                 this.schemaEvents.get(0));
+
+        // Each event is applied only once by the other server
+        sync(this.bus1);
+        sync(this.bus2);
+        waitForEvents(this.graphEvents, 1);
+        waitForEvents(this.schemaEvents, 1);
+    }
+
+    @Test
+    public void testPublishCoalesced() throws InterruptedException {
+        Id vertex1 = IdGenerator.of(1);
+        Id vertex2 = IdGenerator.of(2);
+        this.bus1.publish(InvalidationBus.GRAPH,
+                          InvalidationBus.ACTION_INVALID, vertex1);
+        this.bus1.publish(InvalidationBus.GRAPH,
+                          InvalidationBus.ACTION_INVALID, vertex2, vertex1);
+        this.bus1.publish(InvalidationBus.GRAPH,
+                          InvalidationBus.ACTION_INVALID, vertex2);
+
+        // Nothing is saved until sync
+        Assert.assertEquals(0, recentEvents(this.bus1));
+        sync(this.bus1);
+        // Saved as one event with distinct ids
+        Assert.assertEquals(1, recentEvents(this.bus1));
+
+        sync(this.bus2);
+        waitForEvents(this.graphEvents, 2);
+        Assert.assertArrayEquals(new Object[]{"invalid", vertex1},
+                                 this.graphEvents.get(0));
+        Assert.assertArrayEquals(new Object[]{"invalid", vertex2},
+                                 this.graphEvents.get(1));
+
+        // Nothing to save if no more published
+        sync(this.bus1);
+        Assert.assertEquals(1, recentEvents(this.bus1));
+    }
+
+    @Test
+    public void testPublishTooManyIds() throws InterruptedException {
+        Id[] edges = new Id[1001];
+        for (int i = 0; i < edges.length; i++) {
+            edges[i] = IdGenerator.of(i);
+        }
+        this.bus1.publish(InvalidationBus.GRAPH,
+                          InvalidationBus.ACTION_INVALID_EDGES, edges);
+        sync(this.bus1);
+        sync(this.bus2);
+
+        waitForEvents(this.graphEvents, 1);
+        Assert.assertArrayEquals(new Object[]{"clear", null},
+                                 this.graphEvents.get(0));
+    }
+
+    @Test
+    public void testPublishTooManyIdsAccumulated()
+                throws InterruptedException {
+        // The pending ids are bounded, fall back to "clear" if exceeded
+        for (int i = 0; i < 1001; i++) {
+            this.bus1.publish(InvalidationBus.GRAPH,
+                              InvalidationBus.ACTION_INVALID,
+                              IdGenerator.of(i));
+        }
+        this.bus1.publish(InvalidationBus.GRAPH,
+                          InvalidationBus.ACTION_INVALID, IdGenerator.of(0));
+        sync(this.bus1);
+        Assert.assertEquals(1, recentEvents(this.bus1));
+        sync(this.bus2);
+
+        waitForEvents(this.graphEvents, 1);
+        Assert.assertArrayEquals(new Object[]{"clear", null},
+                                 this.graphEvents.get(0));
+    }
+
+    @Test
+    public void testPublishClearSupersedesIds() throws InterruptedException {
+        this.bus1.publish(InvalidationBus.GRAPH,
+                          InvalidationBus.ACTION_INVALID, IdGenerator.of(1));
+        this.bus1.publish(InvalidationBus.GRAPH,
+                          InvalidationBus.ACTION_CLEAR);
+        this.bus1.publish(InvalidationBus.GRAPH,
+                          InvalidationBus.ACTION_INVALID, IdGenerator.of(2));
+        sync(this.bus1);
+        Assert.assertEquals(1, recentEvents(this.bus1));
+        sync(this.bus2);
+
+        waitForEvents(this.graphEvents, 1);
+        Assert.assertArrayEquals(new Object[]{"clear", null},
+                                 this.graphEvents.get(0));
+    }
+
+    @Test
+    public void testPublishAfterClose() {
+        this.bus1.publish(InvalidationBus.GRAPH,
+                          InvalidationBus.ACTION_INVALID, IdGenerator.of(1));
+        // The pending ones are saved when closing
+        this.bus1.close();
+        Assert.assertEquals(1, recentEvents(this.bus1));
+
+        // Ignored without any exception like RejectedExecutionException
+        this.bus1.publish(InvalidationBus.GRAPH,
+                          InvalidationBus.ACTION_INVALID, IdGenerator.of(2));
+        this.bus1.close();
+        Assert.assertEquals(1, recentEvents(this.bus1));
+    }
+
+    @Test
+    public void testPublishConcurrentlyWithClose()
+                throws InterruptedException {
+        Thread publisher = new Thread(() -> {
+            for (int i = 0; i < 10000; i++) {
+                this.bus1.publish(InvalidationBus.GRAPH,
+                                  InvalidationBus.ACTION_INVALID,
+                                  IdGenerator.of(i));
+            }
+        });
+        List<Throwable> errors = new CopyOnWriteArrayList<>();
+        publisher.setUncaughtExceptionHandler((t, e) -> errors.add(e));
+        publisher.start();
+        this.bus1.close();
+        publisher.join();
+
+        Assert.assertEquals(0, errors.size());
+    }
+
+    @Test
+    public void testApplyInvalidEdgesToDegreeCache()
+                throws InterruptedException {
+        this.graph.schema().vertexLabel("person")
+                  .useCustomizeNumberId()
+                  .create();
+        this.graph.schema().edgeLabel("knows")
+                  .sourceLabel("person").targetLabel("person")
+                  .create();
+        Vertex v1 = this.graph.addVertex(T.label, "person", T.id, 1);
+        Vertex v2 = this.graph.addVertex(T.label, "person", T.id, 2);
+        Edge edge = v1.addEdge("knows", v2);
+        this.graph.tx().commit();
+
+        EdgeId edgeId = (EdgeId) edge.id();
+        Id source = edgeId.ownerVertexId();
+        Id target = edgeId.otherVertexId();
+        DegreeCache degrees = this.degreeCache;
+        degrees.record(source, Directions.OUT, null, 1L, true);
+        degrees.record(target, Directions.IN, null, 1L, true);
+        Assert.assertEquals(1L, degrees.degree(source, Directions.OUT, null));
+        Assert.assertEquals(1L, degrees.degree(target, Directions.IN, null));
+
+        // The edge changed by server 1 invalidates the degrees of server 2
+        this.bus1.publish(InvalidationBus.GRAPH,
+                          InvalidationBus.ACTION_INVALID_EDGES, edgeId);
+        sync(this.bus1);
+        sync(this.bus2);
+
+        waitForEvents(this.graphEvents, 1);
+        Assert.assertArrayEquals(new Object[]{"invalid_edges",
+                                              new Id[]{edgeId}},
+                                 this.graphEvents.get(0));
+        waitUntil(() -> {
+            return degrees.degree(source, Directions.OUT, null) ==
+                   DegreeCache.UNKNOWN &&
+                   degrees.degree(target, Directions.IN, null) ==
+                   DegreeCache.UNKNOWN;
+        });
+    }
+
+    private static void sync(InvalidationBus bus) {
+        Whitebox.invoke(BackendInvalidationBus.class, "sync", bus);
+    }
+
+    private static int recentEvents(InvalidationBus bus) {
+        return Whitebox.invoke(bus, "recentEvents", "size");
+    }
+
+    private static void waitForEvents(List<Object[]> events, int size)
+                                      throws InterruptedException {
+        waitUntil(() -> events.size() >= size);
+        Assert.assertEquals(size, events.size());
+    }
+
+    private static void waitUntil(BooleanSupplier condition)
+                                  throws InterruptedException {
+        long deadline = System.currentTimeMillis() + WAIT_TIMEOUT;
+        while (!condition.getAsBoolean() &&
+               System.currentTimeMillis() < deadline) {
+            Thread.sleep(WAIT_INTERVAL);
+        }
+        Assert.assertTrue(condition.getAsBoolean());
+    }
+}
@@ -24,6 +24,7 @@ import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
 
 import org.junit.After;
 import org.junit.Before;
@@ -36,6 +37,7 @@ import com.baidu.hugegraph.backend.cache.Cache;
 import com.baidu.hugegraph.backend.cache.LevelCache;
 import com.baidu.hugegraph.backend.cache.OffheapCache;
 import com.baidu.hugegraph.backend.cache.RamCache;
+import com.baidu.hugegraph.backend.cache.ShardedCache;
 import com.baidu.hugegraph.backend.id.Id;
 import com.baidu.hugegraph.backend.id.IdGenerator;
 import com.baidu.hugegraph.testutil.Assert;
@@ -218,6 +220,185 @@ public abstract class CacheTest extends BaseUnitTest {
             OffheapCache l2cache = (OffheapCache) super.newCache(capacity);
             return new LevelCache(l1cache, l2cache);
         }
+
+        @Test
+        public void testGetWithPromoteToLevel1() {
+            RamCache l1cache = new RamCache(10L);
+            OffheapCache l2cache = (OffheapCache) super.newCache(10L);
+            Cache<Id, Object> cache = new LevelCache(l1cache, l2cache);
+
+            Id id = IdGenerator.of("1");
+            l2cache.update(id, "value-1");
+            Assert.assertFalse(l1cache.containsKey(id));
+            Assert.assertTrue(cache.containsKey(id));
+
+            Assert.assertEquals("value-1", cache.get(id));
+            Assert.assertEquals("value-1", l1cache.get(id));
+            Assert.assertEquals(1L, cache.hits());
+
+            cache.invalidate(id);
+            Assert.assertFalse(l1cache.containsKey(id));
+            Assert.assertFalse(l2cache.containsKey(id));
+            Assert.assertNull(cache.get(id));
+        }
+
+        @Test
+        public void testGetWithoutPromoteInvalidatedValue() {
+            RamCache l1cache = new RamCache(10L);
+            // Simulate the value invalidated by others right after the hit
+            OffheapCache l2cache = new OffheapCache(this.graph(), 10L,
+                                                    ENTRY_SIZE) {
+                @Override
+                protected Object access(Id id) {
+                    Object value = super.access(id);
+                    this.remove(id);
+                    return value;
+                }
+            };
+            Cache<Id, Object> cache = new LevelCache(l1cache, l2cache);
+
+            Id id = IdGenerator.of("1");
+            l2cache.update(id, "value-1");
+            Assert.assertEquals("value-1", cache.get(id));
+            Assert.assertFalse(l1cache.containsKey(id));
+            Assert.assertFalse(l2cache.containsKey(id));
+            Assert.assertNull(cache.get(id));
+        }
+
+        @Test
+        public void testGetWithoutPromoteReplacedValue() throws Exception {
+            RamCache l1cache = new RamCache(10L);
+            AtomicReference<Cache<Id, Object>> levelCache;
+            levelCache = new AtomicReference<>();
+            AtomicReference<Thread> writer = new AtomicReference<>();
+            // Simulate the value replaced by another thread after the hit
+            OffheapCache l2cache = new OffheapCache(this.graph(), 10L,
+                                                    ENTRY_SIZE) {
+                @Override
+                protected Object access(Id id) {
+                    Object value = super.access(id);
+                    if (value != null && writer.get() == null) {
+                        Thread thread = new Thread(() -> {
+                            levelCache.get().invalidate(id);
+                            levelCache.get().update(id, "value-2");
+                        });
+                        writer.set(thread);
+                        thread.start();
+                        // Give the writer a chance to replace the value
+                        try {
+                            thread.join(100L);
+                        } catch (InterruptedException e) {
+                            throw new RuntimeException(e);
+                        }
+                    }
+                    return value;
+                }
+            };
+            Cache<Id, Object> cache = new LevelCache(l1cache, l2cache);
+            levelCache.set(cache);
+
+            Id id = IdGenerator.of("1");
+            l2cache.update(id, "value-1");
+            Assert.assertEquals("value-1", cache.get(id));
+
+            writer.get().join();
+            // The stale value must not overwrite the new one in level 1
+            Assert.assertEquals("value-2", l1cache.get(id));
+            Assert.assertEquals("value-2", cache.get(id));
+        }
+    }
+
+    public static class ShardedCacheTest extends CacheTest {
+
+        @Override
+        protected Cache<Id, Object> newCache() {
+            return new ShardedCache();
+        }
+
+        @Override
+        protected Cache<Id, Object> newCache(long capacity) {
+            return new ShardedCache(capacity);
+        }
+
+        @Override
+        protected void checkSize(Cache<Id, Object> cache, long size,
+                                 Map<Id, Object> kvs) {
+            Assert.assertEquals(size, cache.size());
+            if (kvs != null) {
+                // NOTE: the admission may keep items other than the latest
+                for (Map.Entry<Id, Object> kv : kvs.entrySet()) {
+                    Object value = cache.get(kv.getKey());
+                    if (value != null) {
+                        Assert.assertEquals(kv.getValue(), value);
+                    }
+                }
+            }
+        }
+
+        @Override
+        protected void checkInCache(Cache<Id, Object> cache, Id id) {
+            Assert.assertTrue(cache.containsKey(id));
+        }
+
+        @Override
+        protected void checkNotInCache(Cache<Id, Object> cache, Id id) {
+            Assert.assertFalse(cache.containsKey(id));
+        }
+
+        @Test
+        public void testFrequentItemsSurviveScan() {
+            int limit = 1000;
+            Cache<Id, Object> cache = newCache(limit);
+
+            int hot = 50;
+            for (int i = 0; i < hot; i++) {
+                Id id = IdGenerator.of("hot-" + i);
+                cache.update(id, "value-" + i);
+            }
+            for (int round = 0; round < 10; round++) {
+                for (int i = 0; i < hot; i++) {
+                    Assert.assertNotNull(cache.get(IdGenerator.of("hot-" + i)));
+                }
+            }
+
+            // Scan a lot of keys which are accessed only once
+            for (int i = 0; i < 2 * limit; i++) {
+                Id id = IdGenerator.of("scan-" + i);
+                cache.update(id, "value-" + i);
+            }
+            Assert.assertEquals(limit, cache.size());
+
+            for (int i = 0; i < hot; i++) {
+                Assert.assertEquals("value-" + i,
+                                    cache.get(IdGenerator.of("hot-" + i)));
+            }
+        }
+
+        @Test
+        public void testSizeOfEachSegmentWithinCapacity() {
+            int limit = 10000;
+            Cache<Id, Object> cache = newCache(limit);
+            for (int i = 0; i < 5 * limit; i++) {
+                cache.update(IdGenerator.of("key-" + i), "value-" + i);
+            }
+            Assert.assertTrue(cache.size() <= limit);
+
+            Object[] segments = Whitebox.getInternalState(cache, "segments");
+            Assert.assertTrue(segments.length > 1);
+            long capacities = 0L;
+            long sizes = 0L;
+            for (Object segment : segments) {
+                long capacity = Whitebox.getInternalState(segment,
+                                                          "capacity");
+                long size = Whitebox.invoke(segment.getClass(), "size",
+                                            segment);
+                Assert.assertTrue(size <= capacity);
+                capacities += capacity;
+                sizes += size;
+            }
+            Assert.assertEquals(limit, capacities);
+            Assert.assertEquals(cache.size(), sizes);
+        }
     }
 
     @Test
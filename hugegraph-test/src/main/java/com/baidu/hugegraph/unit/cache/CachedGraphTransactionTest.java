@@ -19,6 +19,12 @@
 
 package com.baidu.hugegraph.unit.cache;
 
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.apache.tinkerpop.gremlin.structure.Edge;
+import org.apache.tinkerpop.gremlin.structure.T;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
@@ -27,6 +33,7 @@ import com.baidu.hugegraph.HugeFactory;
 import com.baidu.hugegraph.HugeGraph;
 import com.baidu.hugegraph.HugeGraphParams;
 import com.baidu.hugegraph.backend.cache.CachedGraphTransaction;
+import com.baidu.hugegraph.backend.cache.InvalidationBus;
 import com.baidu.hugegraph.backend.id.Id;
 import com.baidu.hugegraph.backend.id.IdGenerator;
 import com.baidu.hugegraph.schema.VertexLabel;
@@ -124,4 +131,92 @@ public class CachedGraphTransactionTest extends BaseUnitTest {
         Assert.assertEquals(2L,
                             Whitebox.invoke(cache, "verticesCache", "size"));
     }
+
+    @Test
+    public void testPublishChangedVertices() {
+        CachedGraphTransaction cache = this.cache();
+        List<Object[]> events = this.recordPublishedEvents();
+
+        cache.addVertex(this.newVertex(IdGenerator.of(1)));
+        cache.addVertex(this.newVertex(IdGenerator.of(2)));
+        cache.commit();
+
+        Assert.assertEquals(1, events.size());
+        Assert.assertArrayEquals(new Object[]{
+                                 InvalidationBus.GRAPH,
+                                 InvalidationBus.ACTION_INVALID,
+                                 new Id[]{IdGenerator.of(1),
+                                          IdGenerator.of(2)}},
+                                 events.get(0));
+
+        cache.removeVertex(this.newVertex(IdGenerator.of(1)));
+        cache.commit();
+
+        Assert.assertEquals(2, events.size());
+        Assert.assertArrayEquals(new Object[]{
+                                 InvalidationBus.GRAPH,
+                                 InvalidationBus.ACTION_INVALID,
+                                 new Id[]{IdGenerator.of(1)}},
+                                 events.get(1));
+    }
+
+    @Test
+    public void testPublishChangedEdges() {
+        HugeGraph graph = this.cache().graph();
+        graph.schema().vertexLabel("person")
+                      .idStrategy(IdStrategy.CUSTOMIZE_NUMBER)
+                      .create();
+        graph.schema().edgeLabel("knows")
+                      .sourceLabel("person").targetLabel("person")
+                      .create();
+        List<Object[]> events = this.recordPublishedEvents();
+
+        Vertex v1 = graph.addVertex(T.label, "person", T.id, 1);
+        Vertex v2 = graph.addVertex(T.label, "person", T.id, 2);
+        Edge edge = v1.addEdge("knows", v2);
+        graph.tx().commit();
+
+        // The edges are published with the real edge ids
+        Assert.assertEquals(2, events.size());
+        Assert.assertArrayEquals(new Object[]{
+                                 InvalidationBus.GRAPH,
+                                 InvalidationBus.ACTION_INVALID,
+                                 new Id[]{IdGenerator.of(1),
+                                          IdGenerator.of(2)}},
+                                 events.get(0));
+        Assert.assertArrayEquals(new Object[]{
+                                 InvalidationBus.GRAPH,
+                                 InvalidationBus.ACTION_INVALID_EDGES,
+                                 new Id[]{(Id) edge.id()}},
+                                 events.get(1));
+
+        edge.remove();
+        graph.tx().commit();
+
+        Assert.assertEquals(3, events.size());
+        Assert.assertArrayEquals(new Object[]{
+                                 InvalidationBus.GRAPH,
+                                 InvalidationBus.ACTION_INVALID_EDGES,
+                                 new Id[]{(Id) edge.id()}},
+                                 events.get(2));
+    }
+
+    private List<Object[]> recordPublishedEvents() {
+        List<Object[]> events = new CopyOnWriteArrayList<>();
+        InvalidationBus bus = new InvalidationBus() {
+
+            @Override
+            public void publish(String hub, String action, Id... ids) {
+                events.add(new Object[]{hub, action, ids});
+            }
+
+            @Override
+            public void close() {
+                // pass
+            }
+        };
+        Whitebox.setInternalState(this.cache().graph(), "invalidationBus",
+                                  bus);
+        return events;
+    }
 }
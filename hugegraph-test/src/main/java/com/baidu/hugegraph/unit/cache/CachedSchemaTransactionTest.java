@@ -19,6 +19,9 @@
 
 package com.baidu.hugegraph.unit.cache;
 
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
@@ -27,6 +30,7 @@ import com.baidu.hugegraph.HugeFactory;
 import com.baidu.hugegraph.HugeGraph;
 import com.baidu.hugegraph.HugeGraphParams;
 import com.baidu.hugegraph.backend.cache.CachedSchemaTransaction;
+import com.baidu.hugegraph.backend.cache.InvalidationBus;
 import com.baidu.hugegraph.backend.id.Id;
 import com.baidu.hugegraph.backend.id.IdGenerator;
 import com.baidu.hugegraph.testutil.Assert;
@@ -198,4 +202,54 @@ public class CachedSchemaTransactionTest extends BaseUnitTest {
                             Whitebox.invoke(CachedSchemaTransaction.class,
                                             "cachedTypes", cache));
     }
+
+    @Test
+    public void testPublishChangedSchema() {
+        CachedSchemaTransaction cache = this.cache();
+        List<Object[]> events = this.recordPublishedEvents();
+
+        FakeObjects objects = new FakeObjects("unit-test");
+        cache.addPropertyKey(objects.newPropertyKey(IdGenerator.of(1),
+                                                    "fake-pk-1"));
+
+        Id key = Whitebox.invokeStatic(CachedSchemaTransaction.class,
+                                       new Class[]{HugeType.class, Id.class},
+                                       "generateId", HugeType.PROPERTY_KEY,
+                                       IdGenerator.of(1));
+        Assert.assertEquals(1, events.size());
+        Assert.assertArrayEquals(new Object[]{
+                                 InvalidationBus.SCHEMA,
+                                 InvalidationBus.ACTION_INVALID,
+                                 new Id[]{key}},
+                                 events.get(0));
+
+        cache.removePropertyKey(IdGenerator.of(1));
+
+        Assert.assertEquals(2, events.size());
+        Assert.assertArrayEquals(new Object[]{
+                                 InvalidationBus.SCHEMA,
+                                 InvalidationBus.ACTION_INVALID,
+                                 new Id[]{key}},
+                                 events.get(1));
+        Assert.assertNull(cache.getPropertyKey(IdGenerator.of(1)));
+    }
+
+    private List<Object[]> recordPublishedEvents() {
+        List<Object[]> events = new CopyOnWriteArrayList<>();
+        InvalidationBus bus = new InvalidationBus() {
+
+            @Override
+            public void publish(String hub, String action, Id... ids) {
+                events.add(new Object[]{hub, action, ids});
+            }
+
+            @Override
+            public void close() {
+                // pass
+            }
+        };
+        Whitebox.setInternalState(this.cache().graph(), "invalidationBus",
+                                  bus);
+        return events;
+    }
 }
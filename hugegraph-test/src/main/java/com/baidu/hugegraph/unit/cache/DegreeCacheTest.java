@@ -0,0 +1,118 @@
+/*
+ * Copyright 2017 HugeGraph Authors
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with this
+ * work for additional information regarding copyright ownership. The ASF
+ * licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.baidu.hugegraph.unit.cache;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.baidu.hugegraph.backend.cache.DegreeCache;
+import com.baidu.hugegraph.backend.id.Id;
+import com.baidu.hugegraph.backend.id.IdGenerator;
+import com.baidu.hugegraph.structure.HugeEdge;
+import com.baidu.hugegraph.testutil.Assert;
+import com.baidu.hugegraph.type.define.Directions;
+import com.baidu.hugegraph.unit.BaseUnitTest;
+import com.baidu.hugegraph.unit.FakeObjects;
+
+public class DegreeCacheTest extends BaseUnitTest {
+
+    private static final Id V1 = IdGenerator.of(1);
+    private static final Id V2 = IdGenerator.of(2);
+    private static final Id LABEL = IdGenerator.of(1);
+
+    private DegreeCache cache;
+
+    @Before
+    public void setup() {
+        this.cache = DegreeCache.open("degree-cache-test", 100L, 600L);
+    }
+
+    @After
+    public void teardown() {
+        this.cache.clear();
+    }
+
+    @Test
+    public void testRecordExactDegree() {
+        Assert.assertTrue(this.cache.enabled());
+        Assert.assertEquals(DegreeCache.UNKNOWN,
+                            this.cache.degree(V1, Directions.OUT, LABEL));
+        Assert.assertNull(this.cache.atLeast(V1, Directions.OUT, LABEL, 1L));
+
+        this.cache.record(V1, Directions.OUT, LABEL, 3L, true);
+        Assert.assertEquals(3L, this.cache.degree(V1, Directions.OUT, LABEL));
+        Assert.assertEquals(DegreeCache.UNKNOWN,
+                            this.cache.degree(V1, Directions.IN, LABEL));
+        Assert.assertEquals(DegreeCache.UNKNOWN,
+                            this.cache.degree(V1, Directions.OUT, null));
+        Assert.assertTrue(this.cache.atLeast(V1, Directions.OUT, LABEL, 3L));
+        Assert.assertFalse(this.cache.atLeast(V1, Directions.OUT, LABEL, 4L));
+
+        this.cache.record(V1, Directions.IN, LABEL, 2L, true);
+        Assert.assertEquals(5L, this.cache.degree(V1, Directions.BOTH, LABEL));
+
+        this.cache.invalidate(V1);
+        Assert.assertEquals(DegreeCache.UNKNOWN,
+                            this.cache.degree(V1, Directions.OUT, LABEL));
+    }
+
+    @Test
+    public void testRecordLowerBoundDegree() {
+        this.cache.record(V1, Directions.OUT, null, 10L, false);
+        Assert.assertEquals(DegreeCache.UNKNOWN,
+                            this.cache.degree(V1, Directions.OUT, null));
+        Assert.assertTrue(this.cache.atLeast(V1, Directions.OUT, null, 10L));
+        Assert.assertNull(this.cache.atLeast(V1, Directions.OUT, null, 11L));
+    }
+
+    @Test
+    public void testIncreaseByEdge() {
+        HugeEdge edge = new FakeObjects().newEdge(1L, 2L);
+
+        // Keep unknown degree unknown
+        this.cache.increase(edge, 1L);
+        Assert.assertEquals(DegreeCache.UNKNOWN,
+                            this.cache.degree(V1, Directions.OUT, LABEL));
+
+        this.cache.record(V1, Directions.OUT, LABEL, 3L, true);
+        this.cache.record(V1, Directions.OUT, null, 5L, true);
+        this.cache.record(V2, Directions.IN, LABEL, 0L, true);
+
+        this.cache.increase(edge, 1L);
+        Assert.assertEquals(4L, this.cache.degree(V1, Directions.OUT, LABEL));
+        Assert.assertEquals(6L, this.cache.degree(V1, Directions.OUT, null));
+        Assert.assertEquals(1L, this.cache.degree(V2, Directions.IN, LABEL));
+
+        this.cache.increase(edge, -2L);
+        Assert.assertEquals(2L, this.cache.degree(V1, Directions.OUT, LABEL));
+        Assert.assertEquals(0L, this.cache.degree(V2, Directions.IN, LABEL));
+    }
+
+    @Test
+    public void testDisabled() {
+        DegreeCache disabled = DegreeCache.open("degree-cache-disabled",
+                                                0L, 600L);
+        Assert.assertFalse(disabled.enabled());
+        disabled.record(V1, Directions.OUT, LABEL, 3L, true);
+        Assert.assertEquals(DegreeCache.UNKNOWN,
+                            disabled.degree(V1, Directions.OUT, LABEL));
+    }
+}
@@ -0,0 +1,254 @@
+/*
+ * Copyright 2017 HugeGraph Authors
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with this
+ * work for additional information regarding copyright ownership. The ASF
+ * licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.baidu.hugegraph.unit.cache;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.baidu.hugegraph.backend.cache.Cache;
+import com.baidu.hugegraph.backend.cache.EdgeCacheIndex;
+import com.baidu.hugegraph.backend.cache.RamCache;
+import com.baidu.hugegraph.backend.id.EdgeId;
+import com.baidu.hugegraph.backend.id.Id;
+import com.baidu.hugegraph.backend.id.IdGenerator;
+import com.baidu.hugegraph.backend.query.ConditionQuery;
+import com.baidu.hugegraph.backend.query.IdQuery;
+import com.baidu.hugegraph.backend.query.Query;
+import com.baidu.hugegraph.backend.tx.GraphTransaction;
+import com.baidu.hugegraph.testutil.Assert;
+import com.baidu.hugegraph.type.HugeType;
+import com.baidu.hugegraph.type.define.Directions;
+import com.baidu.hugegraph.type.define.HugeKeys;
+import com.baidu.hugegraph.unit.BaseUnitTest;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+
+public class EdgeCacheIndexTest extends BaseUnitTest {
+
+    private static final Id V1 = IdGenerator.of(1);
+    private static final Id V2 = IdGenerator.of(2);
+    private static final Id V3 = IdGenerator.of(3);
+    private static final Id KNOWS = IdGenerator.of(1);
+    private static final Id CREATED = IdGenerator.of(2);
+
+    private EdgeCacheIndex index;
+
+    @Before
+    public void setup() {
+        this.index = EdgeCacheIndex.of(new RamCache(100L));
+    }
+
+    @After
+    public void teardown() {
+        this.index.clear();
+    }
+
+    @Test
+    public void testInvalidateByOwnerVertex() {
+        Query q1 = GraphTransaction.constructEdgesQuery(V1, Directions.OUT);
+        Query q2 = GraphTransaction.constructEdgesQuery(V2, Directions.BOTH);
+        Query q3 = GraphTransaction.constructEdgesQuery(V3, Directions.IN);
+        Assert.assertTrue(this.index.record(id("q1"), q1));
+        Assert.assertTrue(this.index.record(id("q2"), q2));
+        Assert.assertTrue(this.index.record(id("q3"), q3));
+
+        // The edge v1->v2 affects the edges of both v1 and v2
+        List<Id> affected = new ArrayList<>();
+        this.index.invalidate(edge(V1, KNOWS, V2), affected);
+        Assert.assertEquals(ImmutableSet.of(id("q1"), id("q2")),
+                            ImmutableSet.copyOf(affected));
+
+        // The invalidated queries are removed from the index
+        affected.clear();
+        this.index.invalidate(edge(V1, KNOWS, V2), affected);
+        Assert.assertEquals(ImmutableList.of(), affected);
+
+        this.index.invalidate(edge(V2, KNOWS, V3), affected);
+        Assert.assertEquals(ImmutableList.of(id("q3")), affected);
+    }
+
+    @Test
+    public void testInvalidateByMultiOwnerVertices() {
+        Query q1 = GraphTransaction.constructEdgesQuery(
+                   ImmutableList.of(V1, V2), Directions.OUT);
+        Query q2 = GraphTransaction.constructEdgesQuery(
+                   ImmutableList.of(V2, V3), Directions.OUT);
+        Assert.assertTrue(this.index.record(id("q1"), q1));
+        Assert.assertTrue(this.index.record(id("q2"), q2));
+
+        List<Id> affected = new ArrayList<>();
+        this.index.invalidate(edge(V1, KNOWS, V1), affected);
+        Assert.assertEquals(ImmutableList.of(id("q1")), affected);
+
+        affected.clear();
+        this.index.invalidate(edge(V3, KNOWS, V3), affected);
+        Assert.assertEquals(ImmutableList.of(id("q2")), affected);
+    }
+
+    @Test
+    public void testInvalidateByEdgeLabel() {
+        Query q1 = GraphTransaction.constructEdgesQuery(V1, Directions.OUT,
+                                                        KNOWS);
+        Query q2 = GraphTransaction.constructEdgesQuery(V1, Directions.OUT,
+                                                        CREATED);
+        Query q3 = GraphTransaction.constructEdgesQuery(V1, Directions.OUT,
+                                                        KNOWS, CREATED);
+        Assert.assertTrue(this.index.record(id("q1"), q1));
+        Assert.assertTrue(this.index.record(id("q2"), q2));
+        Assert.assertTrue(this.index.record(id("q3"), q3));
+
+        List<Id> affected = new ArrayList<>();
+        this.index.invalidate(edge(V1, CREATED, V2), affected);
+        Assert.assertEquals(ImmutableSet.of(id("q2"), id("q3")),
+                            ImmutableSet.copyOf(affected));
+    }
+
+    @Test
+    public void testInvalidateByEdgeIds() {
+        Query query = new IdQuery(HugeType.EDGE, edge(V1, KNOWS, V2));
+        Assert.assertTrue(this.index.record(id("q1"), query));
+
+        List<Id> affected = new ArrayList<>();
+        this.index.invalidate(edge(V3, KNOWS, V2), affected);
+        Assert.assertEquals(ImmutableList.of(id("q1")), affected);
+    }
+
+    @Test
+    public void testInvalidateUnboundQuery() {
+        ConditionQuery query = new ConditionQuery(HugeType.EDGE);
+        query.eq(HugeKeys.LABEL, KNOWS);
+        Assert.assertTrue(this.index.record(id("q1"), query));
+
+        List<Id> affected = new ArrayList<>();
+        this.index.invalidate(edge(V1, CREATED, V2), affected);
+        Assert.assertEquals(ImmutableList.of(), affected);
+
+        this.index.invalidate(edge(V2, KNOWS, V3), affected);
+        Assert.assertEquals(ImmutableList.of(id("q1")), affected);
+    }
+
+    @Test
+    public void testIndexOfCache() {
+        Cache<Id, Object> cache = new RamCache(10L);
+        EdgeCacheIndex index = EdgeCacheIndex.of(cache);
+        Assert.assertSame(index, EdgeCacheIndex.of(cache));
+        Assert.assertNotSame(index, EdgeCacheIndex.of(new RamCache(10L)));
+
+        // The capacity follows the edge cache, 2 entries for each query
+        Query query = new IdQuery(HugeType.EDGE, edge(V1, KNOWS, V2));
+        for (int i = 0; i < 10; i++) {
+            Assert.assertTrue(index.record(id("q" + i), query));
+        }
+        Assert.assertEquals(20L, index.size());
+        Assert.assertFalse(index.record(id("q10"), query));
+    }
+
+    @Test
+    public void testRecordWithFullIndex() {
+        Cache<Id, Object> cache = new RamCache(2L);
+        EdgeCacheIndex index = EdgeCacheIndex.of(cache);
+        Query q1 = GraphTransaction.constructEdgesQuery(V1, Directions.OUT);
+        Query q2 = GraphTransaction.constructEdgesQuery(V2, Directions.OUT);
+        Query q3 = GraphTransaction.constructEdgesQuery(V3, Directions.OUT);
+        Query q4 = GraphTransaction.constructEdgesQuery(V3, Directions.IN);
+        Query q5 = GraphTransaction.constructEdgesQuery(V1, Directions.IN);
+        Assert.assertTrue(index.record(id("q1"), q1));
+        Assert.assertTrue(index.record(id("q2"), q2));
+        Assert.assertTrue(index.record(id("q3"), q3));
+        Assert.assertTrue(index.record(id("q4"), q4));
+        Assert.assertEquals(4L, index.size());
+
+        // The index is full, but the recorded queries are kept
+        Assert.assertFalse(index.record(id("q5"), q5));
+        Assert.assertEquals(4L, index.size());
+        List<Id> affected = new ArrayList<>();
+        index.invalidate(edge(V2, KNOWS, V3), affected);
+        Assert.assertEquals(ImmutableSet.of(id("q2"), id("q3"), id("q4")),
+                            ImmutableSet.copyOf(affected));
+        Assert.assertEquals(1L, index.size());
+    }
+
+    @Test
+    public void testPruneEvictedQueries() {
+        Cache<Id, Object> cache = new RamCache(2L);
+        EdgeCacheIndex index = EdgeCacheIndex.of(cache);
+        Query q1 = GraphTransaction.constructEdgesQuery(V1, Directions.OUT);
+        Query q2 = GraphTransaction.constructEdgesQuery(V2, Directions.OUT);
+        Query q3 = GraphTransaction.constructEdgesQuery(V3, Directions.OUT);
+        ConditionQuery q4 = new ConditionQuery(HugeType.EDGE);
+        q4.eq(HugeKeys.LABEL, KNOWS);
+        Query q5 = GraphTransaction.constructEdgesQuery(V1, Directions.IN);
+
+        // Only q2 is still in the cache, the others are evicted
+        Assert.assertTrue(index.record(id("q1"), q1));
+        Assert.assertTrue(index.record(id("q2"), q2));
+        Assert.assertTrue(index.record(id("q3"), q3));
+        Assert.assertTrue(index.record(id("q4"), q4));
+        cache.update(id("q2"), ImmutableList.of());
+
+        // Prune at most once every half capacity of records tried
+        Assert.assertTrue(index.prune(cache::containsKey));
+        Assert.assertEquals(1L, index.size());
+        Assert.assertFalse(index.prune(cache::containsKey));
+
+        Assert.assertTrue(index.record(id("q5"), q5));
+        cache.update(id("q5"), ImmutableList.of());
+        List<Id> affected = new ArrayList<>();
+        index.invalidate(edge(V1, KNOWS, V3), affected);
+        Assert.assertEquals(ImmutableList.of(id("q5")), affected);
+        affected.clear();
+        index.invalidate(edge(V2, KNOWS, V3), affected);
+        Assert.assertEquals(ImmutableList.of(id("q2")), affected);
+        Assert.assertEquals(0L, index.size());
+    }
+
+    @Test
+    public void testPruneExpiredQueries() throws InterruptedException {
+        Cache<Id, Object> cache = new RamCache(10L);
+        cache.expire(1L);
+        EdgeCacheIndex index = EdgeCacheIndex.of(cache);
+        for (int i = 0; i < 10; i++) {
+            Id vertex = IdGenerator.of(i);
+            Id queryId = id("q" + i);
+            Assert.assertTrue(index.record(queryId,
+                              GraphTransaction.constructEdgesQuery(
+                              vertex, Directions.OUT)));
+            cache.update(queryId, ImmutableList.of());
+        }
+        Assert.assertEquals(10L, index.size());
+
+        Thread.sleep(10L);
+        Assert.assertEquals(10L, cache.tick());
+        Assert.assertTrue(index.prune(cache::containsKey));
+        Assert.assertEquals(0L, index.size());
+    }
+
+    private static Id id(String id) {
+        return IdGenerator.of(id);
+    }
+
+    private static EdgeId edge(Id source, Id label, Id target) {
+        return new EdgeId(source, Directions.OUT, label, "", target);
+    }
+}
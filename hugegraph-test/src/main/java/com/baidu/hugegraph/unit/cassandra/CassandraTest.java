@@ -19,22 +19,47 @@
 
 package com.baidu.hugegraph.unit.cassandra;
 
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 import org.apache.commons.configuration.Configuration;
 import org.apache.commons.configuration.PropertiesConfiguration;
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mockito;
 
+import com.baidu.hugegraph.backend.id.Id;
+import com.baidu.hugegraph.backend.id.IdGenerator;
 import com.baidu.hugegraph.backend.store.cassandra.CassandraOptions;
+import com.baidu.hugegraph.backend.store.cassandra.CassandraSessionPool;
 import com.baidu.hugegraph.backend.store.cassandra.CassandraStore;
+import com.baidu.hugegraph.backend.store.cassandra.CassandraTables;
 import com.baidu.hugegraph.config.HugeConfig;
 import com.baidu.hugegraph.testutil.Assert;
 import com.baidu.hugegraph.testutil.Whitebox;
+import com.baidu.hugegraph.type.HugeType;
+import com.datastax.driver.core.BatchStatement;
+import com.datastax.driver.core.CodecRegistry;
+import com.datastax.driver.core.ProtocolVersion;
+import com.datastax.driver.core.ResultSet;
+import com.datastax.driver.core.ResultSetFuture;
+import com.datastax.driver.core.Row;
+import com.datastax.driver.core.Session;
+import com.datastax.driver.core.Statement;
+import com.datastax.driver.core.exceptions.DriverException;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
+import com.google.common.util.concurrent.AbstractFuture;
+import com.google.common.util.concurrent.Uninterruptibles;
 
 public class CassandraTest {
 
@@ -229,4 +254,288 @@ public class CassandraTest {
             Whitebox.invokeStatic(CassandraStore.class, "parseReplica", config);
         });
     }
+
+    @Test
+    public void testBatchesGroupedByRoutingKey() {
+        Statement a1 = statement(1);
+        Statement b1 = statement(2);
+        Statement a2 = statement(1);
+        Statement c = statement(null);
+        Statement a3 = statement(1);
+        Statement d = statement(null);
+        Statement b2 = statement(2);
+        List<Statement> statements = ImmutableList.of(a1, b1, a2, c,
+                                                      a3, d, b2);
+
+        List<Statement> batches = batches(statements, 2);
+
+        // Keep the order of statements in a partition, split by batch size
+        Assert.assertEquals(5, batches.size());
+        Assert.assertEquals(ImmutableList.of(a1, a2),
+                            statementsOf(batches.get(0)));
+        Assert.assertEquals(a3, batches.get(1));
+        Assert.assertEquals(ImmutableList.of(b1, b2),
+                            statementsOf(batches.get(2)));
+        // The statements with unknown partition are executed one by one
+        Assert.assertEquals(c, batches.get(3));
+        Assert.assertEquals(d, batches.get(4));
+    }
+
+    @Test
+    public void testBatchesSplitByBatchSize() {
+        List<Statement> statements = new ArrayList<>();
+        for (int i = 0; i < 7; i++) {
+            statements.add(statement(1));
+        }
+
+        List<Statement> batches = batches(statements, 3);
+        Assert.assertEquals(3, batches.size());
+        Assert.assertEquals(statements.subList(0, 3),
+                            statementsOf(batches.get(0)));
+        Assert.assertEquals(statements.subList(3, 6),
+                            statementsOf(batches.get(1)));
+        Assert.assertEquals(statements.get(6), batches.get(2));
+
+        batches = batches(statements, 7);
+        Assert.assertEquals(1, batches.size());
+        Assert.assertEquals(statements, statementsOf(batches.get(0)));
+
+        batches = batches(statements, 1);
+        Assert.assertEquals(statements, batches);
+    }
+
+    @Test
+    public void testExecuteAsyncWithLimitedConcurrency() throws Exception {
+        List<ResultFuture> futures = new CopyOnWriteArrayList<>();
+        Session driver = Mockito.mock(Session.class);
+        Mockito.when(driver.executeAsync(Mockito.any(Statement.class)))
+               .thenAnswer(invocation -> {
+                   ResultFuture future = new ResultFuture();
+                   futures.add(future);
+                   return future;
+               });
+        CassandraSessionPool.Session session = session(driver, 2);
+
+        List<Statement> batches = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            batches.add(statement(i));
+        }
+        Thread thread = new Thread(() -> executeAsync(session, batches));
+        thread.start();
+
+        // At most 2 requests are in flight
+        waitForSize(futures, 2);
+        Thread.sleep(100L);
+        Assert.assertEquals(2, futures.size());
+        Assert.assertTrue(thread.isAlive());
+
+        futures.get(0).complete();
+        waitForSize(futures, 3);
+        Thread.sleep(100L);
+        Assert.assertEquals(3, futures.size());
+
+        futures.get(1).complete();
+        futures.get(2).complete();
+        waitForSize(futures, 5);
+        Assert.assertTrue(thread.isAlive());
+
+        // Wait for all the requests before returning
+        futures.get(3).complete();
+        futures.get(4).complete();
+        thread.join(10000L);
+        Assert.assertFalse(thread.isAlive());
+        Mockito.verify(driver, Mockito.times(5))
+               .executeAsync(Mockito.any(Statement.class));
+    }
+
+    @Test
+    public void testExecuteAsyncWithFailedRequests() {
+        DriverException e1 = new DriverException("failure 1");
+        DriverException e2 = new DriverException("failure 2");
+        ResultFuture f1 = new ResultFuture();
+        f1.fail(e1);
+        ResultFuture f2 = new ResultFuture();
+        f2.complete();
+        ResultFuture f3 = new ResultFuture();
+        f3.fail(e2);
+
+        Session driver = Mockito.mock(Session.class);
+        Mockito.when(driver.executeAsync(Mockito.any(Statement.class)))
+               .thenReturn(f1, f2, f3);
+        CassandraSessionPool.Session session = session(driver, 1);
+
+        List<Statement> batches = ImmutableList.of(statement(1), statement(2),
+                                                   statement(3));
+        // All the requests are sent, the failures are aggregated
+        Assert.assertThrows(DriverException.class, () -> {
+            executeAsync(session, batches);
+        }, e -> {
+            Assert.assertSame(e1, e);
+            Assert.assertEquals(1, e.getSuppressed().length);
+            Assert.assertSame(e2, e.getSuppressed()[0]);
+        });
+        Mockito.verify(driver, Mockito.times(3))
+               .executeAsync(Mockito.any(Statement.class));
+    }
+
+    @Test
+    public void testExecuteAsyncWithFailedSending() {
+        ResultFuture f1 = new ResultFuture();
+        f1.complete();
+        DriverException error = new DriverException("no host");
+
+        Session driver = Mockito.mock(Session.class);
+        Mockito.when(driver.executeAsync(Mockito.any(Statement.class)))
+               .thenReturn(f1).thenThrow(error);
+        CassandraSessionPool.Session session = session(driver, 2);
+
+        List<Statement> batches = ImmutableList.of(statement(1), statement(2),
+                                                   statement(3));
+        // Stop sending requests once failed to send one
+        Assert.assertThrows(DriverException.class, () -> {
+            executeAsync(session, batches);
+        }, e -> {
+            Assert.assertSame(error, e);
+        });
+        Mockito.verify(driver, Mockito.times(2))
+               .executeAsync(Mockito.any(Statement.class));
+    }
+
+    @Test
+    public void testCounterOfSchemaElement() {
+        Row row = Mockito.mock(Row.class);
+        Mockito.when(row.getLong("ID")).thenReturn(3L);
+        ResultSet results = Mockito.mock(ResultSet.class);
+        Mockito.when(results.one()).thenReturn(row);
+        Session driver = Mockito.mock(Session.class);
+        Mockito.when(driver.execute(Mockito.any(Statement.class)))
+               .thenReturn(results);
+        CassandraSessionPool.Session session = session(driver, 1);
+
+        CassandraTables.Counters counters = new CassandraTables.Counters();
+        Id id = IdGenerator.of(1);
+        counters.increaseCounter(session, HugeType.VERTEX_LABEL, id, 3L);
+        counters.increaseCounter(session, HugeType.EDGE_LABEL, id, 2L);
+        counters.increaseCounter(session, HugeType.VERTEX_LABEL, 5L);
+        Assert.assertEquals(3L, counters.getCounter(session,
+                                                    HugeType.VERTEX_LABEL,
+                                                    id));
+
+        ArgumentCaptor<Statement> statements =
+                                  ArgumentCaptor.forClass(Statement.class);
+        Mockito.verify(driver, Mockito.times(4))
+               .execute(statements.capture());
+        List<Statement> executed = statements.getAllValues();
+        // The counter of each label is apart from the id counter of type
+        Assert.assertContains("'VERTEX_LABEL-1'",
+                              executed.get(0).toString());
+        Assert.assertContains("'EDGE_LABEL-1'", executed.get(1).toString());
+        Assert.assertContains("'VERTEX_LABEL'", executed.get(2).toString());
+        Assert.assertFalse(executed.get(2).toString()
+                                   .contains("VERTEX_LABEL-"));
+        Assert.assertContains("'VERTEX_LABEL-1'",
+                              executed.get(3).toString());
+
+        Mockito.when(results.one()).thenReturn(null);
+        Assert.assertEquals(0L, counters.getCounter(session,
+                                                    HugeType.EDGE_LABEL,
+                                                    id));
+    }
+
+    private static Statement statement(Integer partition) {
+        Statement statement = Mockito.mock(Statement.class);
+        ByteBuffer key = null;
+        if (partition != null) {
+            key = ByteBuffer.allocate(4).putInt(0, partition);
+        }
+        Mockito.when(statement.getRoutingKey(Mockito.any(), Mockito.any()))
+               .thenReturn(key);
+        return statement;
+    }
+
+    private static List<Statement> statementsOf(Statement batch) {
+        Assert.assertTrue(batch instanceof BatchStatement);
+        return new ArrayList<>(((BatchStatement) batch).getStatements());
+    }
+
+    private static List<Statement> batches(List<Statement> statements,
+                                           int batchSize) {
+        return Whitebox.invokeStatic(CassandraSessionPool.class,
+                                     new Class[]{Collection.class,
+                                                 ProtocolVersion.class,
+                                                 CodecRegistry.class,
+                                                 int.class},
+                                     "batches", statements,
+                                     ProtocolVersion.NEWEST_SUPPORTED,
+                                     CodecRegistry.DEFAULT_INSTANCE,
+                                     batchSize);
+    }
+
+    private static CassandraSessionPool.Session session(Session driver,
+                                                        int concurrency) {
+        String strategy = CassandraOptions.COMMIT_STRATEGY.name();
+        String batchConcurrency = CassandraOptions.BATCH_CONCURRENCY.name();
+
+        Configuration conf = Mockito.mock(PropertiesConfiguration.class);
+        Mockito.when(conf.getKeys())
+               .thenReturn(ImmutableList.of(strategy, batchConcurrency)
+                                        .iterator());
+        Mockito.when(conf.getProperty(strategy)).thenReturn("partitioned");
+        Mockito.when(conf.getProperty(batchConcurrency))
+               .thenReturn(String.valueOf(concurrency));
+        HugeConfig config = new HugeConfig(conf);
+
+        CassandraSessionPool pool = new CassandraSessionPool(config, "ks",
+                                                             "store");
+        CassandraSessionPool.Session session = pool.new Session();
+        Whitebox.setInternalState(session, "session", driver);
+        return session;
+    }
+
+    private static void executeAsync(CassandraSessionPool.Session session,
+                                     List<Statement> batches) {
+        Whitebox.invoke(CassandraSessionPool.Session.class,
+                        new Class[]{List.class}, "executeAsync",
+                        session, batches);
+    }
+
+    private static void waitForSize(List<ResultFuture> futures, int size)
+                                    throws InterruptedException {
+        for (int i = 0; i < 1000 && futures.size() < size; i++) {
+            Thread.sleep(10L);
+        }
+        Assert.assertEquals(size, futures.size());
+    }
+
+    private static class ResultFuture extends AbstractFuture<ResultSet>
+                                      implements ResultSetFuture {
+
+        public void complete() {
+            this.set(Mockito.mock(ResultSet.class));
+        }
+
+        public void fail(DriverException e) {
+            this.setException(e);
+        }
+
+        @Override
+        public ResultSet getUninterruptibly() {
+            try {
+                return Uninterruptibles.getUninterruptibly(this);
+            } catch (ExecutionException e) {
+                throw (DriverException) e.getCause();
+            }
+        }
+
+        @Override
+        public ResultSet getUninterruptibly(long timeout, TimeUnit unit)
+                                            throws TimeoutException {
+            try {
+                return Uninterruptibles.getUninterruptibly(this, timeout,
+                                                           unit);
+            } catch (ExecutionException e) {
+                throw (DriverException) e.getCause();
+            }
+        }
+    }
 }
@@ -0,0 +1,161 @@
+/*
+ * Copyright 2017 HugeGraph Authors
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with this
+ * work for additional information regarding copyright ownership. The ASF
+ * licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.baidu.hugegraph.unit.core;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import com.baidu.hugegraph.backend.id.Id;
+import com.baidu.hugegraph.backend.id.IdGenerator;
+import com.baidu.hugegraph.backend.store.BackendStore;
+import com.baidu.hugegraph.backend.store.BackendStoreProvider;
+import com.baidu.hugegraph.backend.store.IdBlockAllocator;
+import com.baidu.hugegraph.testutil.Assert;
+import com.baidu.hugegraph.type.HugeType;
+import com.baidu.hugegraph.unit.BaseUnitTest;
+
+public class IdBlockAllocatorTest extends BaseUnitTest {
+
+    private static final int THREADS_NUM = 8;
+
+    @Test
+    public void testNextId() {
+        AtomicLong counter = new AtomicLong(0L);
+        BackendStore store = newStore(counter);
+        IdBlockAllocator allocator = new IdBlockAllocator(store, 100L);
+
+        for (int i = 1; i <= 250; i++) {
+            Id id = allocator.nextId(HugeType.PROPERTY_KEY);
+            Assert.assertEquals(IdGenerator.of(i), id);
+        }
+        // Only 3 blocks are leased from the store
+        Assert.assertEquals(300L, counter.get());
+        Mockito.verify(store, Mockito.times(3))
+               .increaseCounter(HugeType.PROPERTY_KEY, 100L);
+    }
+
+    @Test
+    public void testNextIdWithLowest() {
+        AtomicLong counter = new AtomicLong(0L);
+        BackendStore store = newStore(counter);
+        IdBlockAllocator allocator = new IdBlockAllocator(store, 100L);
+
+        Assert.assertEquals(IdGenerator.of(1),
+                            allocator.nextId(HugeType.VERTEX_LABEL));
+
+        // Skip ids in the leased block
+        allocator.lowest(HugeType.VERTEX_LABEL, 10L);
+        Assert.assertEquals(IdGenerator.of(11),
+                            allocator.nextId(HugeType.VERTEX_LABEL));
+
+        // Drop the leased block if all ids in it are skipped
+        allocator.lowest(HugeType.VERTEX_LABEL, 150L);
+        counter.set(150L);
+        Assert.assertEquals(IdGenerator.of(151),
+                            allocator.nextId(HugeType.VERTEX_LABEL));
+
+        // The lowest is less than the ids in the leased block
+        allocator.lowest(HugeType.VERTEX_LABEL, 5L);
+        Assert.assertEquals(IdGenerator.of(152),
+                            allocator.nextId(HugeType.VERTEX_LABEL));
+    }
+
+    @Test
+    public void testNextIdAfterReset() {
+        AtomicLong counter = new AtomicLong(0L);
+        BackendStore store = newStore(counter);
+        IdBlockAllocator allocator = new IdBlockAllocator(store, 100L);
+
+        Assert.assertEquals(IdGenerator.of(1),
+                            allocator.nextId(HugeType.EDGE_LABEL));
+
+        // Like the store being truncated
+        counter.set(0L);
+        allocator.reset();
+        Assert.assertEquals(IdGenerator.of(1),
+                            allocator.nextId(HugeType.EDGE_LABEL));
+        Assert.assertEquals(IdGenerator.of(2),
+                            allocator.nextId(HugeType.EDGE_LABEL));
+    }
+
+    @Test
+    public void testNextIdWithBrokenStore() {
+        AtomicLong counter = new AtomicLong(0L);
+        BackendStore store = newStore(counter);
+        Mockito.doNothing().when(store).increaseCounter(Mockito.any(),
+                                                        Mockito.anyLong());
+        IdBlockAllocator allocator = new IdBlockAllocator(store, 100L);
+
+        Assert.assertThrows(IllegalStateException.class, () -> {
+            allocator.nextId(HugeType.INDEX_LABEL);
+        }, e -> {
+            Assert.assertContains("Please check whether 'mock' is OK",
+                                  e.getMessage());
+        });
+    }
+
+    @Test
+    public void testNextIdWithMultiAllocatorsSharingStore() {
+        final int ALLOCATORS = 4;
+        final int TIMES = 2000;
+
+        // Each allocator is like a HugeGraph instance sharing one store
+        AtomicLong counter = new AtomicLong(0L);
+        List<IdBlockAllocator> allocators = new ArrayList<>();
+        for (int i = 0; i < ALLOCATORS; i++) {
+            allocators.add(new IdBlockAllocator(newStore(counter), 10L));
+        }
+
+        AtomicInteger index = new AtomicInteger(0);
+        Map<Id, Boolean> ids = new ConcurrentHashMap<>();
+        runWithThreads(THREADS_NUM, () -> {
+            int i = index.getAndIncrement() % ALLOCATORS;
+            IdBlockAllocator allocator = allocators.get(i);
+            for (int j = 0; j < TIMES; j++) {
+                Id id = allocator.nextId(HugeType.PROPERTY_KEY);
+                Assert.assertNull(ids.put(id, true));
+            }
+        });
+        Assert.assertEquals(THREADS_NUM * TIMES, ids.size());
+    }
+
+    private static BackendStore newStore(AtomicLong counter) {
+        BackendStoreProvider provider = Mockito.mock(
+                                        BackendStoreProvider.class);
+        Mockito.when(provider.type()).thenReturn("mock");
+
+        BackendStore store = Mockito.mock(BackendStore.class);
+        Mockito.when(store.provider()).thenReturn(provider);
+        Mockito.when(store.getCounter(Mockito.any()))
+               .thenAnswer(i -> counter.get());
+        Mockito.doAnswer(i -> {
+            counter.addAndGet((long) i.getArguments()[1]);
+            return null;
+        }).when(store).increaseCounter(Mockito.any(), Mockito.anyLong());
+        return store;
+    }
+}
@@ -0,0 +1,238 @@
+/*
+ * Copyright 2017 HugeGraph Authors
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with this
+ * work for additional information regarding copyright ownership. The ASF
+ * licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.baidu.hugegraph.unit.core;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+import org.junit.Test;
+
+import com.baidu.hugegraph.backend.cache.Cache;
+import com.baidu.hugegraph.backend.cache.RamCache;
+import com.baidu.hugegraph.backend.id.Id;
+import com.baidu.hugegraph.backend.id.IdGenerator;
+import com.baidu.hugegraph.backend.page.IdHolder.BatchIdHolder;
+import com.baidu.hugegraph.backend.query.ConditionQuery;
+import com.baidu.hugegraph.backend.store.BackendEntry;
+import com.baidu.hugegraph.backend.tx.GraphIndexTransaction.JointIndexStream;
+import com.baidu.hugegraph.schema.IndexLabel;
+import com.baidu.hugegraph.testutil.Assert;
+import com.baidu.hugegraph.type.HugeType;
+import com.baidu.hugegraph.type.define.HugeKeys;
+import com.baidu.hugegraph.type.define.IndexType;
+import com.baidu.hugegraph.unit.FakeObjects;
+import com.baidu.hugegraph.util.InsertionOrderUtil;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+
+public class JointIndexStreamTest {
+
+    private static final int PROBE_BATCH = 1000;
+    private static final int SCAN_BATCH = 10000;
+
+    private final FakeObjects objects = new FakeObjects();
+    private final Cache<Id, Object> statistics = new RamCache(100L);
+
+    @Test
+    public void testSelectiveStreamDrivesIntersection() {
+        FakeIds small = new FakeIds(range(100, 110));
+        FakeIds big = new FakeIds(range(0, 3000));
+
+        JointIndexStream unselective = this.newStream("big",
+                                                      IndexType.RANGE, big);
+        JointIndexStream selective = this.newStream("small",
+                                                    IndexType.SECONDARY,
+                                                    small);
+        // The small one is exhausted by probing
+        Assert.assertTrue(selective.exhausted());
+        Assert.assertFalse(unselective.exhausted());
+
+        List<JointIndexStream> streams = sorted(unselective, selective);
+        Assert.assertEquals(ImmutableList.of(selective, unselective),
+                            streams);
+
+        Set<Id> ids = JointIndexStream.intersect(streams);
+        Assert.assertEquals(ImmutableSet.copyOf(range(100, 110)), ids);
+
+        // The big one is never collected, and stopped after the probe
+        Assert.assertEquals(PROBE_BATCH, big.fetched);
+        Assert.assertEquals(PROBE_BATCH, unselective.count());
+        Assert.assertFalse(unselective.exhausted());
+        close(streams);
+    }
+
+    @Test
+    public void testRetainStopsOnceAllMatched() {
+        FakeIds small = new FakeIds(ImmutableList.of(IdGenerator.of(1500),
+                                                     IdGenerator.of(5000)));
+        FakeIds big = new FakeIds(range(0, 20000));
+
+        JointIndexStream selective = this.newStream("small",
+                                                    IndexType.SECONDARY,
+                                                    small);
+        JointIndexStream unselective = this.newStream("big",
+                                                      IndexType.SECONDARY,
+                                                      big);
+        List<JointIndexStream> streams = sorted(unselective, selective);
+
+        Set<Id> ids = JointIndexStream.intersect(streams);
+        Assert.assertEquals(ImmutableSet.of(IdGenerator.of(1500),
+                                            IdGenerator.of(5000)), ids);
+        // Scanned until the last candidate matched, not to the end
+        Assert.assertEquals(PROBE_BATCH + SCAN_BATCH, big.fetched);
+        Assert.assertFalse(unselective.exhausted());
+
+        // Scanned to the end if there are candidates not matched
+        big = new FakeIds(range(0, 20000));
+        unselective = this.newStream("big", IndexType.SECONDARY, big);
+        ids = unselective.retain(InsertionOrderUtil.newSet(
+                                 ImmutableSet.of(IdGenerator.of(1),
+                                                 IdGenerator.of(-1))));
+        Assert.assertEquals(ImmutableSet.of(IdGenerator.of(1)), ids);
+        Assert.assertEquals(20000, big.fetched);
+        Assert.assertTrue(unselective.exhausted());
+        close(streams);
+        unselective.close();
+    }
+
+    @Test
+    public void testIntersectStopsOnceEmpty() {
+        FakeIds small = new FakeIds(range(-10, 0));
+        FakeIds big1 = new FakeIds(range(0, 3000));
+        FakeIds big2 = new FakeIds(range(0, 5000));
+
+        List<JointIndexStream> streams = sorted(
+                this.newStream("big1", IndexType.SECONDARY, big1),
+                this.newStream("big2", IndexType.RANGE, big2),
+                this.newStream("small", IndexType.SECONDARY, small));
+
+        Set<Id> ids = JointIndexStream.intersect(streams);
+        Assert.assertTrue(ids.isEmpty());
+        // The secondary one is scanned to the end, the range one is skipped
+        Assert.assertEquals(3000, big1.fetched);
+        Assert.assertEquals(PROBE_BATCH, big2.fetched);
+        close(streams);
+    }
+
+    @Test
+    public void testOrderByStatistics() {
+        FakeIds small = new FakeIds(range(2990, 3010));
+        FakeIds big = new FakeIds(range(0, 3000));
+        List<JointIndexStream> streams = sorted(
+                this.newStream("small", IndexType.SECONDARY, small),
+                this.newStream("big", IndexType.SECONDARY, big));
+        JointIndexStream.intersect(streams);
+        // The big one is scanned to the end to match the last candidate
+        Assert.assertEquals(3000, big.fetched);
+        close(streams);
+        Assert.assertEquals(2L, this.statistics.size());
+
+        // The big one with exact count goes before an unknown one
+        JointIndexStream known = this.newStream("big", IndexType.RANGE,
+                                                new FakeIds(range(0, 3000)));
+        FakeIds other = new FakeIds(range(0, 2000));
+        JointIndexStream unknown = this.newStream("unknown",
+                                                  IndexType.SECONDARY, other);
+        Assert.assertEquals(ImmutableList.of(known, unknown),
+                            sorted(unknown, known));
+
+        // The range one goes after if both unknown
+        JointIndexStream range = this.newStream("unknown-range",
+                                                IndexType.RANGE,
+                                                new FakeIds(range(0, 2000)));
+        Assert.assertEquals(ImmutableList.of(unknown, range),
+                            sorted(range, unknown));
+        close(ImmutableList.of(known, unknown, range));
+    }
+
+    private JointIndexStream newStream(String value, IndexType type,
+                                       FakeIds ids) {
+        IndexLabel indexLabel = this.objects.newIndexLabel(
+                                IdGenerator.of(1), "index",
+                                HugeType.VERTEX_LABEL, IdGenerator.of(1),
+                                type, IdGenerator.of(1));
+        ConditionQuery query = new ConditionQuery(HugeType.SECONDARY_INDEX);
+        query.eq(HugeKeys.FIELD_VALUES, value);
+        BatchIdHolder holder = new BatchIdHolder(query, ids, ids::fetch);
+        return new JointIndexStream(indexLabel, holder, this.statistics);
+    }
+
+    private static List<JointIndexStream> sorted(JointIndexStream...
+                                                 streams) {
+        List<JointIndexStream> results = new ArrayList<>();
+        for (JointIndexStream stream : streams) {
+            results.add(stream);
+        }
+        Collections.sort(results);
+        return results;
+    }
+
+    private static void close(List<JointIndexStream> streams) {
+        for (JointIndexStream stream : streams) {
+            stream.close();
+        }
+    }
+
+    private static List<Id> range(int from, int to) {
+        List<Id> ids = new ArrayList<>(to - from);
+        for (int i = from; i < to; i++) {
+            ids.add(IdGenerator.of(i));
+        }
+        return ids;
+    }
+
+    /**
+     * The element ids of an index query, which are fetched in batch like
+     * the backend, and the number of fetched ids is counted
+     */
+    private static class FakeIds implements Iterator<BackendEntry> {
+
+        private final Iterator<Id> ids;
+        private int fetched;
+
+        public FakeIds(List<Id> ids) {
+            this.ids = ids.iterator();
+            this.fetched = 0;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return this.ids.hasNext();
+        }
+
+        @Override
+        public BackendEntry next() {
+            throw new NoSuchElementException();
+        }
+
+        public Set<Id> fetch(long batch) {
+            Set<Id> results = InsertionOrderUtil.newSet();
+            while (results.size() < batch && this.ids.hasNext()) {
+                results.add(this.ids.next());
+            }
+            this.fetched += results.size();
+            return results;
+        }
+    }
+}
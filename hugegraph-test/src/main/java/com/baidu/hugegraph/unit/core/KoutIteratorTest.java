@@ -0,0 +1,169 @@
+/*
+ * Copyright 2017 HugeGraph Authors
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with this
+ * work for additional information regarding copyright ownership. The ASF
+ * licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.baidu.hugegraph.unit.core;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Test;
+
+import com.baidu.hugegraph.HugeException;
+import com.baidu.hugegraph.backend.id.Id;
+import com.baidu.hugegraph.backend.id.IdGenerator;
+import com.baidu.hugegraph.backend.page.PageInfo;
+import com.baidu.hugegraph.testutil.Assert;
+import com.baidu.hugegraph.traversal.algorithm.HugeTraverser;
+import com.baidu.hugegraph.traversal.algorithm.KoutIterator;
+import com.baidu.hugegraph.type.define.Directions;
+import com.baidu.hugegraph.unit.BaseUnitTest;
+import com.baidu.hugegraph.unit.FakeObjects;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+
+public class KoutIteratorTest extends BaseUnitTest {
+
+    private static final long NO_LIMIT = HugeTraverser.NO_LIMIT;
+
+    @Test
+    public void testIterateLastLayer() {
+        FakeTraverser traverser = new FakeTraverser();
+        KoutIterator iter = new KoutIterator(traverser, ImmutableSet.of(),
+                                             ids(3, 1, 2), null,
+                                             Directions.OUT, null,
+                                             NO_LIMIT, NO_LIMIT, null);
+        Assert.assertEquals(ids(4, 5, 6, 7), list(iter));
+        Assert.assertNull(PageInfo.pageInfo(iter));
+    }
+
+    @Test
+    public void testIterateLastLayerWithExcluded() {
+        FakeTraverser traverser = new FakeTraverser();
+        KoutIterator iter = new KoutIterator(traverser, ImmutableSet.of(),
+                                             ids(1, 2, 3),
+                                             ImmutableSet.copyOf(ids(5)),
+                                             Directions.OUT, null,
+                                             NO_LIMIT, 2L, null);
+        Assert.assertEquals(ids(4, 6), list(iter));
+        Assert.assertNotNull(PageInfo.pageInfo(iter));
+    }
+
+    @Test
+    public void testIterateLastLayerByPage() {
+        FakeTraverser traverser = new FakeTraverser();
+        List<Id> previous = ids(1, 2, 3);
+
+        KoutIterator iter = new KoutIterator(traverser, ImmutableSet.of(),
+                                             previous, null,
+                                             Directions.OUT, null,
+                                             NO_LIMIT, 2L, "");
+        Assert.assertEquals(ids(4, 5), list(iter));
+        String page = PageInfo.pageInfo(iter);
+        Assert.assertNotNull(page);
+
+        // The vertex 5 is reached again from vertex 2 in the next page
+        iter = new KoutIterator(traverser, ImmutableSet.of(), previous, null,
+                                Directions.OUT, null, NO_LIMIT, 2L, page);
+        Assert.assertEquals(ids(5, 6), list(iter));
+        page = PageInfo.pageInfo(iter);
+        Assert.assertNotNull(page);
+
+        iter = new KoutIterator(traverser, ImmutableSet.of(), previous, null,
+                                Directions.OUT, null, NO_LIMIT, 2L, page);
+        Assert.assertEquals(ids(7), list(iter));
+        Assert.assertNull(PageInfo.pageInfo(iter));
+    }
+
+    @Test
+    public void testIterateKnownAndLastLayerByPage() {
+        FakeTraverser traverser = new FakeTraverser();
+        List<Id> known = ids(1, 2, 3);
+
+        KoutIterator iter = new KoutIterator(traverser, known, known,
+                                             ImmutableSet.copyOf(known),
+                                             Directions.OUT, null,
+                                             NO_LIMIT, 2L, "");
+        Assert.assertEquals(ids(1, 2), list(iter));
+        String page = PageInfo.pageInfo(iter);
+
+        iter = new KoutIterator(traverser, known, known,
+                                ImmutableSet.copyOf(known), Directions.OUT,
+                                null, NO_LIMIT, 2L, page);
+        Assert.assertEquals(ids(3, 4), list(iter));
+        page = PageInfo.pageInfo(iter);
+
+        iter = new KoutIterator(traverser, known, known,
+                                ImmutableSet.copyOf(known), Directions.OUT,
+                                null, NO_LIMIT, 2L, page);
+        Assert.assertEquals(ids(5, 6), list(iter));
+        page = PageInfo.pageInfo(iter);
+
+        iter = new KoutIterator(traverser, known, known,
+                                ImmutableSet.copyOf(known), Directions.OUT,
+                                null, NO_LIMIT, 2L, page);
+        Assert.assertEquals(ids(7), list(iter));
+        Assert.assertNull(PageInfo.pageInfo(iter));
+    }
+
+    @Test
+    public void testIterateWithInvalidPage() {
+        FakeTraverser traverser = new FakeTraverser();
+        Assert.assertThrows(HugeException.class, () -> {
+            new KoutIterator(traverser, ImmutableSet.of(), ids(1), null,
+                             Directions.OUT, null, NO_LIMIT, 2L, "page");
+        });
+    }
+
+    private static List<Id> ids(long... ids) {
+        ImmutableList.Builder<Id> builder = ImmutableList.builder();
+        for (long id : ids) {
+            builder.add(IdGenerator.of(id));
+        }
+        return builder.build();
+    }
+
+    private static List<Id> list(Iterator<Id> iter) {
+        ImmutableList.Builder<Id> builder = ImmutableList.builder();
+        while (iter.hasNext()) {
+            builder.add(iter.next());
+        }
+        return builder.build();
+    }
+
+    private static class FakeTraverser extends HugeTraverser {
+
+        private static final Map<Id, List<Id>> ADJACENCIES = ImmutableMap.of(
+                IdGenerator.of(1), ids(4, 5),
+                IdGenerator.of(2), ids(5, 6),
+                IdGenerator.of(3), ids(7));
+
+        public FakeTraverser() {
+            super(new FakeObjects("kout").graph());
+        }
+
+        @Override
+        protected Iterator<Id> adjacentVertices(Id source, Directions dir,
+                                                Id label, long limit) {
+            return ADJACENCIES.getOrDefault(source, ImmutableList.of())
+                              .iterator();
+        }
+    }
+}
@@ -0,0 +1,271 @@
+/*
+ * Copyright 2017 HugeGraph Authors
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with this
+ * work for additional information regarding copyright ownership. The ASF
+ * licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.baidu.hugegraph.unit.core;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.tinkerpop.gremlin.structure.util.CloseableIterator;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.baidu.hugegraph.HugeException;
+import com.baidu.hugegraph.testutil.Assert;
+import com.baidu.hugegraph.traversal.algorithm.ParallelMapperIterator;
+import com.baidu.hugegraph.unit.BaseUnitTest;
+
+public class ParallelMapperIteratorTest extends BaseUnitTest {
+
+    private static final int THREADS = 4;
+
+    private ExecutorService executor;
+
+    @Before
+    public void setup() {
+        this.executor = Executors.newFixedThreadPool(THREADS);
+    }
+
+    @After
+    public void teardown() {
+        this.executor.shutdownNow();
+    }
+
+    @Test
+    public void testMapInOrder() {
+        // The later elements are mapped faster than the former ones
+        Iterator<Integer> results = new ParallelMapperIterator<>(
+                                    range(20).iterator(), i -> {
+            sleep(20 - i);
+            return i * 10;
+        }, this.executor, THREADS);
+
+        List<Integer> expected = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            expected.add(i * 10);
+        }
+        Assert.assertEquals(expected, list(results));
+        Assert.assertFalse(results.hasNext());
+        Assert.assertThrows(NoSuchElementException.class, () -> {
+            results.next();
+        });
+    }
+
+    @Test
+    public void testMapWithParallelismLimit() {
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        Iterator<Integer> results = new ParallelMapperIterator<>(
+                                    range(20).iterator(), i -> {
+            int current = running.incrementAndGet();
+            maxRunning.accumulateAndGet(current, Math::max);
+            sleep(5);
+            running.decrementAndGet();
+            return i;
+        }, this.executor, 2);
+
+        Assert.assertEquals(range(20), list(results));
+        Assert.assertTrue(maxRunning.get() <= 2);
+    }
+
+    @Test
+    public void testMapWithEmptyOrigin() {
+        Iterator<Integer> results = new ParallelMapperIterator<>(
+                                    new ArrayList<Integer>().iterator(),
+                                    i -> i, this.executor, THREADS);
+        Assert.assertFalse(results.hasNext());
+    }
+
+    @Test
+    public void testMapWithInvalidParallelism() {
+        Assert.assertThrows(IllegalArgumentException.class, () -> {
+            new ParallelMapperIterator<>(range(1).iterator(), i -> i,
+                                         this.executor, 0);
+        }, e -> {
+            Assert.assertContains("The parallelism must be > 0",
+                                  e.getMessage());
+        });
+    }
+
+    @Test
+    public void testMapInBatches() {
+        AtomicInteger mapped = new AtomicInteger();
+        AtomicInteger finished = new AtomicInteger();
+        Iterator<Integer> results = new ParallelMapperIterator<>(
+                                    range(20).iterator(), i -> {
+            mapped.incrementAndGet();
+            return i;
+        }, this.executor, THREADS, 3, () -> {
+            finished.incrementAndGet();
+        });
+
+        Assert.assertEquals(range(20), list(results));
+        Assert.assertEquals(20, mapped.get());
+        // The finisher is called once per batch: 6 batches of 3 and 1 of 2
+        Assert.assertEquals(7, finished.get());
+    }
+
+    @Test
+    public void testMapWithFinisherOnFailure() {
+        AtomicInteger finished = new AtomicInteger();
+        Iterator<Integer> results = new ParallelMapperIterator<>(
+                                    range(4).iterator(), i -> {
+            throw new IllegalStateException("Failed to map " + i);
+        }, this.executor, 1, 4, () -> {
+            finished.incrementAndGet();
+        });
+
+        Assert.assertThrows(IllegalStateException.class, () -> {
+            results.next();
+        }, e -> {
+            Assert.assertEquals("Failed to map 0", e.getMessage());
+        });
+        Assert.assertEquals(1, finished.get());
+    }
+
+    @Test
+    public void testMapWithInvalidBatchSize() {
+        Assert.assertThrows(IllegalArgumentException.class, () -> {
+            new ParallelMapperIterator<>(range(1).iterator(), i -> i,
+                                         this.executor, THREADS, 0, () -> {});
+        }, e -> {
+            Assert.assertContains("The batch size must be > 0",
+                                  e.getMessage());
+        });
+    }
+
+    @Test
+    public void testMapWithRuntimeException() {
+        CountedIterator origin = new CountedIterator(range(20));
+        Iterator<Integer> results = new ParallelMapperIterator<>(origin, i -> {
+            if (i == 3) {
+                throw new IllegalStateException("Failed to map 3");
+            }
+            return i;
+        }, this.executor, THREADS);
+
+        for (int i = 0; i < 3; i++) {
+            Assert.assertEquals(i, (int) results.next());
+        }
+        Assert.assertThrows(IllegalStateException.class, () -> {
+            results.next();
+        }, e -> {
+            Assert.assertEquals("Failed to map 3", e.getMessage());
+        });
+
+        // The iterator is closed once failed
+        Assert.assertFalse(results.hasNext());
+        Assert.assertTrue(origin.closed);
+    }
+
+    @Test
+    public void testMapWithError() {
+        Iterator<Integer> results = new ParallelMapperIterator<>(
+                                    range(2).iterator(), i -> {
+            throw new AssertionError("Assert failed");
+        }, this.executor, THREADS);
+
+        Assert.assertThrows(HugeException.class, () -> {
+            results.next();
+        }, e -> {
+            Assert.assertEquals("Failed to traverse", e.getMessage());
+            Assert.assertTrue(e.getCause() instanceof AssertionError);
+        });
+        Assert.assertFalse(results.hasNext());
+    }
+
+    @Test
+    public void testCloseEarly() {
+        CountedIterator origin = new CountedIterator(range(100));
+        AtomicInteger mapped = new AtomicInteger();
+        ParallelMapperIterator<Integer, Integer> results;
+        results = new ParallelMapperIterator<>(origin, i -> {
+            mapped.incrementAndGet();
+            return i;
+        }, this.executor, THREADS);
+
+        Assert.assertEquals(0, (int) results.next());
+        Assert.assertEquals(1, (int) results.next());
+        results.close();
+
+        Assert.assertTrue(origin.closed);
+        Assert.assertFalse(results.hasNext());
+        // At most `parallelism` elements are consumed ahead of the caller
+        Assert.assertTrue(origin.consumed <= 2 + THREADS);
+        Assert.assertTrue(mapped.get() <= origin.consumed);
+    }
+
+    private static List<Integer> range(int size) {
+        List<Integer> list = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            list.add(i);
+        }
+        return list;
+    }
+
+    private static List<Integer> list(Iterator<Integer> iter) {
+        List<Integer> list = new ArrayList<>();
+        while (iter.hasNext()) {
+            list.add(iter.next());
+        }
+        return list;
+    }
+
+    private static void sleep(long ms) {
+        try {
+            Thread.sleep(ms);
+        } catch (InterruptedException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private static class CountedIterator
+                   implements CloseableIterator<Integer> {
+
+        private final Iterator<Integer> iter;
+        private volatile int consumed = 0;
+        private volatile boolean closed = false;
+
+        public CountedIterator(List<Integer> list) {
+            this.iter = list.iterator();
+        }
+
+        @Override
+        public boolean hasNext() {
+            return this.iter.hasNext();
+        }
+
+        @Override
+        public Integer next() {
+            this.consumed++;
+            return this.iter.next();
+        }
+
+        @Override
+        public void close() {
+            this.closed = true;
+        }
+    }
+}
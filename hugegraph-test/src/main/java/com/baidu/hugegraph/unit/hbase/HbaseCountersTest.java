@@ -0,0 +1,73 @@
+/*
+ * Copyright 2017 HugeGraph Authors
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with this
+ * work for additional information regarding copyright ownership. The ASF
+ * licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.baidu.hugegraph.unit.hbase;
+
+import java.util.List;
+
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+
+import com.baidu.hugegraph.backend.id.Id;
+import com.baidu.hugegraph.backend.id.IdGenerator;
+import com.baidu.hugegraph.backend.store.hbase.HbaseSessions.Session;
+import com.baidu.hugegraph.backend.store.hbase.HbaseTables;
+import com.baidu.hugegraph.testutil.Assert;
+import com.baidu.hugegraph.type.HugeType;
+
+public class HbaseCountersTest {
+
+    @Test
+    public void testCounterOfSchemaElement() {
+        Session session = Mockito.mock(Session.class, Mockito.RETURNS_MOCKS);
+        HbaseTables.Counters counters = new HbaseTables.Counters();
+        Id id = IdGenerator.of(1);
+
+        counters.increaseCounter(session, HugeType.VERTEX_LABEL, id, 3L);
+        counters.increaseCounter(session, HugeType.EDGE_LABEL, id, 2L);
+        counters.increaseCounter(session, HugeType.VERTEX_LABEL, 5L);
+        // No row of the counter
+        Assert.assertEquals(0L, counters.getCounter(session,
+                                                    HugeType.VERTEX_LABEL,
+                                                    id));
+
+        ArgumentCaptor<byte[]> rowkeys = ArgumentCaptor.forClass(byte[].class);
+        Mockito.verify(session, Mockito.times(3))
+               .increase(Mockito.eq(counters.table()), Mockito.any(),
+                         rowkeys.capture(), Mockito.any(),
+                         Mockito.anyLong());
+        List<byte[]> keys = rowkeys.getAllValues();
+        byte[] vertexLabelKey = keys.get(0);
+        byte[] edgeLabelKey = keys.get(1);
+        byte[] typeKey = keys.get(2);
+
+        // The counter of each label is apart from the id counter of type
+        Assert.assertArrayEquals(new byte[]{HugeType.VERTEX_LABEL.code()},
+                                 typeKey);
+        Assert.assertEquals(1 + id.asBytes().length, vertexLabelKey.length);
+        Assert.assertEquals(HugeType.VERTEX_LABEL.code(), vertexLabelKey[0]);
+        Assert.assertEquals(1 + id.asBytes().length, edgeLabelKey.length);
+        Assert.assertEquals(HugeType.EDGE_LABEL.code(), edgeLabelKey[0]);
+
+        Mockito.verify(session).get(Mockito.eq(counters.table()),
+                                    Mockito.any(),
+                                    Mockito.eq(vertexLabelKey));
+    }
+}
@@ -0,0 +1,130 @@
+/*
+ * Copyright 2017 HugeGraph Authors
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with this
+ * work for additional information regarding copyright ownership. The ASF
+ * licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.baidu.hugegraph.unit.mysql;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+
+import com.baidu.hugegraph.backend.id.Id;
+import com.baidu.hugegraph.backend.id.IdGenerator;
+import com.baidu.hugegraph.backend.store.mysql.MysqlSessions.Session;
+import com.baidu.hugegraph.backend.store.mysql.MysqlTables;
+import com.baidu.hugegraph.backend.store.postgresql.PostgresqlTables;
+import com.baidu.hugegraph.testutil.Assert;
+import com.baidu.hugegraph.type.HugeType;
+
+public class MysqlCountersTest {
+
+    private Session session;
+    private ResultSet results;
+
+    @Before
+    public void setup() throws SQLException {
+        this.results = Mockito.mock(ResultSet.class);
+        Mockito.when(this.results.next()).thenReturn(true);
+        Mockito.when(this.results.getLong("ID")).thenReturn(3L);
+
+        this.session = Mockito.mock(Session.class);
+        Mockito.when(this.session.select(Mockito.anyString()))
+               .thenReturn(this.results);
+    }
+
+    @Test
+    public void testCounterOfSchemaElement() throws SQLException {
+        MysqlTables.Counters counters = new MysqlTables.Counters();
+        String table = counters.table();
+        Id id = IdGenerator.of(1);
+
+        counters.increaseCounter(this.session, HugeType.VERTEX_LABEL, id, 3L);
+        counters.increaseCounter(this.session, HugeType.EDGE_LABEL, id, -2L);
+        counters.increaseCounter(this.session, HugeType.VERTEX_LABEL, 5L);
+
+        List<String> updates = this.executed(3);
+        // The counter of each label is apart from the id counter of type
+        Assert.assertEquals(String.format(
+                            "INSERT INTO %s VALUES ('VERTEX_LABEL-1', 3) " +
+                            "ON DUPLICATE KEY UPDATE ID = ID + 3;", table),
+                            updates.get(0));
+        Assert.assertEquals(String.format(
+                            "INSERT INTO %s VALUES ('EDGE_LABEL-1', -2) " +
+                            "ON DUPLICATE KEY UPDATE ID = ID + -2;", table),
+                            updates.get(1));
+        Assert.assertEquals(String.format(
+                            "INSERT INTO %s VALUES ('VERTEX_LABEL', 5) " +
+                            "ON DUPLICATE KEY UPDATE ID = ID + 5;", table),
+                            updates.get(2));
+
+        Assert.assertEquals(3L, counters.getCounter(this.session,
+                                                    HugeType.VERTEX_LABEL,
+                                                    id));
+        Mockito.verify(this.session).select(String.format(
+                "SELECT ID FROM %s WHERE SCHEMA_TYPE = 'VERTEX_LABEL-1';",
+                table));
+
+        Mockito.when(this.results.next()).thenReturn(false);
+        Assert.assertEquals(0L, counters.getCounter(this.session,
+                                                    HugeType.EDGE_LABEL,
+                                                    id));
+    }
+
+    @Test
+    public void testPostgresqlCounterOfSchemaElement() throws SQLException {
+        PostgresqlTables.Counters counters = new PostgresqlTables.Counters();
+        String table = counters.table();
+        Id id = IdGenerator.of(1);
+
+        counters.increaseCounter(this.session, HugeType.VERTEX_LABEL, id, 3L);
+        counters.increaseCounter(this.session, HugeType.VERTEX_LABEL, 5L);
+
+        List<String> updates = this.executed(2);
+        Assert.assertEquals(String.format(
+                            "INSERT INTO %s (SCHEMA_TYPE, ID) " +
+                            "VALUES ('VERTEX_LABEL-1', 3) " +
+                            "ON CONFLICT (SCHEMA_TYPE) " +
+                            "DO UPDATE SET ID = %s.ID + 3;", table, table),
+                            updates.get(0));
+        Assert.assertEquals(String.format(
+                            "INSERT INTO %s (SCHEMA_TYPE, ID) " +
+                            "VALUES ('VERTEX_LABEL', 5) " +
+                            "ON CONFLICT (SCHEMA_TYPE) " +
+                            "DO UPDATE SET ID = %s.ID + 5;", table, table),
+                            updates.get(1));
+
+        Assert.assertEquals(3L, counters.getCounter(this.session,
+                                                    HugeType.VERTEX_LABEL,
+                                                    id));
+        Mockito.verify(this.session).select(String.format(
+                "SELECT ID FROM %s WHERE SCHEMA_TYPE = 'VERTEX_LABEL-1';",
+                table));
+    }
+
+    private List<String> executed(int times) throws SQLException {
+        ArgumentCaptor<String> sqls = ArgumentCaptor.forClass(String.class);
+        Mockito.verify(this.session, Mockito.times(times))
+               .execute(sqls.capture());
+        return sqls.getAllValues();
+    }
+}
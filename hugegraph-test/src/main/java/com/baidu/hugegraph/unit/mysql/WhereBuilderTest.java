@@ -122,4 +122,21 @@ public class WhereBuilderTest extends BaseUnitTest {
         where.gte(ImmutableList.of("k1", "k2"), ImmutableList.of("v1", "v2"));
         Assert.assertEquals(" (k1, k2) >= ('v1', 'v2')", where.toString());
     }
+
+    @Test
+    public void testParameterize() {
+        WhereBuilder where = new WhereBuilder().parameterize();
+        where.relation("k1", RelationType.EQ, "v1");
+        where.and().relation("k2", RelationType.GTE, 2L);
+        where.and().in("k3", ImmutableList.of("v3", 3));
+        Assert.assertEquals(" WHERE k1=? AND k2>=? AND k3 IN (?, ?)",
+                            where.toString());
+        Assert.assertEquals(ImmutableList.of("v1", 2L, "v3", 3),
+                            where.parameters());
+
+        where = new WhereBuilder(false);
+        where.relation("k1", RelationType.EQ, "v1");
+        Assert.assertEquals(" k1='v1'", where.toString());
+        Assert.assertEquals(ImmutableList.of(), where.parameters());
+    }
 }
@@ -81,6 +81,35 @@ public class RocksDBCountersTest extends BaseRocksDBUnitTest {
         }
     }
 
+    @Test
+    public void testCounterOfSchemaElement() throws RocksDBException {
+        Session session = this.rocks.session();
+        Id label1 = IdGenerator.of(1L);
+        Id label2 = IdGenerator.of(2L);
+
+        this.counters.increaseCounter(session, HugeType.VERTEX_LABEL, 1L);
+        this.counters.increaseCounter(session, HugeType.VERTEX_LABEL,
+                                      label1, 10L);
+        this.counters.increaseCounter(session, HugeType.VERTEX_LABEL,
+                                      label2, 20L);
+        this.counters.increaseCounter(session, HugeType.EDGE_LABEL,
+                                      label1, 30L);
+        this.counters.increaseCounter(session, HugeType.VERTEX_LABEL,
+                                      label1, -3L);
+
+        // Not conflict with the type counter or other elements
+        Assert.assertEquals(1L, this.counters.getCounter(
+                                session, HugeType.VERTEX_LABEL));
+        Assert.assertEquals(7L, this.counters.getCounter(
+                                session, HugeType.VERTEX_LABEL, label1));
+        Assert.assertEquals(20L, this.counters.getCounter(
+                                 session, HugeType.VERTEX_LABEL, label2));
+        Assert.assertEquals(30L, this.counters.getCounter(
+                                 session, HugeType.EDGE_LABEL, label1));
+        Assert.assertEquals(0L, this.counters.getCounter(
+                                session, HugeType.EDGE_LABEL, label2));
+    }
+
     @Test
     public void testCounterWithMutiThreads() {
         final int TIMES = 1000;
@@ -0,0 +1,259 @@
+/*
+ * Copyright 2017 HugeGraph Authors
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with this
+ * work for additional information regarding copyright ownership. The ASF
+ * licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.baidu.hugegraph.unit.rocksdb;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+import org.apache.commons.configuration.Configuration;
+import org.apache.commons.configuration.PropertiesConfiguration;
+import org.apache.commons.io.FileUtils;
+import org.junit.After;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import com.baidu.hugegraph.backend.store.BackendEntry.BackendColumn;
+import com.baidu.hugegraph.backend.store.BackendEntry.BackendColumnIterator;
+import com.baidu.hugegraph.backend.store.rocksdb.RocksDBOptions;
+import com.baidu.hugegraph.backend.store.rocksdb.RocksDBSessions;
+import com.baidu.hugegraph.backend.store.rocksdb.RocksDBSessions.Session;
+import com.baidu.hugegraph.backend.store.rocksdbmem.RocksDBMemSessions;
+import com.baidu.hugegraph.config.HugeConfig;
+import com.baidu.hugegraph.testutil.Assert;
+import com.baidu.hugegraph.unit.BaseUnitTest;
+import com.baidu.hugegraph.unit.FakeObjects;
+import com.google.common.collect.ImmutableList;
+
+public class RocksDBMemSessionsTest extends BaseUnitTest {
+
+    private static final String TMP_DIR = System.getProperty("java.io.tmpdir");
+    private static final String DB_PATH = TMP_DIR + "/" + "rocksdbmem";
+
+    private static final String TABLE = "test-table";
+
+    private RocksDBSessions rocks;
+
+    @AfterClass
+    public static void clear() throws IOException {
+        FileUtils.deleteQuietly(FileUtils.getFile(DB_PATH));
+        FileUtils.deleteQuietly(FileUtils.getFile(DB_PATH + "-snapshot"));
+    }
+
+    @Before
+    public void setup() {
+        this.rocks = new RocksDBMemSessions(FakeObjects.newConfig(), "db",
+                                            "store", DB_PATH);
+        this.rocks.createTable(TABLE);
+        this.rocks.session();
+    }
+
+    @After
+    public void teardown() {
+        for (String table : new ArrayList<>(this.rocks.openedTables())) {
+            this.rocks.dropTable(table);
+        }
+        this.rocks.close();
+    }
+
+    @Test
+    public void testPutGetAndRemove() {
+        Session session = this.rocks.session();
+        session.put(TABLE, b("person:1gname"), b("James"));
+        session.put(TABLE, b("person:1gage"), b("19"));
+        Assert.assertTrue(session.hasChanges());
+        Assert.assertEquals(2, (int) session.commit());
+        Assert.assertFalse(session.hasChanges());
+
+        Assert.assertEquals("James", s(session.get(TABLE, b("person:1gname"))));
+        Assert.assertEquals("19", s(session.get(TABLE, b("person:1gage"))));
+        Assert.assertEquals("2", session.property(TABLE,
+                                                  "rocksdb.estimate-num-keys"));
+
+        session.remove(TABLE, b("person:1gname"));
+        session.rollback();
+        Assert.assertEquals("James", s(session.get(TABLE, b("person:1gname"))));
+
+        session.remove(TABLE, b("person:1gname"));
+        session.commit();
+        Assert.assertNull(session.get(TABLE, b("person:1gname")));
+        Assert.assertEquals("1", session.property(TABLE,
+                                                  "rocksdb.estimate-num-keys"));
+    }
+
+    @Test
+    public void testScanByPrefixAndRange() {
+        Session session = this.rocks.session();
+        session.put(TABLE, b("person:1gname"), b("James"));
+        session.put(TABLE, b("person:2gname"), b("Lisa"));
+        session.put(TABLE, b("person:2gage"), b("20"));
+        session.put(TABLE, b("person:3gname"), b("Hebe"));
+        session.put(TABLE, b("personx"), b("X"));
+        session.commit();
+
+        Assert.assertEquals(ImmutableList.of("person:2gage", "person:2gname"),
+                            names(session.scan(TABLE, b("person:2"))));
+
+        Assert.assertEquals(ImmutableList.of("person:3gname", "person:1gname"),
+                            names(session.scan(TABLE, ImmutableList.of(
+                                                      b("person:3"),
+                                                      b("person:1")))));
+
+        Assert.assertEquals(ImmutableList.of("person:1gname", "person:2gage",
+                                             "person:2gname"),
+                            names(session.scan(TABLE, b("person:1"),
+                                               b("person:3"))));
+
+        Assert.assertEquals(ImmutableList.of("person:2gage", "person:2gname",
+                                             "person:3gname"),
+                            names(session.scan(TABLE, b("person:1gname"),
+                                               b("person:3"),
+                                               Session.SCAN_GT_BEGIN |
+                                               Session.SCAN_LTE_END)));
+
+        BackendColumnIterator iter = session.scan(TABLE, b("person:"), null,
+                                                  Session.SCAN_PREFIX_BEGIN);
+        Assert.assertEquals(4L, ((RocksDBSessions.Countable) iter).count());
+        Assert.assertNull(iter.position());
+
+        Assert.assertArrayEquals(b("person:1gname"),
+                                 session.keyRange(TABLE).getLeft());
+        Assert.assertArrayEquals(b("personx"),
+                                 session.keyRange(TABLE).getRight());
+    }
+
+    @Test
+    public void testScanWithSignedBytes() {
+        Session session = this.rocks.session();
+        session.put(TABLE, new byte[]{1, 1}, b("value1"));
+        session.put(TABLE, new byte[]{1, -1}, b("value2"));
+        session.put(TABLE, new byte[]{1, 3}, b("value3"));
+        session.commit();
+
+        // The keys are sorted as unsigned bytes like RocksDB
+        Iterator<BackendColumn> iter = session.scan(TABLE, new byte[]{1, 2},
+                                                    new byte[]{1, -1});
+        Assert.assertEquals("value3", s(iter.next().value));
+        Assert.assertFalse(iter.hasNext());
+    }
+
+    @Test
+    public void testDeleteByPrefixAndRange() {
+        Session session = this.rocks.session();
+        session.put(TABLE, b("person:1gname"), b("James"));
+        session.put(TABLE, b("person:1gage"), b("19"));
+        session.put(TABLE, b("person:2gname"), b("Lisa"));
+        session.put(TABLE, b("person:3gname"), b("Hebe"));
+        session.commit();
+
+        session.delete(TABLE, b("person:1"));
+        session.commit();
+        Assert.assertNull(session.get(TABLE, b("person:1gname")));
+        Assert.assertNull(session.get(TABLE, b("person:1gage")));
+        Assert.assertEquals("Lisa", s(session.get(TABLE, b("person:2gname"))));
+
+        session.delete(TABLE, b("person:2"), b("person:3gname"));
+        session.commit();
+        Assert.assertNull(session.get(TABLE, b("person:2gname")));
+        Assert.assertEquals("Hebe", s(session.get(TABLE, b("person:3gname"))));
+    }
+
+    @Test
+    public void testIncreaseCounter() {
+        Session session = this.rocks.session();
+        session.increase(TABLE, b("counter"), b(1L));
+        session.increase(TABLE, b("counter"), b(2L));
+        Assert.assertEquals(3L, l(session.get(TABLE, b("counter"))));
+
+        session.merge(TABLE, b("counter"), b(10L));
+        session.commit();
+        Assert.assertEquals(13L, l(session.get(TABLE, b("counter"))));
+    }
+
+    @Test
+    public void testSnapshot() throws IOException {
+        String path = DB_PATH + "-snapshot";
+        String snapshot = RocksDBOptions.MEMORY_SNAPSHOT.name();
+        Configuration conf = Mockito.mock(PropertiesConfiguration.class);
+        Mockito.when(conf.getKeys())
+               .thenReturn(ImmutableList.of(snapshot).iterator());
+        Mockito.when(conf.getProperty(snapshot)).thenReturn("true");
+        HugeConfig config = new HugeConfig(conf);
+
+        FileUtils.forceMkdir(FileUtils.getFile(path));
+        RocksDBSessions rocks = new RocksDBMemSessions(config, "db",
+                                                       "store", path);
+        rocks.createTable(TABLE);
+        rocks.session().put(TABLE, b("person:1gname"), b("James"));
+        rocks.session().put(TABLE, b("person:1gage"), b("19"));
+        rocks.session().commit();
+        rocks.close();
+
+        Assert.assertTrue(FileUtils.getFile(path, TABLE + ".snapshot")
+                                   .exists());
+
+        // The memory is freed after closed, and reload from snapshot
+        rocks = new RocksDBMemSessions(config, "db", "store", path);
+        try {
+            Assert.assertTrue(rocks.existsTable(TABLE));
+            Session session = rocks.session();
+            Assert.assertEquals("James",
+                                s(session.get(TABLE, b("person:1gname"))));
+            Assert.assertEquals("19", s(session.get(TABLE, b("person:1gage"))));
+
+            rocks.dropTable(TABLE);
+            Assert.assertFalse(FileUtils.getFile(path, TABLE + ".snapshot")
+                                        .exists());
+        } finally {
+            rocks.close();
+        }
+    }
+
+    private static List<String> names(Iterator<BackendColumn> iter) {
+        List<String> names = new ArrayList<>();
+        while (iter.hasNext()) {
+            names.add(s(iter.next().name));
+        }
+        return names;
+    }
+
+    private static byte[] b(String str) {
+        return str.getBytes();
+    }
+
+    private static String s(byte[] bytes) {
+        return bytes == null ? null : new String(bytes);
+    }
+
+    private static byte[] b(long value) {
+        return ByteBuffer.allocate(Long.BYTES).order(ByteOrder.nativeOrder())
+                         .putLong(value).array();
+    }
+
+    private static long l(byte[] bytes) {
+        return ByteBuffer.wrap(bytes).order(ByteOrder.nativeOrder())
+                         .getLong();
+    }
+}
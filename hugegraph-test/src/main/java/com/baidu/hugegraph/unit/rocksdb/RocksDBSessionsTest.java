@@ -20,17 +20,29 @@
 package com.baidu.hugegraph.unit.rocksdb;
 
 import java.nio.ByteBuffer;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
+import java.util.NoSuchElementException;
 
+import org.apache.commons.configuration.Configuration;
+import org.apache.commons.configuration.PropertiesConfiguration;
 import org.junit.Assume;
 import org.junit.Test;
+import org.mockito.Mockito;
 import org.rocksdb.RocksDBException;
 
 import com.baidu.hugegraph.backend.store.BackendEntry.BackendColumn;
+import com.baidu.hugegraph.backend.store.BackendEntry.BackendColumnIterator;
+import com.baidu.hugegraph.backend.store.rocksdb.RocksDBOptions;
+import com.baidu.hugegraph.backend.store.rocksdb.RocksDBSessions;
+import com.baidu.hugegraph.backend.store.rocksdb.RocksDBSessions.Countable;
 import com.baidu.hugegraph.backend.store.rocksdb.RocksDBSessions.Session;
+import com.baidu.hugegraph.config.HugeConfig;
 import com.baidu.hugegraph.testutil.Assert;
+import com.google.common.collect.ImmutableList;
 
 public class RocksDBSessionsTest extends BaseRocksDBUnitTest {
 
@@ -70,6 +82,27 @@ public class RocksDBSessionsTest extends BaseRocksDBUnitTest {
         Assert.assertEquals("James2", value2);
     }
 
+    @Test
+    public void testGetWithMultiKeys() throws RocksDBException {
+        put("person:1gname", "James");
+        put("person:2gname", "Lisa");
+        put("person:3gname", "Hebe");
+
+        Session session = this.rocks.session();
+        Iterator<BackendColumn> iter = session.get(TABLE, ImmutableList.of(
+                                                   b("person:3gname"),
+                                                   b("person:4gname"),
+                                                   b("person:1gname")));
+
+        BackendColumn col = iter.next();
+        Assert.assertEquals("person:3gname", s(col.name));
+        Assert.assertEquals("Hebe", s(col.value));
+        col = iter.next();
+        Assert.assertEquals("person:1gname", s(col.name));
+        Assert.assertEquals("James", s(col.value));
+        Assert.assertFalse(iter.hasNext());
+    }
+
     @Test
     public void testMergeWithCounter() throws RocksDBException {
         this.rocks.session().put(TABLE, b("person:1gage"), b(19));
@@ -136,6 +169,72 @@ public class RocksDBSessionsTest extends BaseRocksDBUnitTest {
         Assert.assertEquals("Lisa", get("person:2gname"));
     }
 
+    @Test
+    public void testScanByMultiPrefixes() throws RocksDBException {
+        put("person:1gname", "James");
+        put("person:1gage", "19");
+
+        put("person:2gname", "Lisa");
+        put("person:2gage", "20");
+
+        put("person:3gname", "Hebe");
+        put("person:3gage", "21");
+
+        List<String> names = new ArrayList<>();
+        Session session = this.rocks.session();
+        Iterator<BackendColumn> iter = session.scan(TABLE, ImmutableList.of(
+                                                    b("person:3"),
+                                                    b("person:5"),
+                                                    b("person:1")));
+        while (iter.hasNext()) {
+            names.add(s(iter.next().name));
+        }
+
+        Assert.assertEquals(ImmutableList.of("person:3gage", "person:3gname",
+                                             "person:1gage", "person:1gname"),
+                            names);
+    }
+
+    @Test
+    public void testScanByMultiPrefixesAndStopEarly() throws RocksDBException {
+        put("person:1gname", "James");
+        put("person:1gage", "19");
+
+        put("person:2gname", "Lisa");
+        put("person:2gage", "20");
+
+        Session session = this.rocks.session();
+        BackendColumnIterator iter = session.scan(TABLE, ImmutableList.of(
+                                                  b("person:2"),
+                                                  b("person:1")));
+        Assert.assertTrue(iter.hasNext());
+        Assert.assertEquals("person:2gage", s(iter.next().name));
+        // Stop like reaching the limit of query
+        iter.close();
+        Assert.assertFalse(iter.hasNext());
+        Assert.assertThrows(NoSuchElementException.class, () -> {
+            iter.next();
+        });
+
+        // Close after hasNext() matched the next column
+        BackendColumnIterator matched = session.scan(TABLE, ImmutableList.of(
+                                                     b("person:1")));
+        Assert.assertTrue(matched.hasNext());
+        matched.close();
+        Assert.assertFalse(matched.hasNext());
+        Assert.assertThrows(NoSuchElementException.class, () -> {
+            matched.next();
+        });
+
+        BackendColumnIterator all = session.scan(TABLE, ImmutableList.of(
+                                                 b("person:0"),
+                                                 b("person:2"),
+                                                 b("person:1"),
+                                                 b("person:9")));
+        Assert.assertEquals(4L, ((Countable) all).count());
+        Assert.assertFalse(all.hasNext());
+    }
+
     @Test
     public void testScanByRange() throws RocksDBException {
         put("person:1gname", "James");
@@ -275,6 +374,56 @@ public class RocksDBSessionsTest extends BaseRocksDBUnitTest {
         Assert.assertEquals("Beijing", get("person:1gcity"));
     }
 
+    @Test
+    public void testUpdateWithBulkloadIngest() throws RocksDBException {
+        String bulkload = RocksDBOptions.BULKLOAD_MODE.name();
+        String ingestSize = RocksDBOptions.BULKLOAD_INGEST_SIZE.name();
+
+        Configuration conf = Mockito.mock(PropertiesConfiguration.class);
+        Mockito.when(conf.getKeys())
+               .thenReturn(ImmutableList.of(bulkload, ingestSize).iterator());
+        Mockito.when(conf.getProperty(bulkload)).thenReturn("true");
+        Mockito.when(conf.getProperty(ingestSize)).thenReturn("3");
+        HugeConfig config = new HugeConfig(conf);
+
+        RocksDBSessions rocks = this.rocks.copy(config, "db", "store2");
+        try {
+            Session session = rocks.session();
+
+            // Ingest the records as SST files if reach the ingest size
+            session.put(TABLE, b("person:2gname"), b("Lisa"));
+            session.put(TABLE, b("person:1gname"), b("James"));
+            session.put(TABLE, b("person:1gage"), b("19"));
+            session.put(TABLE, b("person:1gname"), b("James2"));
+            Assert.assertTrue(session.hasChanges());
+            Assert.assertEquals(3, (int) session.commit());
+            Assert.assertFalse(session.hasChanges());
+
+            Assert.assertEquals("James2", get("person:1gname"));
+            Assert.assertEquals("19", get("person:1gage"));
+            Assert.assertEquals("Lisa", get("person:2gname"));
+
+            // Write the records by write batch if less than the ingest size
+            session.put(TABLE, b("person:1gage"), b("20"));
+            Assert.assertEquals(1, (int) session.commit());
+            Assert.assertEquals("20", get("person:1gage"));
+
+            // Write the records by write batch if mixed with deletions
+            session.put(TABLE, b("person:3gname"), b("Hebe"));
+            session.put(TABLE, b("person:4gname"), b("Jay"));
+            session.put(TABLE, b("person:5gname"), b("Tom"));
+            session.remove(TABLE, b("person:2gname"));
+            Assert.assertEquals(4, (int) session.commit());
+
+            Assert.assertEquals(null, get("person:2gname"));
+            Assert.assertEquals("Hebe", get("person:3gname"));
+            Assert.assertEquals("Jay", get("person:4gname"));
+            Assert.assertEquals("Tom", get("person:5gname"));
+        } finally {
+            rocks.close();
+        }
+    }
+
     @Test
     public void testDeleteByKey() throws RocksDBException {
         put("person:1gname", "James");
@@ -19,16 +19,32 @@
 
 package com.baidu.hugegraph.unit.serializer;
 
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
 import org.junit.Test;
 
+import com.baidu.hugegraph.backend.id.Id;
+import com.baidu.hugegraph.backend.id.IdGenerator;
+import com.baidu.hugegraph.backend.query.ConditionQuery;
+import com.baidu.hugegraph.backend.query.IdPrefixesQuery;
+import com.baidu.hugegraph.backend.query.Query;
 import com.baidu.hugegraph.backend.serializer.BinarySerializer;
+import com.baidu.hugegraph.backend.serializer.BytesBuffer;
 import com.baidu.hugegraph.backend.store.BackendEntry;
+import com.baidu.hugegraph.backend.tx.GraphTransaction;
+import com.baidu.hugegraph.schema.PropertyKey;
 import com.baidu.hugegraph.structure.HugeEdge;
+import com.baidu.hugegraph.structure.HugeProperty;
 import com.baidu.hugegraph.structure.HugeVertex;
+import com.baidu.hugegraph.structure.HugeVertexProperty;
 import com.baidu.hugegraph.testutil.Assert;
 import com.baidu.hugegraph.testutil.Whitebox;
+import com.baidu.hugegraph.type.define.Directions;
 import com.baidu.hugegraph.unit.BaseUnitTest;
 import com.baidu.hugegraph.unit.FakeObjects;
+import com.google.common.collect.ImmutableList;
 
 public class BinarySerializerTest extends BaseUnitTest {
 
@@ -79,4 +95,142 @@ public class BinarySerializerTest extends BaseUnitTest {
         Assert.assertEquals(edge2, edge);
         Assert.assertEquals(edge2.getProperties(), edge.getProperties());
     }
+
+    @Test
+    public void testVertexWithLazyProperties() {
+        BinarySerializer ser = new BinarySerializer();
+        ser.lazyProperties(true);
+        HugeEdge edge = new FakeObjects().newEdge(123, 456);
+        HugeVertex origin = edge.sourceVertex();
+
+        BackendEntry entry = ser.writeVertex(origin);
+        HugeVertex vertex = ser.readVertex(edge.graph(), entry);
+        Assert.assertEquals(origin, vertex);
+
+        // Access single property without decoding the others
+        Id age = IdGenerator.of(2);
+        Assert.assertEquals(3, vertex.sizeOfProperties());
+        Assert.assertTrue(vertex.hasProperty(age));
+        Assert.assertFalse(vertex.hasProperty(IdGenerator.of(5)));
+        Assert.assertEquals(18, (int) vertex.getPropertyValue(age));
+        Assert.assertNull(vertex.getProperty(IdGenerator.of(5)));
+        Assert.assertNotNull(Whitebox.getInternalState(vertex,
+                                                       "lazyProperties"));
+
+        // Decode all properties when accessing all
+        Assert.assertEquals(origin.getProperties(), vertex.getProperties());
+        Assert.assertNull(Whitebox.getInternalState(vertex,
+                                                    "lazyProperties"));
+        Assert.assertEquals(18, (int) vertex.getPropertyValue(age));
+    }
+
+    @Test
+    public void testVertexWithLazyAndDecodedProperties() {
+        BinarySerializer ser = new BinarySerializer();
+        ser.lazyProperties(true);
+        HugeEdge edge = new FakeObjects().newEdge(123, 456);
+        HugeVertex origin = edge.sourceVertex();
+
+        BackendEntry entry = ser.writeVertex(origin);
+        HugeVertex vertex = ser.readVertex(edge.graph(), entry);
+
+        // The lazy properties are merged with the decoded ones
+        Id age = IdGenerator.of(2);
+        Id weight = IdGenerator.of(5);
+        PropertyKey weightKey = edge.graph().propertyKey(weight);
+        Map<Id, HugeProperty<?>> decoded = new HashMap<>();
+        decoded.put(weight, new HugeVertexProperty<>(vertex, weightKey, 0.5));
+        Whitebox.setInternalState(vertex, "properties", decoded);
+
+        Assert.assertEquals(4, vertex.sizeOfProperties());
+        Assert.assertTrue(vertex.hasProperty(age));
+        Assert.assertTrue(vertex.hasProperty(weight));
+        Assert.assertFalse(vertex.hasProperty(IdGenerator.of(4)));
+        Assert.assertEquals(18, (int) vertex.getPropertyValue(age));
+        Assert.assertEquals(0.5, vertex.getPropertyValue(weight), 0.0);
+        Assert.assertNull(vertex.getProperty(IdGenerator.of(4)));
+        Assert.assertNotNull(Whitebox.getInternalState(vertex,
+                                                       "lazyProperties"));
+
+        // Don't count the property both in lazy and decoded ones twice
+        PropertyKey ageKey = edge.graph().propertyKey(age);
+        decoded.put(age, new HugeVertexProperty<>(vertex, ageKey, 18));
+        Assert.assertEquals(4, vertex.sizeOfProperties());
+
+        // Decode all properties when accessing all
+        Assert.assertEquals(4, vertex.getProperties().size());
+        Assert.assertNull(Whitebox.getInternalState(vertex,
+                                                    "lazyProperties"));
+        Assert.assertEquals(4, vertex.sizeOfProperties());
+        Assert.assertEquals(0.5, vertex.getPropertyValue(weight), 0.0);
+        Assert.assertEquals(origin.getPropertyValue(IdGenerator.of(1)),
+                            vertex.getPropertyValue(IdGenerator.of(1)));
+    }
+
+    @Test
+    public void testEdgeWithLazyProperties() {
+        BinarySerializer ser = new BinarySerializer();
+        ser.lazyProperties(true);
+        HugeEdge origin = new FakeObjects().newEdge(123, 456);
+
+        BackendEntry entry = ser.writeEdge(origin);
+        HugeVertex vertex = ser.readVertex(origin.graph(), entry);
+        Assert.assertEquals(1, vertex.getEdges().size());
+        HugeEdge edge = vertex.getEdges().iterator().next();
+        Assert.assertEquals(origin, edge);
+
+        Id weight = IdGenerator.of(5);
+        Assert.assertEquals(0.75, edge.getPropertyValue(weight), 0.0);
+
+        // Update property will decode all properties first
+        edge.addProperty(origin.graph().propertyKey(weight), 0.5);
+        Assert.assertEquals(2, edge.sizeOfProperties());
+        Assert.assertEquals(0.5, edge.getPropertyValue(weight), 0.0);
+        Assert.assertEquals(origin.getPropertyValue(IdGenerator.of(4)),
+                            edge.getPropertyValue(IdGenerator.of(4)));
+    }
+
+    @Test
+    public void testWriteQueryEdgesOfMultiOwners() {
+        BinarySerializer ser = new BinarySerializer();
+        Id owner1 = IdGenerator.of(456);
+        Id owner2 = IdGenerator.of(123);
+        Id label = IdGenerator.of(1);
+
+        ConditionQuery query = GraphTransaction.constructEdgesQuery(
+                               ImmutableList.of(owner1, owner2),
+                               Directions.IN, label);
+        Query result = ser.writeQuery(query);
+        Assert.assertTrue(result instanceof IdPrefixesQuery);
+        Assert.assertSame(query, result.originQuery());
+
+        // The prefixes are in the order of owners
+        List<Id> prefixes = ((IdPrefixesQuery) result).prefixes();
+        Assert.assertEquals(2, prefixes.size());
+        Assert.assertArrayEquals(edgesPrefix(owner1, Directions.IN, label),
+                                 prefixes.get(0).asBytes());
+        Assert.assertArrayEquals(edgesPrefix(owner2, Directions.IN, label),
+                                 prefixes.get(1).asBytes());
+
+        // Query edges of any label
+        query = GraphTransaction.constructEdgesQuery(
+                ImmutableList.of(owner1, owner2), Directions.OUT);
+        prefixes = ((IdPrefixesQuery) ser.writeQuery(query)).prefixes();
+        Assert.assertEquals(2, prefixes.size());
+        Assert.assertArrayEquals(edgesPrefix(owner1, Directions.OUT, null),
+                                 prefixes.get(0).asBytes());
+        Assert.assertArrayEquals(edgesPrefix(owner2, Directions.OUT, null),
+                                 prefixes.get(1).asBytes());
+    }
+
+    private static byte[] edgesPrefix(Id owner, Directions direction,
+                                      Id label) {
+        BytesBuffer buffer = BytesBuffer.allocate(BytesBuffer.BUF_EDGE_ID);
+        buffer.writeId(owner);
+        buffer.write(direction.type().code());
+        if (label != null) {
+            buffer.writeId(label);
+        }
+        return buffer.bytes();
+    }
 }
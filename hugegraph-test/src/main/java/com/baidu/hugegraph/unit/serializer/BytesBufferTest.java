@@ -22,6 +22,7 @@ package com.baidu.hugegraph.unit.serializer;
 import java.awt.Point;
 import java.util.Arrays;
 import java.util.Calendar;
+import java.util.Date;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Random;
@@ -875,6 +876,45 @@ public class BytesBufferTest extends BaseUnitTest {
         Assert.assertArrayEquals(new int[]{2, 5}, (int[]) list.get(1));
     }
 
+    @Test
+    public void testSkipProperty() {
+        List<PropertyKey> pkeys = ImmutableList.of(
+                              genPkey(DataType.BOOLEAN),
+                              genPkey(DataType.INT),
+                              genPkey(DataType.FLOAT),
+                              genPkey(DataType.LONG),
+                              genPkey(DataType.DATE),
+                              genPkey(DataType.DOUBLE),
+                              genPkey(DataType.TEXT),
+                              genPkey(DataType.BLOB),
+                              genPkey(DataType.UUID),
+                              genPkey(DataType.OBJECT),
+                              genListPkey(DataType.TEXT),
+                              genSetPkey(DataType.LONG));
+        List<Object> values = ImmutableList.of(
+                              true, 128, 1.5f, 1L << 40,
+                              new Date(1565851529514L), 0.75,
+                              "abc", genBytes("001199aabbcc"),
+                              UUID.fromString(
+                              "3cfcafc8-7906-4ab7-a207-4ded056f58de"),
+                              new Point(3, 8),
+                              ImmutableList.of("a", "bc"),
+                              ImmutableSet.of(1L, 1L << 50));
+
+        BytesBuffer buf = BytesBuffer.allocate(0);
+        for (int i = 0; i < pkeys.size(); i++) {
+            buf.writeProperty(pkeys.get(i), values.get(i));
+            buf.write((byte) i);
+        }
+
+        BytesBuffer reader = BytesBuffer.wrap(buf.bytes());
+        for (int i = 0; i < pkeys.size(); i++) {
+            reader.skipProperty(pkeys.get(i));
+            Assert.assertEquals(i, reader.read());
+        }
+        Assert.assertEquals(0, reader.remaining());
+    }
+
     @Test
     public void testPropertyWithSet() {
         BytesBuffer buf = BytesBuffer.allocate(0);
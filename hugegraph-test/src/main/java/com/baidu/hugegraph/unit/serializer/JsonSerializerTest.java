@@ -0,0 +1,222 @@
+/*
+ * Copyright 2017 HugeGraph Authors
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with this
+ * work for additional information regarding copyright ownership. The ASF
+ * licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.baidu.hugegraph.unit.serializer;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.List;
+
+import javax.ws.rs.core.StreamingOutput;
+
+import org.apache.tinkerpop.gremlin.structure.Transaction;
+import org.apache.tinkerpop.gremlin.structure.util.CloseableIterator;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import com.baidu.hugegraph.HugeException;
+import com.baidu.hugegraph.HugeGraph;
+import com.baidu.hugegraph.api.API;
+import com.baidu.hugegraph.backend.page.PageInfo;
+import com.baidu.hugegraph.iterator.Metadatable;
+import com.baidu.hugegraph.serializer.JsonSerializer;
+import com.baidu.hugegraph.testutil.Assert;
+import com.baidu.hugegraph.unit.BaseUnitTest;
+import com.google.common.collect.ImmutableList;
+
+public class JsonSerializerTest extends BaseUnitTest {
+
+    private static final JsonSerializer SERIALIZER = JsonSerializer.instance();
+
+    @Test
+    public void testStreamList() throws IOException {
+        FakeIterator iter = new FakeIterator(ImmutableList.of("a", "b", "c"));
+        StreamingOutput output = SERIALIZER.streamList("ids", iter, false);
+        // Nothing is consumed until the output is written
+        Assert.assertEquals(0, iter.consumed);
+        Assert.assertFalse(iter.closed);
+
+        Assert.assertEquals("{\"ids\":[\"a\",\"b\",\"c\"]}", write(output));
+        Assert.assertEquals(3, iter.consumed);
+        Assert.assertTrue(iter.closed);
+    }
+
+    @Test
+    public void testStreamEmptyList() throws IOException {
+        FakeIterator iter = new FakeIterator(ImmutableList.of());
+        StreamingOutput output = SERIALIZER.streamList("ids", iter, false);
+        Assert.assertEquals("{\"ids\":[]}", write(output));
+        Assert.assertTrue(iter.closed);
+    }
+
+    @Test
+    public void testStreamListWithPage() throws IOException {
+        FakeIterator iter = new FakeIterator(ImmutableList.of("a", "b"));
+        iter.page = "next-page";
+        StreamingOutput output = SERIALIZER.streamList("ids", iter, true);
+        Assert.assertEquals("{\"ids\":[\"a\",\"b\"],\"page\":\"next-page\"}",
+                            write(output));
+        Assert.assertTrue(iter.closed);
+
+        // The page of the last page is null
+        iter = new FakeIterator(ImmutableList.of("c"));
+        output = SERIALIZER.streamList("ids", iter, true);
+        Assert.assertEquals("{\"ids\":[\"c\"],\"page\":null}", write(output));
+    }
+
+    @Test
+    public void testStreamListWithInvalidPagingIterator() {
+        Iterator<String> iter = ImmutableList.of("a").iterator();
+        StreamingOutput output = SERIALIZER.streamList("ids", iter, true);
+        Assert.assertThrows(HugeException.class, () -> {
+            write(output);
+        }, e -> {
+            Assert.assertContains("Invalid paging iterator", e.getMessage());
+        });
+    }
+
+    @Test
+    public void testStreamListWithExceptionWhenProbing() {
+        FakeIterator iter = new FakeIterator(ImmutableList.of("a", "b"));
+        iter.failAt = 0;
+        // The error is thrown before the response is committed
+        Assert.assertThrows(IllegalStateException.class, () -> {
+            SERIALIZER.streamList("ids", iter, false);
+        }, e -> {
+            Assert.assertEquals("Failed at 0", e.getMessage());
+        });
+        Assert.assertTrue(iter.closed);
+    }
+
+    @Test
+    public void testStreamListWithExceptionMidStream() {
+        FakeIterator iter = new FakeIterator(ImmutableList.of("a", "b", "c"));
+        iter.failAt = 2;
+        StreamingOutput output = SERIALIZER.streamList("ids", iter, false);
+        Assert.assertFalse(iter.closed);
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        Assert.assertThrows(HugeException.class, () -> {
+            output.write(out);
+        }, e -> {
+            Assert.assertContains("Failed to serialize ids", e.getMessage());
+            Assert.assertTrue(e.getCause() instanceof IllegalStateException);
+        });
+        Assert.assertTrue(iter.closed);
+    }
+
+    @Test
+    public void testWriteList() {
+        List<String> list = ImmutableList.of("a", "b");
+        Assert.assertEquals("{\"ids\":[\"a\",\"b\"]}",
+                            SERIALIZER.writeList("ids", list));
+    }
+
+    @Test
+    public void testStreamByApiWithGraphTx() throws IOException {
+        Transaction tx = Mockito.mock(Transaction.class);
+        Mockito.when(tx.isOpen()).thenReturn(true);
+        HugeGraph graph = Mockito.mock(HugeGraph.class);
+        Mockito.when(graph.tx()).thenReturn(tx);
+
+        FakeIterator iter = new FakeIterator(ImmutableList.of("a"));
+        StreamingOutput output = API.stream(graph, () -> {
+            return SERIALIZER.streamList("ids", iter, false);
+        });
+        // The tx is kept opened until the output is written
+        Mockito.verify(tx, Mockito.never()).close();
+
+        Assert.assertEquals("{\"ids\":[\"a\"]}", write(output));
+        Mockito.verify(tx, Mockito.times(1)).close();
+    }
+
+    @Test
+    public void testStreamByApiWithException() {
+        Transaction tx = Mockito.mock(Transaction.class);
+        Mockito.when(tx.isOpen()).thenReturn(true);
+        HugeGraph graph = Mockito.mock(HugeGraph.class);
+        Mockito.when(graph.tx()).thenReturn(tx);
+
+        // Failed to query before streaming
+        Assert.assertThrows(IllegalStateException.class, () -> {
+            API.stream(graph, () -> {
+                throw new IllegalStateException("Failed to query");
+            });
+        });
+        Mockito.verify(tx, Mockito.times(1)).close();
+
+        // Failed to write while streaming
+        FakeIterator iter = new FakeIterator(ImmutableList.of("a", "b"));
+        iter.failAt = 1;
+        StreamingOutput output = API.stream(graph, () -> {
+            return SERIALIZER.streamList("ids", iter, false);
+        });
+        Assert.assertThrows(HugeException.class, () -> {
+            write(output);
+        });
+        Mockito.verify(tx, Mockito.times(2)).close();
+        Assert.assertTrue(iter.closed);
+    }
+
+    private static String write(StreamingOutput output) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        output.write(out);
+        return out.toString(API.CHARSET);
+    }
+
+    private static class FakeIterator implements CloseableIterator<String>,
+                                                 Metadatable {
+
+        private final Iterator<String> iter;
+        private int consumed = 0;
+        private int failAt = -1;
+        private boolean closed = false;
+        private String page = null;
+
+        public FakeIterator(List<String> list) {
+            this.iter = list.iterator();
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (this.consumed == this.failAt) {
+                throw new IllegalStateException("Failed at " + this.failAt);
+            }
+            return this.iter.hasNext();
+        }
+
+        @Override
+        public String next() {
+            this.consumed++;
+            return this.iter.next();
+        }
+
+        @Override
+        public void close() {
+            this.closed = true;
+        }
+
+        @Override
+        public Object metadata(String meta, Object... args) {
+            Assert.assertEquals(PageInfo.PAGE, meta);
+            return this.page;
+        }
+    }
+}
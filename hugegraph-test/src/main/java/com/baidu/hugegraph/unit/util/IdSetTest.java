@@ -0,0 +1,130 @@
+/*
+ * Copyright 2017 HugeGraph Authors
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with this
+ * work for additional information regarding copyright ownership. The ASF
+ * licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.baidu.hugegraph.unit.util;
+
+import java.util.HashSet;
+import java.util.PrimitiveIterator;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.Test;
+
+import com.baidu.hugegraph.backend.id.EdgeId;
+import com.baidu.hugegraph.backend.id.Id;
+import com.baidu.hugegraph.backend.id.IdGenerator;
+import com.baidu.hugegraph.testutil.Assert;
+import com.baidu.hugegraph.util.collection.IdSet;
+import com.baidu.hugegraph.util.collection.LongHashSet;
+
+public class IdSetTest {
+
+    @Test
+    public void testLongHashSetAddAndContains() {
+        LongHashSet set = new LongHashSet();
+        Assert.assertTrue(set.isEmpty());
+
+        Assert.assertTrue(set.add(0L));
+        Assert.assertTrue(set.add(1L));
+        Assert.assertTrue(set.add(-1L));
+        Assert.assertTrue(set.add(Long.MAX_VALUE));
+        Assert.assertFalse(set.add(1L));
+        Assert.assertFalse(set.add(0L));
+        Assert.assertEquals(4, set.size());
+
+        Assert.assertTrue(set.contains(0L));
+        Assert.assertTrue(set.contains(1L));
+        Assert.assertTrue(set.contains(-1L));
+        Assert.assertTrue(set.contains(Long.MAX_VALUE));
+        Assert.assertFalse(set.contains(2L));
+        Assert.assertFalse(set.contains(Long.MIN_VALUE));
+    }
+
+    @Test
+    public void testLongHashSetWithRandomValues() {
+        LongHashSet set = new LongHashSet(4);
+        Set<Long> expected = new HashSet<>();
+        Random random = new Random(1024L);
+        for (int i = 0; i < 10000; i++) {
+            long value = random.nextInt(5000);
+            if (random.nextBoolean()) {
+                Assert.assertEquals(expected.add(value), set.add(value));
+            } else {
+                Assert.assertEquals(expected.remove(value), set.remove(value));
+            }
+            Assert.assertEquals(expected.size(), set.size());
+        }
+
+        for (long value = 0L; value < 5000L; value++) {
+            Assert.assertEquals(expected.contains(value), set.contains(value));
+        }
+
+        Set<Long> actual = new HashSet<>();
+        PrimitiveIterator.OfLong iter = set.iterator();
+        while (iter.hasNext()) {
+            actual.add(iter.nextLong());
+        }
+        Assert.assertEquals(expected, actual);
+
+        set.clear();
+        Assert.assertEquals(0, set.size());
+        Assert.assertFalse(set.iterator().hasNext());
+    }
+
+    @Test
+    public void testIdSetWithMixedIds() {
+        Id id1 = IdGenerator.of(1L);
+        Id id2 = IdGenerator.of("2");
+        Id id3 = IdGenerator.of("835e1153-9281-4957-8691-cf79258e90eb", true);
+        Id id4 = EdgeId.parse("S1>2>3>L4");
+
+        Set<Id> set = new IdSet();
+        Assert.assertTrue(set.add(id1));
+        Assert.assertTrue(set.add(id2));
+        Assert.assertTrue(set.add(id3));
+        Assert.assertTrue(set.add(id4));
+        Assert.assertFalse(set.add(IdGenerator.of(1L)));
+        Assert.assertFalse(set.add(IdGenerator.of("2")));
+        Assert.assertEquals(4, set.size());
+
+        Assert.assertTrue(set.contains(IdGenerator.of(1L)));
+        Assert.assertTrue(set.contains(IdGenerator.of("2")));
+        Assert.assertTrue(set.contains(id3));
+        Assert.assertTrue(set.contains(id4));
+        Assert.assertFalse(set.contains(IdGenerator.of(2L)));
+        Assert.assertFalse(set.contains(IdGenerator.of("1")));
+        Assert.assertFalse(set.contains(1L));
+
+        Set<Id> expected = new HashSet<>();
+        expected.add(id1);
+        expected.add(id2);
+        expected.add(id3);
+        expected.add(id4);
+        Assert.assertEquals(expected, new HashSet<>(set));
+        Assert.assertEquals(set, expected);
+
+        Assert.assertTrue(set.remove(IdGenerator.of(1L)));
+        Assert.assertTrue(set.remove(id2));
+        Assert.assertFalse(set.remove(id1));
+        Assert.assertEquals(2, set.size());
+
+        set.clear();
+        Assert.assertTrue(set.isEmpty());
+    }
+}